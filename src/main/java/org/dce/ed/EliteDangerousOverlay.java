@@ -11,6 +11,7 @@ import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.Preferences;
@@ -22,7 +23,9 @@ import javax.swing.Timer;
 
 import java.time.LocalTime;
 
-import org.dce.ed.logreader.RescanJournalsMain;
+import org.dce.ed.logreader.JournalHandover;
+import org.dce.ed.logreader.LiveJournalMonitor;
+import org.dce.ed.logreader.StartupJournalCatchUp;
 import org.dce.ed.tts.PollyTtsCached;
 import org.dce.ed.tts.TtsSprintf;
 import org.dce.ed.tts.VoicePackManager;
@@ -133,11 +136,17 @@ public class EliteDangerousOverlay implements NativeKeyListener, NativeMouseWhee
         System.setProperty("awt.useSystemAAFontSettings", "on");
         System.setProperty("swing.aatext", "true");
 
-        try {
-            RescanJournalsMain.rescanJournals(false);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // Replay the journal backlog in the background so the windows come up right away from the last
+        // cached system. Once the replay is done (and the UI has reloaded what it wrote) the live monitor
+        // starts tailing right after the last replayed event.
+        CompletableFuture<EliteDangerousOverlay> appCreated = new CompletableFuture<>();
+        CompletableFuture<JournalHandover> handover = StartupJournalCatchUp
+                .start(StartupSplashOverlay::setJournalCatchUpProgress)
+                .thenCombineAsync(appCreated, (h, app) -> {
+                    app.onJournalCatchUpComplete();
+                    return h;
+                }, SwingUtilities::invokeLater);
+        LiveJournalMonitor.getInstance(clientKey).holdTailingUntil(handover);
 
         SwingUtilities.invokeLater(() -> {
             if (!OverlayPreferences.isJournalDirectoryAvailable(clientKey)) {
@@ -149,10 +158,19 @@ public class EliteDangerousOverlay implements NativeKeyListener, NativeMouseWhee
                     JOptionPane.WARNING_MESSAGE);
             }
             EliteDangerousOverlay app = new EliteDangerousOverlay();
+            appCreated.complete(app);
             app.start();
         });
     }
 
+    private void onJournalCatchUpComplete() {
+        try {
+            passThroughFrame.reloadAfterJournalCatchUp();
+        } finally {
+            StartupSplashOverlay.finishJournalCatchUpProgress();
+        }
+    }
+
     private static String getAppVersion() {
         // 1) If you set Implementation-Version in the manifest, this will be populated.
         try {
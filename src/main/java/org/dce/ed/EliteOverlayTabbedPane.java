@@ -428,15 +428,33 @@ public class EliteOverlayTabbedPane extends JPanel {
 			onFsdTargetTabFromStatus(flagEvent, null, null);
 		}
 
-		systemTab.handleLogEvent(event);
+		// System and Biology tabs take Status.json through their own rate-limited status subscriptions.
+		if (!(event instanceof StatusEvent)) {
+			systemTab.handleLogEvent(event);
+		}
 		routeTab.handleLogEvent(event);
-		biologyTab.handleLogEvent(event);
+		if (!(event instanceof StatusEvent)) {
+			biologyTab.handleLogEvent(event);
+		}
 		fleetCarrierTab.handleLogEvent(event);
 
 		// Nearby panel is no longer user-facing; avoid background sphere scans on every jump.
 		// Those scans can trigger broad exobiology/Spansh work across many cached systems.
 	}
 
+	/**
+	 * Status.json update for the System tab (flags, near body, destination; throttled by the caller's
+	 * subscription).
+	 */
+	public void processSystemTabStatus(StatusEvent status) {
+		systemTab.handleLogEvent(status);
+	}
+
+	/** Status.json position update for the Biology tab (every frame while the position moves). */
+	public void processBiologyTabStatus(StatusEvent status) {
+		biologyTab.handleLogEvent(status);
+	}
+
 	public SystemTabPanel getSystemTabPanel() {
 		return systemTab;
 	}
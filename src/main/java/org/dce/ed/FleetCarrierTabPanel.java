@@ -7,7 +7,10 @@ import java.awt.Cursor;
 import java.awt.Font;
 import java.awt.Insets;
 import java.nio.file.Path;
+import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BooleanSupplier;
 
 import javax.swing.BorderFactory;
@@ -59,6 +62,10 @@ public class FleetCarrierTabPanel extends RouteTabPanel {
 	private volatile boolean spanshRouteLoaded = false;
 
 	private final SpanshClient spanshClient = new SpanshClient();
+	/** Latest "Calculate" request (EDT only); a newer one cancels it. */
+	private CompletableFuture<String> pendingSpanshRoute;
+	/** Spansh job behind {@link #pendingSpanshRoute}, once submitted; cancelling it stops the poll. */
+	private volatile CompletableFuture<String> pendingSpanshJob;
 	private final JPanel bottomBar;
 	private final JLabel statusLabel;
 	private final JLabel destinationLabel;
@@ -164,65 +171,99 @@ public class FleetCarrierTabPanel extends RouteTabPanel {
 			statusLabel.setText("Enter a destination system name.");
 			return;
 		}
+		cancelPendingSpanshRoute();
 		calculateButton.setEnabled(false);
 		statusLabel.setText("Calculating route…");
-		new Thread(() -> {
-			try {
-				long sourceAddr = routeSession.getCurrentSystemAddress();
-				String sourceName = routeSession.getCurrentSystemName();
-				Long sourceId = sourceAddr != 0L ? Long.valueOf(sourceAddr) : null;
-				if (sourceId == null && sourceName != null && !sourceName.isBlank()) {
-					sourceId = spanshClient.resolveSystemId64(sourceName);
-				}
-				if (sourceId == null || sourceId == 0L) {
-					SwingUtilities.invokeLater(() -> {
-						calculateButton.setEnabled(true);
-						statusLabel.setText("Could not resolve current system. Jump once or wait for Location.");
-					});
-					return;
-				}
-				Long destId = spanshClient.resolveSystemId64(dest.trim());
-				if (destId == null || destId == 0L) {
-					SwingUtilities.invokeLater(() -> {
-						calculateButton.setEnabled(true);
-						statusLabel.setText("Could not resolve destination system name.");
-					});
-					return;
-				}
-				if (destId.equals(sourceId)) {
-					SwingUtilities.invokeLater(() -> {
-						calculateButton.setEnabled(true);
-						statusLabel.setText("Destination is the same as current system.");
-					});
-					return;
-				}
-				String json = spanshClient.queryFleetCarrierRoute(sourceId.longValue(),
-						Collections.singletonList(destId), "fleet", 0, true);
-				SwingUtilities.invokeLater(() -> {
-					calculateButton.setEnabled(true);
-					if (json == null) {
-						String err = spanshClient.getLastResultsPollError();
-						statusLabel.setText(err != null ? ("Spansh: " + err) : "Spansh route failed or timed out.");
-						return;
-					}
-					JsonObject root;
-					try {
-						root = JsonParser.parseString(json).getAsJsonObject();
-					} catch (Exception ex) {
-						statusLabel.setText("Could not parse Spansh response.");
-						return;
-					}
-					importSpanshFleetCarrierRouteFromResultsJson(root);
-				});
-			} catch (Exception ex) {
-				ex.printStackTrace();
-				SwingUtilities.invokeLater(() -> {
-					calculateButton.setEnabled(true);
-					String msg = ex.getMessage();
-					statusLabel.setText(msg != null ? ("Error: " + msg) : "Error fetching Spansh route.");
+
+		long sourceAddr = routeSession.getCurrentSystemAddress();
+		String sourceName = routeSession.getCurrentSystemName();
+		CompletableFuture<Long> source = sourceAddr != 0L
+				? CompletableFuture.completedFuture(Long.valueOf(sourceAddr))
+				: spanshClient.resolveSystemId64Async(sourceName);
+		CompletableFuture<Long> destination = spanshClient.resolveSystemId64Async(dest.trim());
+
+		CompletableFuture<String> route = source.thenCombine(destination, FleetCarrierTabPanel::checkRouteEndpoints)
+				.thenCompose(ids -> {
+					CompletableFuture<String> job = spanshClient.queryFleetCarrierRouteAsync(ids[0],
+							Collections.singletonList(ids[1]), "fleet", 0, true);
+					pendingSpanshJob = job;
+					return job;
 				});
+		pendingSpanshRoute = route;
+		route.whenComplete((json, ex) -> SwingUtilities.invokeLater(() -> {
+			if (route != pendingSpanshRoute) {
+				return; // superseded by a newer request
+			}
+			pendingSpanshRoute = null;
+			pendingSpanshJob = null;
+			calculateButton.setEnabled(true);
+			if (ex != null) {
+				statusLabel.setText(spanshRouteErrorText(ex));
+				return;
+			}
+			if (json == null) {
+				statusLabel.setText("Spansh route failed or timed out.");
+				return;
+			}
+			JsonObject root;
+			try {
+				root = JsonParser.parseString(json).getAsJsonObject();
+			} catch (Exception parseEx) {
+				statusLabel.setText("Could not parse Spansh response.");
+				return;
 			}
-		}, "SpanshFleetCarrierFetch").start();
+			importSpanshFleetCarrierRouteFromResultsJson(root);
+		}));
+	}
+
+	private void cancelPendingSpanshRoute() {
+		CompletableFuture<String> job = pendingSpanshJob;
+		if (job != null) {
+			job.cancel(false);
+		}
+		if (pendingSpanshRoute != null) {
+			pendingSpanshRoute.cancel(false);
+		}
+		pendingSpanshRoute = null;
+		pendingSpanshJob = null;
+	}
+
+	/** Problem with the route request itself; the message is shown as is. */
+	private static final class RouteRequestException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		RouteRequestException(String message) {
+			super(message);
+		}
+	}
+
+	private static long[] checkRouteEndpoints(Long sourceId, Long destId) {
+		if (sourceId == null || sourceId == 0L) {
+			throw new RouteRequestException("Could not resolve current system. Jump once or wait for Location.");
+		}
+		if (destId == null || destId == 0L) {
+			throw new RouteRequestException("Could not resolve destination system name.");
+		}
+		if (destId.equals(sourceId)) {
+			throw new RouteRequestException("Destination is the same as current system.");
+		}
+		return new long[] { sourceId.longValue(), destId.longValue() };
+	}
+
+	private static String spanshRouteErrorText(Throwable ex) {
+		Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+		if (cause instanceof RouteRequestException) {
+			return cause.getMessage();
+		}
+		if (cause instanceof SpanshClient.JobFailedException) {
+			return "Spansh: " + cause.getMessage();
+		}
+		if (cause instanceof IOException) {
+			return "Spansh route failed or timed out.";
+		}
+		cause.printStackTrace();
+		String msg = cause.getMessage();
+		return msg != null ? ("Error: " + msg) : "Error fetching Spansh route.";
 	}
 
 	@Override
@@ -106,6 +106,7 @@ import org.dce.ed.mining.ProspectorLoadResult;
 import org.dce.ed.mining.MiningRunNumberResolver;
 import org.dce.ed.mining.ProspectorLogBackend;
 import org.dce.ed.mining.ProspectorLogBackendFactory;
+import org.dce.ed.mining.ProspectorLogMirror;
 import org.dce.ed.mining.ProspectorLogRegression;
 import org.dce.ed.mining.MiningLeaderSnapshot;
 import org.dce.ed.mining.MiningScatterAsteroidModel;
@@ -1547,8 +1548,7 @@ return EdoUi.User.MAIN_TEXT;
 		int run = activeRun;
 		if (!wroteRowsThisRun && run > 0) {
 			try {
-				List<ProspectorLogRow> existing = loadRowsForRunResolution();
-				int maxIdx = maxAsteroidIndexForRun(existing, run);
+				int maxIdx = maxAsteroidIndexForRun(rowsForAsteroidResume(commander, run), run);
 				if (maxIdx >= 0) {
 					// Resume same run (e.g. overlay restarted mid-trip): continue lettering from the log.
 					// Do not overwrite a higher counter (e.g. prospector already advanced for the next rock).
@@ -1617,24 +1617,7 @@ return EdoUi.User.MAIN_TEXT;
 		}
 
 		if (!rows.isEmpty()) {
-			ProspectorLogBackend backend = prospectorBackendSupplier.get();
-			boolean ok;
-			if (backend instanceof GoogleSheetsBackend sheetsBackend) {
-				ProspectorWriteResult wr = sheetsBackend.upsertRowsResult(rows);
-				ok = wr.isOk();
-				if (!ok) {
-					applyMiningSheetsStatusError(wr.getMessage());
-				}
-			} else {
-				try {
-					backend.appendRows(rows);
-					ok = true;
-				} catch (Exception ex) {
-					ok = false;
-					String m = ex.getMessage();
-					applyMiningSheetsStatusError(m != null && !m.isBlank() ? m : "Mining log write failed.");
-				}
-			}
+			boolean ok = writeProspectorRows(rows);
 			if (ok) {
 				applyMiningSheetsStatusClear();
 				invalidateRunResolutionCache();
@@ -1770,8 +1753,16 @@ return EdoUi.User.MAIN_TEXT;
 			String commander = OverlayPreferences.getMiningLogCommanderName();
 			if (commander != null && !commander.isBlank()) {
 				ProspectorLogBackend backend = prospectorBackendSupplier.get();
+				ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(backend);
 				boolean ok;
-				if (backend instanceof GoogleSheetsBackend gs) {
+				if (mirror != null) {
+					ProspectorWriteResult wr = mirror.setRunEnd(commander, activeRun, Instant.now());
+					ok = wr.isOk();
+					if (!ok) {
+						String m = wr.getMessage();
+						applyMiningSheetsStatusError(!m.isBlank() ? m : "Could not write run end time.");
+					}
+				} else if (backend instanceof GoogleSheetsBackend gs) {
 					ProspectorWriteResult wr = gs.updateRunEndTimeResult(commander, activeRun, Instant.now());
 					ok = wr.isOk();
 					if (!ok) {
@@ -1831,13 +1822,57 @@ return EdoUi.User.MAIN_TEXT;
 	 */
 	private int computeRunNumberForWrite(String commander, String system, String body, boolean forceNewRun) {
 		try {
-			List<ProspectorLogRow> existing = loadRowsForRunResolution();
+			ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(prospectorBackendSupplier.get());
+			List<ProspectorLogRow> existing = mirror != null ? mirror.rowsForRunResolution(commander, system, body) : null;
+			if (existing == null) {
+				existing = loadRowsForRunResolution();
+			}
 			return MiningRunNumberResolver.compute(commander, system, body, forceNewRun, existing);
 		} catch (Exception ignored) {
 			return 1;
 		}
 	}
 
+	/**
+	 * Rows of {@code run} for asteroid lettering: an indexed lookup when the backend is mirrored locally.
+	 */
+	private List<ProspectorLogRow> rowsForAsteroidResume(String commander, int run) {
+		ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(prospectorBackendSupplier.get());
+		List<ProspectorLogRow> rows = mirror != null ? mirror.rowsForRun(commander, run) : null;
+		return rows != null ? rows : loadRowsForRunResolution();
+	}
+
+	/**
+	 * Writes mining log rows (upsert for Google Sheets, append for CSV) and shows any failure in the status line.
+	 */
+	private boolean writeProspectorRows(List<ProspectorLogRow> rows) {
+		ProspectorLogBackend backend = prospectorBackendSupplier.get();
+		ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(backend);
+		if (mirror != null) {
+			ProspectorWriteResult wr = mirror.write(rows);
+			if (!wr.isOk()) {
+				String m = wr.getMessage();
+				applyMiningSheetsStatusError(!m.isBlank() ? m : "Mining log write failed.");
+			}
+			return wr.isOk();
+		}
+		if (backend instanceof GoogleSheetsBackend sheetsBackend) {
+			ProspectorWriteResult wr = sheetsBackend.upsertRowsResult(rows);
+			if (!wr.isOk()) {
+				applyMiningSheetsStatusError(wr.getMessage());
+			}
+			return wr.isOk();
+		}
+		try {
+			backend.appendRows(rows);
+			return true;
+		} catch (Exception ex) {
+			String m = ex.getMessage();
+			applyMiningSheetsStatusError(m != null && !m.isBlank() ? m : "Mining log write failed.");
+			return false;
+		}
+	}
+
 	/**
 	 * Rows used for run allocation and asteroid resume: commander-scoped tab for Google Sheets, full log for CSV.
 	 */
@@ -1999,8 +2034,7 @@ return EdoUi.User.MAIN_TEXT;
 		String body = resolveBodyNameForMiningLog();
 		int run = computeRunNumberForWrite(commander, sys, body, forceNewRun);
 		try {
-			List<ProspectorLogRow> existing = loadRowsForRunResolution();
-			int maxIdx = maxAsteroidIndexForRun(existing, run);
+			int maxIdx = maxAsteroidIndexForRun(rowsForAsteroidResume(commander, run), run);
 			if (maxIdx >= 0) {
 				asteroidIdCounter = maxIdx;
 			}
@@ -2191,24 +2225,7 @@ return EdoUi.User.MAIN_TEXT;
 			asteroidIdCounter++;
 			dudCounter = 0;
 		}
-		ProspectorLogBackend backend = prospectorBackendSupplier.get();
-		boolean ok;
-		if (backend instanceof GoogleSheetsBackend sheetsBackend) {
-			ProspectorWriteResult wr = sheetsBackend.upsertRowsResult(rows);
-			ok = wr.isOk();
-			if (!ok) {
-				applyMiningSheetsStatusError(wr.getMessage());
-			}
-		} else {
-			try {
-				backend.appendRows(rows);
-				ok = true;
-			} catch (Exception e) {
-				ok = false;
-				String m = e.getMessage();
-				applyMiningSheetsStatusError(m != null && !m.isBlank() ? m : "Mining log write failed.");
-			}
-		}
+		boolean ok = writeProspectorRows(rows);
 		if (ok) {
 			applyMiningSheetsStatusClear();
 			invalidateRunResolutionCache();
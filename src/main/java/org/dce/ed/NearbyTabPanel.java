@@ -23,14 +23,10 @@ import java.util.Set;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BooleanSupplier;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.JButton;
 import javax.swing.JComponent;
@@ -61,7 +57,9 @@ import javax.swing.table.JTableHeader;
 
 import org.dce.ed.cache.CachedBody;
 import org.dce.ed.cache.CachedSystem;
+import org.dce.ed.cache.NearbyCachedSystem;
 import org.dce.ed.cache.SystemCache;
+import org.dce.ed.cache.SystemStore;
 import org.dce.ed.edsm.BodiesResponse;
 import org.dce.ed.edsm.SphereSystemsResponse;
 import org.dce.ed.edsm.SystemResponse;
@@ -75,6 +73,7 @@ import org.dce.ed.ui.EdoUi;
 import org.dce.ed.ui.SystemTableHoverCopyManager;
 import org.dce.ed.util.EdsmClient;
 import org.dce.ed.util.FirstBonusHelper;
+import org.dce.ed.util.IoExecutor;
 import org.dce.ed.util.SpanshClient;
 import org.dce.ed.util.SpanshBodyExobiologyInfo;
 import org.dce.ed.util.SpanshLandmark;
@@ -104,14 +103,13 @@ public class NearbyTabPanel extends JPanel {
 
     private static final int COL_SYSTEM = 0;
 
-    /** Max concurrent EDSM/Spansh body queries per batch; results shown in table as each batch completes. */
-    private static final int NEARBY_QUERY_BATCH_SIZE = 6;
-
     /** Sphere radius (ly) for background Nearby queries; no longer user-configurable (Nearby tab removed). */
     private static final int DEFAULT_NEARBY_SPHERE_RADIUS_LY = 20;
 
     private final AtomicBoolean firstShowDone = new AtomicBoolean(false);
     private volatile boolean refreshRequested;
+    /** The sweep in progress; a new refresh cancels it. */
+    private final AtomicReference<SwingWorker<?, ?>> nearbyWorker = new AtomicReference<>();
     private SystemTableHoverCopyManager systemTableHoverCopyManager;
     private final BooleanSupplier passThroughEnabledSupplier;
 
@@ -387,6 +385,10 @@ public class NearbyTabPanel extends JPanel {
                     if ((systems == null || systems.length == 0) && haveCoords) {
                         systems = edsmClient.sphereSystems(cx, cy, cz, radiusLy);
                     }
+                    if ((systems == null || systems.length == 0) && haveCoords) {
+                        // EDSM unreachable or empty: sweep the systems already in the local cache instead.
+                        systems = cachedSphere(SystemCache.getInstance(), cx, cy, cz, radiusLy);
+                    }
                     if (systems == null || systems.length == 0) {
                         return rows;
                     }
@@ -405,9 +407,18 @@ public class NearbyTabPanel extends JPanel {
                             break;
                         }
                     }
+                    List<String> namesToScan = new ArrayList<>(maxToScan);
+                    for (int j = 0; j < maxToScan; j++) {
+                        if (systems[j] != null && systems[j].name != null && !systems[j].name.isEmpty()) {
+                            namesToScan.add(systems[j].name);
+                        }
+                    }
                     Map<String, List<BodiesResponse.Body>> bodiesBySystemFromSpansh = null;
                     if (needBodiesFromApi) {
-                        bodiesBySystemFromSpansh = fetchSpanshBodiesInSphere(finalCenterName, radiusLy);
+                        bodiesBySystemFromSpansh = fetchSpanshBodiesInSphere(finalCenterName, radiusLy, namesToScan);
+                    } else if (finalCenterName != null && !finalCenterName.isBlank()) {
+                        // Landmarks for the whole sphere in one request, ready before the rows ask for them.
+                        SpanshLandmarkCache.getInstance().prefetchSphere(finalCenterName, radiusLy, namesToScan);
                     }
                     final Map<String, List<BodiesResponse.Body>> spanshBodies = bodiesBySystemFromSpansh;
                     nearbyRowOrder = Comparator
@@ -427,55 +438,47 @@ public class NearbyTabPanel extends JPanel {
                             });
                     int fromCache = 0;
                     int queried = 0;
-                    ExecutorService executor = Executors.newFixedThreadPool(NEARBY_QUERY_BATCH_SIZE);
+                    // Every system goes to the shared I/O pool at once (nearest first); rows are merged in as each
+                    // system finishes, so one slow EDSM call holds back only its own row.
+                    IoExecutor.Group<TaskResult> group = new IoExecutor.Group<>();
                     try {
-                        for (int start = 0; start < maxToScan; start += NEARBY_QUERY_BATCH_SIZE) {
-                            int batchEnd = Math.min(start + NEARBY_QUERY_BATCH_SIZE, maxToScan);
-                            List<Future<TaskResult>> futures = new ArrayList<>(NEARBY_QUERY_BATCH_SIZE);
-                            for (int j = start; j < batchEnd; j++) {
-                                final SphereSystemsResponse sys = systems[j];
-                                if (sys == null || sys.name == null || sys.name.isEmpty()) {
-                                    futures.add(CompletableFuture.completedFuture(new TaskResult(null, null, false)));
-                                    continue;
-                                }
-                                futures.add(executor.submit(new Callable<TaskResult>() {
-                                    @Override
-                                    public TaskResult call() {
-                                        return processOneSystem(sys, cache, spanshBodies, edsmClient);
-                                    }
-                                }));
+                        int submitted = 0;
+                        for (int j = 0; j < maxToScan; j++) {
+                            final SphereSystemsResponse sys = systems[j];
+                            if (sys == null || sys.name == null || sys.name.isEmpty()) {
+                                continue;
                             }
-                            for (Future<TaskResult> f : futures) {
-                                try {
-                                    TaskResult tr = f.get();
-                                    if (tr.fromCache) fromCache++; else queried++;
-                                    if (tr.cachePayload != null) {
-                                        cache.put(0L, tr.cachePayload.systemName, tr.cachePayload.starPos,
-                                                tr.cachePayload.bodyCount, null, null, null,
-                                                null, tr.cachePayload.cachedBodies);
-                                    }
-                                    if (tr.row != null) rows.add(tr.row);
-                                } catch (Exception e) {
-                                    // skip
+                            group.submit(() -> processOneSystem(sys, cache, spanshBodies, edsmClient));
+                            submitted++;
+                        }
+                        for (int current = 1; current <= submitted && !isCancelled(); current++) {
+                            try {
+                                TaskResult tr = group.take().get();
+                                if (tr.fromCache) fromCache++; else queried++;
+                                if (tr.cachePayload != null) {
+                                    cache.put(0L, tr.cachePayload.systemName, tr.cachePayload.starPos,
+                                            tr.cachePayload.bodyCount, null, null, null,
+                                            null, tr.cachePayload.cachedBodies);
                                 }
+                                if (tr.row != null) {
+                                    int at = Collections.binarySearch(rows, tr.row, nearbyRowOrder);
+                                    rows.add(at < 0 ? -at - 1 : at, tr.row);
+                                }
+                            } catch (ExecutionException | CancellationException e) {
+                                // skip
                             }
-                            rows.sort(nearbyRowOrder);
-                            int current = batchEnd;
-                            setProgress(maxToScan > 0 ? (int) (100.0 * current / maxToScan) : 0);
-                            publish(new Object[]{ Integer.valueOf(current), Integer.valueOf(maxToScan), new ArrayList<>(rows) });
+                            setProgress(submitted > 0 ? (int) (100.0 * current / submitted) : 0);
+                            publish(new Object[]{ Integer.valueOf(current), Integer.valueOf(submitted), new ArrayList<>(rows) });
                         }
                         System.out.println("Nearby panel: " + fromCache + " systems from cache, " + queried + " queried.");
                     } finally {
-                        executor.shutdown();
-                        try {
-                            executor.awaitTermination(30, TimeUnit.SECONDS);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
+                        group.cancel();
                     }
                     setProgress(100);
                 } catch (Exception e) {
-                    e.printStackTrace();
+                    if (!isCancelled()) {
+                        e.printStackTrace();
+                    }
                 }
                 if (nearbyRowOrder != null) {
                     rows.sort(nearbyRowOrder);
@@ -485,6 +488,11 @@ public class NearbyTabPanel extends JPanel {
 
             @Override
             protected void done() {
+                if (isCancelled()) {
+                    // Superseded by a newer sweep, which owns the table and progress bar now.
+                    return;
+                }
+                nearbyWorker.compareAndSet(this, null);
                 SwingUtilities.invokeLater(() -> {
                     progressPanel.setVisible(false);
                     progressBar.setValue(0);
@@ -520,7 +528,7 @@ public class NearbyTabPanel extends JPanel {
 
             @Override
             protected void process(java.util.List<Object[]> chunks) {
-                if (chunks.isEmpty()) return;
+                if (chunks.isEmpty() || isCancelled()) return;
                 Object[] last = chunks.get(chunks.size() - 1);
                 int current = ((Integer) last[0]).intValue();
                 int total = ((Integer) last[1]).intValue();
@@ -541,7 +549,7 @@ public class NearbyTabPanel extends JPanel {
         worker.addPropertyChangeListener(new PropertyChangeListener() {
             @Override
             public void propertyChange(PropertyChangeEvent evt) {
-                if ("progress".equals(evt.getPropertyName())) {
+                if ("progress".equals(evt.getPropertyName()) && !worker.isCancelled()) {
                     int p = (Integer) evt.getNewValue();
                     SwingUtilities.invokeLater(() -> {
                         progressBar.setValue(p);
@@ -554,6 +562,10 @@ public class NearbyTabPanel extends JPanel {
         progressBar.setValue(0);
         progressBar.setString("0%");
         progressLabel.setText("Scanning... 0 / ? systems");
+        SwingWorker<?, ?> previous = nearbyWorker.getAndSet(worker);
+        if (previous != null) {
+            previous.cancel(true);
+        }
         worker.execute();
     }
 
@@ -674,13 +686,16 @@ public class NearbyTabPanel extends JPanel {
     /**
      * One Spansh bodies/search call for the whole sphere; returns bodies grouped by system name.
      * Reduces N×EDSM showBodies to 1 Spansh query when the response contains enough body data.
+     * The same response fills the landmark cache for {@code systemNames}.
      */
-    private Map<String, List<BodiesResponse.Body>> fetchSpanshBodiesInSphere(String centerName, int radiusLy) {
+    private Map<String, List<BodiesResponse.Body>> fetchSpanshBodiesInSphere(String centerName, int radiusLy,
+            List<String> systemNames) {
         try {
             String json = spanshClient.queryBodiesSearch(centerName, (double) radiusLy, 2000);
             if (json == null || json.isBlank()) {
                 return null;
             }
+            SpanshLandmarkCache.getInstance().absorbSphere(json, 2000, systemNames);
             return parseSpanshBodiesSearchBySystem(json);
         } catch (Exception e) {
             return null;
@@ -980,6 +995,27 @@ public class NearbyTabPanel extends JPanel {
         }
     }
 
+    /**
+     * Cached systems with known coordinates within {@code radiusLy} of (x, y, z), shaped like an EDSM sphere
+     * response so the sweep can treat them the same way.
+     */
+    private static SphereSystemsResponse[] cachedSphere(SystemStore store, double x, double y, double z, int radiusLy) {
+        List<NearbyCachedSystem> found = store.findSystemsWithinRadius(x, y, z, radiusLy, 1000);
+        SphereSystemsResponse[] out = new SphereSystemsResponse[found.size()];
+        for (int i = 0; i < out.length; i++) {
+            NearbyCachedSystem n = found.get(i);
+            SphereSystemsResponse r = new SphereSystemsResponse();
+            r.name = n.systemName;
+            r.distance = n.distanceLy;
+            r.coords = new SphereSystemsResponse.Coordinates();
+            r.coords.x = n.x;
+            r.coords.y = n.y;
+            r.coords.z = n.z;
+            out[i] = r;
+        }
+        return out;
+    }
+
     /**
      * Process one system (cache hit or EDSM/Spansh fetch). Called from worker threads.
      * Does not call cache.put; returns CachePayload for the main thread to store.
@@ -23,8 +23,13 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.NumberFormat;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.prefs.Preferences;
 
@@ -49,6 +54,7 @@ import org.dce.ed.session.EdoSessionState;
 import org.dce.ed.session.FleetCarrierSessionData;
 import org.dce.ed.logreader.EliteLogEvent;
 import org.dce.ed.logreader.LiveJournalMonitor;
+import org.dce.ed.logreader.StatusService;
 import org.dce.ed.logreader.event.CarrierJumpEvent;
 import org.dce.ed.logreader.event.CarrierJumpRequestEvent;
 import org.dce.ed.logreader.event.ScanOrganicEvent;
@@ -81,6 +87,9 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
     private static final int MIN_WIDTH = 260;
     private static final int MIN_HEIGHT = 200;
 
+    /** Minimum gap between Status.json updates delivered to the System tab. */
+    private static final long SYSTEM_TAB_STATUS_INTERVAL_MS = 250L;
+
     /** Legacy keys (still written on save so older builds / single-slot fallbacks keep working). */
     private static final String PREF_KEY_X = "overlay.x";
     private static final String PREF_KEY_Y = "overlay.y";
@@ -170,7 +179,20 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
     /** Suppress duplicate "Jump complete" speech if cooldown is restarted for the same jump. */
     private boolean carrierJumpCompleteSpokenForCurrentJump;
 
-    private long exoCreditsTotal;
+    /**
+     * Unsold exobiology credits. Updated on {@link #exoCreditsExecutor} and read or reset from the EDT, hence atomic.
+     */
+    private final AtomicLong exoCreditsTotal = new AtomicLong();
+
+    /**
+     * Applies sells and payouts for the exobiology credit tracker: a payout may wait on a Spansh landmark fetch, so
+     * it does not hold up the other journal listeners. Single-threaded to keep sells and scans in journal order.
+     */
+    private final ExecutorService exoCreditsExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "EDO-ExoCreditsTracker");
+        t.setDaemon(true);
+        return t;
+    });
 
     /** Debounced save of session state (500 ms after last tab change). */
     private final Timer sessionSaveTimer = new Timer(500, e -> saveSessionState());
@@ -294,7 +316,7 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
                 return "Cooldown " + time;
             }
         }
-        return formatExoCredits(exoCreditsTotal);
+        return formatExoCredits(exoCreditsTotal.get());
     }
 
     /**
@@ -311,7 +333,7 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
         if (carrierJumpCooldownEndTime != null) {
             return "Cooldown";
         }
-        return formatExoCredits(exoCreditsTotal);
+        return formatExoCredits(exoCreditsTotal.get());
     }
 
     private String getFleetCarrierTimeBadgeTextOnly() {
@@ -551,7 +573,7 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
         ExceptionReporting.setReporter(this::reportExceptionToTitleBar);
 
         Long cached = loadExoCreditsTotalFromSystemCache();
-        exoCreditsTotal = cached != null ? cached.longValue() : 0L;
+        exoCreditsTotal.set(cached != null ? cached.longValue() : 0L);
         updateRightStatusDefault();
 
         // Transparent content panel with tabbed pane
@@ -639,7 +661,7 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
         tabs.getFleetCarrierTabPanel().fillSessionState(state);
         tabs.getSystemTabPanel().fillSessionState(state);
         tabs.getMiningTabPanel().fillSessionState(state);
-        state.setExobiologyCreditsTotalUnsold(exoCreditsTotal);
+        state.setExobiologyCreditsTotalUnsold(exoCreditsTotal.get());
         fillCarrierSessionState(state);
         EdoSessionPersistence.save(state);
     }
@@ -669,9 +691,27 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
         tabs.getMiningTabPanel().applySessionState(state);
         applyCarrierSessionState(state);
         if (state.getExobiologyCreditsTotalUnsold() != null) {
-            exoCreditsTotal = state.getExobiologyCreditsTotalUnsold().longValue();
+            exoCreditsTotal.set(state.getExobiologyCreditsTotalUnsold().longValue());
         } else {
-            exoCreditsTotal = 0L;
+            exoCreditsTotal.set(0L);
+        }
+        updateRightStatusDefault();
+    }
+
+    /**
+     * Picks up what the background startup journal catch-up wrote: the latest system, the route position,
+     * the unsold exobiology total and the carrier countdown. Runs on the EDT before live tailing starts.
+     */
+    public void reloadAfterJournalCatchUp() {
+        EliteOverlayTabbedPane tabs = (contentPanel != null) ? contentPanel.getTabbedPane() : null;
+        if (tabs == null) return;
+        EdoSessionState state = EdoSessionPersistence.load();
+        tabs.getSystemTabPanel().refreshFromCache();
+        tabs.getRouteTabPanel().reconcileWithCatchUpCache();
+        tabs.getFleetCarrierTabPanel().reconcileWithCatchUpCache();
+        applyCarrierSessionState(state);
+        if (state.getExobiologyCreditsTotalUnsold() != null) {
+            exoCreditsTotal.set(state.getExobiologyCreditsTotalUnsold().longValue());
         }
         updateRightStatusDefault();
     }
@@ -769,6 +809,20 @@ public class OverlayFrame extends JFrame implements OverlayUiPreviewHost {
                     pane.processJournalEvent(event);
                 }
             });
+            // Biology follows the on-foot/SRV position at full rate; the System tab only needs a few updates a second.
+            monitor.subscribeStatus(EnumSet.of(StatusService.Change.POSITION, StatusService.Change.BODY), 0L, update -> {
+                EliteOverlayTabbedPane pane = (contentPanel != null) ? contentPanel.getTabbedPane() : null;
+                if (pane != null) {
+                    pane.processBiologyTabStatus(update.status());
+                }
+            });
+            monitor.subscribeStatus(EnumSet.of(StatusService.Change.FLAGS, StatusService.Change.POSITION,
+                    StatusService.Change.BODY, StatusService.Change.DESTINATION), SYSTEM_TAB_STATUS_INTERVAL_MS, update -> {
+                EliteOverlayTabbedPane pane = (contentPanel != null) ? contentPanel.getTabbedPane() : null;
+                if (pane != null) {
+                    pane.processSystemTabStatus(update.status());
+                }
+            });
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -787,7 +841,9 @@ private void installCarrierJumpTitleUpdater() {
     try {
         LiveJournalMonitor monitor = LiveJournalMonitor.getInstance(EliteDangerousOverlay.clientKey);
 
-        monitor.addListener(event -> {
+        monitor.subscribe(EnumSet.of(EliteEventType.CARRIER_JUMP_REQUEST,
+                EliteEventType.CARRIER_JUMP_CANCELLED,
+                EliteEventType.CARRIER_JUMP), event -> {
             if (event instanceof CarrierJumpRequestEvent) {
                 CarrierJumpRequestEvent e = (CarrierJumpRequestEvent) event;
                 if (e.getDepartureTime() != null) {
@@ -957,18 +1013,18 @@ private Long loadExoCreditsTotalFromSystemCache() {
     }
 }
 
-private void persistExoCreditsTotal() {
+/**
+ * @param st the system state captured on the journal thread when the event arrived, or null
+ */
+private void persistExoCreditsTotal(SystemState st) {
     try {
         SystemCache cache = SystemCache.getInstance();
         EdoSessionState s = cache.loadEdoSessionState();
-        s.setExobiologyCreditsTotalUnsold(exoCreditsTotal);
+        s.setExobiologyCreditsTotalUnsold(exoCreditsTotal.get());
         cache.saveEdoSessionState(s);
 
-        EliteOverlayTabbedPane tabs = (contentPanel != null) ? contentPanel.getTabbedPane() : null;
-        SystemTabPanel systemTab = (tabs != null) ? tabs.getSystemTabPanel() : null;
-        SystemState st = (systemTab != null) ? systemTab.getState() : null;
         if (st != null) {
-            st.setExobiologyCreditsTotalUnsold(exoCreditsTotal);
+            st.setExobiologyCreditsTotalUnsold(exoCreditsTotal.get());
         }
     } catch (Exception ignored) {
         // Best-effort persistence; UI should never break.
@@ -979,12 +1035,18 @@ private void installExoCreditsTracker() {
     try {
         LiveJournalMonitor monitor = LiveJournalMonitor.getInstance(EliteDangerousOverlay.clientKey);
 
-        monitor.addListener(event -> {
+        // Runs on the journal thread, which owns SystemState: everything the executor needs is read here.
+        monitor.subscribe(EnumSet.of(EliteEventType.SELL_ORGANIC_DATA, EliteEventType.SCAN_ORGANIC), event -> {
+            EliteOverlayTabbedPane tabs = (contentPanel != null) ? contentPanel.getTabbedPane() : null;
+            SystemTabPanel systemTab = (tabs != null) ? tabs.getSystemTabPanel() : null;
+            SystemState st = (systemTab != null) ? systemTab.getState() : null;
+
             if (event.getType() == EliteEventType.SELL_ORGANIC_DATA) {
-            	System.out.println("Sold " + exoCreditsTotal);
-                exoCreditsTotal = 0L;
-                persistExoCreditsTotal();
-                updateRightStatusDefault();
+                exoCreditsExecutor.execute(() -> {
+                    System.out.println("Sold " + exoCreditsTotal.getAndSet(0L));
+                    persistExoCreditsTotal(st);
+                    updateRightStatusDefault();
+                });
                 return;
             }
 
@@ -999,38 +1061,42 @@ private void installExoCreditsTracker() {
                 return;
             }
 
-            boolean firstBonus = true;
-            try {
-                EliteOverlayTabbedPane tabs = (contentPanel != null) ? contentPanel.getTabbedPane() : null;
-                SystemTabPanel systemTab = (tabs != null) ? tabs.getSystemTabPanel() : null;
-                SystemState st = (systemTab != null) ? systemTab.getState() : null;
-                if (st != null) {
-                    BodyInfo body = st.getBodies().get(so.getBodyId());
-                    if (body != null) {
-                        if (!Boolean.TRUE.equals(body.getWasFootfalled()) && body.getSpanshLandmarks() == null) {
-                            SpanshBodyExobiologyInfo info = SpanshLandmarkCache.getInstance().getOrFetch(body.getStarSystem(), body.getBodyName());
+            BodyInfo body = (st != null) ? st.getBodies().get(so.getBodyId()) : null;
+            boolean bodyKnown = body != null;
+            Boolean wasFootfalled = bodyKnown ? body.getWasFootfalled() : null;
+            List<SpanshLandmark> knownLandmarks = (bodyKnown && body.getSpanshLandmarks() != null)
+                    ? new ArrayList<>(body.getSpanshLandmarks())
+                    : null;
+            String starSystem = bodyKnown ? body.getStarSystem() : null;
+            String bodyName = bodyKnown ? body.getBodyName() : null;
+
+            exoCreditsExecutor.execute(() -> {
+                boolean firstBonus = true;
+                if (bodyKnown) {
+                    List<SpanshLandmark> landmarks = knownLandmarks;
+                    if (!Boolean.TRUE.equals(wasFootfalled) && landmarks == null) {
+                        try {
+                            SpanshBodyExobiologyInfo info = SpanshLandmarkCache.getInstance().getOrFetch(starSystem, bodyName);
                             if (info != null) {
-                                body.setSpanshLandmarks(info.getLandmarks());
-                                body.setSpanshExcludeFromExobiology(info.isExcludeFromExobiology());
+                                landmarks = info.getLandmarks();
                             }
+                        } catch (Exception ignored) {
+                            // best-effort; default to first bonus
                         }
-                        firstBonus = FirstBonusHelper.firstBonusApplies(body);
                     }
+                    firstBonus = FirstBonusHelper.firstBonusApplies(wasFootfalled, landmarks);
                 }
-            } catch (Exception ignored) {
-                // best-effort; default to first bonus
-            }
 
-            Long payout = ExobiologyData.estimatePayout(so.getGenusLocalised(), so.getSpeciesLocalised(), firstBonus);
-            if (payout == null || payout.longValue() <= 0L) {
-                return;
-            }
+                Long payout = ExobiologyData.estimatePayout(so.getGenusLocalised(), so.getSpeciesLocalised(), firstBonus);
+                if (payout == null || payout.longValue() <= 0L) {
+                    return;
+                }
 
-            exoCreditsTotal += payout.longValue();
-            System.out.println("Earned " + exoCreditsTotal);
-            persistExoCreditsTotal();
+                System.out.println("Earned " + exoCreditsTotal.addAndGet(payout.longValue()));
+                persistExoCreditsTotal(st);
 
-            updateRightStatusDefault();
+                updateRightStatusDefault();
+            });
         });
     } catch (Exception ex) {
         ex.printStackTrace();
@@ -28,7 +28,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
@@ -88,6 +87,7 @@ import org.dce.ed.ui.HoverCopyButtonSupport;
 import org.dce.ed.ui.SystemTableHoverCopyManager;
 import org.dce.ed.ui.EdoUi.User;
 import org.dce.ed.util.EdsmClient;
+import org.dce.ed.util.IoExecutor;
 import org.dce.ed.route.FuelScoopStarClass;
 import org.dce.ed.route.RouteEntry;
 import org.dce.ed.route.RouteGeometry;
@@ -97,6 +97,7 @@ import org.dce.ed.route.RouteNavRouteJson;
 import org.dce.ed.route.RouteScanStatus;
 import org.dce.ed.route.RouteDisplaySnapshot;
 import org.dce.ed.route.RouteSession;
+import org.dce.ed.route.RouteStatusResolver;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -177,7 +178,6 @@ public class RouteTabPanel extends JPanel {
 	private final BooleanSupplier passThroughEnabledSupplier;
 	// Caches coordinates we resolved from EDSM (used for inserting synthetic rows).
 	private final java.util.Map<String, Double[]> resolvedCoordsCache = new java.util.concurrent.ConcurrentHashMap<>();
-	private final java.util.Set<String> edsmCoordsFetchInProgress = java.util.concurrent.ConcurrentHashMap.newKeySet();
 	private boolean jumpFlashOn = true;
 	private final Timer jumpFlashTimer = new Timer(500, e -> {
 		jumpFlashOn = !jumpFlashOn;
@@ -229,8 +229,22 @@ public class RouteTabPanel extends JPanel {
 
 	private final Map<Long, RouteScanStatus> lastKnownScanStatusByAddress = new ConcurrentHashMap<>();
 	private final Map<Long, EdsmScanSummary> edsmSummaryByAddress = new ConcurrentHashMap<>();
-	/** Dedupe concurrent EDSM body fetches per system address while updating route row status. */
-	private final Set<Long> edsmRouteStatusInFlight = ConcurrentHashMap.newKeySet();
+	/** At most this many route systems are looked up at once; the rest queue, visible rows first. */
+	private static final int EDSM_ROUTE_STATUS_CONCURRENCY = 2;
+
+	/** Outcome of one route-system lookup: a local scan status, else the EDSM bodies (null if EDSM failed). */
+	private record RouteRowLookup(RouteScanStatus local, BodiesResponse bodies) {
+	}
+
+	private final RouteStatusResolver<RouteRowLookup> routeStatusResolver = new RouteStatusResolver<>(
+			IoExecutor.shared(), EDSM_ROUTE_STATUS_CONCURRENCY,
+			this::lookupRouteRowStatus,
+			(job, result) -> SwingUtilities.invokeLater(() -> applyRouteRowLookup(job.key(), result)),
+			this::fetchCoordsFromEdsm,
+			found -> {
+				resolvedCoordsCache.putAll(found);
+				SwingUtilities.invokeLater(this::rebuildDisplayedEntries);
+			});
 
 	/** Same-package test access (not part of public API). */
 	RouteSession routeSessionForTests() {
@@ -1023,7 +1037,7 @@ public class RouteTabPanel extends JPanel {
 			if (e.status != RouteScanStatus.UNKNOWN) {
 				continue;
 			}
-			updateStatusFromEdsm(e, r);
+			routeStatusResolver.request(e);
 		}
 	}
 
@@ -1042,27 +1056,15 @@ public class RouteTabPanel extends JPanel {
 			if (e.x != null) {
 				return;
 			}
-			final String targetName = targetSystemName;
-			if (edsmCoordsFetchInProgress.add(targetName)) {
-				Thread t = new Thread(() -> {
-					try {
-						Double[] fetched = resolveSystemCoordsFromEdsm(targetName);
-						if (fetched == null) {
-							return;
-						}
-						SwingUtilities.invokeLater(() -> rebuildDisplayedEntries());
-					} finally {
-						edsmCoordsFetchInProgress.remove(targetName);
-					}
-				}, "RouteTargetCoords-" + targetName);
-				t.setDaemon(true);
-				t.start();
-			}
+			routeStatusResolver.requestCoords(targetSystemName);
 			break;
 		}
 	}
 
-	/** Call on EDT. Starts EDSM status updates only for rows currently visible in the viewport. */
+	/**
+	 * Call on EDT. Moves the unknown rows currently in the viewport to the front of the route status queue; rows
+	 * that scrolled away keep their place behind them.
+	 */
 	private void startEdsmUpdatesForVisibleRows() {
 		if (table == null || tableModel == null) {
 			return;
@@ -1072,6 +1074,7 @@ public class RouteTabPanel extends JPanel {
 		if (first < 0 || last < 0) {
 			return;
 		}
+		List<RouteEntry> visible = new ArrayList<>();
 		for (int row = first; row <= last; row++) {
 			if (row >= tableModel.getRowCount()) {
 				break;
@@ -1083,10 +1086,9 @@ public class RouteTabPanel extends JPanel {
 			if (entry.status != null && entry.status != RouteScanStatus.UNKNOWN) {
 				continue;
 			}
-			final int r = row;
-			new Thread(() -> updateStatusFromEdsm(entry, r),
-					"RouteEdsm-" + (entry.systemName != null ? entry.systemName : "row" + r)).start();
+			visible.add(entry);
 		}
+		routeStatusResolver.prioritize(visible);
 	}
 
 	private int getFirstVisibleRow() {
@@ -1481,61 +1483,71 @@ public class RouteTabPanel extends JPanel {
 		}
 		SystemCache cache = SystemCache.getInstance();
 		if (systemAddress != 0L) {
-			CachedSystem cs = cache.get(systemAddress, systemName);
-			if (cs != null && cs.starPos != null && cs.starPos.length == 3) {
-				return new Double[] { cs.starPos[0], cs.starPos[1], cs.starPos[2] };
+			// Summary only: coordinates without decoding the body list (answered from memory on later rebuilds).
+			CachedSystemSummary summary = cache.getSummary(systemAddress, systemName);
+			if (summary != null && summary.starPos != null && summary.starPos.length == 3) {
+				return new Double[] { summary.starPos[0], summary.starPos[1], summary.starPos[2] };
 			}
 		}
 		// We do NOT synchronously call EDSM here; this method is used during rebuilds.
 		return null;
 	}
-	private Double[] resolveSystemCoordsFromEdsm(String systemName) {
+	/** Coordinates for several systems in one EDSM call; runs on the I/O pool. Null if the call failed. */
+	private Map<String, Double[]> fetchCoordsFromEdsm(List<String> systemNames) {
 		try {
-			org.dce.ed.edsm.SystemResponse sys = edsmClient.getSystem(systemName);
-			if (sys != null && sys.coords != null) {
-				Double[] coords = new Double[] { sys.coords.x, sys.coords.y, sys.coords.z };
-				if (systemName != null) {
-					resolvedCoordsCache.put(systemName, coords);
+			org.dce.ed.edsm.SystemResponse[] systems = edsmClient.getSystems(systemNames.toArray(new String[0]));
+			Map<String, Double[]> out = new java.util.HashMap<>();
+			if (systems != null) {
+				for (org.dce.ed.edsm.SystemResponse sys : systems) {
+					if (sys != null && sys.name != null && sys.coords != null) {
+						out.put(sys.name, new Double[] { sys.coords.x, sys.coords.y, sys.coords.z });
+					}
 				}
-				return coords;
 			}
+			return out;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
 		} catch (Exception e) {
-			// ignore
+			return null;
 		}
-		return null;
 	}
-	private void updateStatusFromEdsm(RouteEntry entry, int row) {
-		if (entry == null || row < 0) {
-			return;
-		}
-		RouteScanStatus local = getLocalScanStatus(entry);
+
+	/**
+	 * Runs on the I/O pool for one queued route system: the local cache first, then EDSM bodies (cached by
+	 * {@link EdsmClient} in the system cache database).
+	 */
+	private RouteRowLookup lookupRouteRowStatus(RouteStatusResolver.SystemLookup job) {
+		RouteScanStatus local = getLocalScanStatus(job.key().address(), job.systemName());
 		if (local != RouteScanStatus.UNKNOWN) {
-			SwingUtilities.invokeLater(() -> applyEdsmDerivedStatusToRow(row, entry.systemAddress, entry.systemName, local));
-			return;
+			return new RouteRowLookup(local, null);
+		}
+		try {
+			return new RouteRowLookup(RouteScanStatus.UNKNOWN, edsmClient.showBodies(job.systemName()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			System.err.println("[EDO] EDSM bodies lookup failed for " + job.systemName() + ": " + e.getMessage());
 		}
-		final long addr = entry.systemAddress;
-		final String sysName = entry.systemName;
-		if (addr != 0L && !edsmRouteStatusInFlight.add(Long.valueOf(addr))) {
+		return null;
+	}
+
+	/** Call on EDT. Applies a finished lookup to every row showing that system. */
+	private void applyRouteRowLookup(RouteStatusResolver.SystemKey key, RouteRowLookup result) {
+		if (tableModel == null) {
 			return;
 		}
-		new Thread(() -> {
-			BodiesResponse bodies = null;
-			try {
-				bodies = edsmClient.showBodies(sysName);
-			} catch (Exception ex) {
-				ex.printStackTrace();
+		for (int row = 0; row < tableModel.getRowCount(); row++) {
+			RouteEntry live = tableModel.getEntries(row);
+			if (live == null || live.isBodyRow || !routeEntryMatches(live, key.address(), key.name())) {
+				continue;
 			}
-			final BodiesResponse bodiesFinal = bodies;
-			SwingUtilities.invokeLater(() -> {
-				try {
-					applyBodiesResponseToRouteRow(row, addr, sysName, bodiesFinal);
-				} finally {
-					if (addr != 0L) {
-						edsmRouteStatusInFlight.remove(Long.valueOf(addr));
-					}
-				}
-			});
-		}, "RouteEdsm-" + (sysName != null ? sysName : "row" + row)).start();
+			if (result != null && result.local() != RouteScanStatus.UNKNOWN) {
+				applyEdsmDerivedStatusToRow(row, key.address(), key.name(), result.local());
+			} else {
+				applyBodiesResponseToRouteRow(row, key.address(), key.name(), result != null ? result.bodies() : null);
+			}
+		}
 	}
 
 	private void applyEdsmDerivedStatusToRow(int row, long expectedAddress, String expectedName, RouteScanStatus status) {
@@ -1609,8 +1621,12 @@ public class RouteTabPanel extends JPanel {
 		if (entry == null) {
 			return RouteScanStatus.UNKNOWN;
 		}
+		return getLocalScanStatus(entry.systemAddress, entry.systemName);
+	}
+
+	private RouteScanStatus getLocalScanStatus(long systemAddress, String systemName) {
 		SystemCache cache = SystemCache.getInstance();
-		CachedSystemSummary summary = cache.getSummary(entry.systemAddress, entry.systemName);
+		CachedSystemSummary summary = cache.getSummary(systemAddress, systemName);
 		if (summary == null) {
 			return RouteScanStatus.UNKNOWN; // not visited / no local info
 		}
@@ -1750,6 +1766,14 @@ public class RouteTabPanel extends JPanel {
 		}
 	}
 
+	/**
+	 * Re-aligns route markers with {@link SystemCache} after the background startup journal catch-up.
+	 */
+	public void reconcileWithCatchUpCache() {
+		reconcileRouteCurrentWithPostRescanCache();
+		rebuildDisplayedEntries();
+	}
+
 	private String resolveCurrentSystemNameFromJournal() {
 	    try {
 	        Path journalDir = OverlayPreferences.resolveJournalDirectory(EliteDangerousOverlay.clientKey);
@@ -830,7 +830,8 @@ public class SystemTabPanel extends JPanel {
         long startedAtMs = System.currentTimeMillis();
         try {
             // Primary startup source of truth:
-            // RescanJournalsMain runs before UI startup and persists the latest system snapshot.
+            // RescanJournalsMain persists the latest system snapshot (at startup it runs in the background,
+            // so this shows the previous session's system until OverlayFrame.reloadAfterJournalCatchUp).
             CachedSystem last = SystemCache.load();
             if (last != null && last.systemName != null && !last.systemName.isBlank() && last.systemAddress != 0L) {
                 loadSystem(last.systemName, last.systemAddress, false);
@@ -849,7 +850,7 @@ public class SystemTabPanel extends JPanel {
 
             String systemName = null;
             long systemAddress = 0L;
-            EliteLogEvent transition = reader.findMostRecentSystemTransitionEvent(null);
+            EliteLogEvent transition = reader.findMostRecentSystemTransitionEvent();
             if (transition instanceof LocationEvent) {
                 LocationEvent e = (LocationEvent) transition;
                 systemName = e.getStarSystem();
@@ -1243,7 +1244,7 @@ public class SystemTabPanel extends JPanel {
             return;
         }
 
-        SystemCache.getInstance().storeSystem(state);
+        SystemCache.getInstance().storeSystemDeferred(state);
     }
 
     // ---------------------------------------------------------------------
@@ -0,0 +1,60 @@
+package org.dce.ed.cache;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Where the cache files live, resolved from system properties and {@code user.home} only.
+ * <p>
+ * Kept apart from {@link SystemCache} so code that only needs a file location (region map, prospector log
+ * index, tools) does not load that class and open the SQLite cache as a side effect.
+ */
+public final class CacheLocations {
+
+    /** Overrides the SQLite system-cache file. */
+    public static final String CACHE_DB_PATH_PROPERTY = "edo.cacheDbFile";
+    /**
+     * Optional directory for cache data; default is the parent of the SQLite DB file.
+     */
+    public static final String CACHE_DATA_DIR_PROPERTY = "edo.cacheDir";
+
+    static final String CACHE_DB_FILE_NAME = "ed-overlay-systems-v1.db";
+
+    private CacheLocations() {
+    }
+
+    /**
+     * Absolute path to the SQLite system-cache database file. Does not open or create anything.
+     */
+    public static Path sqliteCacheDbPath() {
+        String override = System.getProperty(CACHE_DB_PATH_PROPERTY);
+        if (override != null && !override.isBlank()) {
+            return Paths.get(override).toAbsolutePath().normalize();
+        }
+        String home = System.getProperty("user.home");
+        if (home == null || home.isEmpty()) {
+            home = ".";
+        }
+        return Paths.get(home, ".edo", CACHE_DB_FILE_NAME).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Directory for {@code edo-session.json} and related files (parent of DB unless {@link #CACHE_DATA_DIR_PROPERTY} is set).
+     */
+    public static Path cacheDataDirectory() {
+        String override = System.getProperty(CACHE_DATA_DIR_PROPERTY);
+        if (override != null && !override.isBlank()) {
+            return Paths.get(override).toAbsolutePath().normalize();
+        }
+        Path db = sqliteCacheDbPath();
+        Path parent = db.getParent();
+        if (parent != null) {
+            return parent;
+        }
+        String home = System.getProperty("user.home");
+        if (home == null || home.isEmpty()) {
+            return Paths.get(".").toAbsolutePath().normalize();
+        }
+        return Paths.get(home);
+    }
+}
@@ -16,7 +16,7 @@ import java.util.List;
      * Exobiology running total (expected credits, unsold).
      * Persisted inside each cached system JSON when using the JSON file backend.
      * When using SQLite, this field is stored in table {@code overlay_global_state} instead
-     * and is omitted from {@code systems.payload_json}.
+     * and is omitted from {@code systems.payload}.
      */
     public Long exobiologyCreditsTotalUnsold;
 
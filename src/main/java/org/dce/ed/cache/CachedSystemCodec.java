@@ -0,0 +1,247 @@
+package org.dce.ed.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Binary encoding of {@link CachedSystem} for {@code systems.payload}.
+ * <p>
+ * Layout (version 1, big-endian):
+ * <pre>
+ *   magic 0xED 0xC5, version, flags (bit 0: body section deflated)
+ *   header:  systemAddress long, systemName nullable UTF, starPos count byte + doubles,
+ *            totalBodies / nonBodyCount nullable int, fssProgress nullable double,
+ *            allBodiesFound tri-state byte, body count int
+ *   bodies:  raw length int, stored length int, compact Gson JSON of the body list (deflated when large)
+ * </pre>
+ * The header is fixed binary so {@link #decodeSummary} and {@link #decode(byte[], boolean) decode(blob, false)}
+ * never touch the body section. Bodies stay Gson so new {@link CachedBody} fields need no format change; without
+ * pretty printing and with the repeated field names deflated they take a fraction of the old
+ * {@code payload_json} text.
+ */
+public final class CachedSystemCodec {
+
+    static final int VERSION = 1;
+
+    private static final byte MAGIC_0 = (byte) 0xED;
+    private static final byte MAGIC_1 = (byte) 0xC5;
+    private static final int FLAG_DEFLATED = 1;
+    /** Body sections smaller than this are stored as-is; deflate would barely shrink them. */
+    private static final int DEFLATE_MIN_BYTES = 256;
+
+    private static final Type BODY_LIST = new TypeToken<List<CachedBody>>() { }.getType();
+    private static final Gson GSON = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+
+    private CachedSystemCodec() {
+    }
+
+    /**
+     * @return true if {@code blob} starts with this codec's magic
+     */
+    public static boolean isEncoded(byte[] blob) {
+        return blob != null && blob.length >= 4 && blob[0] == MAGIC_0 && blob[1] == MAGIC_1;
+    }
+
+    /**
+     * Encodes everything except {@link CachedSystem#exobiologyCreditsTotalUnsold}, which lives in the global table.
+     */
+    public static byte[] encode(CachedSystem cs) {
+        List<CachedBody> bodies = cs.bodies != null ? cs.bodies : List.of();
+        byte[] raw = GSON.toJson(bodies, BODY_LIST).getBytes(StandardCharsets.UTF_8);
+        boolean deflate = raw.length >= DEFLATE_MIN_BYTES;
+        byte[] stored = deflate ? deflate(raw) : raw;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + stored.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC_0);
+            out.writeByte(MAGIC_1);
+            out.writeByte(VERSION);
+            out.writeByte(deflate ? FLAG_DEFLATED : 0);
+
+            out.writeLong(cs.systemAddress);
+            writeNullableUtf(out, cs.systemName);
+            if (cs.starPos != null && cs.starPos.length >= 3) {
+                out.writeByte(3);
+                out.writeDouble(cs.starPos[0]);
+                out.writeDouble(cs.starPos[1]);
+                out.writeDouble(cs.starPos[2]);
+            } else {
+                out.writeByte(0);
+            }
+            writeNullableInt(out, cs.totalBodies);
+            writeNullableInt(out, cs.nonBodyCount);
+            if (cs.fssProgress != null) {
+                out.writeBoolean(true);
+                out.writeDouble(cs.fssProgress.doubleValue());
+            } else {
+                out.writeBoolean(false);
+            }
+            out.writeByte(cs.allBodiesFound == null ? 0 : (cs.allBodiesFound.booleanValue() ? 2 : 1));
+            out.writeInt(bodies.size());
+
+            out.writeInt(raw.length);
+            out.writeInt(stored.length);
+            out.write(stored);
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory encode failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode}.
+     *
+     * @param includeBodies false leaves {@link CachedSystem#bodies} empty without reading the body section
+     * @throws IllegalArgumentException if {@code blob} is not a payload of a supported version
+     */
+    public static CachedSystem decode(byte[] blob, boolean includeBodies) {
+        try (DataInputStream in = open(blob)) {
+            int flags = blob[3];
+            CachedSystem cs = new CachedSystem();
+            cs.systemAddress = in.readLong();
+            cs.systemName = readNullableUtf(in);
+            int n = in.readUnsignedByte();
+            if (n > 0) {
+                cs.starPos = new double[n];
+                for (int i = 0; i < n; i++) {
+                    cs.starPos[i] = in.readDouble();
+                }
+            }
+            cs.totalBodies = readNullableInt(in);
+            cs.nonBodyCount = readNullableInt(in);
+            cs.fssProgress = in.readBoolean() ? Double.valueOf(in.readDouble()) : null;
+            int all = in.readUnsignedByte();
+            cs.allBodiesFound = all == 0 ? null : Boolean.valueOf(all == 2);
+            in.readInt(); // body count (summary only)
+            if (!includeBodies) {
+                cs.bodies = new ArrayList<>();
+                return cs;
+            }
+            int rawLength = in.readInt();
+            byte[] stored = new byte[in.readInt()];
+            in.readFully(stored);
+            byte[] raw = (flags & FLAG_DEFLATED) != 0 ? inflate(stored, rawLength) : stored;
+            List<CachedBody> bodies = GSON.fromJson(new String(raw, StandardCharsets.UTF_8), BODY_LIST);
+            cs.bodies = bodies != null ? new ArrayList<>(bodies) : new ArrayList<>();
+            return cs;
+        } catch (IOException | DataFormatException e) {
+            throw new IllegalArgumentException("corrupt cached system payload", e);
+        }
+    }
+
+    /**
+     * Reads only the header: no inflate, no Gson.
+     */
+    public static CachedSystemSummary decodeSummary(byte[] blob) {
+        try (DataInputStream in = open(blob)) {
+            long address = in.readLong();
+            String name = readNullableUtf(in);
+            int n = in.readUnsignedByte();
+            double[] starPos = n > 0 ? new double[n] : null;
+            for (int i = 0; i < n; i++) {
+                starPos[i] = in.readDouble();
+            }
+            Integer total = readNullableInt(in);
+            readNullableInt(in);
+            Double progress = in.readBoolean() ? Double.valueOf(in.readDouble()) : null;
+            int all = in.readUnsignedByte();
+            int bodyCount = in.readInt();
+            return new CachedSystemSummary(address, name, total, progress,
+                    all == 0 ? null : Boolean.valueOf(all == 2), bodyCount, starPos);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("corrupt cached system payload", e);
+        }
+    }
+
+    /**
+     * Pretty JSON of a payload, for tools that show the cache contents.
+     */
+    public static String toJson(byte[] blob) {
+        return new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create()
+                .toJson(decode(blob, true));
+    }
+
+    private static DataInputStream open(byte[] blob) {
+        if (!isEncoded(blob)) {
+            throw new IllegalArgumentException("not a cached system payload");
+        }
+        if (blob[2] != VERSION) {
+            throw new IllegalArgumentException("unsupported cached system payload version " + blob[2]);
+        }
+        return new DataInputStream(new ByteArrayInputStream(blob, 4, blob.length - 4));
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored, int rawLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            byte[] raw = new byte[rawLength];
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                int k = inflater.inflate(raw, n, rawLength - n);
+                if (k == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += k;
+            }
+            if (n != rawLength) {
+                throw new DataFormatException("body section truncated: " + n + " of " + rawLength + " bytes");
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeNullableUtf(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readNullableUtf(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null) {
+            out.writeInt(v.intValue());
+        }
+    }
+
+    private static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Integer.valueOf(in.readInt()) : null;
+    }
+}
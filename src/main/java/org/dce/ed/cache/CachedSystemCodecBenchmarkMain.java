@@ -0,0 +1,259 @@
+package org.dce.ed.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares the legacy pretty Gson {@code payload_json} with {@link CachedSystemCodec} blobs: database size,
+ * encode/decode time, and per-system store/load time against two scratch SQLite files.
+ *
+ * Samples come from a copy of an existing cache database when given, else from synthetic systems.
+ *
+ * Usage: CachedSystemCodecBenchmarkMain [systems] [rounds] [existing-cache.db]
+ */
+public class CachedSystemCodecBenchmarkMain {
+
+    private static final String[] PLANET_CLASSES = {
+            "High metal content body", "Rocky body", "Icy body", "Rocky ice body", "Water world", "Ammonia world"
+    };
+    private static final String[] ATMOSPHERES = {
+            "", "thin carbon dioxide atmosphere", "thin ammonia atmosphere", "thin sulphur dioxide atmosphere",
+            "thin argon atmosphere", "thin methane atmosphere"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int systems = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path existing = args.length > 2 ? Path.of(args[2]) : null;
+
+        Gson pretty = new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create();
+        List<CachedSystem> sample = existing != null ? loadExisting(existing, systems, pretty) : synthetic(systems, 42L);
+        int bodies = sample.stream().mapToInt(cs -> cs.bodies.size()).sum();
+        System.out.println("Systems: " + sample.size() + ", bodies: " + bodies
+                + (existing != null ? " (from " + existing + ")" : " (synthetic)"));
+
+        Map<String, String> json = new LinkedHashMap<>();
+        Map<String, byte[]> blobs = new LinkedHashMap<>();
+        for (CachedSystem cs : sample) {
+            String key = "addr:" + cs.systemAddress;
+            json.put(key, pretty.toJson(cs));
+            blobs.put(key, CachedSystemCodec.encode(cs));
+        }
+        long jsonBytes = json.values().stream().mapToLong(s -> s.getBytes(StandardCharsets.UTF_8).length).sum();
+        long blobBytes = blobs.values().stream().mapToLong(b -> b.length).sum();
+        System.out.println(String.format(Locale.ROOT, "payload bytes:  json %,d  binary %,d  (%.1f%%)",
+                jsonBytes, blobBytes, 100.0 * blobBytes / jsonBytes));
+
+        long sink = 0;
+        long jsonEncodeNs = Long.MAX_VALUE, blobEncodeNs = Long.MAX_VALUE;
+        long jsonDecodeNs = Long.MAX_VALUE, blobDecodeNs = Long.MAX_VALUE, summaryNs = Long.MAX_VALUE;
+        for (int r = 0; r < rounds + 2; r++) {
+            long t0 = System.nanoTime();
+            for (CachedSystem cs : sample) {
+                sink += pretty.toJson(cs).length();
+            }
+            long t1 = System.nanoTime();
+            for (CachedSystem cs : sample) {
+                sink += CachedSystemCodec.encode(cs).length;
+            }
+            long t2 = System.nanoTime();
+            for (String s : json.values()) {
+                sink += pretty.fromJson(s, CachedSystem.class).bodies.size();
+            }
+            long t3 = System.nanoTime();
+            for (byte[] b : blobs.values()) {
+                sink += CachedSystemCodec.decode(b, true).bodies.size();
+            }
+            long t4 = System.nanoTime();
+            for (byte[] b : blobs.values()) {
+                sink += CachedSystemCodec.decodeSummary(b).cachedBodyCount;
+            }
+            long t5 = System.nanoTime();
+            if (r >= 2) {
+                jsonEncodeNs = Math.min(jsonEncodeNs, t1 - t0);
+                blobEncodeNs = Math.min(blobEncodeNs, t2 - t1);
+                jsonDecodeNs = Math.min(jsonDecodeNs, t3 - t2);
+                blobDecodeNs = Math.min(blobDecodeNs, t4 - t3);
+                summaryNs = Math.min(summaryNs, t5 - t4);
+            }
+        }
+        int n = sample.size();
+        System.out.println(String.format(Locale.ROOT, "encode:  json %8.1f us/system  binary %8.1f us/system",
+                jsonEncodeNs / 1e3 / n, blobEncodeNs / 1e3 / n));
+        System.out.println(String.format(Locale.ROOT, "decode:  json %8.1f us/system  binary %8.1f us/system  summary %6.2f us/system",
+                jsonDecodeNs / 1e3 / n, blobDecodeNs / 1e3 / n, summaryNs / 1e3 / n));
+
+        Path dir = Files.createTempDirectory("edo-codec-bench");
+        Path jsonDb = dir.resolve("json.db");
+        Path blobDb = dir.resolve("binary.db");
+        try {
+            long jsonStoreNs = store(jsonDb, json, null);
+            long blobStoreNs = store(blobDb, null, blobs);
+            System.out.println(String.format(Locale.ROOT, "db size: json %,d  binary %,d bytes  (%.1f%%)",
+                    Files.size(jsonDb), Files.size(blobDb), 100.0 * Files.size(blobDb) / Files.size(jsonDb)));
+            System.out.println(String.format(Locale.ROOT, "store:   json %8.1f us/system  binary %8.1f us/system",
+                    jsonStoreNs / 1e3 / n, blobStoreNs / 1e3 / n));
+
+            long jsonLoadNs = Long.MAX_VALUE, blobLoadNs = Long.MAX_VALUE;
+            for (int r = 0; r < rounds + 2; r++) {
+                long t0 = System.nanoTime();
+                sink += load(jsonDb, json.keySet(), false, pretty);
+                long t1 = System.nanoTime();
+                sink += load(blobDb, blobs.keySet(), true, pretty);
+                long t2 = System.nanoTime();
+                if (r >= 2) {
+                    jsonLoadNs = Math.min(jsonLoadNs, t1 - t0);
+                    blobLoadNs = Math.min(blobLoadNs, t2 - t1);
+                }
+            }
+            System.out.println(String.format(Locale.ROOT, "load:    json %8.1f us/system  binary %8.1f us/system  (checksum %d)",
+                    jsonLoadNs / 1e3 / n, blobLoadNs / 1e3 / n, sink));
+        } finally {
+            Files.deleteIfExists(jsonDb);
+            Files.deleteIfExists(blobDb);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static long store(Path db, Map<String, String> json, Map<String, byte[]> blobs) throws SQLException {
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + db)) {
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate("CREATE TABLE systems (cache_key TEXT PRIMARY KEY, payload_json TEXT NOT NULL, payload BLOB)");
+            }
+            long t0 = System.nanoTime();
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO systems (cache_key, payload_json, payload) VALUES (?, ?, ?)")) {
+                if (json != null) {
+                    for (Map.Entry<String, String> e : json.entrySet()) {
+                        ps.setString(1, e.getKey());
+                        ps.setString(2, e.getValue());
+                        ps.setNull(3, java.sql.Types.BLOB);
+                        ps.executeUpdate();
+                    }
+                } else {
+                    for (Map.Entry<String, byte[]> e : blobs.entrySet()) {
+                        ps.setString(1, e.getKey());
+                        ps.setString(2, "");
+                        ps.setBytes(3, e.getValue());
+                        ps.executeUpdate();
+                    }
+                }
+            }
+            return System.nanoTime() - t0;
+        }
+    }
+
+    private static long load(Path db, Iterable<String> keys, boolean binary, Gson gson) throws SQLException {
+        long n = 0;
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + db);
+             PreparedStatement ps = c.prepareStatement("SELECT payload, payload_json FROM systems WHERE cache_key = ?")) {
+            for (String key : keys) {
+                ps.setString(1, key);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        CachedSystem cs = binary
+                                ? CachedSystemCodec.decode(rs.getBytes(1), true)
+                                : gson.fromJson(rs.getString(2), CachedSystem.class);
+                        n += cs.bodies.size();
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Reads up to {@code limit} systems from a cache database (either payload format), without modifying it.
+     */
+    private static List<CachedSystem> loadExisting(Path db, int limit, Gson gson) throws SQLException {
+        List<CachedSystem> out = new ArrayList<>();
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:file:" + db.toAbsolutePath() + "?mode=ro");
+             PreparedStatement ps = c.prepareStatement(hasPayloadColumn(c)
+                     ? "SELECT payload, payload_json FROM systems ORDER BY updated_at DESC LIMIT ?"
+                     : "SELECT NULL, payload_json FROM systems ORDER BY updated_at DESC LIMIT ?")) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    byte[] blob = rs.getBytes(1);
+                    CachedSystem cs = CachedSystemCodec.isEncoded(blob)
+                            ? CachedSystemCodec.decode(blob, true)
+                            : gson.fromJson(rs.getString(2), CachedSystem.class);
+                    if (cs != null) {
+                        cs.exobiologyCreditsTotalUnsold = null;
+                        out.add(cs);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean hasPayloadColumn(Connection c) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("PRAGMA table_info(systems)")) {
+            while (rs.next()) {
+                if ("payload".equalsIgnoreCase(rs.getString(2))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static List<CachedSystem> synthetic(int count, long seed) {
+        Random rnd = new Random(seed);
+        List<CachedSystem> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CachedSystem cs = new CachedSystem();
+            cs.systemAddress = 1_000_000L + i;
+            cs.systemName = "Synthetic Sector AB-C d" + i;
+            cs.starPos = new double[] { rnd.nextGaussian() * 2_000, rnd.nextGaussian() * 300, rnd.nextGaussian() * 5_000 };
+            int bodies = 1 + rnd.nextInt(40);
+            cs.totalBodies = bodies;
+            cs.nonBodyCount = rnd.nextInt(4);
+            cs.fssProgress = rnd.nextBoolean() ? 1.0 : rnd.nextDouble();
+            cs.allBodiesFound = rnd.nextBoolean();
+            for (int b = 0; b < bodies; b++) {
+                CachedBody body = new CachedBody();
+                body.bodyId = b;
+                body.name = cs.systemName + " " + (b == 0 ? "A" : "A " + b);
+                body.bodyName = body.name;
+                body.starSystem = cs.systemName;
+                body.starPos = cs.starPos;
+                body.distanceLs = b == 0 ? 0 : rnd.nextDouble() * 8_000;
+                if (b == 0) {
+                    body.starType = "K";
+                } else {
+                    body.planetClass = PLANET_CLASSES[rnd.nextInt(PLANET_CLASSES.length)];
+                    body.atmosphere = ATMOSPHERES[rnd.nextInt(ATMOSPHERES.length)];
+                    body.gravityMS = rnd.nextDouble() * 20;
+                    body.surfaceTempK = 50 + rnd.nextDouble() * 600;
+                    body.surfacePressure = rnd.nextDouble() * 10_000;
+                    body.landable = rnd.nextInt(3) == 0;
+                    body.hasBio = body.landable && rnd.nextBoolean();
+                    body.parentStar = cs.systemName + " A";
+                    body.terraformState = rnd.nextInt(10) == 0 ? "Terraformable" : "";
+                    body.volcanism = rnd.nextInt(4) == 0 ? "minor rocky magma volcanism" : "";
+                }
+                cs.bodies.add(body);
+            }
+            out.add(cs);
+        }
+        return out;
+    }
+}
@@ -10,6 +10,8 @@ public final class CachedSystemSummary {
     public final Double fssProgress;
     public final Boolean allBodiesFound;
     public final int cachedBodyCount;
+    /** Star position, or null if unknown. Do not modify. */
+    public final double[] starPos;
 
     public CachedSystemSummary(long systemAddress,
             String systemName,
@@ -17,11 +19,22 @@ public final class CachedSystemSummary {
             Double fssProgress,
             Boolean allBodiesFound,
             int cachedBodyCount) {
+        this(systemAddress, systemName, totalBodies, fssProgress, allBodiesFound, cachedBodyCount, null);
+    }
+
+    public CachedSystemSummary(long systemAddress,
+            String systemName,
+            Integer totalBodies,
+            Double fssProgress,
+            Boolean allBodiesFound,
+            int cachedBodyCount,
+            double[] starPos) {
         this.systemAddress = systemAddress;
         this.systemName = systemName;
         this.totalBodies = totalBodies;
         this.fssProgress = fssProgress;
         this.allBodiesFound = allBodiesFound;
         this.cachedBodyCount = cachedBodyCount;
+        this.starPos = starPos;
     }
 }
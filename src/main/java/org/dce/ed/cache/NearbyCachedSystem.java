@@ -0,0 +1,27 @@
+package org.dce.ed.cache;
+
+/**
+ * A cached system found by a spatial query, with its distance from the query point.
+ */
+public final class NearbyCachedSystem {
+    public final long systemAddress;
+    public final String systemName;
+    public final double x;
+    public final double y;
+    public final double z;
+    public final double distanceLy;
+
+    public NearbyCachedSystem(long systemAddress,
+            String systemName,
+            double x,
+            double y,
+            double z,
+            double distanceLy) {
+        this.systemAddress = systemAddress;
+        this.systemName = systemName;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.distanceLy = distanceLy;
+    }
+}
@@ -3,7 +3,6 @@ package org.dce.ed.cache;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
@@ -14,6 +13,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.prefs.Preferences;
 
 import org.dce.ed.OverlayFrame;
@@ -29,7 +30,7 @@ import org.dce.ed.util.ValuableBodyExplorationEstimate;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 /**
- * SQLite-backed cache of star systems (bodies in {@code systems.payload_json}),
+ * SQLite-backed cache of star systems (one {@link CachedSystemCodec} blob per row in {@code systems.payload}),
  * plus a singleton {@code overlay_global_state} row for commander-global values and the
  * current-system pointer (see {@link #getCacheDataDirectory()}).
  * <p>
@@ -37,6 +38,19 @@ import com.google.gson.GsonBuilder;
  * {@code current_system_name}, updated on {@link #storeSystem} (unless bulk rescan).
  * {@link #loadLastSystem()} uses that pointer first, then the newest {@code systems} row.
  * Commander / overlay session is stored in {@code overlay_global_state.session_json} (see {@link #loadEdoSessionState()}).
+ * <p>
+ * Live UI stores go through {@link #storeSystemDeferred} and the {@link SystemCacheWriteBehind} stage; reads of a
+ * system with a pending deferred store write it first.
+ * <p>
+ * {@link #get} and {@link #getSummary} answer from the {@link SystemCacheMemoryTier} without taking the cache
+ * monitor when they can; every row write invalidates that system there.
+ * <p>
+ * Star coordinates and body facts are also written to structured columns ({@code systems.x/y/z}, R*Tree
+ * {@code systems_rtree}, table {@code system_bodies}; see {@link SystemCacheIndex}) for
+ * {@link #findSystemsWithinRadius} / {@link #findNearestSystems}.
+ * <p>
+ * Rows written before the binary payload keep their Gson text in {@code payload_json} (now written as
+ * {@code ''}); they still load, are rewritten on read, and a background pass converts the rest.
  */
 
 
@@ -44,18 +58,16 @@ import com.google.gson.GsonBuilder;
 public final class SystemCache implements SystemStore {
     private CachedSystem lastLoadedSystem;
 
-    private static final String CACHE_DB_FILE_NAME = "ed-overlay-systems-v1.db";
-
     /**
      * Single-row table for app-wide cache fields (not per-star-system), e.g. unsold exobiology credits.
      */
     private static final String SQLITE_GLOBAL_TABLE = "overlay_global_state";
 
-    public static final String CACHE_DB_PATH_PROPERTY = "edo.cacheDbFile";
+    public static final String CACHE_DB_PATH_PROPERTY = CacheLocations.CACHE_DB_PATH_PROPERTY;
     /**
      * Optional directory for cache data; default is the parent of the SQLite DB file.
      */
-    public static final String CACHE_DATA_DIR_PROPERTY = "edo.cacheDir";
+    public static final String CACHE_DATA_DIR_PROPERTY = CacheLocations.CACHE_DATA_DIR_PROPERTY;
 
     private static final String LEGACY_SESSION_FILE_NAME = "edo-session.json";
     private static final String PREF_KEY_EXO_CREDITS_TOTAL = "exo.creditsTotal";
@@ -75,8 +87,33 @@ public final class SystemCache implements SystemStore {
     private final Path cacheDbPath;
     private Connection sqliteConnection;
     private boolean sqliteReady;
+    /** {@code systems_rtree} exists; otherwise spatial queries scan {@code systems.x/y/z}. */
+    private boolean spatialIndexReady;
+    /** Legacy {@code payload_json} rows converted per transaction by {@link #migrateJsonPayloads}. */
+    private static final int PAYLOAD_MIGRATION_BATCH = 200;
     private long lastUpdatedAtMs;
     private boolean sessionBlobMigrationChecked;
+    private final Object writeBehindLock = new Object();
+    private SystemCacheWriteBehind writeBehind;
+    private final SystemCacheMemoryTier memoryTier = new SystemCacheMemoryTier();
+    private final List<Runnable> fileReleaseHooks = new CopyOnWriteArrayList<>();
+    /** Successful SQLite writes since start: system rows (with their bodies), and global/session rows. */
+    private final AtomicLong systemRowWrites = new AtomicLong();
+    private final AtomicLong globalRowWrites = new AtomicLong();
+    /** System rows upserted inside the open {@link #writeSnapshots} transaction; counted once it commits. */
+    private int uncommittedSystemRowWrites;
+
+    /**
+     * An upsert that failed inside a caller's transaction; carries the {@link SQLException} out of {@link #put}
+     * so {@link #writeSnapshots} rolls the whole batch back.
+     */
+    private static final class UpsertFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UpsertFailedException(SQLException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
 
     private SystemCache() {
         this.gson = new GsonBuilder()
@@ -94,6 +131,10 @@ public final class SystemCache implements SystemStore {
     public synchronized void clearAndDeleteOnDisk() {
         System.out.println("Delete cache DB " + cacheDbPath);
         lastLoadedSystem = null;
+        memoryTier.clear();
+        if (writeBehind != null) {
+            writeBehind.discardAllPending();
+        }
         try {
             if (sqliteConnection != null) {
                 sqliteConnection.close();
@@ -103,6 +144,13 @@ public final class SystemCache implements SystemStore {
         sqliteConnection = null;
         sqliteReady = false;
         sessionBlobMigrationChecked = false;
+        for (Runnable hook : fileReleaseHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException ex) {
+                System.err.println("SystemCache: file release hook failed: " + ex.getMessage());
+            }
+        }
         try {
             Files.deleteIfExists(cacheDbPath);
         } catch (IOException ex) {
@@ -115,6 +163,16 @@ public final class SystemCache implements SystemStore {
         return INSTANCE;
     }
 
+    /**
+     * Registers a callback run by {@link #clearAndDeleteOnDisk()} before the file is deleted, for stores that keep
+     * their own connection to the cache file open (Windows cannot delete a file with an open handle).
+     */
+    public void addFileReleaseHook(Runnable hook) {
+        if (hook != null) {
+            fileReleaseHooks.add(hook);
+        }
+    }
+
     /**
      * Absolute path of the SQLite file used by this JVM's cache singleton—the same file the overlay opened
      * when the singleton first initialized. In-process tools should prefer this over {@link #getSqliteCacheDbPath()}
@@ -151,6 +209,9 @@ public final class SystemCache implements SystemStore {
         if (!sqliteReady) {
             return null;
         }
+        if (writeBehind != null) {
+            writeBehind.drainPendingLocked();
+        }
         CachedSystem cs = sqliteLoadLastSystem();
         lastLoadedSystem = cs;
         return cs;
@@ -217,11 +278,49 @@ public final class SystemCache implements SystemStore {
     }
     
     @Override
-    public synchronized CachedSystem get(long systemAddress, String systemName) {
-        if (!sqliteReady) {
-            return null;
+    public CachedSystem get(long systemAddress, String systemName) {
+        SystemCacheMemoryTier.Entry e = memoryTier.lookup(systemAddress, canonicalName(systemName), true);
+        if (e != null) {
+            return e.absent() ? null : CachedSystemCodec.decode(e.payload, true);
+        }
+        synchronized (this) {
+            if (!sqliteReady) {
+                return null;
+            }
+            writePendingLocked(systemAddress, systemName);
+            return sqliteGet(systemAddress, systemName);
+        }
+    }
+
+    /** System rows written to SQLite since start (each with its body rows); for benchmarks and diagnostics. */
+    public long getSystemRowWriteCount() {
+        return systemRowWrites.get();
+    }
+
+    /** Global/session rows written to SQLite since start. */
+    public long getGlobalRowWriteCount() {
+        return globalRowWrites.get();
+    }
+
+    /**
+     * Hit/miss/eviction counters and budget of the in-memory tier in front of {@link #get} / {@link #getSummary}.
+     */
+    public SystemCacheMemoryTier getMemoryTier() {
+        return memoryTier;
+    }
+
+    /**
+     * Read-your-writes for deferred stores: a pending snapshot of the requested system is written before reading.
+     */
+    private void writePendingLocked(long systemAddress, String systemName) {
+        if (writeBehind == null) {
+            return;
+        }
+        SystemSnapshot pending = writeBehind.takePending(sqliteKey(systemAddress, systemName), canonicalName(systemName));
+        if (pending != null) {
+            writeSnapshot(pending, true);
+            writeBehind.recordWritten(1);
         }
-        return sqliteGet(systemAddress, systemName);
     }
 
     /**
@@ -654,29 +753,90 @@ public final class SystemCache implements SystemStore {
 
     @Override
     public void storeSystem(SystemState state) {
-        if (state == null || state.getSystemName() == null || state.getSystemAddress() == 0L) {
+        SystemSnapshot snap = snapshotSystem(state);
+        if (snap == null) {
             return;
         }
+        synchronized (this) {
+            // A synchronous store supersedes any deferred snapshot of the same system.
+            if (writeBehind != null) {
+                writeBehind.discardPending(snap.cacheKey);
+            }
+            writeSnapshot(snap, true);
+        }
+    }
 
-        // Merge-on-save: preserve certain fields from the existing on-disk cache when the
-        // current in-memory SystemState does not currently have them populated.
-        CachedSystem existing = get(state.getSystemAddress(), state.getSystemName());
+    /**
+     * Like {@link #storeSystem} but returns immediately: the state is snapshotted on the caller's thread and the
+     * SQLite merge/upsert runs on the {@link SystemCacheWriteBehind} writer thread, coalesced with other stores of
+     * the same system. Reads of that system through this cache see the pending snapshot first.
+     */
+    @Override
+    public void storeSystemDeferred(SystemState state) {
+        SystemSnapshot snap = snapshotSystem(state);
+        if (snap == null) {
+            return;
+        }
+        getWriteBehind().enqueue(snap);
+        // After the enqueue: a lookup that misses now takes the monitor and writes the pending snapshot first.
+        memoryTier.invalidate(snap.systemAddress, canonicalName(snap.systemName));
+    }
 
-        Map<Integer, CachedBody> existingBodies = new HashMap<>();
-        Map<String, CachedBody> existingBodiesByName = new HashMap<>();
-        if (existing != null && existing.bodies != null) {
-            for (CachedBody eb : existing.bodies) {
-                if (eb == null) {
-                    continue;
-                }
-                existingBodies.put(Integer.valueOf(eb.bodyId), eb);
-                if (eb.name != null && !eb.name.isEmpty()) {
-                    existingBodiesByName.put(canonicalName(eb.name), eb);
-                }
+    /**
+     * Write-behind stage used by {@link #storeSystemDeferred}; created on first use.
+     */
+    public SystemCacheWriteBehind getWriteBehind() {
+        synchronized (writeBehindLock) {
+            if (writeBehind == null) {
+                writeBehind = new SystemCacheWriteBehind(this);
             }
+            return writeBehind;
+        }
+    }
+
+    /**
+     * Copy of a {@link SystemState} taken on the caller's thread, so the disk merge can run later without
+     * touching live session objects. Bodies hold only what the state knows; cache truth is merged in
+     * {@link #writeSnapshot}.
+     */
+    static final class SystemSnapshot {
+        final String cacheKey;
+        final long systemAddress;
+        final String systemName;
+        final double[] starPos;
+        final Integer totalBodies;
+        final Integer nonBodyCount;
+        final Double fssProgress;
+        final Boolean allBodiesFound;
+        final Long exobiologyCreditsTotalUnsold;
+        final boolean docked;
+        final List<CachedBody> bodies;
+        /** Parallel to {@link #bodies}: {@link BodyInfo#isPlanetaryBodyForRingDisplay()} at snapshot time. */
+        final boolean[] ringDisplay;
+
+        private SystemSnapshot(SystemState state, List<CachedBody> bodies, boolean[] ringDisplay) {
+            this.cacheKey = sqliteKey(state.getSystemAddress(), state.getSystemName());
+            this.systemAddress = state.getSystemAddress();
+            this.systemName = state.getSystemName();
+            this.starPos = state.getStarPos() != null ? state.getStarPos().clone() : null;
+            this.totalBodies = state.getTotalBodies();
+            this.nonBodyCount = state.getNonBodyCount();
+            this.fssProgress = state.getFssProgress();
+            this.allBodiesFound = state.getAllBodiesFound();
+            this.exobiologyCreditsTotalUnsold = state.getExobiologyCreditsTotalUnsold();
+            this.docked = state.isDocked();
+            this.bodies = bodies;
+            this.ringDisplay = ringDisplay;
         }
+    }
 
+    private static SystemSnapshot snapshotSystem(SystemState state) {
+        if (state == null || state.getSystemName() == null || state.getSystemAddress() == 0L) {
+            return null;
+        }
         List<CachedBody> list = new ArrayList<>();
+        List<Boolean> rings = new ArrayList<>();
+        double[] starPos = state.getStarPos() != null ? state.getStarPos().clone() : null;
 
         for (BodyInfo b : state.getBodies().values()) {
             if (b.getBodyId() == -1) {
@@ -684,17 +844,12 @@ public final class SystemCache implements SystemStore {
                 continue;
             }
 
-            CachedBody prev = existingBodies.get(Integer.valueOf(b.getBodyId()));
-            if (prev == null && b.getBodyName() != null && !b.getBodyName().isEmpty()) {
-                prev = existingBodiesByName.get(canonicalName(b.getBodyName()));
-            }
-
             CachedBody cb = new CachedBody();
             cb.name = b.getBodyName();
             cb.bodyId = b.getBodyId();
             cb.starSystem = b.getStarSystem();
 
-            cb.starPos = state.getStarPos();
+            cb.starPos = starPos;
             cb.distanceLs = b.getDistanceLs();
             cb.gravityMS = b.getGravityMS();
             cb.landable = b.isLandable();
@@ -725,17 +880,108 @@ public final class SystemCache implements SystemStore {
             cb.wasFootfalled = b.getWasFootfalled();
             cb.spanshLandmarks = b.getSpanshLandmarks() != null ? new ArrayList<>(b.getSpanshLandmarks()) : null;
             cb.spanshExcludeFromExobiology = b.getSpanshExcludeFromExobiology();
-            if (b.isPlanetaryBodyForRingDisplay()
+            boolean ringDisplay = b.isPlanetaryBodyForRingDisplay();
+            if (ringDisplay
                     && b.getRingSummaryLines() != null
                     && !b.getRingSummaryLines().isEmpty()) {
                 cb.ringTypes = new ArrayList<>(b.getRingSummaryLines());
             }
-            if (!b.isPlanetaryBodyForRingDisplay()) {
+            if (!ringDisplay) {
                 cb.ringReserveHumanized = null;
             } else if (b.getRingReserveHumanized() != null && !b.getRingReserveHumanized().isEmpty()) {
                 cb.ringReserveHumanized = b.getRingReserveHumanized();
             }
 
+            // In-memory count only; merged with the cached count in writeSnapshot.
+            cb.setNumberOfBioSignals(b.getNumberOfBioSignals() != null ? b.getNumberOfBioSignals().intValue() : 0);
+            if (b.getPredictions() != null && !b.getPredictions().isEmpty()) {
+                cb.predictions = new ArrayList<>(b.getPredictions());
+            }
+
+            Map<String, Integer> counts = b.getBioSampleCountsSnapshot();
+            if (counts != null && !counts.isEmpty()) {
+                cb.bioSampleCountsByDisplayName = counts;
+                cb.bioSamplePointsByDisplayName = toCachedPoints(b.getBioSamplePointsSnapshot());
+            }
+            cb.abandonedBioSamplePointsByDisplayName = toCachedPoints(b.getAbandonedBioSamplePointsSnapshot());
+
+            if (b.getObservedGenusPrefixes() != null && !b.getObservedGenusPrefixes().isEmpty()) {
+                cb.observedGenusPrefixes = new java.util.HashSet<>(b.getObservedGenusPrefixes());
+            }
+            if (b.getObservedBioDisplayNames() != null && !b.getObservedBioDisplayNames().isEmpty()) {
+                cb.observedBioDisplayNames = new java.util.HashSet<>(b.getObservedBioDisplayNames());
+            }
+
+            if (b.isHighValue()) {
+                long cr = ExplorationBodyCredits.achievableExplorationTotalCredits(b);
+                if (cr > 0) {
+                    cb.valuableBodyExplorationCredits = Long.valueOf(cr);
+                }
+            }
+
+            list.add(cb);
+            rings.add(Boolean.valueOf(ringDisplay));
+        }
+
+        boolean[] ringDisplay = new boolean[rings.size()];
+        for (int i = 0; i < ringDisplay.length; i++) {
+            ringDisplay[i] = rings.get(i).booleanValue();
+        }
+        return new SystemSnapshot(state, list, ringDisplay);
+    }
+
+    private static Map<String, List<CachedBody.BioSamplePoint>> toCachedPoints(Map<String, List<BodyInfo.BioSamplePoint>> points) {
+        if (points == null || points.isEmpty()) {
+            return null;
+        }
+        Map<String, List<CachedBody.BioSamplePoint>> out = new HashMap<>();
+        for (Map.Entry<String, List<BodyInfo.BioSamplePoint>> e : points.entrySet()) {
+            if (e.getValue() == null || e.getValue().isEmpty()) {
+                continue;
+            }
+            List<CachedBody.BioSamplePoint> pts = new ArrayList<>();
+            for (BodyInfo.BioSamplePoint p : e.getValue()) {
+                pts.add(new CachedBody.BioSamplePoint(p.getLatitude(), p.getLongitude()));
+            }
+            out.put(e.getKey(), pts);
+        }
+        return out.isEmpty() ? null : out;
+    }
+
+    /**
+     * Merges a snapshot with the existing on-disk row and upserts it. Caller holds the monitor.
+     *
+     * @param updateSession whether to move the current-system pointer in {@code session_json} to this system
+     */
+    void writeSnapshot(SystemSnapshot snap, boolean updateSession) {
+        // Merge-on-save: preserve certain fields from the existing on-disk cache when the
+        // current in-memory SystemState does not currently have them populated.
+        CachedSystem existing = sqliteReady ? sqliteGet(snap.systemAddress, snap.systemName) : null;
+
+        Map<Integer, CachedBody> existingBodies = new HashMap<>();
+        Map<String, CachedBody> existingBodiesByName = new HashMap<>();
+        if (existing != null && existing.bodies != null) {
+            for (CachedBody eb : existing.bodies) {
+                if (eb == null) {
+                    continue;
+                }
+                existingBodies.put(Integer.valueOf(eb.bodyId), eb);
+                if (eb.name != null && !eb.name.isEmpty()) {
+                    existingBodiesByName.put(canonicalName(eb.name), eb);
+                }
+            }
+        }
+
+        List<CachedBody> list = new ArrayList<>(snap.bodies.size());
+        for (int i = 0; i < snap.bodies.size(); i++) {
+            CachedBody cb = copyOf(snap.bodies.get(i));
+            boolean ringDisplay = snap.ringDisplay[i];
+
+            CachedBody prev = existingBodies.get(Integer.valueOf(cb.bodyId));
+            if (prev == null && cb.name != null && !cb.name.isEmpty()) {
+                prev = existingBodiesByName.get(canonicalName(cb.name));
+            }
+
             // Preserve cache truth when the current session hasn't learned these flags yet.
             // These flags are monotonic in practice (once true, they don't become false).
             if (prev != null) {
@@ -757,12 +1003,12 @@ public final class SystemCache implements SystemStore {
                 if (cb.spanshExcludeFromExobiology == null && prev.spanshExcludeFromExobiology != null) {
                     cb.spanshExcludeFromExobiology = prev.spanshExcludeFromExobiology;
                 }
-                if (b.isPlanetaryBodyForRingDisplay()
+                if (ringDisplay
                         && (cb.ringTypes == null || cb.ringTypes.isEmpty())
                         && prev.ringTypes != null && !prev.ringTypes.isEmpty()) {
                     cb.ringTypes = new ArrayList<>(prev.ringTypes);
                 }
-                if (b.isPlanetaryBodyForRingDisplay()
+                if (ringDisplay
                         && (cb.ringReserveHumanized == null || cb.ringReserveHumanized.isBlank())
                         && prev.ringReserveHumanized != null && !prev.ringReserveHumanized.isBlank()) {
                     cb.ringReserveHumanized = prev.ringReserveHumanized;
@@ -788,40 +1034,20 @@ public final class SystemCache implements SystemStore {
             }
 
             {
-                int mem = b.getNumberOfBioSignals() != null ? b.getNumberOfBioSignals().intValue() : 0;
+                int mem = cb.getNumberOfBioSignals();
                 int disk = prev != null ? prev.getNumberOfBioSignals() : 0;
                 cb.setNumberOfBioSignals(Math.max(mem, disk));
             }
-            if (b.getPredictions() != null && !b.getPredictions().isEmpty()) {
-                cb.predictions = b.getPredictions();
-            } else if (prev != null && prev.predictions != null && !prev.predictions.isEmpty()) {
+            if (cb.predictions == null && prev != null && prev.predictions != null && !prev.predictions.isEmpty()) {
                 cb.predictions = new ArrayList<>(prev.predictions);
             }
 
-            Map<String, Integer> counts = b.getBioSampleCountsSnapshot();
-            if (counts != null && !counts.isEmpty()) {
-                cb.bioSampleCountsByDisplayName = counts;
-
-                Map<String, List<BodyInfo.BioSamplePoint>> points = b.getBioSamplePointsSnapshot();
-                if (points != null && !points.isEmpty()) {
-                    Map<String, List<CachedBody.BioSamplePoint>> out = new HashMap<>();
-                    for (Map.Entry<String, List<BodyInfo.BioSamplePoint>> e : points.entrySet()) {
-                        if (e.getValue() == null || e.getValue().isEmpty()) {
-                            continue;
-                        }
-                        List<CachedBody.BioSamplePoint> pts = new ArrayList<>();
-                        for (BodyInfo.BioSamplePoint p : e.getValue()) {
-                            pts.add(new CachedBody.BioSamplePoint(p.getLatitude(), p.getLongitude()));
-                        }
-                        out.put(e.getKey(), pts);
-                    }
-                    cb.bioSamplePointsByDisplayName = out;
-                } else if (prev != null
+            if (cb.bioSampleCountsByDisplayName != null) {
+                if (cb.bioSamplePointsByDisplayName == null
+                        && prev != null
                         && prev.bioSamplePointsByDisplayName != null
                         && !prev.bioSamplePointsByDisplayName.isEmpty()) {
                     cb.bioSamplePointsByDisplayName = prev.bioSamplePointsByDisplayName;
-                } else {
-                    cb.bioSamplePointsByDisplayName = null;
                 }
             } else if (prev != null
                     && prev.bioSampleCountsByDisplayName != null
@@ -829,69 +1055,124 @@ public final class SystemCache implements SystemStore {
                 // Preserve rescan-built history when live session doesn't have it populated.
                 cb.bioSampleCountsByDisplayName = prev.bioSampleCountsByDisplayName;
                 cb.bioSamplePointsByDisplayName = prev.bioSamplePointsByDisplayName;
-            } else {
-                cb.bioSampleCountsByDisplayName = null;
-                cb.bioSamplePointsByDisplayName = null;
             }
 
-            Map<String, List<BodyInfo.BioSamplePoint>> abandonedPts = b.getAbandonedBioSamplePointsSnapshot();
-            if (abandonedPts != null && !abandonedPts.isEmpty()) {
-                Map<String, List<CachedBody.BioSamplePoint>> abOut = new HashMap<>();
-                for (Map.Entry<String, List<BodyInfo.BioSamplePoint>> e : abandonedPts.entrySet()) {
-                    if (e.getValue() == null || e.getValue().isEmpty()) {
-                        continue;
-                    }
-                    List<CachedBody.BioSamplePoint> pts = new ArrayList<>();
-                    for (BodyInfo.BioSamplePoint p : e.getValue()) {
-                        pts.add(new CachedBody.BioSamplePoint(p.getLatitude(), p.getLongitude()));
-                    }
-                    abOut.put(e.getKey(), pts);
-                }
-                cb.abandonedBioSamplePointsByDisplayName = abOut.isEmpty() ? null : abOut;
-            } else if (prev != null
+            if (cb.abandonedBioSamplePointsByDisplayName == null
+                    && prev != null
                     && prev.abandonedBioSamplePointsByDisplayName != null
                     && !prev.abandonedBioSamplePointsByDisplayName.isEmpty()) {
                 cb.abandonedBioSamplePointsByDisplayName = prev.abandonedBioSamplePointsByDisplayName;
-            } else {
-                cb.abandonedBioSamplePointsByDisplayName = null;
-            }
-
-            if (b.getObservedGenusPrefixes() != null && !b.getObservedGenusPrefixes().isEmpty()) {
-                cb.observedGenusPrefixes = new java.util.HashSet<>(b.getObservedGenusPrefixes());
-            } else {
-                cb.observedGenusPrefixes = null;
-            }
-
-            if (b.getObservedBioDisplayNames() != null && !b.getObservedBioDisplayNames().isEmpty()) {
-                cb.observedBioDisplayNames = new java.util.HashSet<>(b.getObservedBioDisplayNames());
-            } else {
-                cb.observedBioDisplayNames = null;
-            }
-
-            if (b.isHighValue()) {
-                long cr = ExplorationBodyCredits.achievableExplorationTotalCredits(b);
-                if (cr > 0) {
-                    cb.valuableBodyExplorationCredits = Long.valueOf(cr);
-                }
             }
 
             list.add(cb);
         }
 
-        put(state.getSystemAddress(),
-                state.getSystemName(),
-                state.getStarPos(),
-                state.getTotalBodies(),
-                state.getNonBodyCount(),
-                state.getFssProgress(),
-                state.getAllBodiesFound(),
-                state.getExobiologyCreditsTotalUnsold(),
+        put(snap.systemAddress,
+                snap.systemName,
+                snap.starPos,
+                snap.totalBodies,
+                snap.nonBodyCount,
+                snap.fssProgress,
+                snap.allBodiesFound,
+                snap.exobiologyCreditsTotalUnsold,
                 list);
-        if (sqliteReady && !isBulkSystemWrite()) {
-            mergeEdoSessionBlobFromStoreSystem(state);
+        if (updateSession && sqliteReady && !isBulkSystemWrite()) {
+            mergeEdoSessionBlobFromStoreSystem(snap);
         }
     }
 
+    /**
+     * Writes a batch of snapshots in one SQLite transaction. Only the last snapshot moves the
+     * current-system pointer; earlier ones are older by construction.
+     *
+     * @return true if the transaction committed; on false nothing from the batch was kept
+     */
+    synchronized boolean writeSnapshots(List<SystemSnapshot> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return true;
+        }
+        if (!sqliteReady || sqliteConnection == null) {
+            return false;
+        }
+        boolean ac = true;
+        uncommittedSystemRowWrites = 0;
+        try {
+            ac = sqliteConnection.getAutoCommit();
+            sqliteConnection.setAutoCommit(false);
+            for (int i = 0; i < batch.size(); i++) {
+                writeSnapshot(batch.get(i), i == batch.size() - 1);
+            }
+            sqliteConnection.commit();
+            systemRowWrites.addAndGet(uncommittedSystemRowWrites);
+            return true;
+        } catch (SQLException | UpsertFailedException ex) {
+            System.err.println("SystemCache: batched write failed: " + ex.getMessage());
+            // Reads inside the batch may have filled the memory tier with rows that are now rolled back.
+            memoryTier.clear();
+            try {
+                sqliteConnection.rollback();
+            } catch (SQLException ignored) {
+            }
+            return false;
+        } finally {
+            uncommittedSystemRowWrites = 0;
+            try {
+                sqliteConnection.setAutoCommit(ac);
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Shallow copy so merging with the disk row never mutates a snapshot that may still be queued.
+     */
+    private static CachedBody copyOf(CachedBody src) {
+        CachedBody cb = new CachedBody();
+        cb.name = src.name;
+        cb.bodyId = src.bodyId;
+        cb.starSystem = src.starSystem;
+        cb.starPos = src.starPos;
+        cb.distanceLs = src.distanceLs;
+        cb.gravityMS = src.gravityMS;
+        cb.landable = src.landable;
+        cb.hasBio = src.hasBio;
+        cb.hasGeo = src.hasGeo;
+        cb.highValue = src.highValue;
+        cb.valuableBodyExplorationCredits = src.valuableBodyExplorationCredits;
+        cb.planetClass = src.planetClass;
+        cb.terraformState = src.terraformState;
+        cb.massEm = src.massEm;
+        cb.atmosphere = src.atmosphere;
+        cb.atmoOrType = src.atmoOrType;
+        cb.atmosphereComposition = src.atmosphereComposition;
+        cb.surfaceTempK = src.surfaceTempK;
+        cb.orbitalPeriod = src.orbitalPeriod;
+        cb.volcanism = src.volcanism;
+        cb.bodyName = src.bodyName;
+        cb.parentStar = src.parentStar;
+        cb.parentStarBodyId = src.parentStarBodyId;
+        cb.starType = src.starType;
+        cb.nebula = src.nebula;
+        cb.surfacePressure = src.surfacePressure;
+        cb.discoveryCommander = src.discoveryCommander;
+        cb.bioSampleCountsByDisplayName = src.bioSampleCountsByDisplayName;
+        cb.bioSamplePointsByDisplayName = src.bioSamplePointsByDisplayName;
+        cb.abandonedBioSamplePointsByDisplayName = src.abandonedBioSamplePointsByDisplayName;
+        cb.predictions = src.predictions;
+        cb.numberOfBioSignals = src.numberOfBioSignals;
+        cb.observedGenusPrefixes = src.observedGenusPrefixes;
+        cb.observedBioDisplayNames = src.observedBioDisplayNames;
+        cb.wasMapped = src.wasMapped;
+        cb.wasDiscovered = src.wasDiscovered;
+        cb.wasFootfalled = src.wasFootfalled;
+        cb.spanshLandmarks = src.spanshLandmarks;
+        cb.spanshExcludeFromExobiology = src.spanshExcludeFromExobiology;
+        cb.ringTypes = src.ringTypes;
+        cb.ringReserveHumanized = src.ringReserveHumanized;
+        cb.spanshPredictedGenera = src.spanshPredictedGenera;
+        return cb;
+    }
+
     private static boolean isBulkSystemWrite() {
         return Boolean.parseBoolean(System.getProperty(CACHE_BULK_SYSTEM_WRITE_PROPERTY, "false"));
     }
@@ -940,51 +1221,71 @@ public final class SystemCache implements SystemStore {
     }
 
     @Override
-    public synchronized CachedSystemSummary getSummary(long systemAddress, String systemName) {
-        if (!sqliteReady) {
-            return null;
+    public synchronized List<NearbyCachedSystem> findSystemsWithinRadius(double x, double y, double z,
+            double radiusLy, int limit) {
+        if (!sqliteReady || sqliteConnection == null) {
+            return List.of();
+        }
+        if (writeBehind != null) {
+            writeBehind.drainPendingLocked();
+        }
+        try {
+            return SystemCacheIndex.withinRadius(sqliteConnection, spatialIndexReady, x, y, z, radiusLy, limit);
+        } catch (SQLException ex) {
+            System.err.println("SystemCache: sqlite radius query failed: " + ex.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public synchronized List<NearbyCachedSystem> findNearestSystems(double x, double y, double z, int count) {
+        if (!sqliteReady || sqliteConnection == null) {
+            return List.of();
+        }
+        if (writeBehind != null) {
+            writeBehind.drainPendingLocked();
+        }
+        try {
+            return SystemCacheIndex.nearest(sqliteConnection, spatialIndexReady, x, y, z, count);
+        } catch (SQLException ex) {
+            System.err.println("SystemCache: sqlite nearest query failed: " + ex.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public CachedSystemSummary getSummary(long systemAddress, String systemName) {
+        SystemCacheMemoryTier.Entry e = memoryTier.lookup(systemAddress, canonicalName(systemName), false);
+        if (e != null) {
+            return e.summary;
+        }
+        synchronized (this) {
+            if (!sqliteReady) {
+                return null;
+            }
+            writePendingLocked(systemAddress, systemName);
+            return sqliteGetSummary(systemAddress, systemName);
         }
-        return sqliteGetSummary(systemAddress, systemName);
     }
 
     /**
      * Absolute path to the SQLite system-cache database file (same rules as the internal cache).
      * Intended for developer tools; does not open a connection.
      * <p>
-     * Tables include {@code systems} (per-system {@code payload_json}), {@code overlay_global_state}
+     * Tables include {@code systems} (per-system binary {@code payload} plus {@code x/y/z}), the R*Tree
+     * {@code systems_rtree}, {@code system_bodies}, {@code overlay_global_state}
      * (singleton row for app-wide values such as unsold exobiology credits), and {@code spansh_body_exobiology}
      * (persisted Spansh body exobiology lookups).
      */
     public static Path getSqliteCacheDbPath() {
-        String override = System.getProperty(CACHE_DB_PATH_PROPERTY);
-        if (override != null && !override.isBlank()) {
-            return Paths.get(override).toAbsolutePath().normalize();
-        }
-        String home = System.getProperty("user.home");
-        if (home == null || home.isEmpty()) {
-            home = ".";
-        }
-        return Paths.get(home, ".edo", CACHE_DB_FILE_NAME).toAbsolutePath().normalize();
+        return CacheLocations.sqliteCacheDbPath();
     }
 
     /**
      * Directory for {@code edo-session.json} and related files (parent of DB unless {@link #CACHE_DATA_DIR_PROPERTY} is set).
      */
     public static Path getCacheDataDirectory() {
-        String override = System.getProperty(CACHE_DATA_DIR_PROPERTY);
-        if (override != null && !override.isBlank()) {
-            return Paths.get(override).toAbsolutePath().normalize();
-        }
-        Path db = getSqliteCacheDbPath();
-        Path parent = db.getParent();
-        if (parent != null) {
-            return parent;
-        }
-        String home = System.getProperty("user.home");
-        if (home == null || home.isEmpty()) {
-            return Paths.get(".").toAbsolutePath().normalize();
-        }
-        return Paths.get(home);
+        return CacheLocations.cacheDataDirectory();
     }
 
     private Path resolveDbPath() {
@@ -1024,6 +1325,9 @@ public final class SystemCache implements SystemStore {
                     "CREATE INDEX IF NOT EXISTS idx_systems_address ON systems(system_address)")) {
                 ps.execute();
             }
+            spatialIndexReady = SystemCacheIndex.migrate(sqliteConnection);
+            // After the index backfill, which reads payload_json.
+            boolean legacyPayloads = ensurePayloadBlobColumn();
             try (PreparedStatement ps = sqliteConnection.prepareStatement(
                     "CREATE TABLE IF NOT EXISTS " + SQLITE_GLOBAL_TABLE + " (" +
                     "singleton INTEGER PRIMARY KEY CHECK (singleton = 1)," +
@@ -1035,6 +1339,9 @@ public final class SystemCache implements SystemStore {
             migrateOverlayGlobalStateSchema();
             migrateExobiologyCreditsIntoGlobalTableIfNeeded();
             System.out.println("[EDO][Cache] sqlite path=" + cacheDbPath.toAbsolutePath());
+            if (legacyPayloads) {
+                startPayloadMigration();
+            }
             return true;
         } catch (Exception ex) {
             System.err.println("SystemCache: sqlite init failed (cache disabled): " + ex.getMessage());
@@ -1089,11 +1396,156 @@ public final class SystemCache implements SystemStore {
         return false;
     }
 
-    private String toSqlitePayloadJson(CachedSystem cs) {
+    /**
+     * Adds {@code systems.payload} if missing.
+     *
+     * @return true if some rows still carry only {@code payload_json}
+     */
+    private boolean ensurePayloadBlobColumn() throws SQLException {
+        boolean present = false;
+        try (PreparedStatement ps = sqliteConnection.prepareStatement("PRAGMA table_info(systems)");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                if ("payload".equalsIgnoreCase(rs.getString(2))) {
+                    present = true;
+                }
+            }
+        }
+        if (!present) {
+            try (PreparedStatement ps = sqliteConnection.prepareStatement("ALTER TABLE systems ADD COLUMN payload BLOB")) {
+                ps.execute();
+            }
+        }
+        try (PreparedStatement ps = sqliteConnection.prepareStatement(
+                "SELECT 1 FROM systems WHERE payload IS NULL LIMIT 1");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Converts legacy JSON rows off the startup path; each batch holds the cache lock only for its own transaction.
+     */
+    private void startPayloadMigration() {
+        Thread t = new Thread(() -> {
+            int converted = 0;
+            int n;
+            do {
+                synchronized (this) {
+                    n = migrateJsonPayloads(PAYLOAD_MIGRATION_BATCH);
+                }
+                converted += Math.max(0, n);
+            } while (n > 0);
+            if (converted > 0) {
+                System.out.println("[EDO][Cache] converted " + converted + " cached systems to binary payloads");
+            }
+        }, "EDO-CacheMigrate");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Rewrites up to {@code limit} {@code payload IS NULL} rows as binary payloads in one transaction.
+     *
+     * @return rows handled (unparseable rows get an empty blob so they are not retried), or -1 on failure
+     */
+    int migrateJsonPayloads(int limit) {
+        if (sqliteConnection == null) {
+            return -1;
+        }
+        boolean ac = true;
+        try (PreparedStatement select = sqliteConnection.prepareStatement(
+                "SELECT rowid, payload_json FROM systems WHERE payload IS NULL LIMIT ?");
+             PreparedStatement update = sqliteConnection.prepareStatement(
+                     "UPDATE systems SET payload = ?, payload_json = '' WHERE rowid = ?")) {
+            ac = sqliteConnection.getAutoCommit();
+            sqliteConnection.setAutoCommit(false);
+            int n = 0;
+            select.setInt(1, limit);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    CachedSystem cs = parseJsonPayload(rs.getString(2));
+                    update.setBytes(1, cs != null ? toSqlitePayload(cs) : new byte[0]);
+                    update.setLong(2, rs.getLong(1));
+                    update.addBatch();
+                    n++;
+                }
+            }
+            if (n > 0) {
+                update.executeBatch();
+            }
+            sqliteConnection.commit();
+            return n;
+        } catch (SQLException ex) {
+            System.err.println("SystemCache: payload migration failed: " + ex.getMessage());
+            try {
+                sqliteConnection.rollback();
+            } catch (SQLException ignored) {
+            }
+            return -1;
+        } finally {
+            try {
+                sqliteConnection.setAutoCommit(ac);
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    private CachedSystem parseJsonPayload(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return gson.fromJson(json, CachedSystem.class);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a row selected as {@code payload, payload_json}: the binary blob if present, else the legacy JSON.
+     */
+    private CachedSystem readPayload(ResultSet rs) throws SQLException {
+        byte[] blob = rs.getBytes(1);
+        if (CachedSystemCodec.isEncoded(blob)) {
+            try {
+                return CachedSystemCodec.decode(blob, true);
+            } catch (IllegalArgumentException ex) {
+                System.err.println("SystemCache: unreadable payload: " + ex.getMessage());
+                return null;
+            }
+        }
+        return parseJsonPayload(rs.getString(2));
+    }
+
+    /**
+     * Replaces a legacy JSON row with its binary payload once it has been read.
+     *
+     * @return the row's binary payload, or null if {@code cs} is null or the stored blob is unreadable
+     */
+    private byte[] rewriteLegacyPayload(ResultSet rs, CachedSystem cs) throws SQLException {
+        if (cs == null) {
+            return null;
+        }
+        byte[] blob = rs.getBytes(1);
+        if (blob != null) {
+            return CachedSystemCodec.isEncoded(blob) ? blob : null;
+        }
+        blob = toSqlitePayload(cs);
+        try (PreparedStatement ps = sqliteConnection.prepareStatement(
+                "UPDATE systems SET payload = ?, payload_json = '' WHERE rowid = ?")) {
+            ps.setBytes(1, blob);
+            ps.setLong(2, rs.getLong(3));
+            ps.executeUpdate();
+        }
+        return blob;
+    }
+
+    private byte[] toSqlitePayload(CachedSystem cs) {
         Long exo = cs.exobiologyCreditsTotalUnsold;
         cs.exobiologyCreditsTotalUnsold = null;
         try {
-            return gson.toJson(cs);
+            return CachedSystemCodec.encode(cs);
         } finally {
             cs.exobiologyCreditsTotalUnsold = exo;
         }
@@ -1119,16 +1571,13 @@ public final class SystemCache implements SystemStore {
                 return;
             }
             try (PreparedStatement ps = sqliteConnection.prepareStatement(
-                    "SELECT payload_json FROM systems ORDER BY updated_at DESC LIMIT 1");
+                    "SELECT payload, payload_json FROM systems ORDER BY updated_at DESC LIMIT 1");
                  ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) {
                     return;
                 }
-                String payload = rs.getString(1);
-                if (payload == null) {
-                    return;
-                }
-                CachedSystem parsed = gson.fromJson(payload, CachedSystem.class);
+                // Credits were only ever stored in JSON payloads; binary payloads leave them out.
+                CachedSystem parsed = parseJsonPayload(rs.getString(2));
                 if (parsed != null && parsed.exobiologyCreditsTotalUnsold != null) {
                     sqliteWriteGlobalExobiologyCredits(parsed.exobiologyCreditsTotalUnsold.longValue());
                 }
@@ -1168,6 +1617,7 @@ public final class SystemCache implements SystemStore {
                 "ON CONFLICT(singleton) DO UPDATE SET exobiology_credits_total_unsold = excluded.exobiology_credits_total_unsold")) {
             ps.setLong(1, credits);
             ps.executeUpdate();
+            globalRowWrites.incrementAndGet();
         } catch (SQLException ex) {
             System.err.println("SystemCache: sqlite write global exobiology credits failed: " + ex.getMessage());
         }
@@ -1223,6 +1673,7 @@ public final class SystemCache implements SystemStore {
             ps.setString(2, name);
             ps.setInt(3, docked ? 1 : 0);
             ps.executeUpdate();
+            globalRowWrites.incrementAndGet();
         } catch (SQLException ex) {
             System.err.println("SystemCache: sqlite write session header failed: " + ex.getMessage());
         }
@@ -1243,40 +1694,58 @@ public final class SystemCache implements SystemStore {
         if (sqliteConnection == null) {
             return null;
         }
+        long epoch = memoryTier.epoch();
+        String canonical = canonicalName(systemName);
         try {
             if (systemAddress != 0L) {
                 try (PreparedStatement ps = sqliteConnection.prepareStatement(
-                        "SELECT payload_json FROM systems WHERE system_address=? ORDER BY updated_at DESC LIMIT 1")) {
+                        "SELECT payload, payload_json, rowid FROM systems WHERE system_address=? ORDER BY updated_at DESC LIMIT 1")) {
                     ps.setLong(1, systemAddress);
                     try (ResultSet rs = ps.executeQuery()) {
                         if (rs.next()) {
-                            CachedSystem cs = gson.fromJson(rs.getString(1), CachedSystem.class);
+                            CachedSystem cs = readPayload(rs);
+                            byte[] payload = rewriteLegacyPayload(rs, cs);
+                            memoryTier.fill(epoch, systemAddress, canonical, memoryEntry(cs, payload), true);
                             lastLoadedSystem = cs;
                             return cs;
                         }
                     }
                 }
             }
-            String canonical = canonicalName(systemName);
             if (canonical != null && !canonical.isBlank()) {
                 try (PreparedStatement ps = sqliteConnection.prepareStatement(
-                        "SELECT payload_json FROM systems WHERE canonical_name=? LIMIT 1")) {
+                        "SELECT payload, payload_json, rowid FROM systems WHERE canonical_name=? LIMIT 1")) {
                     ps.setString(1, canonical);
                     try (ResultSet rs = ps.executeQuery()) {
                         if (rs.next()) {
-                            CachedSystem cs = gson.fromJson(rs.getString(1), CachedSystem.class);
+                            CachedSystem cs = readPayload(rs);
+                            byte[] payload = rewriteLegacyPayload(rs, cs);
+                            memoryTier.fill(epoch, systemAddress, canonical, memoryEntry(cs, payload), false);
                             lastLoadedSystem = cs;
                             return cs;
                         }
                     }
                 }
             }
+            memoryTier.fill(epoch, systemAddress, canonical, null, false);
         } catch (SQLException ex) {
             System.err.println("SystemCache: sqlite get failed: " + ex.getMessage());
         }
         return null;
     }
 
+    /**
+     * Memory-tier entry for a row just read; null (nothing remembered) if the row could not be decoded.
+     */
+    private static SystemCacheMemoryTier.Entry memoryEntry(CachedSystem cs, byte[] payload) {
+        if (cs == null || payload == null) {
+            return null;
+        }
+        CachedSystemSummary summary = new CachedSystemSummary(cs.systemAddress, cs.systemName, cs.totalBodies,
+                cs.fssProgress, cs.allBodiesFound, cs.bodies != null ? cs.bodies.size() : 0, cs.starPos);
+        return new SystemCacheMemoryTier.Entry(cs.systemAddress, canonicalName(cs.systemName), payload, summary);
+    }
+
     private void ensureSessionMigratedAndLoaded() {
         if (!sqliteReady || sessionBlobMigrationChecked) {
             return;
@@ -1338,6 +1807,7 @@ public final class SystemCache implements SystemStore {
                 ps.executeUpdate();
             }
         }
+        globalRowWrites.incrementAndGet();
     }
 
     private void migrateSessionBlobFromLegacy() throws Exception {
@@ -1439,21 +1909,21 @@ public final class SystemCache implements SystemStore {
         return new SessionHeader(0L, "", false);
     }
 
-    private void mergeEdoSessionBlobFromStoreSystem(SystemState state) {
-        if (!sqliteReady || state == null) {
+    private void mergeEdoSessionBlobFromStoreSystem(SystemSnapshot snap) {
+        if (!sqliteReady || snap == null) {
             return;
         }
         try {
             EdoSessionState s = loadEdoSessionState();
-            if (state.getSystemAddress() != 0L) {
-                s.setCacheLastSystemAddress(Long.valueOf(state.getSystemAddress()));
+            if (snap.systemAddress != 0L) {
+                s.setCacheLastSystemAddress(Long.valueOf(snap.systemAddress));
             }
-            if (state.getSystemName() != null && !state.getSystemName().isEmpty()) {
-                s.setCacheLastSystemName(state.getSystemName());
+            if (snap.systemName != null && !snap.systemName.isEmpty()) {
+                s.setCacheLastSystemName(snap.systemName);
             }
-            s.setDocked(Boolean.valueOf(state.isDocked()));
-            if (state.getExobiologyCreditsTotalUnsold() != null) {
-                s.setExobiologyCreditsTotalUnsold(state.getExobiologyCreditsTotalUnsold());
+            s.setDocked(Boolean.valueOf(snap.docked));
+            if (snap.exobiologyCreditsTotalUnsold != null) {
+                s.setExobiologyCreditsTotalUnsold(snap.exobiologyCreditsTotalUnsold);
             }
             saveEdoSessionState(s);
         } catch (Exception ex) {
@@ -1513,16 +1983,19 @@ public final class SystemCache implements SystemStore {
             SessionHeader head = readCachePointerForLoadLastSystem();
             if (head.currentSystemAddress != 0L
                     || (head.currentSystemName != null && !head.currentSystemName.isEmpty())) {
-                CachedSystem byPtr = sqliteGet(head.currentSystemAddress, head.currentSystemName);
+                SystemCacheMemoryTier.Entry e = memoryTier.lookup(head.currentSystemAddress,
+                        canonicalName(head.currentSystemName), true);
+                CachedSystem byPtr = e == null ? sqliteGet(head.currentSystemAddress, head.currentSystemName)
+                        : e.absent() ? null : CachedSystemCodec.decode(e.payload, true);
                 if (byPtr != null) {
                     return byPtr;
                 }
             }
             try (PreparedStatement ps = sqliteConnection.prepareStatement(
-                    "SELECT payload_json FROM systems ORDER BY updated_at DESC LIMIT 1");
+                    "SELECT payload, payload_json FROM systems ORDER BY updated_at DESC LIMIT 1");
                  ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return gson.fromJson(rs.getString(1), CachedSystem.class);
+                    return readPayload(rs);
                 }
             }
         } catch (SQLException ex) {
@@ -1540,15 +2013,23 @@ public final class SystemCache implements SystemStore {
             return;
         }
         int cachedBodyCount = (cs.bodies == null) ? 0 : cs.bodies.size();
-        String payload = toSqlitePayloadJson(cs);
+        byte[] payload = toSqlitePayload(cs);
+        memoryTier.invalidate(cs.systemAddress, canonicalName(cs.systemName));
         long now = nextMonotonicUpdateMillis();
-        String sql = "INSERT INTO systems (cache_key, system_address, canonical_name, system_name, total_bodies, fss_progress, all_bodies_found, cached_body_count, updated_at, payload_json) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        String sql = "INSERT INTO systems (cache_key, system_address, canonical_name, system_name, total_bodies, fss_progress, all_bodies_found, cached_body_count, updated_at, payload_json, payload, x, y, z) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, '', ?, ?, ?, ?) " +
                 "ON CONFLICT(cache_key) DO UPDATE SET " +
                 "system_address=excluded.system_address, canonical_name=excluded.canonical_name, system_name=excluded.system_name, " +
                 "total_bodies=excluded.total_bodies, fss_progress=excluded.fss_progress, all_bodies_found=excluded.all_bodies_found, " +
-                "cached_body_count=excluded.cached_body_count, updated_at=excluded.updated_at, payload_json=excluded.payload_json";
+                "cached_body_count=excluded.cached_body_count, updated_at=excluded.updated_at, payload_json='', payload=excluded.payload, " +
+                "x=excluded.x, y=excluded.y, z=excluded.z";
+        boolean ac = true;
         try (PreparedStatement ps = sqliteConnection.prepareStatement(sql)) {
+            // Row and its system_bodies rows change together (this may already run inside writeSnapshots' transaction).
+            ac = sqliteConnection.getAutoCommit();
+            if (ac) {
+                sqliteConnection.setAutoCommit(false);
+            }
             ps.setString(1, key);
             ps.setLong(2, cs.systemAddress);
             String canonical = canonicalName(cs.systemName);
@@ -1563,10 +2044,34 @@ public final class SystemCache implements SystemStore {
             if (cs.allBodiesFound == null) ps.setNull(7, java.sql.Types.INTEGER); else ps.setInt(7, cs.allBodiesFound.booleanValue() ? 1 : 0);
             ps.setInt(8, cachedBodyCount);
             ps.setLong(9, now);
-            ps.setString(10, payload);
+            ps.setBytes(10, payload);
+            SystemCacheIndex.setCoordinates(ps, 11, cs.starPos);
             ps.executeUpdate();
+            SystemCacheIndex.writeBodies(sqliteConnection, key, cs.bodies);
+            if (ac) {
+                sqliteConnection.commit();
+                systemRowWrites.incrementAndGet();
+            } else {
+                uncommittedSystemRowWrites++;
+            }
         } catch (SQLException ex) {
             System.err.println("SystemCache: sqlite upsert failed: " + ex.getMessage());
+            memoryTier.clear();
+            if (!ac) {
+                // The caller owns the transaction and rolls it back.
+                throw new UpsertFailedException(ex);
+            }
+            try {
+                sqliteConnection.rollback();
+            } catch (SQLException ignored) {
+            }
+        } finally {
+            if (ac) {
+                try {
+                    sqliteConnection.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                }
+            }
         }
     }
 
@@ -1583,30 +2088,38 @@ public final class SystemCache implements SystemStore {
         if (sqliteConnection == null) {
             return null;
         }
+        long epoch = memoryTier.epoch();
+        String canonical = canonicalName(systemName);
         try {
             if (systemAddress != 0L) {
                 try (PreparedStatement ps = sqliteConnection.prepareStatement(
-                        "SELECT system_address, system_name, total_bodies, fss_progress, all_bodies_found, cached_body_count FROM systems WHERE system_address=? ORDER BY updated_at DESC LIMIT 1")) {
+                        "SELECT system_address, system_name, total_bodies, fss_progress, all_bodies_found, cached_body_count, x, y, z, canonical_name FROM systems WHERE system_address=? ORDER BY updated_at DESC LIMIT 1")) {
                     ps.setLong(1, systemAddress);
                     try (ResultSet rs = ps.executeQuery()) {
                         if (rs.next()) {
-                            return readSummary(rs);
+                            CachedSystemSummary summary = readSummary(rs);
+                            memoryTier.fill(epoch, systemAddress, canonical, new SystemCacheMemoryTier.Entry(
+                                    summary.systemAddress, rs.getString(10), null, summary), true);
+                            return summary;
                         }
                     }
                 }
             }
-            String canonical = canonicalName(systemName);
             if (canonical != null && !canonical.isBlank()) {
                 try (PreparedStatement ps = sqliteConnection.prepareStatement(
-                        "SELECT system_address, system_name, total_bodies, fss_progress, all_bodies_found, cached_body_count FROM systems WHERE canonical_name=? LIMIT 1")) {
+                        "SELECT system_address, system_name, total_bodies, fss_progress, all_bodies_found, cached_body_count, x, y, z, canonical_name FROM systems WHERE canonical_name=? LIMIT 1")) {
                     ps.setString(1, canonical);
                     try (ResultSet rs = ps.executeQuery()) {
                         if (rs.next()) {
-                            return readSummary(rs);
+                            CachedSystemSummary summary = readSummary(rs);
+                            memoryTier.fill(epoch, systemAddress, canonical, new SystemCacheMemoryTier.Entry(
+                                    summary.systemAddress, rs.getString(10), null, summary), false);
+                            return summary;
                         }
                     }
                 }
             }
+            memoryTier.fill(epoch, systemAddress, canonical, null, false);
         } catch (SQLException ex) {
             System.err.println("SystemCache: sqlite summary failed: " + ex.getMessage());
         }
@@ -1620,7 +2133,10 @@ public final class SystemCache implements SystemStore {
         Double progress = rs.getObject(4) != null ? Double.valueOf(rs.getDouble(4)) : null;
         Boolean all = rs.getObject(5) != null ? Boolean.valueOf(rs.getInt(5) == 1) : null;
         int bodyCount = rs.getInt(6);
-        return new CachedSystemSummary(addr, name, total, progress, all, bodyCount);
+        double[] starPos = rs.getObject(7) != null && rs.getObject(8) != null && rs.getObject(9) != null
+                ? new double[] { rs.getDouble(7), rs.getDouble(8), rs.getDouble(9) }
+                : null;
+        return new CachedSystemSummary(addr, name, total, progress, all, bodyCount, starPos);
     }
 
 }
@@ -0,0 +1,337 @@
+package org.dce.ed.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structured, queryable copies of what {@code systems.payload_json} holds, kept in the same SQLite file:
+ * <ul>
+ *   <li>{@code systems.x / y / z}: star coordinates, indexed by the R*Tree {@code systems_rtree}
+ *       (id = {@code systems.rowid}). Triggers keep the R*Tree in step with every insert/update/delete.</li>
+ *   <li>{@code system_bodies}: one row per cached body with the facts tools filter on.</li>
+ * </ul>
+ * {@link #migrate} backfills both from the JSON payloads once per database (tracked in
+ * {@code PRAGMA user_version}). Without the R*Tree module, radius queries scan the coordinate columns
+ * instead, which is still far cheaper than {@code json_extract} on every row.
+ */
+public final class SystemCacheIndex {
+
+    /** {@code PRAGMA user_version} once the coordinate columns and {@code system_bodies} are backfilled. */
+    static final int SCHEMA_VERSION = 1;
+
+    public static final String RTREE_TABLE = "systems_rtree";
+    public static final String BODIES_TABLE = "system_bodies";
+
+    /** First radius tried by {@link #nearest}; grown until enough systems are inside. */
+    private static final double NEAREST_START_RADIUS_LY = 20.0;
+    /** Galaxy-sized radius at which {@link #nearest} stops growing the search. */
+    private static final double NEAREST_MAX_RADIUS_LY = 100_000.0;
+
+    private static final String DIST_SQ = "(s.x - ?) * (s.x - ?) + (s.y - ?) * (s.y - ?) + (s.z - ?) * (s.z - ?)";
+
+    private static final String RADIUS_SQL_RTREE = ""
+            + "SELECT s.cache_key, s.system_name, s.x, s.y, s.z, " + DIST_SQ + " AS dist_sq, s.system_address\n"
+            + "FROM " + RTREE_TABLE + " r JOIN systems s ON s.rowid = r.id\n"
+            + "WHERE r.max_x >= ? AND r.min_x <= ?\n"
+            + "  AND r.max_y >= ? AND r.min_y <= ?\n"
+            + "  AND r.max_z >= ? AND r.min_z <= ?\n"
+            + "  AND dist_sq <= ?\n"
+            + "ORDER BY dist_sq\n"
+            + "LIMIT ?";
+
+    private static final String RADIUS_SQL_SCAN = ""
+            + "SELECT s.cache_key, s.system_name, s.x, s.y, s.z, " + DIST_SQ + " AS dist_sq, s.system_address\n"
+            + "FROM systems s\n"
+            + "WHERE s.x BETWEEN ? AND ?\n"
+            + "  AND s.y BETWEEN ? AND ?\n"
+            + "  AND s.z BETWEEN ? AND ?\n"
+            + "  AND dist_sq <= ?\n"
+            + "ORDER BY dist_sq\n"
+            + "LIMIT ?";
+
+    private SystemCacheIndex() {
+    }
+
+    /**
+     * Adds the coordinate columns, {@code system_bodies} and the R*Tree to the {@code systems} table in
+     * {@code c}, backfilling from {@code payload_json} the first time.
+     *
+     * @return true if the R*Tree index is available
+     */
+    static boolean migrate(Connection c) throws SQLException {
+        ensureSystemsColumn(c, "x", "REAL");
+        ensureSystemsColumn(c, "y", "REAL");
+        ensureSystemsColumn(c, "z", "REAL");
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS " + BODIES_TABLE + " ("
+                    + "cache_key TEXT NOT NULL,"
+                    + "body_id INTEGER,"
+                    + "body_name TEXT,"
+                    + "planet_class TEXT,"
+                    + "atmosphere TEXT,"
+                    + "terraform_state TEXT,"
+                    + "star_type TEXT,"
+                    + "distance_ls REAL,"
+                    + "gravity_ms REAL,"
+                    + "surface_temp_k REAL,"
+                    + "landable INTEGER,"
+                    + "has_bio INTEGER,"
+                    + "has_geo INTEGER,"
+                    + "high_value INTEGER,"
+                    + "bio_signals INTEGER"
+                    + ")");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_system_bodies_key ON " + BODIES_TABLE + "(cache_key)");
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS systems_bodies_ad AFTER DELETE ON systems BEGIN "
+                    + "DELETE FROM " + BODIES_TABLE + " WHERE cache_key = old.cache_key; END");
+        }
+
+        if (userVersion(c) < SCHEMA_VERSION) {
+            try {
+                backfillFromPayloads(c);
+            } catch (SQLException ex) {
+                // New writes still fill the columns; the backfill is retried on the next start.
+                System.err.println("SystemCache: structured column backfill failed: " + ex.getMessage());
+            }
+        }
+        return ensureRtree(c);
+    }
+
+    private static void backfillFromPayloads(Connection c) throws SQLException {
+        long startedAtMs = System.currentTimeMillis();
+        boolean ac = c.getAutoCommit();
+        c.setAutoCommit(false);
+        try (Statement st = c.createStatement()) {
+            // NaN/Infinity written by Gson is not valid JSON; those rows just stay without structured data.
+            int systems = st.executeUpdate("UPDATE systems SET "
+                    + "x = json_extract(payload_json, '$.starPos[0]'), "
+                    + "y = json_extract(payload_json, '$.starPos[1]'), "
+                    + "z = json_extract(payload_json, '$.starPos[2]') "
+                    + "WHERE json_valid(payload_json) "
+                    + "AND json_type(payload_json, '$.starPos[2]') IN ('integer', 'real')");
+            st.executeUpdate("DELETE FROM " + BODIES_TABLE);
+            int bodies = st.executeUpdate("INSERT INTO " + BODIES_TABLE + " (cache_key, body_id, body_name, "
+                    + "planet_class, atmosphere, terraform_state, star_type, distance_ls, gravity_ms, surface_temp_k, "
+                    + "landable, has_bio, has_geo, high_value, bio_signals) "
+                    + "SELECT s.cache_key, json_extract(b.value, '$.bodyId'), "
+                    + "coalesce(json_extract(b.value, '$.name'), json_extract(b.value, '$.bodyName')), "
+                    + "json_extract(b.value, '$.planetClass'), json_extract(b.value, '$.atmosphere'), "
+                    + "json_extract(b.value, '$.terraformState'), json_extract(b.value, '$.starType'), "
+                    + "json_extract(b.value, '$.distanceLs'), json_extract(b.value, '$.gravityMS'), "
+                    + "json_extract(b.value, '$.surfaceTempK'), json_extract(b.value, '$.landable'), "
+                    + "json_extract(b.value, '$.hasBio'), json_extract(b.value, '$.hasGeo'), "
+                    + "json_extract(b.value, '$.highValue'), json_extract(b.value, '$.numberOfBioSignals') "
+                    + "FROM systems s, json_each(s.payload_json, '$.bodies') b "
+                    + "WHERE json_valid(s.payload_json)");
+            st.executeUpdate("PRAGMA user_version = " + SCHEMA_VERSION);
+            c.commit();
+            System.out.println("[EDO][Cache] structured columns backfilled: " + systems + " systems, " + bodies
+                    + " bodies in " + (System.currentTimeMillis() - startedAtMs) + "ms");
+        } catch (SQLException e) {
+            c.rollback();
+            throw e;
+        } finally {
+            c.setAutoCommit(ac);
+        }
+    }
+
+    /**
+     * Creates the R*Tree and its triggers; fills it from the coordinate columns when it is new.
+     */
+    private static boolean ensureRtree(Connection c) throws SQLException {
+        boolean existed = tableExists(c, RTREE_TABLE);
+        try (Statement st = c.createStatement()) {
+            if (!existed) {
+                st.executeUpdate("CREATE VIRTUAL TABLE " + RTREE_TABLE
+                        + " USING rtree(id, min_x, max_x, min_y, max_y, min_z, max_z)");
+            }
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS systems_rtree_ai AFTER INSERT ON systems "
+                    + "WHEN new.x IS NOT NULL AND new.y IS NOT NULL AND new.z IS NOT NULL BEGIN "
+                    + "INSERT OR REPLACE INTO " + RTREE_TABLE
+                    + " VALUES (new.rowid, new.x, new.x, new.y, new.y, new.z, new.z); END");
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS systems_rtree_au AFTER UPDATE OF x, y, z ON systems BEGIN "
+                    + "DELETE FROM " + RTREE_TABLE + " WHERE id = old.rowid; "
+                    + "INSERT INTO " + RTREE_TABLE
+                    + " SELECT new.rowid, new.x, new.x, new.y, new.y, new.z, new.z "
+                    + "WHERE new.x IS NOT NULL AND new.y IS NOT NULL AND new.z IS NOT NULL; END");
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS systems_rtree_ad AFTER DELETE ON systems BEGIN "
+                    + "DELETE FROM " + RTREE_TABLE + " WHERE id = old.rowid; END");
+            if (!existed) {
+                st.executeUpdate("INSERT OR REPLACE INTO " + RTREE_TABLE
+                        + " SELECT rowid, x, x, y, y, z, z FROM systems"
+                        + " WHERE x IS NOT NULL AND y IS NOT NULL AND z IS NOT NULL");
+            }
+            return true;
+        } catch (SQLException ex) {
+            if (existed) {
+                throw ex;
+            }
+            System.err.println("SystemCache: R*Tree unavailable, spatial queries will scan: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the {@code system_bodies} rows of one system. Caller manages the transaction.
+     */
+    static void writeBodies(Connection c, String cacheKey, List<CachedBody> bodies) throws SQLException {
+        try (PreparedStatement del = c.prepareStatement("DELETE FROM " + BODIES_TABLE + " WHERE cache_key = ?")) {
+            del.setString(1, cacheKey);
+            del.executeUpdate();
+        }
+        if (bodies == null || bodies.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO " + BODIES_TABLE + " (cache_key, body_id, "
+                + "body_name, planet_class, atmosphere, terraform_state, star_type, distance_ls, gravity_ms, "
+                + "surface_temp_k, landable, has_bio, has_geo, high_value, bio_signals) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (CachedBody b : bodies) {
+                if (b == null) {
+                    continue;
+                }
+                ps.setString(1, cacheKey);
+                ps.setInt(2, b.bodyId);
+                ps.setString(3, b.name != null ? b.name : b.bodyName);
+                ps.setString(4, b.planetClass);
+                ps.setString(5, b.atmosphere);
+                ps.setString(6, b.terraformState);
+                ps.setString(7, b.starType);
+                setFinite(ps, 8, b.distanceLs);
+                setFinite(ps, 9, b.gravityMS);
+                setFinite(ps, 10, b.surfaceTempK);
+                ps.setInt(11, b.landable ? 1 : 0);
+                ps.setInt(12, b.hasBio ? 1 : 0);
+                ps.setInt(13, b.hasGeo ? 1 : 0);
+                ps.setInt(14, b.highValue ? 1 : 0);
+                ps.setInt(15, b.getNumberOfBioSignals());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Binds {@code starPos} to the three coordinate parameters starting at {@code index} (NULLs if unknown).
+     */
+    static void setCoordinates(PreparedStatement ps, int index, double[] starPos) throws SQLException {
+        boolean known = starPos != null && starPos.length >= 3;
+        for (int i = 0; i < 3; i++) {
+            setFinite(ps, index + i, known ? Double.valueOf(starPos[i]) : null);
+        }
+    }
+
+    /**
+     * Prepares the radius query used by {@link SystemCache#findSystemsWithinRadius}; its columns are
+     * {@code cache_key, system_name, x, y, z, dist_sq, system_address}, nearest first. For tools holding
+     * their own connection to the cache file.
+     */
+    public static PreparedStatement prepareRadiusQuery(Connection c, double x, double y, double z,
+            double radiusLy, int limit) throws SQLException {
+        PreparedStatement ps = c.prepareStatement(tableExists(c, RTREE_TABLE) ? RADIUS_SQL_RTREE : RADIUS_SQL_SCAN);
+        bindRadius(ps, x, y, z, radiusLy, limit);
+        return ps;
+    }
+
+    static List<NearbyCachedSystem> withinRadius(Connection c, boolean rtree, double x, double y, double z,
+            double radiusLy, int limit) throws SQLException {
+        if (!(radiusLy >= 0.0) || limit <= 0) {
+            return Collections.emptyList();
+        }
+        try (PreparedStatement ps = c.prepareStatement(rtree ? RADIUS_SQL_RTREE : RADIUS_SQL_SCAN)) {
+            bindRadius(ps, x, y, z, radiusLy, limit);
+            List<NearbyCachedSystem> out = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new NearbyCachedSystem(rs.getLong(7), rs.getString(2),
+                            rs.getDouble(3), rs.getDouble(4), rs.getDouble(5), Math.sqrt(rs.getDouble(6))));
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * The {@code count} systems nearest to (x, y, z): radius queries over a growing sphere until it holds
+     * {@code count} systems, since everything outside the sphere is farther than anything inside it.
+     */
+    static List<NearbyCachedSystem> nearest(Connection c, boolean rtree, double x, double y, double z, int count)
+            throws SQLException {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        if (!rtree) {
+            // Every radius costs a full scan here, so do it once.
+            return withinRadius(c, false, x, y, z, NEAREST_MAX_RADIUS_LY, count);
+        }
+        double radius = NEAREST_START_RADIUS_LY;
+        while (true) {
+            List<NearbyCachedSystem> found = withinRadius(c, true, x, y, z, radius, count);
+            if (found.size() >= count || radius >= NEAREST_MAX_RADIUS_LY) {
+                return found;
+            }
+            radius = Math.min(NEAREST_MAX_RADIUS_LY, radius * 4.0);
+        }
+    }
+
+    private static void bindRadius(PreparedStatement ps, double x, double y, double z, double radiusLy, int limit)
+            throws SQLException {
+        int i = 1;
+        ps.setDouble(i++, x);
+        ps.setDouble(i++, x);
+        ps.setDouble(i++, y);
+        ps.setDouble(i++, y);
+        ps.setDouble(i++, z);
+        ps.setDouble(i++, z);
+        ps.setDouble(i++, x - radiusLy);
+        ps.setDouble(i++, x + radiusLy);
+        ps.setDouble(i++, y - radiusLy);
+        ps.setDouble(i++, y + radiusLy);
+        ps.setDouble(i++, z - radiusLy);
+        ps.setDouble(i++, z + radiusLy);
+        ps.setDouble(i++, radiusLy * radiusLy);
+        ps.setInt(i, limit);
+    }
+
+    private static void setFinite(PreparedStatement ps, int index, Double v) throws SQLException {
+        if (v == null || v.isNaN() || v.isInfinite()) {
+            ps.setNull(index, java.sql.Types.DOUBLE);
+        } else {
+            ps.setDouble(index, v.doubleValue());
+        }
+    }
+
+    private static int userVersion(Connection c) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static boolean tableExists(Connection c, String name) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void ensureSystemsColumn(Connection c, String column, String type) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("PRAGMA table_info(systems)")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString(2))) {
+                    return;
+                }
+            }
+        }
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("ALTER TABLE systems ADD COLUMN " + column + " " + type);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.dce.ed.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory tier in front of the {@link SystemCache} SQLite reads: the last answers of {@link SystemCache#get}
+ * and {@link SystemCache#getSummary}, including "not cached", by system address and by canonical name.
+ * <p>
+ * Lookups never take a lock, so UI threads do not queue behind a writer holding the cache monitor. Full systems
+ * are kept as their {@link CachedSystemCodec} payload and decoded per hit: callers may mutate what they get, and
+ * the payload is a compact, honest measure of the memory an entry holds. Summaries are immutable and shared.
+ * <p>
+ * Fills and evictions run under the cache monitor. Invalidation may come from any thread; a fill that started
+ * before an invalidation is dropped (see {@link #epoch()}) so a stale read cannot be installed after the write that
+ * made it stale. The budget ({@link #MEMORY_BYTES_PROPERTY}, default {@value #DEFAULT_MEMORY_BYTES} bytes) is
+ * enforced by dropping the least recently read entries.
+ */
+public final class SystemCacheMemoryTier {
+
+    /** Approximate heap budget in bytes; {@code 0} turns the tier off. */
+    public static final String MEMORY_BYTES_PROPERTY = "edo.cache.memoryBytes";
+
+    static final long DEFAULT_MEMORY_BYTES = 16L * 1024 * 1024;
+
+    /** Rough per-slot cost of the map node, entry and summary objects. */
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    /** Answer of one lookup: a row (summary, and payload once the full system was read) or "no row". */
+    static final class Entry {
+        final long systemAddress;
+        final String canonicalName;
+        /** {@link CachedSystemCodec} payload, or null if only the summary was read. */
+        final byte[] payload;
+        /** Null for a "no row" answer. */
+        final CachedSystemSummary summary;
+        final int weight;
+        volatile long lastReadTick;
+
+        Entry(long systemAddress, String canonicalName, byte[] payload, CachedSystemSummary summary) {
+            this.systemAddress = systemAddress;
+            this.canonicalName = canonicalName;
+            this.payload = payload;
+            this.summary = summary;
+            this.weight = ENTRY_OVERHEAD_BYTES + (payload != null ? payload.length : 0)
+                    + (canonicalName != null ? 2 * canonicalName.length() : 0);
+        }
+
+        boolean absent() {
+            return summary == null;
+        }
+    }
+
+    static final Entry ABSENT = new Entry(0L, null, null, null);
+
+    private final long budgetBytes;
+    private final Map<Long, Entry> byAddress = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicLong tick = new AtomicLong();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    SystemCacheMemoryTier() {
+        this(Math.max(0L, Long.getLong(MEMORY_BYTES_PROPERTY, DEFAULT_MEMORY_BYTES)));
+    }
+
+    SystemCacheMemoryTier(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * The remembered answer for a {@link SystemCache#get}-style lookup (address first, then canonical name), or
+     * null if it has to go to SQLite. {@link #ABSENT} means SQLite had no such system.
+     *
+     * @param needPayload true for a full system; an entry holding only a summary is then a miss
+     */
+    Entry lookup(long systemAddress, String canonicalName, boolean needPayload) {
+        Entry e = lookupSlots(systemAddress, canonicalName);
+        if (e == null || (needPayload && !e.absent() && e.payload == null)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return e;
+    }
+
+    private Entry lookupSlots(long systemAddress, String canonicalName) {
+        if (budgetBytes == 0L) {
+            return null;
+        }
+        boolean byNameToo = canonicalName != null && !canonicalName.isBlank();
+        if (systemAddress != 0L) {
+            Entry e = byAddress.get(Long.valueOf(systemAddress));
+            if (e == null) {
+                return null;
+            }
+            touch(e);
+            if (!e.absent() || !byNameToo) {
+                return e.absent() ? ABSENT : e;
+            }
+        } else if (!byNameToo) {
+            return null;
+        }
+        Entry e = byName.get(canonicalName);
+        if (e == null) {
+            return null;
+        }
+        touch(e);
+        return e.absent() ? ABSENT : e;
+    }
+
+    private void touch(Entry e) {
+        e.lastReadTick = tick.incrementAndGet();
+    }
+
+    /**
+     * Current invalidation epoch; read it before the SQLite read whose result is passed to {@link #fill}.
+     */
+    long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Remembers the SQLite answer for a lookup. Caller holds the cache monitor.
+     *
+     * @param found the row read, or null if there was none
+     * @param foundByAddress whether {@code found} came from the address query (else from the name query)
+     */
+    void fill(long readEpoch, long systemAddress, String canonicalName, Entry found, boolean foundByAddress) {
+        if (budgetBytes == 0L || readEpoch != epoch.get()) {
+            return;
+        }
+        boolean hasName = canonicalName != null && !canonicalName.isBlank();
+        if (found == null) {
+            // Both queries ran and came back empty.
+            if (systemAddress != 0L) {
+                putSlot(byAddress, Long.valueOf(systemAddress), new Entry(systemAddress, null, null, null));
+            }
+            if (hasName) {
+                putSlot(byName, canonicalName, new Entry(0L, canonicalName, null, null));
+            }
+        } else {
+            if (!foundByAddress && systemAddress != 0L) {
+                putSlot(byAddress, Long.valueOf(systemAddress), new Entry(systemAddress, null, null, null));
+            }
+            if (found.systemAddress != 0L) {
+                putSlot(byAddress, Long.valueOf(found.systemAddress), found);
+            }
+            if (found.canonicalName != null && !found.canonicalName.isBlank()) {
+                putSlot(byName, found.canonicalName, found);
+            }
+        }
+        if (weight.get() > budgetBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Forgets everything known about a system row (before and after the write that calls this).
+     */
+    void invalidate(long systemAddress, String canonicalName) {
+        epoch.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (systemAddress != 0L) {
+            Entry old = removeSlot(byAddress, Long.valueOf(systemAddress));
+            if (old != null && old.canonicalName != null) {
+                removeSlot(byName, old.canonicalName);
+            }
+        }
+        if (canonicalName != null && !canonicalName.isBlank()) {
+            Entry old = removeSlot(byName, canonicalName);
+            if (old != null && old.systemAddress != 0L) {
+                removeSlot(byAddress, Long.valueOf(old.systemAddress));
+            }
+        }
+    }
+
+    void clear() {
+        epoch.incrementAndGet();
+        byAddress.clear();
+        byName.clear();
+        weight.set(0L);
+    }
+
+    private <K> void putSlot(Map<K, Entry> map, K key, Entry e) {
+        e.lastReadTick = tick.incrementAndGet();
+        Entry old = map.put(key, e);
+        weight.addAndGet(e.weight - (old != null ? old.weight : 0));
+    }
+
+    private <K> Entry removeSlot(Map<K, Entry> map, K key) {
+        Entry old = map.remove(key);
+        if (old != null) {
+            weight.addAndGet(-old.weight);
+        }
+        return old;
+    }
+
+    /**
+     * Drops the least recently read slots until the tier is back under 90% of its budget.
+     */
+    private void evict() {
+        record Slot(boolean address, Object key, Entry entry, long readTick) {
+        }
+        List<Slot> slots = new ArrayList<>(byAddress.size() + byName.size());
+        byAddress.forEach((k, e) -> slots.add(new Slot(true, k, e, e.lastReadTick)));
+        byName.forEach((k, e) -> slots.add(new Slot(false, k, e, e.lastReadTick)));
+        slots.sort(Comparator.comparingLong(Slot::readTick));
+        long target = budgetBytes - budgetBytes / 10;
+        for (Slot s : slots) {
+            if (weight.get() <= target) {
+                break;
+            }
+            boolean removed = s.address()
+                    ? byAddress.remove(s.key(), s.entry())
+                    : byName.remove(s.key(), s.entry());
+            if (removed) {
+                weight.addAndGet(-s.entry().weight);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /** Lookups answered from memory, including remembered "not cached" answers. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Lookups that went to SQLite. */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /** Slots dropped to stay within the memory budget. */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /** Writes that invalidated a system. */
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    /** Address and name slots currently held. */
+    public int getEntryCount() {
+        return byAddress.size() + byName.size();
+    }
+
+    /** Approximate bytes held (an entry reachable by address and by name counts twice). */
+    public long getWeightBytes() {
+        return weight.get();
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+}
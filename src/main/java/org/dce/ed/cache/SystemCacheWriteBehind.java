@@ -0,0 +1,261 @@
+package org.dce.ed.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dce.ed.cache.SystemCache.SystemSnapshot;
+
+/**
+ * Write-behind stage for {@link SystemCache#storeSystemDeferred}: callers hand over a snapshot and return at once,
+ * and a single daemon writer merges and upserts the pending snapshots in one SQLite transaction.
+ * <p>
+ * Stores of the same system inside the coalescing window ({@link #WRITE_BEHIND_MS_PROPERTY}, default
+ * {@value #DEFAULT_WINDOW_MS} ms) replace the pending snapshot instead of queueing another full-system rewrite.
+ * The window runs from a system's first pending store, so repeated stores never push its write back.
+ * A store for a different system flushes right away, and a JVM shutdown hook runs {@link #flush()}.
+ * <p>
+ * Snapshots stay pending until the transaction that writes them commits. A failed batch is retried after
+ * {@link #RETRY_DELAY_MS} ms and dropped, with a log line, after {@link #MAX_WRITE_ATTEMPTS} failures.
+ * <p>
+ * Lock order is always {@link SystemCache} monitor, then this stage's queue lock; callers of {@link #enqueue}
+ * must not hold the cache monitor.
+ */
+public final class SystemCacheWriteBehind {
+
+    /** Coalescing window in milliseconds; {@code 0} writes as soon as the writer wakes. */
+    public static final String WRITE_BEHIND_MS_PROPERTY = "edo.cache.writeBehindMs";
+
+    static final long DEFAULT_WINDOW_MS = 750L;
+    static final long RETRY_DELAY_MS = 2_000L;
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    /** A pending snapshot and when its system first became pending. */
+    private static final class Pending {
+        SystemSnapshot snap;
+        final long firstQueuedAtMs;
+
+        Pending(SystemSnapshot snap, long firstQueuedAtMs) {
+            this.snap = snap;
+            this.firstQueuedAtMs = firstQueuedAtMs;
+        }
+    }
+
+    private final SystemCache cache;
+
+    private final Object lock = new Object();
+    /** Guarded by {@link #lock}. */
+    private long windowMs;
+    /** Pending snapshots by cache key; a coalesced store keeps its entry, so iteration order is oldest-first. */
+    private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+    private boolean flushRequested;
+    private String lastEnqueuedKey;
+    /** Consecutive failed writes; guarded by the {@link SystemCache} monitor. */
+    private int failedAttempts;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    SystemCacheWriteBehind(SystemCache cache) {
+        this.cache = cache;
+        this.windowMs = Math.max(0L, Long.getLong(WRITE_BEHIND_MS_PROPERTY, DEFAULT_WINDOW_MS));
+        Thread t = new Thread(this::runWriter, "SystemCache-WriteBehind");
+        t.setDaemon(true);
+        t.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "SystemCache-WriteBehind-Flush"));
+    }
+
+    void enqueue(SystemSnapshot snap) {
+        if (snap == null || snap.cacheKey == null) {
+            return;
+        }
+        queued.incrementAndGet();
+        synchronized (lock) {
+            Pending p = pending.get(snap.cacheKey);
+            if (p != null) {
+                p.snap = snap;
+                coalesced.incrementAndGet();
+            } else {
+                pending.put(snap.cacheKey, new Pending(snap, System.currentTimeMillis()));
+            }
+            if (lastEnqueuedKey != null && !lastEnqueuedKey.equals(snap.cacheKey)) {
+                // System changed: do not hold the previous system's write for the rest of the window.
+                flushRequested = true;
+            }
+            lastEnqueuedKey = snap.cacheKey;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes every pending snapshot on the calling thread and returns once they are on disk.
+     *
+     * @return false if the write failed; the snapshots then stay queued for the writer's retry
+     */
+    public boolean flush() {
+        synchronized (cache) {
+            return drainPendingLocked();
+        }
+    }
+
+    /**
+     * Writes all pending snapshots in one transaction. Caller holds the {@link SystemCache} monitor.
+     * <p>
+     * Entries leave the queue only once the transaction commits, and only if no newer store of the same
+     * system replaced them meanwhile.
+     *
+     * @return false if the write failed and the snapshots are still pending
+     */
+    boolean drainPendingLocked() {
+        List<SystemSnapshot> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return true;
+            }
+            batch = new ArrayList<>(pending.size());
+            for (Pending p : pending.values()) {
+                batch.add(p.snap);
+            }
+        }
+        boolean committed = cache.writeSnapshots(batch);
+        synchronized (lock) {
+            if (committed || ++failedAttempts >= MAX_WRITE_ATTEMPTS) {
+                for (SystemSnapshot snap : batch) {
+                    Pending p = pending.get(snap.cacheKey);
+                    if (p != null && p.snap == snap) {
+                        pending.remove(snap.cacheKey);
+                    }
+                }
+            }
+            if (committed) {
+                failedAttempts = 0;
+                written.addAndGet(batch.size());
+            } else if (failedAttempts >= MAX_WRITE_ATTEMPTS) {
+                System.err.println("SystemCache: write-behind dropped " + batch.size() + " system(s) after "
+                        + failedAttempts + " failed writes");
+                failedAttempts = 0;
+            }
+        }
+        return committed;
+    }
+
+    /**
+     * Removes and returns the pending snapshot for a system, matching by cache key or, for name-only lookups,
+     * by canonical system name. Caller holds the {@link SystemCache} monitor and writes the result itself.
+     */
+    SystemSnapshot takePending(String cacheKey, String canonicalName) {
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return null;
+            }
+            if (cacheKey != null) {
+                Pending p = pending.remove(cacheKey);
+                if (p != null) {
+                    return p.snap;
+                }
+            }
+            if (canonicalName == null || canonicalName.isBlank()) {
+                return null;
+            }
+            for (Iterator<Map.Entry<String, Pending>> it = pending.entrySet().iterator(); it.hasNext();) {
+                SystemSnapshot s = it.next().getValue().snap;
+                if (s.systemName != null && canonicalName.equalsIgnoreCase(s.systemName)) {
+                    it.remove();
+                    return s;
+                }
+            }
+            return null;
+        }
+    }
+
+    void discardPending(String cacheKey) {
+        if (cacheKey == null) {
+            return;
+        }
+        synchronized (lock) {
+            pending.remove(cacheKey);
+        }
+    }
+
+    void discardAllPending() {
+        synchronized (lock) {
+            pending.clear();
+            lastEnqueuedKey = null;
+        }
+    }
+
+    void recordWritten(int n) {
+        written.addAndGet(n);
+    }
+
+    /** Snapshots handed to {@link SystemCache#storeSystemDeferred} since startup. */
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    /** Snapshots that replaced a still-pending snapshot of the same system (writes saved). */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /** Snapshots actually merged and upserted into SQLite. */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    long getWindowMs() {
+        synchronized (lock) {
+            return windowMs;
+        }
+    }
+
+    /**
+     * Replaces the coalescing window read from {@link #WRITE_BEHIND_MS_PROPERTY} at startup; a writer already
+     * waiting re-checks against the new window.
+     */
+    void setWindowMs(long ms) {
+        synchronized (lock) {
+            windowMs = Math.max(0L, ms);
+            lock.notifyAll();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            try {
+                synchronized (lock) {
+                    while (pending.isEmpty()) {
+                        lock.wait();
+                    }
+                    while (!pending.isEmpty() && !flushRequested) {
+                        long oldest = pending.values().iterator().next().firstQueuedAtMs;
+                        long waitMs = oldest + windowMs - System.currentTimeMillis();
+                        if (waitMs <= 0L) {
+                            break;
+                        }
+                        lock.wait(waitMs);
+                    }
+                    flushRequested = false;
+                }
+                if (!flush()) {
+                    Thread.sleep(RETRY_DELAY_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("SystemCache: write-behind flush failed: " + e.getMessage());
+            }
+        }
+    }
+}
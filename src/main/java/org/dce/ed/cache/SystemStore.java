@@ -44,7 +44,24 @@ public interface SystemStore {
 
     void storeSystem(SystemState state);
 
+    /**
+     * Store without waiting for the disk write. Backends without a write-behind stage store synchronously.
+     */
+    default void storeSystemDeferred(SystemState state) {
+        storeSystem(state);
+    }
+
     void mergeDiscoveryFlags(SystemState state, Map<String, Boolean> discoveryFlagsByBodyName);
 
     CachedSystemSummary getSummary(long systemAddress, String systemName);
+
+    /**
+     * Cached systems with known coordinates within {@code radiusLy} of (x, y, z), nearest first, at most {@code limit}.
+     */
+    List<NearbyCachedSystem> findSystemsWithinRadius(double x, double y, double z, double radiusLy, int limit);
+
+    /**
+     * The {@code count} cached systems with known coordinates nearest to (x, y, z), nearest first.
+     */
+    List<NearbyCachedSystem> findNearestSystems(double x, double y, double z, int count);
 }
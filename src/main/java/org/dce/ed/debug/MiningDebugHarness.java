@@ -406,7 +406,7 @@ public final class MiningDebugHarness {
                 Path dir = OverlayPreferences.resolveJournalDirectory(EliteDangerousOverlay.clientKey);
                 if (dir != null && Files.isDirectory(dir)) {
                     EliteJournalReader reader = new EliteJournalReader(dir);
-                    EliteLogEvent trans = reader.findMostRecentSystemTransitionEvent(null);
+                    EliteLogEvent trans = reader.findMostRecentSystemTransitionEvent();
                     if (trans instanceof LocationEvent le) {
                         if (system.isEmpty()) {
                             String sn = le.getStarSystem();
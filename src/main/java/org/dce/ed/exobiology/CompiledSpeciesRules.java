@@ -0,0 +1,188 @@
+package org.dce.ed.exobiology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.dce.ed.exobiology.ExobiologyData.AtmosphereType;
+import org.dce.ed.exobiology.ExobiologyData.BioCandidate;
+import org.dce.ed.exobiology.ExobiologyData.PlanetType;
+import org.dce.ed.exobiology.ExobiologyData.SpeciesConstraint;
+import org.dce.ed.exobiology.ExobiologyData.SpeciesRule;
+
+/**
+ * The species rules compiled once into a lookup table for {@link ExobiologyData#predict}.
+ *
+ * Planet type and atmosphere are the first two things {@link SpeciesRule#matches} checks, and they
+ * only depend on the body's enums, so every (planet type, atmosphere) pair gets the list of rules
+ * that can pass them. Gravity and temperature bounds are copied into primitive arrays and checked
+ * before the remaining (string, map and region) checks in {@code matches} run.
+ */
+final class CompiledSpeciesRules {
+
+    private static final int PLANET_SLOTS = PlanetType.values().length + 1; // last slot: planetType == null
+    private static final int ATMOSPHERE_SLOTS = AtmosphereType.values().length;
+
+    private final SpeciesConstraint[] constraints;
+    private final String[] keys;
+    private final SpeciesRule[] rules;
+    private final int[] ruleConstraint;
+
+    /** NaN where the rule has no bound, so comparisons against it fail and scoring falls back to 0.5. */
+    private final double[] minGravity;
+    private final double[] maxGravity;
+    private final double[] minTemp;
+    private final double[] maxTemp;
+
+    /** Rule ids per (planet slot, atmosphere) cell, grouped by constraint in catalog order. */
+    private final int[][] cells;
+
+    CompiledSpeciesRules(Collection<SpeciesConstraint> catalog) {
+        constraints = catalog.toArray(new SpeciesConstraint[0]);
+        keys = new String[constraints.length];
+
+        List<SpeciesRule> flatRules = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int c = 0; c < constraints.length; c++) {
+            keys[c] = constraints[c].key();
+            for (SpeciesRule rule : constraints[c].getRules()) {
+                flatRules.add(rule);
+                owners.add(c);
+            }
+        }
+
+        int n = flatRules.size();
+        rules = flatRules.toArray(new SpeciesRule[0]);
+        ruleConstraint = new int[n];
+        minGravity = new double[n];
+        maxGravity = new double[n];
+        minTemp = new double[n];
+        maxTemp = new double[n];
+        for (int r = 0; r < n; r++) {
+            SpeciesRule rule = rules[r];
+            ruleConstraint[r] = owners.get(r);
+            minGravity[r] = orNaN(rule.minGravity);
+            maxGravity[r] = orNaN(rule.maxGravity);
+            minTemp[r] = orNaN(rule.minTempK);
+            maxTemp[r] = orNaN(rule.maxTempK);
+        }
+
+        cells = new int[PLANET_SLOTS * ATMOSPHERE_SLOTS][];
+        PlanetType[] planetTypes = PlanetType.values();
+        for (int p = 0; p < PLANET_SLOTS; p++) {
+            PlanetType pt = p < planetTypes.length ? planetTypes[p] : null;
+            for (AtmosphereType at : AtmosphereType.values()) {
+                int[] ids = new int[n];
+                int count = 0;
+                for (int r = 0; r < n; r++) {
+                    if (passesTypeChecks(rules[r], pt, at)) {
+                        ids[count++] = r;
+                    }
+                }
+                cells[p * ATMOSPHERE_SLOTS + at.ordinal()] = Arrays.copyOf(ids, count);
+            }
+        }
+    }
+
+    int ruleCount() {
+        return rules.length;
+    }
+
+    /**
+     * Same result as running every rule of every allowed species through {@link SpeciesRule#matches}
+     * and keeping the best score per species (first rule wins ties); unsorted.
+     *
+     * @param allowedSpeciesKeys "Genus Species" keys to consider, or null for all
+     */
+    List<BioCandidate> match(BodyAttributes attrs, Set<String> allowedSpeciesKeys) {
+        List<BioCandidate> result = new ArrayList<>();
+
+        int planetSlot = attrs.planetType != null ? attrs.planetType.ordinal() : PLANET_SLOTS - 1;
+        AtmosphereType at = attrs.atmosphere != null ? attrs.atmosphere : AtmosphereType.UNKNOWN;
+        int[] cell = cells[planetSlot * ATMOSPHERE_SLOTS + at.ordinal()];
+
+        double g = attrs.gravity;
+        double t = attrs.tempKMin;
+        double tMid = 0.5 * (attrs.tempKMin + attrs.tempKMax);
+        // With a missing gravity/temperature, matches() has to run to emit its warning.
+        boolean primitiveChecks = !Double.isNaN(g) && !Double.isNaN(t);
+
+        int currentConstraint = -1;
+        boolean allowed = false;
+        double bestScore = 0.0;
+        boolean haveBest = false;
+
+        for (int r : cell) {
+            int c = ruleConstraint[r];
+            if (c != currentConstraint) {
+                if (haveBest) {
+                    result.add(new BioCandidate(constraints[currentConstraint], bestScore, null));
+                }
+                currentConstraint = c;
+                allowed = allowedSpeciesKeys == null || allowedSpeciesKeys.contains(keys[c]);
+                haveBest = false;
+                bestScore = 0.0;
+            }
+            if (!allowed) {
+                continue;
+            }
+            if (primitiveChecks) {
+                if (g < minGravity[r] || g > maxGravity[r] || t < minTemp[r] || t > maxTemp[r]) {
+                    continue;
+                }
+            }
+            if (!rules[r].matches(keys[c], attrs)) {
+                continue;
+            }
+
+            double score = 0.5 * (scoreInRange(g, minGravity[r], maxGravity[r])
+                    + scoreInRange(tMid, minTemp[r], maxTemp[r]));
+            if (!haveBest || score > bestScore) {
+                bestScore = score;
+                haveBest = true;
+            }
+        }
+        if (haveBest) {
+            result.add(new BioCandidate(constraints[currentConstraint], bestScore, null));
+        }
+        return result;
+    }
+
+    /**
+     * Primitive twin of {@code ExobiologyData.scoreInRange}: a NaN bound stands for a missing one.
+     */
+    static double scoreInRange(double x, double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            return 0.5;
+        }
+        if (x < min || x > max) {
+            return 0.0;
+        }
+        if (max <= min) {
+            return 1.0;
+        }
+        double mid = 0.5 * (min + max);
+        double half = 0.5 * (max - min);
+        if (half <= 0.0) {
+            return 1.0;
+        }
+        return 1.0 - Math.abs(x - mid) / half;
+    }
+
+    /** Mirrors the planet type and atmosphere checks at the top of {@link SpeciesRule#matches}. */
+    private static boolean passesTypeChecks(SpeciesRule rule, PlanetType pt, AtmosphereType at) {
+        if (!rule.bodyTypes.isEmpty() && (pt == null || !rule.bodyTypes.contains(pt))) {
+            return false;
+        }
+        if (rule.requireAtmosphere && (at == AtmosphereType.NONE || at == AtmosphereType.UNKNOWN)) {
+            return false;
+        }
+        return rule.atmospheres.isEmpty() || rule.atmospheres.contains(at);
+    }
+
+    private static double orNaN(Double d) {
+        return d != null ? d.doubleValue() : Double.NaN;
+    }
+}
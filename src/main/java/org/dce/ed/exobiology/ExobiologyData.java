@@ -387,16 +387,13 @@ public final class ExobiologyData {
             		return false;
             	}
             	int regionId = RegionResolver.findRegionId(starPos[0], starPos[2]);
-            	String regionName = RegionMapData.REGIONS[regionId].toLowerCase().replaceAll(" ", "-");
-
-            	if (regions != null && !regions.isEmpty()) {
-            		if (regionName == null) {
-            			warn("Rule requires region constraint but body.region was null");
-            			return false;
-            		}
-            		if (!RegionSlugMatcher.matchesAnySlug(regionId, regions)) {
-            			return false;
-            		}
+
+            	if (regionId <= 0) {
+            		warn("Rule requires region constraint but body.region was null");
+            		return false;
+            	}
+            	if (!RegionSlugMatcher.matchesAnySlug(regionId, regions)) {
+            		return false;
             	}
             }
             
@@ -897,6 +894,12 @@ public SpeciesRuleBuilder gravity(Double min, Double max) {
     /* =====================================================================
      * Prediction
      * ===================================================================== */
+
+    /** Rules indexed by planet type and atmosphere; built on first use, after the catalog is loaded. */
+    private static final class Compiled {
+        static final CompiledSpeciesRules RULES = new CompiledSpeciesRules(CONSTRAINTS.values());
+    }
+
     public static List<BioCandidate> predict(BodyAttributes attrs, Set<String> allowedSpeciesKeys) {
         if (allowedSpeciesKeys == null || allowedSpeciesKeys.isEmpty()) {
             return predict(attrs);
@@ -906,59 +909,8 @@ public SpeciesRuleBuilder gravity(Double min, Double max) {
             return Collections.emptyList();
         }
 
-        List<BioCandidate> result = new ArrayList<>();
-
-        for (SpeciesConstraint sc : CONSTRAINTS.values()) {
-            String key = sc.genus + " " + sc.species;
-            if (!allowedSpeciesKeys.contains(key)) {
-                continue;
-            }
-
-            SpeciesRule bestRule = null;
-            double bestScore = 0.0;
-            String bestReason = null;
-
-            for (SpeciesRule rule : sc.getRules()) {
-                if (!rule.matches(key, attrs)) {
-                    continue;
-                }
-
-                Double gScore = scoreInRange(attrs.gravity, rule.minGravity, rule.maxGravity);
-                double tScore = scoreInRange(
-                        0.5 * (attrs.tempKMin + attrs.tempKMax),
-                        rule.minTempK,
-                        rule.maxTempK
-                );
-
-                double score = 0.5 * (gScore + tScore);
-
-                String reason = String.format(
-                        Locale.ROOT,
-                        "gravity=%.3f (%.3f–%.3f); temp=%.0f–%.0f K (%.0f–%.0f); atmo=%s; score=%.3f",
-                        attrs.gravity, rule.minGravity, rule.maxGravity,
-                        attrs.tempKMin, attrs.tempKMax,
-                        rule.minTempK, rule.maxTempK,
-                        attrs.atmosphere,
-                        score
-                );
-
-                if (bestRule == null || score > bestScore) {
-                    bestRule = rule;
-                    bestScore = score;
-                    bestReason = reason;
-                }
-            }
-
-            if (bestRule != null) {
-                result.add(new BioCandidate(sc, bestScore, bestReason));
-            }
-        }
-
-        result.sort(
-                Comparator.comparingDouble(BioCandidate::getScore).reversed()
-                        .thenComparingLong(BioCandidate::getBaseValue).reversed()
-        );
-
+        List<BioCandidate> result = Compiled.RULES.match(attrs, allowedSpeciesKeys);
+        sortCandidates(result);
         return result;
     }
 
@@ -968,18 +920,35 @@ public SpeciesRuleBuilder gravity(Double min, Double max) {
      * Returns a list sorted by descending score and then baseValue.
      */
     public static List<BioCandidate> predict(BodyAttributes attrs) {
+        if (attrs == null) {
+            return Collections.emptyList();
+        }
+        List<BioCandidate> result = Compiled.RULES.match(attrs, null);
+        sortCandidates(result);
+        return result;
+    }
+
+    /**
+     * Reference implementation: every rule of every species through {@link SpeciesRule#matches}.
+     * Kept for equivalence tests and the prediction benchmark.
+     */
+    static List<BioCandidate> predictUnindexed(BodyAttributes attrs, Set<String> allowedSpeciesKeys) {
         if (attrs == null) {
             return Collections.emptyList();
         }
         List<BioCandidate> result = new ArrayList<>();
 
         for (SpeciesConstraint sc : CONSTRAINTS.values()) {
+            String key = sc.genus + " " + sc.species;
+            if (allowedSpeciesKeys != null && !allowedSpeciesKeys.contains(key)) {
+                continue;
+            }
+
             SpeciesRule bestRule = null;
             double bestScore = 0.0;
-            String bestReason = null;
 
             for (SpeciesRule rule : sc.getRules()) {
-                if (!rule.matches(sc.genus + " " + sc.species, attrs)) {
+                if (!rule.matches(key, attrs)) {
                     continue;
                 }
 
@@ -992,35 +961,27 @@ public SpeciesRuleBuilder gravity(Double min, Double max) {
 
                 double score = 0.5 * (gScore + tScore);
 
-                String reason = String.format(
-                        Locale.ROOT,
-                        "gravity=%.3f (%.3f–%.3f); temp=%.0f–%.0f K (%.0f–%.0f); atmo=%s; score=%.3f",
-                        attrs.gravity, rule.minGravity, rule.maxGravity,
-                        attrs.tempKMin, attrs.tempKMax,
-                        rule.minTempK, rule.maxTempK,
-                        attrs.atmosphere,
-                        score
-                );
-
                 if (bestRule == null || score > bestScore) {
                     bestRule = rule;
                     bestScore = score;
-                    bestReason = reason;
                 }
             }
 
             if (bestRule != null) {
-                result.add(new BioCandidate(sc, bestScore, bestReason));
+                result.add(new BioCandidate(sc, bestScore, null));
             }
         }
 
+        sortCandidates(result);
+        return result;
+    }
+
+    private static void sortCandidates(List<BioCandidate> result) {
         // Sort by score, then by Vista value
         result.sort(
                 Comparator.comparingDouble(BioCandidate::getScore).reversed()
                         .thenComparingLong(BioCandidate::getBaseValue).reversed()
         );
-
-        return result;
     }
 
     /**
@@ -0,0 +1,130 @@
+package org.dce.ed.exobiology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.dce.ed.exobiology.ExobiologyData.AtmosphereType;
+import org.dce.ed.exobiology.ExobiologyData.BioCandidate;
+import org.dce.ed.exobiology.ExobiologyData.PlanetType;
+
+/**
+ * Micro-benchmark for {@link ExobiologyData#predict}: times the indexed path against the
+ * rule-by-rule reference over the same synthetic bodies and checks they agree.
+ *
+ * Usage: ExobiologyPredictBenchmarkMain [bodies] [rounds]
+ */
+public class ExobiologyPredictBenchmarkMain {
+
+    private static final String[] VOLCANISM = {
+            "", "minor rocky magma volcanism", "major silicate vapour geysers volcanism",
+            "water geysers volcanism", "carbon dioxide geysers volcanism", "methane magma volcanism",
+            "nitrogen magma volcanism", "ammonia magma volcanism", "metallic magma volcanism"
+    };
+
+    private static final String[] STAR_CLASSES = { "O", "B", "A", "F", "G", "K", "M", "D", "N" };
+
+    public static void main(String[] args) {
+        int bodies = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        ExobiologyData.setWarningSink(msg -> { });
+        List<BodyAttributes> sample = syntheticBodies(bodies, 42L);
+
+        int mismatches = 0;
+        for (BodyAttributes b : sample) {
+            if (!sameCandidates(ExobiologyData.predict(b), ExobiologyData.predictUnindexed(b, null))) {
+                mismatches++;
+            }
+        }
+        System.out.println("Bodies: " + bodies + ", mismatches vs reference: " + mismatches);
+
+        long sink = 0;
+        for (int warm = 0; warm < 3; warm++) {
+            sink += run(sample, true) + run(sample, false);
+        }
+
+        long indexedNs = Long.MAX_VALUE;
+        long referenceNs = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long t0 = System.nanoTime();
+            sink += run(sample, true);
+            long t1 = System.nanoTime();
+            sink += run(sample, false);
+            long t2 = System.nanoTime();
+            indexedNs = Math.min(indexedNs, t1 - t0);
+            referenceNs = Math.min(referenceNs, t2 - t1);
+        }
+
+        System.out.println(String.format(Locale.ROOT, "indexed:   %8.1f ns/body", indexedNs / (double) bodies));
+        System.out.println(String.format(Locale.ROOT, "reference: %8.1f ns/body", referenceNs / (double) bodies));
+        System.out.println(String.format(Locale.ROOT, "speedup:   %8.1fx  (checksum %d)",
+                referenceNs / (double) indexedNs, sink));
+    }
+
+    private static long run(List<BodyAttributes> sample, boolean indexed) {
+        long n = 0;
+        for (BodyAttributes b : sample) {
+            n += indexed ? ExobiologyData.predict(b).size() : ExobiologyData.predictUnindexed(b, null).size();
+        }
+        return n;
+    }
+
+    static boolean sameCandidates(List<BioCandidate> a, List<BioCandidate> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            BioCandidate x = a.get(i);
+            BioCandidate y = b.get(i);
+            if (!x.getDisplayName().equals(y.getDisplayName())
+                    || Double.compare(x.getScore(), y.getScore()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Landable-ish bodies spread over the planet/atmosphere/volcanism combinations the rules care about.
+     */
+    static List<BodyAttributes> syntheticBodies(int count, long seed) {
+        Random rnd = new Random(seed);
+        PlanetType[] planets = PlanetType.values();
+        AtmosphereType[] atmospheres = AtmosphereType.values();
+        List<BodyAttributes> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double tMin = 20 + rnd.nextDouble() * 600;
+            String volc = VOLCANISM[rnd.nextInt(VOLCANISM.length)];
+            double[] starPos = {
+                    -30_000 + rnd.nextDouble() * 60_000,
+                    -500 + rnd.nextDouble() * 1_000,
+                    -10_000 + rnd.nextDouble() * 60_000
+            };
+            String starClass = STAR_CLASSES[rnd.nextInt(STAR_CLASSES.length)];
+            out.add(new BodyAttributes(
+                    "Bench " + i + " A 1",
+                    "Bench " + i,
+                    starPos,
+                    planets[rnd.nextInt(planets.length)],
+                    rnd.nextDouble() * 0.6,
+                    atmospheres[rnd.nextInt(atmospheres.length)],
+                    tMin,
+                    tMin + rnd.nextDouble() * 20,
+                    rnd.nextDouble() * 0.1,
+                    !volc.isEmpty(),
+                    volc,
+                    Map.of("CarbonDioxide", rnd.nextDouble() * 100),
+                    rnd.nextDouble() * 100,
+                    rnd.nextDouble() * 20_000,
+                    Boolean.FALSE,
+                    "",
+                    starClass,
+                    null,
+                    starClass));
+        }
+        return out;
+    }
+}
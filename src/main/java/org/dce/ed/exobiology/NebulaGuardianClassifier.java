@@ -5,7 +5,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -41,10 +45,41 @@ public final class NebulaGuardianClassifier {
     private static volatile Map<String, double[]> PLANETARY_NEBULA_COORDS;  // name -> [x,y,z]
     private static volatile Map<String, GuardianZone> GUARDIAN_ZONES;       // name -> zone
 
+    // Indexes over the maps above, built once by ensureLoaded().
+    private static volatile SectorTrie SECTOR_TRIE;
+    private static volatile KdTree LARGE_NEBULA_INDEX;
+    private static volatile KdTree PLANETARY_NEBULA_INDEX;
+    private static volatile GuardianZone[] GUARDIAN_ZONE_ARRAY;
+
+    /** Per-system results; nebula/guardian status only depends on the system, not the body. */
+    private static final int MEMO_CAPACITY = 4096;
+    private static final Map<String, String> NEBULA_MEMO = lruMap();
+    private static final Map<Long, Boolean> GUARDIAN_MEMO = lruMap();
+
     private NebulaGuardianClassifier() {
         // utility
     }
 
+    /**
+     * Memoized per system address (0 = unknown, not memoized).
+     */
+    public static boolean isGuardianSystem(long systemAddress, double[] starPos) {
+        if (systemAddress == 0L || starPos == null || starPos.length < 3) {
+            return isGuardianSystem(starPos);
+        }
+        synchronized (GUARDIAN_MEMO) {
+            Boolean cached = GUARDIAN_MEMO.get(systemAddress);
+            if (cached != null) {
+                return cached.booleanValue();
+            }
+        }
+        boolean guardian = isGuardianSystem(starPos);
+        synchronized (GUARDIAN_MEMO) {
+            GUARDIAN_MEMO.put(systemAddress, Boolean.valueOf(guardian));
+        }
+        return guardian;
+    }
+
     public static boolean isGuardianSystem(double[] starPos) {
         if (starPos == null || starPos.length < 3) {
             return false;
@@ -52,15 +87,40 @@ public final class NebulaGuardianClassifier {
 
         ensureLoaded();
 
-        for (GuardianZone z : GUARDIAN_ZONES.values()) {
-            double d = distanceLy(starPos[0], starPos[1], starPos[2], z.x, z.y, z.z);
-            if (d < z.maxDistanceLy) {
+        // Only a handful of zones with individual radii: a flat array with squared distances is enough.
+        for (GuardianZone z : GUARDIAN_ZONE_ARRAY) {
+            double dx = starPos[0] - z.x;
+            double dy = starPos[1] - z.y;
+            double dz = starPos[2] - z.z;
+            if (dx * dx + dy * dy + dz * dz < z.maxDistanceLy * z.maxDistanceLy) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Memoized per system address and check type (0 = unknown, not memoized). A result is only
+     * memoized once the star position is known, since without it the distance checks are skipped.
+     */
+    public static String determineNebulaTag(long systemAddress, String systemName, double[] starPos, String checkType) {
+        if (systemAddress == 0L || starPos == null || starPos.length < 3) {
+            return determineNebulaTag(systemName, starPos, checkType);
+        }
+        String key = systemAddress + "|" + checkType;
+        synchronized (NEBULA_MEMO) {
+            String cached = NEBULA_MEMO.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String tag = determineNebulaTag(systemName, starPos, checkType);
+        synchronized (NEBULA_MEMO) {
+            NEBULA_MEMO.put(key, tag);
+        }
+        return tag;
+    }
+
     /**
      * @param checkType BioScan supports "large" and "all". (Overlay rules currently only use "all".)
      * @return a non-empty identifier if the system is considered "in a nebula", else "".
@@ -79,11 +139,10 @@ public final class NebulaGuardianClassifier {
         ensureLoaded();
 
         // 1) Sector-prefix match (fast path)
-        for (String sector : NEBULA_SECTORS) {
-            if (systemName.startsWith(sector)) {
-                // BioScan treats this as "nebula = true"; return something useful.
-                return sector;
-            }
+        String sector = SECTOR_TRIE.firstPrefixOf(systemName);
+        if (sector != null) {
+            // BioScan treats this as "nebula = true"; return something useful.
+            return sector;
         }
 
         // 2) Distance-to-nearest reference nebula
@@ -91,14 +150,14 @@ public final class NebulaGuardianClassifier {
             return "";
         }
 
-        Nearest large = nearest(starPos, LARGE_NEBULA_COORDS);
+        Nearest large = LARGE_NEBULA_INDEX.nearest(starPos);
         if (large != null && large.distanceLy < 150.0) {
             return large.name;
         }
 
         boolean all = "all".equals(ct);
         if (all) {
-            Nearest pn = nearest(starPos, PLANETARY_NEBULA_COORDS);
+            Nearest pn = PLANETARY_NEBULA_INDEX.nearest(starPos);
             if (pn != null && pn.distanceLy < 100.0) {
                 return pn.name;
             }
@@ -109,55 +168,14 @@ public final class NebulaGuardianClassifier {
 
     // ---------------------------------------------------------------------
 
-    private static Nearest nearest(double[] starPos, Map<String, double[]> coords) {
-        if (coords == null || coords.isEmpty()) {
-            return null;
-        }
-
-        String bestName = null;
-        double bestDistSq = Double.POSITIVE_INFINITY;
-
-        double sx = starPos[0];
-        double sy = starPos[1];
-        double sz = starPos[2];
-
-        for (Map.Entry<String, double[]> e : coords.entrySet()) {
-            double[] c = e.getValue();
-            if (c == null || c.length < 3) {
-                continue;
-            }
-
-            double dx = sx - c[0];
-            double dy = sy - c[1];
-            double dz = sz - c[2];
-            double dsq = dx * dx + dy * dy + dz * dz;
-
-            if (dsq < bestDistSq) {
-                bestDistSq = dsq;
-                bestName = e.getKey();
-            }
-        }
-
-        if (bestName == null) {
-            return null;
-        }
-
-        double bestDist = Math.sqrt(bestDistSq);
-        return new Nearest(bestName, bestDist);
-    }
-
-    private static double distanceLy(double x1, double y1, double z1, double x2, double y2, double z2) {
-        double dx = x1 - x2;
-        double dy = y1 - y2;
-        double dz = z1 - z2;
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
-    }
-
     private static void ensureLoaded() {
-        if (NEBULA_SECTORS != null && LARGE_NEBULA_COORDS != null && PLANETARY_NEBULA_COORDS != null && GUARDIAN_ZONES != null) {
+        if (GUARDIAN_ZONE_ARRAY != null) {
             return;
         }
         synchronized (NebulaGuardianClassifier.class) {
+            if (GUARDIAN_ZONE_ARRAY != null) {
+                return;
+            }
             if (NEBULA_SECTORS == null) {
                 Type t = new TypeToken<List<String>>() {}.getType();
                 NEBULA_SECTORS = loadJson(RES_SECTORS, t, Collections.emptyList());
@@ -174,9 +192,25 @@ public final class NebulaGuardianClassifier {
                 Type t = new TypeToken<Map<String, GuardianZone>>() {}.getType();
                 GUARDIAN_ZONES = loadJson(RES_GUARDIAN, t, Collections.emptyMap());
             }
+            SECTOR_TRIE = new SectorTrie(NEBULA_SECTORS);
+            LARGE_NEBULA_INDEX = new KdTree(LARGE_NEBULA_COORDS);
+            PLANETARY_NEBULA_INDEX = new KdTree(PLANETARY_NEBULA_COORDS);
+            // Published last: the fast path in ensureLoaded() checks this field.
+            GUARDIAN_ZONE_ARRAY = GUARDIAN_ZONES.values().toArray(new GuardianZone[0]);
         }
     }
 
+    private static <K, V> Map<K, V> lruMap() {
+        return new LinkedHashMap<K, V>(256, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > MEMO_CAPACITY;
+            }
+        };
+    }
+
     private static <T> T loadJson(String resourcePath, Type type, T fallback) {
         try (InputStream in = NebulaGuardianClassifier.class.getResourceAsStream(resourcePath)) {
             if (in == null) {
@@ -201,6 +235,146 @@ public final class NebulaGuardianClassifier {
         }
     }
 
+    /**
+     * Character trie over the sector names; answers "which listed sector is a prefix of this name"
+     * in one walk of the name. If several are, the one listed first wins, as with the original scan.
+     */
+    private static final class SectorTrie {
+        private final Node root = new Node();
+
+        private static final class Node {
+            final Map<Character, Node> children = new HashMap<>();
+            int order = -1;
+            String sector;
+        }
+
+        SectorTrie(List<String> sectors) {
+            for (int i = 0; i < sectors.size(); i++) {
+                String sector = sectors.get(i);
+                if (sector == null) {
+                    continue;
+                }
+                Node n = root;
+                for (int c = 0; c < sector.length(); c++) {
+                    n = n.children.computeIfAbsent(sector.charAt(c), k -> new Node());
+                }
+                if (n.order < 0) {
+                    n.order = i;
+                    n.sector = sector;
+                }
+            }
+        }
+
+        String firstPrefixOf(String name) {
+            Node n = root;
+            String best = n.sector;
+            int bestOrder = n.order < 0 ? Integer.MAX_VALUE : n.order;
+            for (int c = 0; c < name.length() && n != null; c++) {
+                n = n.children.get(name.charAt(c));
+                if (n != null && n.order >= 0 && n.order < bestOrder) {
+                    best = n.sector;
+                    bestOrder = n.order;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Static 3-d tree over named reference stars. Ties on distance go to the entry that came first in
+     * the source map, matching the old linear scan.
+     */
+    private static final class KdTree {
+        private final String[] names;
+        private final double[] xyz;     // 3 coords per point
+        private final int[] tree;       // point ids in implicit tree order (median of each range is the node)
+
+        KdTree(Map<String, double[]> coords) {
+            List<String> n = new ArrayList<>();
+            List<double[]> p = new ArrayList<>();
+            for (Map.Entry<String, double[]> e : coords.entrySet()) {
+                double[] c = e.getValue();
+                if (c == null || c.length < 3) {
+                    continue;
+                }
+                n.add(e.getKey());
+                p.add(c);
+            }
+            names = n.toArray(new String[0]);
+            xyz = new double[names.length * 3];
+            tree = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                xyz[i * 3] = p.get(i)[0];
+                xyz[i * 3 + 1] = p.get(i)[1];
+                xyz[i * 3 + 2] = p.get(i)[2];
+                tree[i] = i;
+            }
+            build(0, tree.length, 0);
+        }
+
+        private void build(int from, int to, int axis) {
+            if (to - from <= 1) {
+                return;
+            }
+            Integer[] slice = new Integer[to - from];
+            for (int i = from; i < to; i++) {
+                slice[i - from] = tree[i];
+            }
+            Arrays.sort(slice, (a, b) -> Double.compare(xyz[a * 3 + axis], xyz[b * 3 + axis]));
+            for (int i = from; i < to; i++) {
+                tree[i] = slice[i - from];
+            }
+            int mid = (from + to) >>> 1;
+            int next = (axis + 1) % 3;
+            build(from, mid, next);
+            build(mid + 1, to, next);
+        }
+
+        Nearest nearest(double[] starPos) {
+            if (tree.length == 0) {
+                return null;
+            }
+            Best best = new Best();
+            search(0, tree.length, 0, starPos[0], starPos[1], starPos[2], best);
+            return new Nearest(names[best.id], Math.sqrt(best.distSq));
+        }
+
+        private static final class Best {
+            int id = -1;
+            double distSq = Double.POSITIVE_INFINITY;
+        }
+
+        private void search(int from, int to, int axis, double x, double y, double z, Best best) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            int id = tree[mid];
+            double dx = x - xyz[id * 3];
+            double dy = y - xyz[id * 3 + 1];
+            double dz = z - xyz[id * 3 + 2];
+            double dsq = dx * dx + dy * dy + dz * dz;
+            if (dsq < best.distSq || (dsq == best.distSq && id < best.id)) {
+                best.distSq = dsq;
+                best.id = id;
+            }
+
+            double delta = axis == 0 ? dx : axis == 1 ? dy : dz;
+            int next = (axis + 1) % 3;
+            if (delta < 0) {
+                search(from, mid, next, x, y, z, best);
+                if (delta * delta <= best.distSq) {
+                    search(mid + 1, to, next, x, y, z, best);
+                }
+            } else {
+                search(mid + 1, to, next, x, y, z, best);
+                if (delta * delta <= best.distSq) {
+                    search(from, mid, next, x, y, z, best);
+                }
+            }
+        }
+    }
+
     private static final class GuardianZone {
         double maxDistanceLy;
         double x;
@@ -0,0 +1,188 @@
+package org.dce.ed.exobiology;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.dce.ed.cache.CacheLocations;
+
+/**
+ * Decoded form of the region map: per row, the cumulative end of each run plus its region id, so a
+ * lookup is a binary search inside one row instead of a walk over the run-length entries.
+ *
+ * The table is written to {@code region-map.bin} in the cache directory the first time it is built
+ * and memory-mapped on later starts, which skips the Base64 + gzip decode in {@link RegionMapData}.
+ * The file carries a fingerprint of the embedded map and is rebuilt if it does not match.
+ *
+ * Layout (big-endian): magic, version, fingerprint (long), rows, totalRuns,
+ * rowStart[rows + 1] (int), runEnd[totalRuns] (u16), regionId[totalRuns] (u8).
+ */
+final class RegionLookupTable {
+
+    /** Overrides the cache file location (mainly for tools and tests). */
+    static final String CACHE_FILE_PROPERTY = "edo.regionMapFile";
+
+    private static final String CACHE_FILE_NAME = "region-map.bin";
+    private static final int MAGIC = 0x4544524D; // "EDRM"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+
+    private final ByteBuffer data;
+    private final int rows;
+    private final int runEndOffset;
+    private final int regionIdOffset;
+
+    private RegionLookupTable(ByteBuffer data) {
+        this.data = data;
+        this.rows = data.getInt(16);
+        int totalRuns = data.getInt(20);
+        this.runEndOffset = HEADER_BYTES + (rows + 1) * 4;
+        this.regionIdOffset = runEndOffset + totalRuns * 2;
+    }
+
+    /**
+     * @return region id of grid cell ({@code px}, {@code pz}), or -1 if the row is outside the map or
+     *         {@code px} lies past the end of the row
+     */
+    int regionIdAt(int px, int pz) {
+        if (pz < 0 || pz >= rows) {
+            return -1;
+        }
+        int lo = data.getInt(HEADER_BYTES + pz * 4);
+        int hi = data.getInt(HEADER_BYTES + (pz + 1) * 4) - 1;
+        if (hi < lo || px >= runEnd(hi)) {
+            return -1;
+        }
+        // First run whose (exclusive) end is past px.
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runEnd(mid) > px) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return data.get(regionIdOffset + lo) & 0xFF;
+    }
+
+    private int runEnd(int run) {
+        return data.getChar(runEndOffset + run * 2);
+    }
+
+    /**
+     * Maps the cache file if it is current, otherwise decodes the embedded map and tries to write the file.
+     */
+    static RegionLookupTable load() {
+        long fingerprint = RegionMapData.sourceFingerprint();
+        Path file = cacheFile();
+        ByteBuffer mapped = mapIfCurrent(file, fingerprint);
+        if (mapped != null) {
+            return new RegionLookupTable(mapped);
+        }
+
+        ByteBuffer built = build(RegionMapData.getRegionMap(), fingerprint);
+        try {
+            write(file, built);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[RegionLookupTable] Could not write " + file + ": " + e.getMessage());
+        }
+        return new RegionLookupTable(built);
+    }
+
+    static Path cacheFile() {
+        String override = System.getProperty(CACHE_FILE_PROPERTY);
+        if (override != null && !override.isBlank()) {
+            return Paths.get(override).toAbsolutePath().normalize();
+        }
+        return CacheLocations.cacheDataDirectory().resolve(CACHE_FILE_NAME);
+    }
+
+    static ByteBuffer build(int[][][] map, long fingerprint) {
+        int rows = map.length;
+        int totalRuns = 0;
+        for (int[][] row : map) {
+            totalRuns += row.length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + (rows + 1) * 4 + totalRuns * 3);
+        buf.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).putInt(rows).putInt(totalRuns);
+
+        int start = 0;
+        for (int[][] row : map) {
+            buf.putInt(start);
+            start += row.length;
+        }
+        buf.putInt(start);
+
+        for (int[][] row : map) {
+            int end = 0;
+            for (int[] run : row) {
+                end += run[0];
+                buf.putChar((char) end);
+            }
+        }
+        for (int[][] row : map) {
+            for (int[] run : row) {
+                buf.put((byte) run[1]);
+            }
+        }
+        buf.flip();
+        return buf.asReadOnlyBuffer();
+    }
+
+    private static ByteBuffer mapIfCurrent(Path file, long fingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            // Check the header before mapping: a stale mapping would keep the file locked on Windows.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && ch.read(header) >= 0) {
+                // fill
+            }
+            if (header.hasRemaining()
+                    || header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getLong(8) != fingerprint) {
+                return null;
+            }
+            int rows = header.getInt(16);
+            int totalRuns = header.getInt(20);
+            long expected = HEADER_BYTES + (rows + 1L) * 4 + totalRuns * 3L;
+            if (rows <= 0 || totalRuns < 0 || expected != size) {
+                return null;
+            }
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void write(Path file, ByteBuffer table) throws IOException {
+        Path dir = file.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer src = table.duplicate();
+            while (src.hasRemaining()) {
+                ch.write(src);
+            }
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
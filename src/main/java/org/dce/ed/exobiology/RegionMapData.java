@@ -72,6 +72,13 @@ public final class RegionMapData {
 
     private static volatile int[][][] regionMap;
 
+    /**
+     * Identifies the embedded map so a decoded copy on disk can be checked against it.
+     */
+    static long sourceFingerprint() {
+        return ((long) REGION_MAP_B64_GZIP.length() << 32) | (REGION_MAP_B64_GZIP.hashCode() & 0xFFFFFFFFL);
+    }
+
     public static int[][][] getRegionMap() {
         int[][][] local = regionMap;
         if (local != null) {
@@ -1,9 +1,5 @@
 package org.dce.ed.exobiology;
 
-
-
-import java.util.List;
-
 public final class RegionResolver {
 
     // Constants from RegionMap.py
@@ -18,6 +14,13 @@ public final class RegionResolver {
 
     private RegionResolver() {}
 
+    /**
+     * Decoded lookup table; mapped from the cache file when one exists (see {@link RegionLookupTable}).
+     */
+    private static final class Table {
+        static final RegionLookupTable INSTANCE = RegionLookupTable.load();
+    }
+
     /**
      * @return regionId, or -1 if outside region map
      */
@@ -26,25 +29,7 @@ public final class RegionResolver {
         int px = (int) ((x - X0) * GRID_SIZE / SCALE);
         int pz = (int) ((z - Z0) * GRID_SIZE / SCALE);
 
-//        if (px < 0 || pz < 0 || pz >= REGION_MAP.length) {
-//            return -1;
-//        }
-
-        int[][] row = RegionMapData.getRegionMap()[pz];
-
-        int rx = 0;
-
-        for (int[] entry : row) {
-            int runLength = entry[0];
-            int regionId = entry[1];
-
-            if (px < rx + runLength) {
-                return regionId;
-            }
-            rx += runLength;
-        }
-
-        return -1;
+        return Table.INSTANCE.regionIdAt(px, pz);
     }
 
     /**
@@ -2,18 +2,21 @@ package org.dce.ed.logreader;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,6 +33,14 @@ import org.dce.ed.logreader.event.SupercruiseExitEvent;
  */
 public class EliteJournalReader {
 
+    private static final Set<EliteEventType> SYSTEM_TRANSITION_TYPES = EnumSet.of(
+            EliteEventType.LOCATION, EliteEventType.FSD_JUMP, EliteEventType.CARRIER_JUMP);
+
+    /** Events {@link #isLatestSituationPlanetaryRingMining()} needs to decide docked state and body type. */
+    private static final Set<EliteEventType> RING_SITUATION_TYPES = EnumSet.of(
+            EliteEventType.LOCATION, EliteEventType.SUPERCRUISE_EXIT, EliteEventType.FSD_JUMP,
+            EliteEventType.CARRIER_JUMP, EliteEventType.STATUS, EliteEventType.DOCKED, EliteEventType.UNDOCKED);
+
     private final EliteLogParser parser = new EliteLogParser();
     private final Path journalDirectory;
 
@@ -87,11 +98,8 @@ public class EliteJournalReader {
      * last event that advanced the import cursor — strict {@code isAfter} would miss it
      * on startup rescan.
      * <p>
-     * This is implemented on top of readEventsFromLastNJournalFiles(int),
-     * so we avoid re-reading the entire journal history when the cursor
-     * (since) is recent. We grow the number of files considered until
-     * we reach a file whose earliest event is at or before the cursor,
-     * or we hit all available files.
+     * The {@link JournalCatalog} says which file holds the cursor and roughly where in it,
+     * so only that file's tail and the newer files are read.
      */
     public List<EliteLogEvent> readEventsSince(Instant since) throws IOException {
         if (since == null) {
@@ -99,54 +107,15 @@ public class EliteJournalReader {
             return readEventsFromLastNJournalFiles(Integer.MAX_VALUE);
         }
 
-        // Start with a small window of recent files and expand as needed.
-        int filesToRead = 4;
-        int maxFiles = Integer.MAX_VALUE;
-
-        List<EliteLogEvent> windowEvents = readEventsFromLastNJournalFiles(filesToRead);
-        if (windowEvents.isEmpty()) {
-            return windowEvents;
-        }
-
-        // Grow the window until the earliest event in it is <= since,
-        // or until we've pulled in all available files that method can see.
-        while (true) {
-            Instant earliest = windowEvents.stream()
-                    .map(EliteLogEvent::getTimestamp)
-                    .filter(Objects::nonNull)
-                    .min(Instant::compareTo)
-                    .orElse(null);
-
-            // If we have no timestamps at all, or the earliest is at/before the cursor,
-            // we've read far enough back in history.
-            if (earliest == null || !earliest.isAfter(since)) {
-                break;
-            }
-
-            // If we've already hit our max (or the read call is not returning more),
-            // don't loop forever; just use what we have.
-            if (filesToRead >= maxFiles) {
-                break;
-            }
-
-            int newFilesToRead = filesToRead * 2;
-            if (newFilesToRead < filesToRead) { // overflow guard
-                break;
-            }
-
-            // Expand the window.
-            filesToRead = newFilesToRead;
-            List<EliteLogEvent> expanded = readEventsFromLastNJournalFiles(filesToRead);
-            if (expanded.size() <= windowEvents.size()) {
-                // No additional events; we've hit the limit of what this method can provide.
-                break;
-            }
-            windowEvents = expanded;
+        List<Path> journalFiles = listJournalFiles();
+        List<EliteLogEvent> events = new ArrayList<>();
+        for (JournalCatalog.Position pos : catalog().positionsSince(journalFiles, since)) {
+            readEventsFromFile(pos.file(), pos.offset(), events);
         }
 
         // Filter: at or after cursor (inclusive), matching live tail semantics.
         List<EliteLogEvent> result = new ArrayList<>();
-        for (EliteLogEvent e : windowEvents) {
+        for (EliteLogEvent e : events) {
             Instant ts = e.getTimestamp();
             if (ts != null && !ts.isBefore(since)) {
                 result.add(e);
@@ -161,6 +130,42 @@ public class EliteJournalReader {
     }
 
 
+    /**
+     * Streaming counterpart of {@link #readEventsSince(Instant)} / {@link #readEventsFromLastNJournalFiles(int)}:
+     * events are parsed in parallel and merged in timestamp order one at a time, so memory does not grow with
+     * journal history. {@code since == null} replays every journal file.
+     */
+    public JournalReplayStream openReplayStream(Instant since) throws IOException {
+        return new JournalReplayStream(listJournalFilesForReplay(since), since, JournalReplayStream.defaultParallelism());
+    }
+
+    /**
+     * Like {@link #openReplayStream(Instant)}, but only fully parses {@code materializedTypes}.
+     */
+    public JournalReplayStream openReplayStream(Instant since, Set<EliteEventType> materializedTypes) throws IOException {
+        return new JournalReplayStream(listJournalFilesForReplay(since), since,
+                JournalReplayStream.defaultParallelism(), materializedTypes);
+    }
+
+    /**
+     * Journal files that can contain events at or after {@code since}: from the newest file that starts at or
+     * before the cursor (per the {@link JournalCatalog}) onwards.
+     */
+    public List<Path> listJournalFilesForReplay(Instant since) throws IOException {
+        List<Path> journalFiles = listJournalFiles();
+        if (since == null || journalFiles.isEmpty()) {
+            return journalFiles;
+        }
+        return catalog().filesSince(journalFiles, since);
+    }
+
+    /**
+     * The catalog for this directory; each lookup indexes only the files it reaches.
+     */
+    private JournalCatalog catalog() {
+        return JournalCatalog.forDirectory(journalDirectory);
+    }
+
     /**
      * Read only the latest journal file (by name).
      */
@@ -325,7 +330,16 @@ public class EliteJournalReader {
 
     /** package-private so tests can use it if desired */
     void readEventsFromFile(Path file, List<EliteLogEvent> sink) throws IOException {
-        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        readEventsFromFile(file, 0L, sink);
+    }
+
+    /**
+     * Parses {@code file} from byte {@code offset}, which must be the start of a line.
+     */
+    private void readEventsFromFile(Path file, long offset, List<EliteLogEvent> sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+                BufferedReader reader = new BufferedReader(
+                        Channels.newReader(ch.position(offset), StandardCharsets.UTF_8), 1 << 16)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 line = line.trim();
@@ -373,8 +387,8 @@ public class EliteJournalReader {
      * Find the most recent parsed event matching the given journal event name
      * (e.g. "Loadout", "Location", "FSDJump") by reading only the last N journal files.
      *
-     * This reuses the existing parser and forward reader (no custom JSON parsing),
-     * then walks the result list backwards to find the most recent match.
+     * Types in {@link JournalCatalog#INDEXED_TYPES} are a catalog lookup; others are found by reading the
+     * files backwards and parsing only the first line whose event name matches.
      *
      * @param journalEventName the literal journal "event" string (case-sensitive per EliteEventType)
      * @param maxJournalFilesToSearch number of most recent Journal.*.log files to scan (e.g., 4 or 8)
@@ -397,8 +411,7 @@ public class EliteJournalReader {
     }
 
     /**
-     * Find the most recent parsed event matching the given type by reading only the last N journal files,
-     * then scanning the parsed list backwards.
+     * Find the most recent parsed event matching the given type within the last N journal files.
      */
     public EliteLogEvent findMostRecentEvent(EliteEventType type, int maxJournalFilesToSearch) throws IOException {
         if (type == null) {
@@ -408,110 +421,162 @@ public class EliteJournalReader {
             return null;
         }
 
-        List<EliteLogEvent> events = readEventsFromLastNJournalFiles(maxJournalFilesToSearch);
-        for (int i = events.size() - 1; i >= 0; i--) {
-            EliteLogEvent e = events.get(i);
-            if (e != null && e.getType() == type) {
-                return e;
-            }
+        if (JournalCatalog.INDEXED_TYPES.contains(type)) {
+            List<Path> journalFiles = listJournalFiles();
+            return readEventAt(catalog().latest(journalFiles, EnumSet.of(type), maxJournalFilesToSearch));
         }
-        return null;
+
+        EliteLogEvent[] found = new EliteLogEvent[1];
+        scanBackwards(maxJournalFilesToSearch, (t, file, line) -> {
+            if (t != type) {
+                return true;
+            }
+            found[0] = parseOrNull(file, line);
+            return found[0] == null;
+        });
+        return found[0];
     }
 
     /**
      * Find the latest system-transition event (Location, FSDJump, CarrierJump).
      *
-     * Uses adaptive recent-file expansion to avoid full-history reads:
-     * starts from recent journals and doubles the window until we reach the
-     * requested cutoff time (when provided) or we stop getting additional events.
+     * This is a {@link JournalCatalog} lookup followed by parsing that one record, however far back it is.
      *
-     * @param notBefore optional lower bound for useful history (usually last import cursor minus safety margin)
      * @return latest matching system-transition event, or null if none found
      */
-    public EliteLogEvent findMostRecentSystemTransitionEvent(Instant notBefore) throws IOException {
-        int filesToRead = 4;
-        List<EliteLogEvent> windowEvents = readEventsFromLastNJournalFiles(filesToRead);
-        if (windowEvents.isEmpty()) {
-            return null;
-        }
-
-        while (notBefore != null) {
-            Instant earliest = windowEvents.stream()
-                    .map(EliteLogEvent::getTimestamp)
-                    .filter(Objects::nonNull)
-                    .min(Instant::compareTo)
-                    .orElse(null);
-
-            if (earliest == null || !earliest.isAfter(notBefore)) {
-                break;
-            }
+    public EliteLogEvent findMostRecentSystemTransitionEvent() throws IOException {
+        List<Path> journalFiles = listJournalFiles();
+        return readEventAt(catalog().latest(journalFiles, SYSTEM_TRANSITION_TYPES, Integer.MAX_VALUE));
+    }
 
-            int next = filesToRead * 2;
-            if (next <= filesToRead) {
-                break;
-            }
-            List<EliteLogEvent> expanded = readEventsFromLastNJournalFiles(next);
-            if (expanded.size() <= windowEvents.size()) {
-                break;
-            }
-            filesToRead = next;
-            windowEvents = expanded;
+    /**
+     * Parses the single record at {@code pos}, or returns null if there is none.
+     */
+    private EliteLogEvent readEventAt(JournalCatalog.Position pos) throws IOException {
+        if (pos == null) {
+            return null;
         }
-
-        for (int i = windowEvents.size() - 1; i >= 0; i--) {
-            EliteLogEvent e = windowEvents.get(i);
-            if (e == null) {
-                continue;
-            }
-            if (e instanceof LocationEvent || e instanceof FsdJumpEvent || e instanceof CarrierJumpEvent) {
-                return e;
+        try (FileChannel ch = FileChannel.open(pos.file(), StandardOpenOption.READ);
+                BufferedReader reader = new BufferedReader(
+                        Channels.newReader(ch.position(pos.offset()), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (line == null || line.isBlank()) {
+                return null;
             }
+            return parser.parseRecord(line.trim());
+        } catch (RuntimeException ex) {
+            System.err.println("Failed to parse journal line in " + pos.file() + ": " + ex.getMessage());
+            return null;
         }
-        return null;
     }
 
     /**
-     * Replays recent journal files and returns whether the latest state is undocked with a
+     * Walks the last 8 journal files backwards and returns whether the latest state is undocked with a
      * {@code PlanetaryRing} body type (same condition as switching to the Mining tab on
-     * {@link SupercruiseExitEvent} in {@code EliteOverlayTabbedPane}).
+     * {@link SupercruiseExitEvent} in {@code EliteOverlayTabbedPane}). Stops as soon as both the docked state and
+     * the body type have been decided by their newest event.
      */
     public boolean isLatestSituationPlanetaryRingMining() throws IOException {
-        List<EliteLogEvent> events = readEventsFromLastNJournalFiles(8);
-        if (events.isEmpty()) {
-            return false;
-        }
-        boolean docked = false;
-        String bodyType = null;
-        for (EliteLogEvent e : events) {
+        Boolean[] docked = new Boolean[1];
+        String[] bodyType = new String[1];
+        scanBackwards(8, (t, file, line) -> {
+            if (!RING_SITUATION_TYPES.contains(t)) {
+                return true;
+            }
+            EliteLogEvent e = parseOrNull(file, line);
             if (e instanceof LocationEvent le) {
-                docked = le.isDocked();
-                if (le.getBodyType() != null && !le.getBodyType().isBlank()) {
-                    bodyType = le.getBodyType();
+                if (docked[0] == null) {
+                    docked[0] = le.isDocked();
+                }
+                if (bodyType[0] == null && le.getBodyType() != null && !le.getBodyType().isBlank()) {
+                    bodyType[0] = le.getBodyType();
                 }
             } else if (e instanceof SupercruiseExitEvent se) {
-                if (se.getBodyType() != null && !se.getBodyType().isBlank()) {
-                    bodyType = se.getBodyType();
+                if (bodyType[0] == null && se.getBodyType() != null && !se.getBodyType().isBlank()) {
+                    bodyType[0] = se.getBodyType();
                 }
             } else if (e instanceof FsdJumpEvent fj) {
-                if (fj.getBodyType() != null && !fj.getBodyType().isBlank()) {
-                    bodyType = fj.getBodyType();
+                if (bodyType[0] == null && fj.getBodyType() != null && !fj.getBodyType().isBlank()) {
+                    bodyType[0] = fj.getBodyType();
                 }
-                if (fj.getDocked() != null && fj.getDocked()) {
-                    docked = true;
+                if (docked[0] == null && fj.getDocked() != null && fj.getDocked()) {
+                    docked[0] = true;
                 }
             } else if (e instanceof CarrierJumpEvent cj) {
-                if (cj.getBodyType() != null && !cj.getBodyType().isBlank()) {
-                    bodyType = cj.getBodyType();
+                if (bodyType[0] == null && cj.getBodyType() != null && !cj.getBodyType().isBlank()) {
+                    bodyType[0] = cj.getBodyType();
                 }
             } else if (e instanceof StatusEvent se) {
-                docked = se.isDocked();
-            } else if (e.getType() == EliteEventType.DOCKED) {
-                docked = true;
-            } else if (e.getType() == EliteEventType.UNDOCKED) {
-                docked = false;
+                if (docked[0] == null) {
+                    docked[0] = se.isDocked();
+                }
+            } else if (e != null && e.getType() == EliteEventType.DOCKED) {
+                if (docked[0] == null) {
+                    docked[0] = true;
+                }
+            } else if (e != null && e.getType() == EliteEventType.UNDOCKED) {
+                if (docked[0] == null) {
+                    docked[0] = false;
+                }
+            }
+            return docked[0] == null || bodyType[0] == null;
+        });
+        return !Boolean.TRUE.equals(docked[0]) && bodyType[0] != null && bodyType[0].contains("PlanetaryRing");
+    }
+
+    /**
+     * Receives journal lines newest first, with the event type read from the raw text.
+     */
+    @FunctionalInterface
+    private interface ReverseVisitor {
+        /** @return false to stop scanning */
+        boolean visit(EliteEventType type, Path file, String line);
+    }
+
+    /**
+     * Hands the lines of the last {@code maxFiles} journal files to {@code visitor}, newest file and newest line
+     * first, reading each file backwards in small chunks. Only the {@code "event"} name is looked at before the
+     * visitor decides whether to parse, so a lookup that matches near the end reads a few kilobytes.
+     */
+    private void scanBackwards(int maxFiles, ReverseVisitor visitor) throws IOException {
+        List<Path> journalFiles = listJournalFiles();
+        int stop = Math.max(0, journalFiles.size() - maxFiles);
+        for (int i = journalFiles.size() - 1; i >= stop; i--) {
+            Path file = journalFiles.get(i);
+            try (ReverseLineReader reader = new ReverseLineReader(file)) {
+                String line;
+                while ((line = reader.previousLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    String name = EliteLogParser.peekEventName(line);
+                    EliteEventType type = name != null
+                            ? EliteEventType.fromJournalName(name)
+                            : headerTypeOrNull(line);
+                    if (type != null && !visitor.visit(type, file, line)) {
+                        return;
+                    }
+                }
             }
         }
-        return !docked && bodyType != null && bodyType.contains("PlanetaryRing");
+    }
+
+    private static EliteEventType headerTypeOrNull(String line) {
+        try {
+            return EliteLogParser.readHeader(line).type;
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private EliteLogEvent parseOrNull(Path file, String line) {
+        try {
+            return parser.parseRecord(line);
+        } catch (Exception ex) {
+            System.err.println("Failed to parse journal line in " + file + ": " + ex.getMessage());
+            return null;
+        }
     }
 
 }
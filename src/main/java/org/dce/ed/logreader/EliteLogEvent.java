@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.List;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 /**
  * Base type for all parsed Elite Dangerous journal events.
@@ -57,8 +58,47 @@ public abstract class EliteLogEvent {
      * Generic catch-all event when we don't have a specific subclass yet.
      */
     public static final class GenericEvent extends EliteLogEvent {
+
+        private final String rawLine;
+        private volatile JsonObject lazyJson;
+
         public GenericEvent(Instant timestamp, EliteEventType type, JsonObject rawJson) {
             super(timestamp, type, rawJson);
+            this.rawLine = null;
+        }
+
+        /**
+         * Lazy variant: keeps the journal line as text and only builds the
+         * JSON tree the first time {@link #getRawJson()} is called.
+         */
+        public GenericEvent(Instant timestamp, EliteEventType type, String rawLine) {
+            super(timestamp, type, null);
+            this.rawLine = rawLine;
+        }
+
+        @Override
+        public JsonObject getRawJson() {
+            JsonObject obj = super.getRawJson();
+            if (obj != null || rawLine == null) {
+                return obj;
+            }
+            obj = lazyJson;
+            if (obj == null) {
+                obj = JsonParser.parseString(rawLine).getAsJsonObject();
+                lazyJson = obj;
+            }
+            return obj;
+        }
+
+        /**
+         * @return the original journal line for lazily parsed events, otherwise null
+         */
+        public String getRawLine() {
+            return rawLine;
+        }
+
+        public boolean isMaterialized() {
+            return rawLine == null || lazyJson != null;
         }
     }
 
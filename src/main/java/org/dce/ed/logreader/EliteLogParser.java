@@ -1,6 +1,7 @@
 package org.dce.ed.logreader;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -8,9 +9,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.dce.ed.logreader.EliteLogEvent.GenericEvent;
 import org.dce.ed.logreader.EliteLogEvent.NavRouteClearEvent;
@@ -41,15 +44,76 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Parses individual Elite Dangerous journal JSON records into strongly-typed events.
  */
 public class EliteLogParser {
 
+    /**
+     * Event types that have a dedicated parser. These are materialized by default;
+     * every other type is handed out lazily.
+     */
+    public static final Set<EliteEventType> TYPED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            EliteEventType.FILEHEADER,
+            EliteEventType.COMMANDER,
+            EliteEventType.LOAD_GAME,
+            EliteEventType.LOADOUT,
+            EliteEventType.LOCATION,
+            EliteEventType.START_JUMP,
+            EliteEventType.FSD_JUMP,
+            EliteEventType.FSD_TARGET,
+            EliteEventType.SAASIGNALS_FOUND,
+            EliteEventType.SCAN,
+            EliteEventType.SCAN_ORGANIC,
+            EliteEventType.FSS_DISCOVERY_SCAN,
+            EliteEventType.FSS_ALL_BODIES_FOUND,
+            EliteEventType.FSS_BODY_SIGNAL_DISCOVERED,
+            EliteEventType.NAV_ROUTE,
+            EliteEventType.NAV_ROUTE_CLEAR,
+            EliteEventType.RECEIVE_TEXT,
+            EliteEventType.STATUS,
+            EliteEventType.CARRIER_LOCATION,
+            EliteEventType.CARRIER_JUMP,
+            EliteEventType.CARRIER_JUMP_REQUEST,
+            EliteEventType.SUPERCRUISE_EXIT,
+            EliteEventType.PROSPECTED_ASTEROID));
+
     private final Gson gson = new Gson(); // kept for future use if needed
 
+    private final Set<EliteEventType> materializedTypes;
+
+    public EliteLogParser() {
+        this(TYPED_EVENTS);
+    }
+
+    /**
+     * @param materializedTypes event types to fully parse on read; all others become lazy
+     *                          {@link GenericEvent}s (typed events outside the set lose their subclass)
+     */
+    public EliteLogParser(Set<EliteEventType> materializedTypes) {
+        this.materializedTypes = materializedTypes.isEmpty()
+                ? EnumSet.noneOf(EliteEventType.class)
+                : EnumSet.copyOf(materializedTypes);
+    }
+
+    public Set<EliteEventType> getMaterializedTypes() {
+        return Collections.unmodifiableSet(materializedTypes);
+    }
+
+    /**
+     * Adds types that should be fully parsed on read, e.g. generic events a caller
+     * will always inspect. Call before the parser is shared between threads.
+     */
+    public void registerInterest(EliteEventType... types) {
+        Collections.addAll(materializedTypes, types);
+    }
+
     /**
      * Parses Elite's {@code Status.json} (full file, not a journal line) into a {@link StatusEvent}.
      */
@@ -69,13 +133,28 @@ public class EliteLogParser {
         return parseStatus(ts, obj);
     }
 
+    /**
+     * Parses one journal line. Only {@code event} and {@code timestamp} are read up front;
+     * the full JSON tree is built only for types in {@link #getMaterializedTypes()}. Anything
+     * else comes back as a {@link GenericEvent} that parses its raw line on first use.
+     */
     public EliteLogEvent parseRecord(String jsonLine) {
+        RecordHeader header = readHeader(jsonLine);
+        if (!materializedTypes.contains(header.type)) {
+            return new GenericEvent(header.timestamp, header.type, jsonLine);
+        }
         JsonObject obj = JsonParser.parseString(jsonLine).getAsJsonObject();
+        return materialize(header.type, header.timestamp, obj);
+    }
 
-        String eventName = obj.has("event") ? obj.get("event").getAsString() : "Status";
-        EliteEventType type = EliteEventType.fromJournalName(eventName);
-        Instant ts = Instant.parse(obj.get("timestamp").getAsString());
+    /**
+     * Reads just the timestamp of a journal line without building a JSON tree.
+     */
+    public Instant readTimestamp(String jsonLine) {
+        return readHeader(jsonLine).timestamp;
+    }
 
+    private EliteLogEvent materialize(EliteEventType type, Instant ts, JsonObject obj) {
         switch (type) {
             case FILEHEADER:
                 return parseFileheader(ts, obj);
@@ -151,6 +230,81 @@ default:
         }
     }
 
+    static final class RecordHeader {
+        final EliteEventType type;
+        final Instant timestamp;
+
+        RecordHeader(EliteEventType type, Instant timestamp) {
+            this.type = type;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * The {@code "event"} value of a journal line found by a plain text scan, for deciding whether a line is worth
+     * parsing at all. Returns null if there is no simple {@code "event":"..."} pair (the caller should then parse).
+     */
+    static String peekEventName(String jsonLine) {
+        int key = jsonLine.indexOf("\"event\"");
+        if (key < 0) {
+            return null;
+        }
+        int i = key + 7;
+        int n = jsonLine.length();
+        while (i < n && Character.isWhitespace(jsonLine.charAt(i))) {
+            i++;
+        }
+        if (i >= n || jsonLine.charAt(i) != ':') {
+            return null;
+        }
+        i++;
+        while (i < n && Character.isWhitespace(jsonLine.charAt(i))) {
+            i++;
+        }
+        if (i >= n || jsonLine.charAt(i) != '"') {
+            return null;
+        }
+        int close = jsonLine.indexOf('"', i + 1);
+        if (close < 0) {
+            return null;
+        }
+        String name = jsonLine.substring(i + 1, close);
+        return name.indexOf('\\') >= 0 ? null : name;
+    }
+
+    /**
+     * Streams the top-level object until both {@code event} and {@code timestamp} are seen.
+     * Elite writes those two first, so this normally touches only the start of the line.
+     */
+    static RecordHeader readHeader(String jsonLine) {
+        String eventName = null;
+        String timestamp = null;
+        try (JsonReader reader = new JsonReader(new StringReader(jsonLine))) {
+            reader.setStrictness(Strictness.LENIENT);
+            reader.beginObject();
+            while (reader.hasNext() && (eventName == null || timestamp == null)) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.STRING
+                        && ("event".equals(name) || "timestamp".equals(name))) {
+                    if ("event".equals(name)) {
+                        eventName = reader.nextString();
+                    } else {
+                        timestamp = reader.nextString();
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            throw new JsonParseException("Malformed journal record: " + ex.getMessage(), ex);
+        }
+        if (timestamp == null) {
+            throw new JsonParseException("Journal record has no timestamp");
+        }
+        EliteEventType type = EliteEventType.fromJournalName(eventName != null ? eventName : "Status");
+        return new RecordHeader(type, Instant.parse(timestamp));
+    }
+
     private ProspectedAsteroidEvent parseProspectedAsteroid(Instant ts, JsonObject obj) {
         String motherlode = getString(obj, "MotherlodeMaterial");
         String content = getString(obj, "Content");
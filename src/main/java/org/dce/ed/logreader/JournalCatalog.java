@@ -0,0 +1,355 @@
+package org.dce.ed.logreader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+
+/**
+ * Persistent index of a journal directory, stored next to the import cursor ({@link JournalImportCursor}). For each
+ * {@code Journal.*.log} it records how many bytes have been indexed, the first and last event time, a time
+ * checkpoint about every {@value #MARK_INTERVAL_BYTES} bytes, and the byte offset of the last record of each
+ * {@link #INDEXED_TYPES} type.
+ * <p>
+ * Each file is indexed from where the last pass stopped, so a growing journal costs only its new lines and old
+ * journals are never re-read; a file that shrank is indexed again. Only complete lines are indexed: a record Elite
+ * is still writing is picked up on the next pass. Lookups bring up to date only the files they can reach, newest
+ * first, and save the catalog when an older file changed or the newest one grew by a checkpoint interval; the
+ * unsaved tail of the live journal is simply indexed again next session. {@link #refresh(List)} indexes every file
+ * and saves.
+ */
+public final class JournalCatalog {
+
+    static final String CATALOG_FILENAME = "edo-cache.journalCatalog.json";
+
+    /** Event types whose offsets are kept, so "most recent X" is a lookup. */
+    public static final Set<EliteEventType> INDEXED_TYPES = EnumSet.of(
+            EliteEventType.LOCATION, EliteEventType.FSD_JUMP, EliteEventType.CARRIER_JUMP, EliteEventType.LOADOUT);
+
+    static final int MARK_INTERVAL_BYTES = 64 * 1024;
+
+    private static final int VERSION = 2;
+    private static final Gson GSON = new Gson();
+    private static final Map<Path, JournalCatalog> CATALOGS = new HashMap<>();
+
+    /** Start of one journal record. */
+    public record Position(Path file, long offset) {
+    }
+
+    /** What the catalog knows about one journal file; field names are the stored JSON. */
+    static final class FileEntry {
+        long size;
+        Long first;
+        Long last;
+        /** {@code [offset, epochMillis]} of a record, about every {@link #MARK_INTERVAL_BYTES}. */
+        List<long[]> marks = new ArrayList<>();
+        /** Journal event name to the offset of its last record in the file. */
+        Map<String, Long> latest = new HashMap<>();
+    }
+
+    private static final class Stored {
+        int version;
+        Map<String, FileEntry> files;
+    }
+
+    private final Path catalogFile;
+    private final Map<String, FileEntry> files;
+    private boolean saveFailureReported;
+    /** Bytes of the newest file indexed since the last save. */
+    private long unsavedTailBytes;
+
+    JournalCatalog(Path journalDirectory) {
+        this.catalogFile = journalDirectory.resolve(CATALOG_FILENAME);
+        this.files = load(catalogFile);
+    }
+
+    public static JournalCatalog forDirectory(Path journalDirectory) {
+        Path key = journalDirectory.toAbsolutePath().normalize();
+        synchronized (CATALOGS) {
+            return CATALOGS.computeIfAbsent(key, JournalCatalog::new);
+        }
+    }
+
+    /**
+     * Brings the catalog up to date with every one of {@code journalFiles} (file-name order) and saves it if
+     * anything changed. Entries for files no longer present are dropped.
+     */
+    public synchronized void refresh(List<Path> journalFiles) {
+        boolean changed = dropMissing(journalFiles);
+        for (Path file : journalFiles) {
+            changed |= refreshFile(file) != 0L;
+        }
+        if (changed) {
+            unsavedTailBytes = 0L;
+            save();
+        }
+    }
+
+    /**
+     * Where to start reading to see every event at or after {@code since}: the last file that starts at or before
+     * {@code since}, from its last checkpoint before {@code since}, then every later file from the top. Same file
+     * choice as a forward scan of first timestamps; {@code since == null} starts at the beginning of the first file.
+     */
+    public synchronized List<Position> positionsSince(List<Path> journalFiles, Instant since) {
+        int start = 0;
+        long offset = 0;
+        if (since != null) {
+            long sinceMillis = since.toEpochMilli();
+            Update update = new Update(journalFiles);
+            for (int i = journalFiles.size() - 1; i >= 0; i--) {
+                FileEntry e = update.refresh(i);
+                if (e != null && e.first != null && e.first <= sinceMillis) {
+                    start = i;
+                    for (long[] mark : e.marks) {
+                        // Strictly before: records sharing the cursor's second must be read again.
+                        if (mark[1] >= sinceMillis) {
+                            break;
+                        }
+                        offset = mark[0];
+                    }
+                    break;
+                }
+            }
+            update.saveIfDue();
+        }
+        List<Position> out = new ArrayList<>(journalFiles.size() - start);
+        for (int i = start; i < journalFiles.size(); i++) {
+            out.add(new Position(journalFiles.get(i), i == start ? offset : 0L));
+        }
+        return out;
+    }
+
+    /**
+     * Files that can contain events at or after {@code since}; see {@link #positionsSince(List, Instant)}.
+     */
+    public synchronized List<Path> filesSince(List<Path> journalFiles, Instant since) {
+        List<Position> positions = positionsSince(journalFiles, since);
+        return journalFiles.subList(journalFiles.size() - positions.size(), journalFiles.size());
+    }
+
+    /**
+     * The newest record of one of {@code types} (each must be in {@link #INDEXED_TYPES}) within the last
+     * {@code maxFiles} of {@code journalFiles}, or null. Files are brought up to date newest first, stopping at
+     * the first one that has a match.
+     */
+    public synchronized Position latest(List<Path> journalFiles, Set<EliteEventType> types, int maxFiles) {
+        Update update = new Update(journalFiles);
+        Position found = null;
+        int stop = Math.max(0, journalFiles.size() - maxFiles);
+        for (int i = journalFiles.size() - 1; i >= stop && found == null; i--) {
+            FileEntry e = update.refresh(i);
+            if (e == null) {
+                continue;
+            }
+            long best = -1;
+            for (EliteEventType t : types) {
+                Long off = e.latest.get(t.getJournalName());
+                if (off != null) {
+                    best = Math.max(best, off);
+                }
+            }
+            if (best >= 0) {
+                found = new Position(journalFiles.get(i), best);
+            }
+        }
+        update.saveIfDue();
+        return found;
+    }
+
+    /** One lookup's pass over the files it reaches; decides whether the catalog is worth saving afterwards. */
+    private final class Update {
+        private final List<Path> journalFiles;
+        private boolean changedOlder;
+
+        Update(List<Path> journalFiles) {
+            this.journalFiles = journalFiles;
+            this.changedOlder = dropMissing(journalFiles);
+        }
+
+        /** Brings file {@code i} up to date and returns its entry, or null if it cannot be read. */
+        FileEntry refresh(int i) {
+            Path file = journalFiles.get(i);
+            long grown = refreshFile(file);
+            if (grown != 0L) {
+                if (i == journalFiles.size() - 1 && grown > 0L) {
+                    unsavedTailBytes += grown;
+                } else {
+                    changedOlder = true;
+                }
+            }
+            return files.get(file.getFileName().toString());
+        }
+
+        void saveIfDue() {
+            if (changedOlder || unsavedTailBytes >= MARK_INTERVAL_BYTES) {
+                unsavedTailBytes = 0L;
+                save();
+            }
+        }
+    }
+
+    /** Drops entries for files not in {@code journalFiles}; returns true if any were dropped. */
+    private boolean dropMissing(List<Path> journalFiles) {
+        if (files.isEmpty()) {
+            return false;
+        }
+        Set<String> present = new HashSet<>();
+        for (Path file : journalFiles) {
+            present.add(file.getFileName().toString());
+        }
+        return files.keySet().retainAll(present);
+    }
+
+    /**
+     * Indexes what was appended to {@code file} since its last pass, or all of it if it is new or shrank.
+     *
+     * @return bytes newly indexed, {@code -1} if the entry was started over, {@code 0} if nothing changed
+     */
+    private long refreshFile(Path file) {
+        String name = file.getFileName().toString();
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException ex) {
+            return 0L;
+        }
+        FileEntry entry = files.get(name);
+        if (entry != null && entry.size == size) {
+            return 0L;
+        }
+        boolean fresh = entry == null || size < entry.size;
+        if (fresh) {
+            entry = new FileEntry();
+            files.put(name, entry);
+        }
+        long before = entry.size;
+        try {
+            index(file, entry);
+        } catch (IOException ex) {
+            System.err.println("Failed to index journal " + file + ": " + ex.getMessage());
+        }
+        return fresh ? -1L : entry.size - before;
+    }
+
+    /**
+     * Reads the complete lines appended since {@code entry} was last indexed.
+     */
+    private static void index(Path file, FileEntry entry) throws IOException {
+        long lastMark = entry.marks.isEmpty() ? Long.MIN_VALUE : entry.marks.get(entry.marks.size() - 1)[0];
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ch.position(entry.size);
+            ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+            byte[] bytes = buf.array();
+            // Start of a line cut by the buffer boundary.
+            ByteArrayOutputStream partial = new ByteArrayOutputStream(512);
+            long bufStart = entry.size;
+            long lineStart = entry.size;
+            int n;
+            while ((n = ch.read(buf)) != -1) {
+                int from = 0;
+                for (int i = 0; i < n; i++) {
+                    if (bytes[i] != '\n') {
+                        continue;
+                    }
+                    String text;
+                    if (partial.size() > 0) {
+                        partial.write(bytes, from, i - from);
+                        text = partial.toString(StandardCharsets.UTF_8);
+                        partial.reset();
+                    } else {
+                        text = new String(bytes, from, i - from, StandardCharsets.UTF_8);
+                    }
+                    lastMark = indexLine(text.trim(), lineStart, lastMark, entry);
+                    from = i + 1;
+                    lineStart = bufStart + from;
+                    entry.size = lineStart;
+                }
+                partial.write(bytes, from, n - from);
+                bufStart += n;
+                buf.clear();
+            }
+        }
+    }
+
+    /**
+     * Records one line starting at {@code lineStart}.
+     *
+     * @return the offset of the latest checkpoint
+     */
+    private static long indexLine(String text, long lineStart, long lastMark, FileEntry entry) {
+        if (text.isEmpty()) {
+            return lastMark;
+        }
+        EliteLogParser.RecordHeader header;
+        try {
+            header = EliteLogParser.readHeader(text);
+        } catch (RuntimeException ex) {
+            // not a record; the readers report it when they parse the file
+            return lastMark;
+        }
+        if (header == null) {
+            return lastMark;
+        }
+        long ts = header.timestamp.toEpochMilli();
+        if (entry.first == null) {
+            entry.first = ts;
+        }
+        entry.last = ts;
+        if (lastMark == Long.MIN_VALUE || lineStart - lastMark >= MARK_INTERVAL_BYTES) {
+            entry.marks.add(new long[] {lineStart, ts});
+            lastMark = lineStart;
+        }
+        if (INDEXED_TYPES.contains(header.type)) {
+            entry.latest.put(header.type.getJournalName(), lineStart);
+        }
+        return lastMark;
+    }
+
+    private static Map<String, FileEntry> load(Path catalogFile) {
+        if (Files.isRegularFile(catalogFile)) {
+            try {
+                Stored stored = GSON.fromJson(Files.readString(catalogFile, StandardCharsets.UTF_8), Stored.class);
+                if (stored != null && stored.version == VERSION && stored.files != null) {
+                    Map<String, FileEntry> files = new HashMap<>(stored.files);
+                    files.values().removeIf(e -> e == null || e.marks == null || e.latest == null);
+                    return files;
+                }
+            } catch (Exception ex) {
+                System.err.println("Failed to read journal catalog " + catalogFile + ", rebuilding: " + ex.getMessage());
+            }
+        }
+        return new HashMap<>();
+    }
+
+    private void save() {
+        Stored stored = new Stored();
+        stored.version = VERSION;
+        stored.files = files;
+        Path tmp = catalogFile.resolveSibling(CATALOG_FILENAME + ".tmp");
+        try {
+            Files.writeString(tmp, GSON.toJson(stored), StandardCharsets.UTF_8);
+            Files.move(tmp, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            // Keep working from memory; the next session re-indexes what was not saved.
+            if (!saveFailureReported) {
+                saveFailureReported = true;
+                System.err.println("Failed to write journal catalog " + catalogFile + ": " + ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.dce.ed.logreader;
+
+import java.time.Instant;
+
+/**
+ * Where a journal replay stopped, so the live tailer can continue from exactly the next event.
+ * <p>
+ * Journal timestamps have one-second resolution and several events routinely share one, so the timestamp
+ * alone is not enough: {@code eventsAtCursor} is how many events stamped exactly {@code cursor} the replay
+ * already handled. The tailer drops that many events at {@code cursor} and dispatches everything after them.
+ *
+ * @param cursor newest event timestamp the replay processed (null if it processed nothing)
+ * @param eventsAtCursor number of processed events stamped exactly {@code cursor}
+ */
+public record JournalHandover(Instant cursor, int eventsAtCursor) {
+}
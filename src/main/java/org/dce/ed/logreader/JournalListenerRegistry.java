@@ -0,0 +1,161 @@
+package org.dce.ed.logreader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.dce.ed.ExceptionReporting;
+
+/**
+ * Listener table behind {@link LiveJournalMonitor}: listeners subscribe to every event, to specific
+ * {@link EliteEventType}s, or to an event class, so dispatch only touches interested listeners.
+ *
+ * Registration is rare and copy-on-write (arrays are replaced under a lock); dispatch reads the
+ * current arrays without locking. Listeners with an executor are invoked on it, everyone else on
+ * the dispatching thread. Within one event, all-event listeners run first, then type listeners,
+ * then class listeners, each group in registration order.
+ */
+final class JournalListenerRegistry {
+
+    private static final Entry[] NONE = new Entry[0];
+
+    private final Object lock = new Object();
+
+    private volatile Entry[] allEvents = NONE;
+    private volatile Map<EliteEventType, Entry[]> byType = new EnumMap<>(EliteEventType.class);
+    private volatile ClassListeners byClass = new ClassListeners(NONE);
+
+    /**
+     * Class listeners plus their resolution per concrete event class. Replaced as a whole on change
+     * so a dispatch never caches a resolution against the wrong listener set.
+     */
+    private static final class ClassListeners {
+        final Entry[] entries;
+        final Map<Class<?>, Entry[]> resolved = new ConcurrentHashMap<>();
+
+        ClassListeners(Entry[] entries) {
+            this.entries = entries;
+        }
+
+        Entry[] forEventClass(Class<?> concrete) {
+            return resolved.computeIfAbsent(concrete, c -> Arrays.stream(entries)
+                    .filter(e -> e.eventClass.isAssignableFrom(c))
+                    .toArray(Entry[]::new));
+        }
+    }
+
+    private static final class Entry {
+        final Object key;
+        final Consumer<EliteLogEvent> delegate;
+        final Executor executor;
+        final Class<?> eventClass;
+
+        Entry(Object key, Consumer<EliteLogEvent> delegate, Executor executor, Class<?> eventClass) {
+            this.key = key;
+            this.delegate = delegate;
+            this.executor = executor;
+            this.eventClass = eventClass;
+        }
+    }
+
+    void addAll(Consumer<EliteLogEvent> listener, Executor executor) {
+        synchronized (lock) {
+            allEvents = append(allEvents, new Entry(listener, listener, executor, null));
+        }
+    }
+
+    void addTypes(Collection<EliteEventType> types, Consumer<EliteLogEvent> listener, Executor executor) {
+        Entry entry = new Entry(listener, listener, executor, null);
+        synchronized (lock) {
+            EnumMap<EliteEventType, Entry[]> next = new EnumMap<>(EliteEventType.class);
+            next.putAll(byType);
+            for (EliteEventType type : types) {
+                next.put(type, append(next.getOrDefault(type, NONE), entry));
+            }
+            byType = next;
+        }
+    }
+
+    <T extends EliteLogEvent> void addClass(Class<T> eventClass, Consumer<? super T> listener, Executor executor) {
+        Consumer<EliteLogEvent> delegate = e -> listener.accept(eventClass.cast(e));
+        synchronized (lock) {
+            byClass = new ClassListeners(append(byClass.entries, new Entry(listener, delegate, executor, eventClass)));
+        }
+    }
+
+    /**
+     * Removes {@code listener} from every subscription it was registered with.
+     */
+    void remove(Object listener) {
+        synchronized (lock) {
+            allEvents = without(allEvents, listener);
+
+            EnumMap<EliteEventType, Entry[]> next = new EnumMap<>(EliteEventType.class);
+            for (Map.Entry<EliteEventType, Entry[]> e : byType.entrySet()) {
+                Entry[] remaining = without(e.getValue(), listener);
+                if (remaining.length > 0) {
+                    next.put(e.getKey(), remaining);
+                }
+            }
+            byType = next;
+
+            Entry[] classes = without(byClass.entries, listener);
+            if (classes != byClass.entries) {
+                byClass = new ClassListeners(classes);
+            }
+        }
+    }
+
+    void dispatch(EliteLogEvent event) {
+        deliver(allEvents, event);
+        EliteEventType type = event.getType();
+        if (type != null) {
+            Entry[] typed = byType.get(type);
+            if (typed != null) {
+                deliver(typed, event);
+            }
+        }
+        ClassListeners classes = byClass;
+        if (classes.entries.length > 0) {
+            deliver(classes.forEventClass(event.getClass()), event);
+        }
+    }
+
+    private static void deliver(Entry[] entries, EliteLogEvent event) {
+        for (Entry entry : entries) {
+            if (entry.executor == null) {
+                invoke(entry, event);
+            } else {
+                try {
+                    entry.executor.execute(() -> invoke(entry, event));
+                } catch (RuntimeException ex) {
+                    ExceptionReporting.report(ex, "LiveJournalMonitor listener executor");
+                }
+            }
+        }
+    }
+
+    private static void invoke(Entry entry, EliteLogEvent event) {
+        try {
+            entry.delegate.accept(event);
+        } catch (RuntimeException ex) {
+            // don't let one bad listener break the others, but make the failure visible
+            ExceptionReporting.report(ex, "LiveJournalMonitor listener");
+        }
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        Entry[] next = Arrays.copyOf(entries, entries.length + 1);
+        next[entries.length] = entry;
+        return next;
+    }
+
+    private static Entry[] without(Entry[] entries, Object key) {
+        Entry[] next = Arrays.stream(entries).filter(e -> !e.key.equals(key)).toArray(Entry[]::new);
+        return next.length == entries.length ? entries : next;
+    }
+}
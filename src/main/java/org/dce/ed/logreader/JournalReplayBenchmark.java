@@ -0,0 +1,421 @@
+package org.dce.ed.logreader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.dce.ed.EliteDangerousOverlay;
+import org.dce.ed.cache.CacheLocations;
+import org.dce.ed.cache.SystemCache;
+import org.dce.ed.logreader.event.FsdJumpEvent;
+import org.dce.ed.logreader.event.LocationEvent;
+import org.dce.ed.state.SystemEventProcessor;
+import org.dce.ed.state.SystemState;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Headless benchmark with a main(): replays a journal corpus through the same pipeline as the startup rescan
+ * ({@link EliteLogParser}, {@link SystemEventProcessor} with its bio predictions, {@link SystemCache}) and reports
+ * events/s, parse and handle latency per event type (p50/p99/max), bytes allocated by the replay thread and
+ * SQLite writes. The report can be written as JSON so runs from different releases can be compared.
+ * <p>
+ * Events are replayed at full speed, or at {@code --speed N} times the journal's own pace (gaps longer than
+ * {@code --max-gap-seconds} are shortened to that, so sessions days apart do not stall the run). Lines are read
+ * file by file in name order; a line's parse time excludes the read.
+ * <p>
+ * The SQLite cache defaults to a fresh temp directory, deleted on exit, so the user's cache is never touched; pass
+ * {@code --cache} with a copy of a real cache for warm-cache numbers. Bio predictions look up Spansh landmarks as they do during a
+ * rescan, so a cold cache can add network time to the handle latency of bodies with biology.
+ *
+ * <pre>
+ * JournalReplayBenchmark [--journals DIR|FILE] [--speed N] [--max-gap-seconds S] [--limit EVENTS]
+ *                        [--cache DB] [--json FILE|-]
+ * </pre>
+ */
+public final class JournalReplayBenchmark {
+
+    static final int REPORT_VERSION = 1;
+    private static final long DEFAULT_MAX_GAP_SECONDS = 60L;
+
+    private JournalReplayBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path journals = null;
+        double speed = 0.0;
+        long maxGapSeconds = DEFAULT_MAX_GAP_SECONDS;
+        long limit = Long.MAX_VALUE;
+        Path cacheFile = null;
+        String json = null;
+        for (int i = 0; args != null && i < args.length; i++) {
+            String arg = args[i];
+            boolean hasValue = i + 1 < args.length;
+            if ("--journals".equalsIgnoreCase(arg) && hasValue) {
+                journals = Path.of(args[++i]).toAbsolutePath().normalize();
+            } else if ("--speed".equalsIgnoreCase(arg) && hasValue) {
+                speed = Double.parseDouble(args[++i]);
+            } else if ("--max-gap-seconds".equalsIgnoreCase(arg) && hasValue) {
+                maxGapSeconds = Long.parseLong(args[++i]);
+            } else if ("--limit".equalsIgnoreCase(arg) && hasValue) {
+                limit = Long.parseLong(args[++i]);
+            } else if ("--cache".equalsIgnoreCase(arg) && hasValue) {
+                cacheFile = Path.of(args[++i]).toAbsolutePath().normalize();
+            } else if ("--json".equalsIgnoreCase(arg) && hasValue) {
+                json = args[++i];
+            } else {
+                System.err.println("Unknown or incomplete argument: " + arg);
+                return;
+            }
+        }
+
+        if (journals == null) {
+            journals = org.dce.ed.OverlayPreferences.resolveJournalDirectory(EliteDangerousOverlay.clientKey);
+        }
+        if (journals == null || !Files.exists(journals)) {
+            System.err.println("Journal directory not found; pass --journals.");
+            return;
+        }
+        // Must be set before SystemCache is first touched.
+        Path tempCacheDir = null;
+        if (cacheFile == null) {
+            tempCacheDir = Files.createTempDirectory("edo-bench-cache");
+            cacheFile = tempCacheDir.resolve("bench-cache.db");
+        }
+        System.setProperty(CacheLocations.CACHE_DB_PATH_PROPERTY, cacheFile.toString());
+
+        try {
+            List<Path> files = Files.isDirectory(journals)
+                    ? new EliteJournalReader(journals).listJournalFilesForReplay(null)
+                    : List.of(journals);
+            System.out.println("Replaying " + files.size() + " journal file(s) "
+                    + (speed > 0 ? "at " + speed + "x real time" : "at full speed") + ", cache " + cacheFile);
+
+            Report report = run(files, speed, Duration.ofSeconds(Math.max(0L, maxGapSeconds)), limit);
+            System.out.println(report.summary());
+            if (json != null) {
+                String text = toJson(report);
+                if ("-".equals(json)) {
+                    System.out.println(text);
+                } else {
+                    Files.writeString(Path.of(json), text, StandardCharsets.UTF_8);
+                    System.out.println("Wrote " + json);
+                }
+            }
+        } finally {
+            if (tempCacheDir != null) {
+                deleteTree(tempCacheDir);
+            }
+        }
+    }
+
+    /** Best-effort removal of the temp cache directory; reports what it could not delete. */
+    private static void deleteTree(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ex) {
+                    System.err.println("Could not delete " + p + ": " + ex.getMessage());
+                }
+            });
+        } catch (IOException ex) {
+            System.err.println("Could not delete " + dir + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Replays {@code files} in order; {@code speed <= 0} means as fast as possible.
+     */
+    static Report run(List<Path> files, double speed, Duration maxGap, long limit) throws IOException {
+        EliteLogParser parser = new EliteLogParser(RescanJournalsMain.REPLAY_EVENTS);
+        SystemCache cache = SystemCache.getInstance();
+        SystemState state = new SystemState();
+        SystemEventProcessor processor = new SystemEventProcessor(EliteDangerousOverlay.clientKey, state);
+
+        Report report = new Report();
+        report.version = REPORT_VERSION;
+        report.startedAt = Instant.now().toString();
+        report.speed = speed > 0 ? speed : 0.0;
+        report.files = files.size();
+
+        Map<String, LatencyHistogram> parseByType = new TreeMap<>();
+        Map<String, LatencyHistogram> handleByType = new TreeMap<>();
+        LatencyHistogram parseAll = new LatencyHistogram();
+        LatencyHistogram handleAll = new LatencyHistogram();
+
+        long systemWrites0 = cache.getSystemRowWriteCount();
+        long globalWrites0 = cache.getGlobalRowWriteCount();
+        long alloc0 = allocatedBytes();
+        long startNs = System.nanoTime();
+        long maxGapNs = maxGap.toNanos();
+        long gameNs = 0L;
+        Instant prevTs = null;
+
+        String prevBulk = System.getProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY);
+        System.setProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY, "true");
+        try {
+            replay:
+            for (Path file : files) {
+                report.bytes += Files.size(file);
+                try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        if (report.events >= limit) {
+                            break replay;
+                        }
+                        line = line.trim();
+                        if (line.isEmpty()) {
+                            continue;
+                        }
+                        String name = EliteLogParser.peekEventName(line);
+
+                        long t0 = System.nanoTime();
+                        EliteLogEvent event;
+                        try {
+                            event = parser.parseRecord(line);
+                        } catch (RuntimeException ex) {
+                            event = null;
+                        }
+                        long parseNs = System.nanoTime() - t0;
+                        if (event == null) {
+                            report.parseFailures++;
+                            continue;
+                        }
+                        if (name == null) {
+                            name = event.getType() != null ? event.getType().getJournalName() : "?";
+                        }
+                        parseAll.record(parseNs);
+                        parseByType.computeIfAbsent(name, k -> new LatencyHistogram()).record(parseNs);
+
+                        Instant ts = event.getTimestamp();
+                        if (speed > 0 && ts != null) {
+                            if (prevTs != null) {
+                                long gap = Duration.between(prevTs, ts).toNanos();
+                                gameNs += Math.max(0L, Math.min(gap, maxGapNs));
+                            }
+                            prevTs = ts;
+                            waitUntil(startNs + (long) (gameNs / speed));
+                        }
+
+                        long t1 = System.nanoTime();
+                        handle(cache, state, processor, event);
+                        long handleNs = System.nanoTime() - t1;
+                        handleAll.record(handleNs);
+                        handleByType.computeIfAbsent(name, k -> new LatencyHistogram()).record(handleNs);
+                        report.events++;
+                    }
+                }
+            }
+        } finally {
+            if (prevBulk != null) {
+                System.setProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY, prevBulk);
+            } else {
+                System.clearProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY);
+            }
+        }
+        // The system the replay ends in, as the rescan stores it.
+        if (state.getSystemName() != null && state.getSystemAddress() != 0L) {
+            cache.storeSystem(state);
+        }
+
+        long elapsedNs = System.nanoTime() - startNs;
+        long alloc1 = allocatedBytes();
+        report.elapsedMs = elapsedNs / 1_000_000L;
+        report.eventsPerSecond = elapsedNs > 0 ? report.events * 1e9 / elapsedNs : 0.0;
+        if (alloc0 >= 0 && alloc1 >= 0) {
+            report.allocatedBytes = alloc1 - alloc0;
+            report.allocatedBytesPerSecond = elapsedNs > 0 ? report.allocatedBytes * 1e9 / elapsedNs : 0.0;
+            report.allocatedBytesPerEvent = report.events > 0 ? (double) report.allocatedBytes / report.events : 0.0;
+        } else {
+            report.allocatedBytes = -1L;
+        }
+        report.sqliteSystemRowWrites = cache.getSystemRowWriteCount() - systemWrites0;
+        report.sqliteGlobalRowWrites = cache.getGlobalRowWriteCount() - globalWrites0;
+        report.parse = new Stage(parseAll, parseByType);
+        report.handle = new Stage(handleAll, handleByType);
+        return report;
+    }
+
+    /** Same per-event work as {@link RescanJournalsMain}: persist a system before leaving it, then process. */
+    private static void handle(SystemCache cache, SystemState state, SystemEventProcessor processor,
+            EliteLogEvent event) {
+        if (event instanceof LocationEvent le) {
+            RescanJournalsMain.persistIfSystemIsChanging(cache, state, le.getStarSystem(), le.getSystemAddress());
+        } else if (event instanceof FsdJumpEvent je) {
+            RescanJournalsMain.persistIfSystemIsChanging(cache, state, je.getStarSystem(), je.getSystemAddress());
+        }
+        processor.handleEvent(event);
+    }
+
+    private static void waitUntil(long deadlineNs) {
+        long wait;
+        while ((wait = deadlineNs - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    /** Bytes allocated so far by this thread, or -1 if the JVM cannot tell. */
+    private static long allocatedBytes() {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean hs && hs.isThreadAllocatedMemorySupported()) {
+            if (!hs.isThreadAllocatedMemoryEnabled()) {
+                hs.setThreadAllocatedMemoryEnabled(true);
+            }
+            return hs.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    static String toJson(Report report) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        return gson.toJson(report);
+    }
+
+    /** Benchmark result; field names are the JSON keys. */
+    static final class Report {
+        int version;
+        String startedAt;
+        /** Replay speed relative to the journal's pace; 0 = as fast as possible. */
+        double speed;
+        int files;
+        long bytes;
+        long events;
+        long parseFailures;
+        long elapsedMs;
+        double eventsPerSecond;
+        /** Bytes allocated by the replay thread; -1 if unavailable. */
+        long allocatedBytes;
+        double allocatedBytesPerSecond;
+        double allocatedBytesPerEvent;
+        long sqliteSystemRowWrites;
+        long sqliteGlobalRowWrites;
+        Stage parse;
+        Stage handle;
+
+        String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d events from %d file(s) in %d ms: %.0f events/s, %d parse failures%n",
+                    events, files, elapsedMs, eventsPerSecond, parseFailures));
+            if (allocatedBytes >= 0) {
+                sb.append(String.format("allocated %.1f MB (%.1f MB/s, %.0f B/event)%n",
+                        allocatedBytes / 1048576.0, allocatedBytesPerSecond / 1048576.0, allocatedBytesPerEvent));
+            }
+            sb.append(String.format("SQLite writes: %d system rows, %d global rows%n",
+                    sqliteSystemRowWrites, sqliteGlobalRowWrites));
+            sb.append(String.format("%-28s %9s %10s %10s %10s %10s %10s%n",
+                    "event", "count", "parse p50", "parse p99", "parse max", "handle p50", "handle p99"));
+            appendRow(sb, "(all)", parse.all, handle.all);
+            for (Map.Entry<String, Stats> e : parse.byType.entrySet()) {
+                appendRow(sb, e.getKey(), e.getValue(), handle.byType.get(e.getKey()));
+            }
+            return sb.toString();
+        }
+
+        private static void appendRow(StringBuilder sb, String name, Stats p, Stats h) {
+            sb.append(String.format("%-28s %9d %8.1fus %8.1fus %8.1fus %8.1fus %8.1fus%n", name, p.count,
+                    p.p50Ns / 1000.0, p.p99Ns / 1000.0, p.maxNs / 1000.0,
+                    h != null ? h.p50Ns / 1000.0 : 0.0, h != null ? h.p99Ns / 1000.0 : 0.0));
+        }
+    }
+
+    /** Latencies of one pipeline stage, overall and per journal event name. */
+    static final class Stage {
+        Stats all;
+        Map<String, Stats> byType = new TreeMap<>();
+
+        Stage(LatencyHistogram all, Map<String, LatencyHistogram> byType) {
+            this.all = all.stats();
+            byType.forEach((k, v) -> this.byType.put(k, v.stats()));
+        }
+    }
+
+    static final class Stats {
+        long count;
+        long p50Ns;
+        long p99Ns;
+        long maxNs;
+        double meanNs;
+    }
+
+    /**
+     * Fixed-size latency histogram: exact below {@value #SUB_BUCKETS} ns, then {@value #SUB_BUCKETS} buckets per
+     * power of two (under 7% error), so recording is allocation-free and memory does not grow with the corpus.
+     */
+    static final class LatencyHistogram {
+        static final int SUB_BUCKETS = 16;
+        private static final int SUB_BITS = 4;
+
+        private final long[] counts = new long[SUB_BUCKETS + (64 - SUB_BITS) * SUB_BUCKETS];
+        private long count;
+        private long max;
+        private double sum;
+
+        void record(long nanos) {
+            long v = Math.max(0L, nanos);
+            counts[index(v)]++;
+            count++;
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+
+        /** Lower bound of the bucket holding the {@code p}-th percentile (0..100), never above the maximum. */
+        long percentile(double p) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(p / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(lowerBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        Stats stats() {
+            Stats s = new Stats();
+            s.count = count;
+            s.p50Ns = percentile(50);
+            s.p99Ns = percentile(99);
+            s.maxNs = max;
+            s.meanNs = count > 0 ? sum / count : 0.0;
+            return s;
+        }
+
+        static int index(long v) {
+            if (v < SUB_BUCKETS) {
+                return (int) v;
+            }
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exp - SUB_BITS) * SUB_BUCKETS + sub;
+        }
+
+        static long lowerBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exp = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+            int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+            return (1L << exp) | ((long) sub << (exp - SUB_BITS));
+        }
+    }
+}
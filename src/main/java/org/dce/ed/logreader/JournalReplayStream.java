@@ -0,0 +1,276 @@
+package org.dce.ed.logreader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams parsed journal events from many files in timestamp order without holding the whole history in memory.
+ * <p>
+ * Files are parsed in parallel on a small fixed pool, but only a bounded window of files
+ * ({@code parallelism * 2}) is parsed ahead of the consumer, so memory stays flat however many journals exist.
+ * Parsed files are merged back in timestamp order: a file joins the merge as soon as its first event is not later
+ * than the pending head, so overlapping neighbours interleave exactly as a global stable sort would.
+ * Ties keep file-name order, then line order.
+ * <p>
+ * Iterate on one thread; {@link #close()} stops the parser pool.
+ */
+public final class JournalReplayStream implements Iterator<EliteLogEvent>, Closeable {
+
+    private static final AtomicInteger POOL_SEQ = new AtomicInteger();
+
+    private final List<Path> files;
+    private final Instant since;
+    private final Set<EliteEventType> materializedTypes;
+    private final int lookahead;
+    private final ExecutorService pool;
+    private final ArrayDeque<Future<ParsedFile>> inFlight = new ArrayDeque<>();
+
+    private final PriorityQueue<FileCursor> merge = new PriorityQueue<>(
+            Comparator.comparing((FileCursor c) -> c.peek().getTimestamp(), Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparingInt(c -> c.fileIndex));
+
+    private int nextToSubmit;
+    private int filesMerged;
+    private FileCursor pendingFile;
+    private long eventsEmitted;
+    private long bytesMerged;
+    private long bytesTotal;
+
+    /**
+     * @param files journal files in file-name (chronological) order
+     * @param since if non-null, only events at or after this instant are emitted (inclusive, like the live tailer)
+     * @param parallelism number of parser threads (clamped to at least 1)
+     */
+    public JournalReplayStream(List<Path> files, Instant since, int parallelism) {
+        this(files, since, parallelism, EliteLogParser.TYPED_EVENTS);
+    }
+
+    /**
+     * @param materializedTypes event types the per-thread parsers fully parse; the rest are emitted as lazy
+     *                          {@link EliteLogEvent.GenericEvent}s (see {@link EliteLogParser#EliteLogParser(Set)})
+     */
+    public JournalReplayStream(List<Path> files, Instant since, int parallelism, Set<EliteEventType> materializedTypes) {
+        this.files = List.copyOf(files);
+        this.since = since;
+        this.materializedTypes = materializedTypes;
+        int threads = Math.max(1, parallelism);
+        this.lookahead = threads * 2;
+        int seq = POOL_SEQ.incrementAndGet();
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "JournalReplay-" + seq + "-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (Path f : this.files) {
+            try {
+                bytesTotal += Files.size(f);
+            } catch (IOException ignored) {
+            }
+        }
+        fillWindow();
+    }
+
+    /** Default parallelism: available processors, capped so replay does not starve the UI. */
+    public static int defaultParallelism() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public int getFileCount() {
+        return files.size();
+    }
+
+    /** Files whose events have entered the merge. */
+    public int getFilesMerged() {
+        return filesMerged;
+    }
+
+    public long getEventsEmitted() {
+        return eventsEmitted;
+    }
+
+    /** Size on disk of the files that have entered the merge. */
+    public long getBytesMerged() {
+        return bytesMerged;
+    }
+
+    public long getBytesTotal() {
+        return bytesTotal;
+    }
+
+    @Override
+    public boolean hasNext() {
+        admitFiles();
+        return !merge.isEmpty();
+    }
+
+    @Override
+    public EliteLogEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        FileCursor c = merge.poll();
+        EliteLogEvent e = c.take();
+        if (c.hasMore()) {
+            merge.add(c);
+        }
+        eventsEmitted++;
+        return e;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+        inFlight.clear();
+        merge.clear();
+        pendingFile = null;
+    }
+
+    /**
+     * Pulls parsed files into the merge while the next file could start at or before the current head.
+     */
+    private void admitFiles() {
+        while (true) {
+            if (pendingFile == null) {
+                pendingFile = takeNextParsedFile();
+                if (pendingFile == null) {
+                    return;
+                }
+            }
+            if (!pendingFile.hasMore()) {
+                pendingFile = null;
+                continue;
+            }
+            FileCursor head = merge.peek();
+            if (head != null && compareTs(pendingFile.peek().getTimestamp(), head.peek().getTimestamp()) > 0) {
+                return;
+            }
+            merge.add(pendingFile);
+            pendingFile = null;
+        }
+    }
+
+    private static int compareTs(Instant a, Instant b) {
+        if (a == null) {
+            return b == null ? 0 : -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private FileCursor takeNextParsedFile() {
+        Future<ParsedFile> f = inFlight.poll();
+        if (f == null) {
+            return null;
+        }
+        fillWindow();
+        ParsedFile parsed;
+        try {
+            parsed = f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uio) {
+                System.err.println("JournalReplayStream: skipping unreadable journal: " + uio.getCause().getMessage());
+            } else {
+                System.err.println("JournalReplayStream: journal parse failed: " + cause);
+            }
+            return new FileCursor(Integer.MAX_VALUE, List.of());
+        }
+        filesMerged++;
+        bytesMerged += parsed.bytes;
+        return new FileCursor(parsed.fileIndex, parsed.events);
+    }
+
+    private void fillWindow() {
+        while (inFlight.size() < lookahead && nextToSubmit < files.size()) {
+            int index = nextToSubmit++;
+            Path file = files.get(index);
+            inFlight.add(pool.submit(() -> parseFile(index, file)));
+        }
+    }
+
+    private ParsedFile parseFile(int index, Path file) {
+        EliteLogParser parser = new EliteLogParser(materializedTypes);
+        List<EliteLogEvent> events = new ArrayList<>();
+        long bytes = 0L;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            bytes = Files.size(file);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    EliteLogEvent event = parser.parseRecord(line);
+                    Instant ts = event.getTimestamp();
+                    if (since != null && ts != null && ts.isBefore(since)) {
+                        continue;
+                    }
+                    events.add(event);
+                } catch (Exception ex) {
+                    System.err.println("Failed to parse journal line in " + file + ": " + ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // Stable: equal timestamps keep line order.
+        events.sort(Comparator.comparing(EliteLogEvent::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return new ParsedFile(index, events, bytes);
+    }
+
+    private record ParsedFile(int fileIndex, List<EliteLogEvent> events, long bytes) {
+    }
+
+    private static final class FileCursor {
+        final int fileIndex;
+        final List<EliteLogEvent> events;
+        int pos;
+
+        FileCursor(int fileIndex, List<EliteLogEvent> events) {
+            this.fileIndex = fileIndex;
+            this.events = events;
+        }
+
+        boolean hasMore() {
+            return pos < events.size();
+        }
+
+        EliteLogEvent peek() {
+            return events.get(pos);
+        }
+
+        EliteLogEvent take() {
+            EliteLogEvent e = events.get(pos);
+            events.set(pos, null); // let consumed events be collected while the rest of the file is merged
+            pos++;
+            return e;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.dce.ed.logreader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Incremental reader over one growing journal file.
+ * <p>
+ * Keeps a single {@link FileChannel} open (NIO channels open with read/write/delete sharing on Windows, so the game
+ * can keep writing and rotating), reads new bytes into a reusable direct buffer, and hands complete lines to the
+ * caller. A trailing partial line is held back until its newline arrives. Lines are decoded as UTF-8 only once
+ * complete, so a multi-byte character split across two reads still decodes correctly.
+ */
+public final class JournalTailer implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private FileChannel channel;
+    private long position;
+
+    /** Bytes of the current (not yet terminated) line. */
+    private byte[] line = new byte[4096];
+    private int lineLen;
+
+    public JournalTailer(Path file, long startPosition) {
+        this.file = file;
+        this.position = Math.max(0L, startPosition);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Byte offset just past the last byte consumed (including any held-back partial line).
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Reads everything appended since the last call and emits each complete line (without the line terminator).
+     *
+     * @return number of lines emitted
+     */
+    public int readAvailable(Consumer<String> lineSink) throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+        long size = channel.size();
+        if (size < position) {
+            // File was truncated or replaced under the same name: start over.
+            position = 0L;
+            lineLen = 0;
+        }
+        int emitted = 0;
+        while (position < size) {
+            buffer.clear();
+            int n = channel.read(buffer, position);
+            if (n <= 0) {
+                break;
+            }
+            position += n;
+            buffer.flip();
+            emitted += drainLines(lineSink);
+            if (position >= size) {
+                size = channel.size();
+            }
+        }
+        return emitted;
+    }
+
+    private int drainLines(Consumer<String> lineSink) {
+        int emitted = 0;
+        int limit = buffer.limit();
+        int start = buffer.position();
+        for (int i = start; i < limit; i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            appendToLine(start, i - start);
+            start = i + 1;
+            int len = lineLen;
+            if (len > 0 && line[len - 1] == '\r') {
+                len--;
+            }
+            lineLen = 0;
+            if (len > 0) {
+                lineSink.accept(new String(line, 0, len, StandardCharsets.UTF_8));
+                emitted++;
+            }
+        }
+        appendToLine(start, limit - start);
+        return emitted;
+    }
+
+    private void appendToLine(int from, int len) {
+        if (len <= 0) {
+            return;
+        }
+        if (lineLen + len > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLen + len));
+        }
+        buffer.get(from, line, lineLen, len);
+        lineLen += len;
+    }
+
+    @Override
+    public void close() {
+        FileChannel ch = channel;
+        channel = null;
+        if (ch != null) {
+            try {
+                ch.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package org.dce.ed.logreader;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
@@ -12,24 +10,23 @@ import java.nio.file.WatchService;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.dce.ed.OverlayPreferences;
-import org.dce.ed.ExceptionReporting;
 import org.dce.ed.logreader.event.StatusEvent;
 import org.dce.ed.logreader.event.ProspectedAsteroidEvent;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -39,30 +36,37 @@ import com.google.gson.JsonSyntaxException;
  * This class does NOT replay history on startup; the UI that wants
  * history (e.g. SystemTabPanel) should use EliteJournalReader once at
  * construction time, then rely on this monitor for new events only.
+ *
+ * The active journal is read through one {@link JournalTailer}; the same
+ * directory WatchService that reports Status.json changes also wakes the
+ * tailer when a journal is written or a new one is created. Without a
+ * working watcher it falls back to polling every 500 ms.
+ *
+ * At startup the backlog is replayed by {@link StartupJournalCatchUp} while
+ * this monitor already watches Status.json; tailing starts once that replay
+ * hands over (see {@link #holdTailingUntil}).
  */
 public final class LiveJournalMonitor {
 
     private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+    /**
+     * Safety net while the directory watcher is alive: the open journal is re-checked at least this often even
+     * without a change notification (size check only, no directory listing).
+     */
+    private static final Duration WATCHED_IDLE_RECHECK = Duration.ofSeconds(2);
+    /** How often the directory is re-listed for a newer journal while the watcher is alive. */
+    private static final Duration WATCHED_RELIST_INTERVAL = Duration.ofSeconds(30);
     private Path statusFile;
 
     private WatchService statusWatchService;
     private Thread statusWatcherThread;
 
-    private Instant lastStatusTimestamp;
-    private int lastStatusFlags  = Integer.MIN_VALUE;
-    private int lastStatusFlags2 = Integer.MIN_VALUE;
-
-    private Double lastStatusLatitude;
-    private Double lastStatusLongitude;
-    private Double lastStatusAltitude;
-    private Double lastStatusHeading;
-    private String lastStatusBodyName;
-    private Double lastStatusPlanetRadius;
+    /** Reads Status.json for this monitor; frames are dispatched as {@link StatusEvent}s and to status subscribers. */
+    private final StatusService statusService = new StatusService();
 
     private static Map<String,LiveJournalMonitor> INSTANCE = new HashMap<String,LiveJournalMonitor>();
 
-    private final CopyOnWriteArrayList<Consumer<EliteLogEvent>> listeners =
-            new CopyOnWriteArrayList<>();
+    private final JournalListenerRegistry listeners = new JournalListenerRegistry();
 
     private final EliteLogParser parser = new EliteLogParser();
 
@@ -77,7 +81,17 @@ public final class LiveJournalMonitor {
     private Path journalDirectory;
 
     private Instant lastProcessedJournalTimestamp;
+    /** Events stamped exactly {@link #lastProcessedJournalTimestamp} that the startup catch-up already handled. */
+    private int eventsToSkipAtCursor;
     private Instant lastCursorPersistAt;
+    /** Tailing waits for this replay to finish; null once handed over (or if there is none). */
+    private volatile CompletionStage<JournalHandover> tailingGate;
+
+    /** Signalled by the directory watcher when a journal file is created or modified. */
+    private final Object journalWake = new Object();
+    private boolean journalWakePending;
+    /** Newest journal file name seen in a CREATE event, picked up by the tailing loop. */
+    private volatile Path newestJournalHint;
     private LiveJournalMonitor(String clientKey) {
         this.clientKey = clientKey;
     }
@@ -90,21 +104,97 @@ public final class LiveJournalMonitor {
         return INSTANCE.get(clientKey);
     }
 
+    /**
+     * Receives every event on the monitor thread. Prefer {@link #subscribe(Set, Consumer)} or
+     * {@link #subscribe(Class, Consumer)} when only a few event types matter.
+     */
     public void addListener(Consumer<EliteLogEvent> listener) {
+        addListener(listener, null);
+    }
+
+    /**
+     * Receives every event; if {@code executor} is non-null the listener runs there so a slow consumer
+     * cannot hold up the others.
+     */
+    public void addListener(Consumer<EliteLogEvent> listener, Executor executor) {
         if (listener == null) {
             return;
         }
-        listeners.add(listener);
+        listeners.addAll(listener, executor);
+        startIfNeeded();
+    }
+
+    public void subscribe(EliteEventType type, Consumer<EliteLogEvent> listener) {
+        subscribe(EnumSet.of(type), listener, null);
+    }
+
+    public void subscribe(Set<EliteEventType> types, Consumer<EliteLogEvent> listener) {
+        subscribe(types, listener, null);
+    }
+
+    /**
+     * Receives only events whose {@link EliteLogEvent#getType()} is in {@code types}.
+     */
+    public void subscribe(Set<EliteEventType> types, Consumer<EliteLogEvent> listener, Executor executor) {
+        if (listener == null || types == null || types.isEmpty()) {
+            return;
+        }
+        listeners.addTypes(types, listener, executor);
+        startIfNeeded();
+    }
+
+    public <T extends EliteLogEvent> void subscribe(Class<T> eventClass, Consumer<? super T> listener) {
+        subscribe(eventClass, listener, null);
+    }
+
+    /**
+     * Receives only events that are instances of {@code eventClass} (including subclasses).
+     */
+    public <T extends EliteLogEvent> void subscribe(Class<T> eventClass, Consumer<? super T> listener, Executor executor) {
+        if (listener == null || eventClass == null) {
+            return;
+        }
+        listeners.addClass(eventClass, listener, executor);
         startIfNeeded();
     }
 
-    public void removeListener(Consumer<EliteLogEvent> listener) {
+    /**
+     * Receives Status.json updates touching any of {@code changes}, at most once per {@code minIntervalMillis}
+     * (0 = every frame; frames in between are coalesced). Runs on the thread that watches Status.json. Every frame
+     * is also dispatched to journal listeners as a {@link StatusEvent}.
+     */
+    public void subscribeStatus(Set<StatusService.Change> changes, long minIntervalMillis,
+            Consumer<StatusService.Update> listener) {
+        if (listener == null || changes == null || changes.isEmpty()) {
+            return;
+        }
+        statusService.subscribe(changes, minIntervalMillis, listener);
+        startIfNeeded();
+    }
+
+    public void unsubscribeStatus(Consumer<StatusService.Update> listener) {
+        statusService.unsubscribe(listener);
+    }
+
+    /**
+     * Removes a listener registered through {@code addListener} or any {@code subscribe} overload.
+     */
+    public void removeListener(Consumer<? extends EliteLogEvent> listener) {
         if (listener == null) {
             return;
         }
         listeners.remove(listener);
     }
 
+    /**
+     * Delays journal tailing until {@code handover} completes, then continues exactly after the last event
+     * that replay processed. Status.json is watched meanwhile. Call before the first listener is registered;
+     * a null handover (or a failed stage) falls back to the persisted import cursor.
+     */
+    public void holdTailingUntil(CompletionStage<JournalHandover> handover) {
+        tailingGate = handover;
+    }
+
     public void shutdown() {
         running = false;
         Thread t = workerThread;
@@ -158,53 +248,150 @@ public final class LiveJournalMonitor {
         if (lastProcessedJournalTimestamp != null) {
             System.err.println("[EDO] LiveJournalMonitor: last journal timestamp (UTC): " + lastProcessedJournalTimestamp);
         }
-        // watch Status.json for immediate updates
-        startStatusWatcher(journalDir);
+        // watch Status.json and journal files for immediate updates
+        startDirectoryWatcher(journalDir);
 
         // Seed with the current Status.json so listeners (e.g. Biology tab) have an initial position immediately.
         pollStatusFileWithRetry();
 
-        Path currentFile = null;
-        long filePointer = 0L;
+        if (!awaitTailingGate()) {
+            return;
+        }
 
-        while (running) {
-            try {
-                Path latest = findLatestJournalFile(journalDir);
+        JournalTailer tailer = null;
+        long lastListingNs = 0L;
+
+        try {
+            while (running) {
+                try {
+                    boolean watched = statusWatcherThread != null && statusWatcherThread.isAlive();
 
-                if (!Objects.equals(latest, currentFile)) {
-                    currentFile = latest;
+                    Path latest = null;
+                    Path hint = newestJournalHint;
+                    if (hint != null) {
+                        newestJournalHint = null;
+                        latest = hint;
+                    }
+                    long nowNs = System.nanoTime();
+                    if (tailer == null || !watched
+                            || nowNs - lastListingNs >= WATCHED_RELIST_INTERVAL.toNanos()) {
+                        lastListingNs = nowNs;
+                        Path listed = findLatestJournalFile(journalDir);
+                        if (listed != null && (latest == null || isNewerJournal(listed, latest))) {
+                            latest = listed;
+                        }
+                    }
 
-                    if (currentFile != null) {
+                    if (latest != null && (tailer == null || isNewerJournal(latest, tailer.getFile()))) {
+                        if (tailer != null) {
+                            // Drain whatever the old file still had before switching.
+                            readFromTailer(tailer);
+                            tailer.close();
+                        }
                         System.err.println("[EDO] LiveJournalMonitor: tailing journal file \""
-                                + currentFile.toAbsolutePath() + "\"");
-
+                                + latest.toAbsolutePath() + "\"");
                         // IMPORTANT: when the journal rotates while we're running, start at 0
-                        // so we don't miss initial events that were written before our next poll.
-                        filePointer = 0L;
-                    } else {
-                        filePointer = 0L;
+                        // so we don't miss initial events that were written before we noticed it.
+                        tailer = new JournalTailer(latest, 0L);
+                    }
+
+                    if (tailer != null) {
+                        readFromTailer(tailer);
                     }
-                }
 
-                if (currentFile != null) {
-                    filePointer = readFromFile(currentFile, filePointer);
+                    if (!watched) {
+                        pollStatusFileWithRetry();
+                        Thread.sleep(POLL_INTERVAL.toMillis());
+                    } else {
+                        awaitJournalWake(WATCHED_IDLE_RECHECK.toMillis());
+                    }
+                } catch (InterruptedException ie) {
+                    break;
+                } catch (Exception ex) {
+                    try {
+                        Thread.sleep(POLL_INTERVAL.toMillis());
+                    } catch (InterruptedException ignored) {
+                        break;
+                    }
                 }
+            }
+        } finally {
+            if (tailer != null) {
+                tailer.close();
+            }
+        }
+    }
 
+    /**
+     * Blocks until the startup catch-up hands over (polling Status.json if there is no watcher), then takes
+     * its cursor.
+     *
+     * @return false if interrupted (shutdown)
+     */
+    private boolean awaitTailingGate() {
+        CompletionStage<JournalHandover> gate = tailingGate;
+        if (gate == null) {
+            return true;
+        }
+        JournalHandover handover = null;
+        while (running) {
+            try {
+                handover = gate.toCompletableFuture().get(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException te) {
                 if (statusWatcherThread == null || !statusWatcherThread.isAlive()) {
                     pollStatusFileWithRetry();
                 }
+            } catch (InterruptedException ie) {
+                return false;
+            } catch (ExecutionException | CancellationException ex) {
+                System.err.println("[EDO] LiveJournalMonitor: journal catch-up failed: " + ex);
+                break;
+            }
+        }
+        tailingGate = null;
+        if (!running) {
+            return false;
+        }
 
-                Thread.sleep(POLL_INTERVAL.toMillis());
-            } catch (Exception ex) {
-                try {
-                    Thread.sleep(POLL_INTERVAL.toMillis());
-                } catch (InterruptedException ignored) {
-                }
+        if (handover != null && handover.cursor() != null) {
+            lastProcessedJournalTimestamp = handover.cursor();
+            eventsToSkipAtCursor = handover.eventsAtCursor();
+        } else {
+            lastProcessedJournalTimestamp = JournalImportCursor.read(journalDirectory);
+            eventsToSkipAtCursor = 0;
+        }
+        System.err.println("[EDO] LiveJournalMonitor: catch-up done, tailing after " + lastProcessedJournalTimestamp
+                + " (+" + eventsToSkipAtCursor + " event(s) at that second already replayed)");
+        return true;
+    }
+
+    private void awaitJournalWake(long timeoutMs) throws InterruptedException {
+        synchronized (journalWake) {
+            if (!journalWakePending) {
+                journalWake.wait(timeoutMs);
             }
+            journalWakePending = false;
+        }
+    }
+
+    private void signalJournalWake() {
+        synchronized (journalWake) {
+            journalWakePending = true;
+            journalWake.notifyAll();
         }
     }
 
-    private synchronized void startStatusWatcher(Path journalDir) {
+    private static boolean isJournalFileName(String name) {
+        return name.startsWith("Journal.") && name.endsWith(".log");
+    }
+
+    /** Journal names sort chronologically, so a lexically greater name is a newer file. */
+    private static boolean isNewerJournal(Path candidate, Path current) {
+        return candidate.getFileName().toString().compareTo(current.getFileName().toString()) > 0;
+    }
+
+    private synchronized void startDirectoryWatcher(Path journalDir) {
         if (statusWatcherThread != null) {
             return;
         }
@@ -221,7 +408,7 @@ public final class LiveJournalMonitor {
                     StandardWatchEventKinds.ENTRY_DELETE
             );
 
-            statusWatcherThread = new Thread(() -> runStatusWatchLoop(journalDir), "Elite-StatusWatchService");
+            statusWatcherThread = new Thread(() -> runDirectoryWatchLoop(journalDir), "Elite-JournalDirWatchService");
             statusWatcherThread.setDaemon(true);
             statusWatcherThread.start();
         } catch (IOException ex) {
@@ -230,15 +417,28 @@ public final class LiveJournalMonitor {
         }
     }
 
-    private void runStatusWatchLoop(Path journalDir) {
+    private void runDirectoryWatchLoop(Path journalDir) {
         long lastTriggerNs = 0L;
 
         while (running && statusWatchService != null) {
             try {
-                WatchKey key = statusWatchService.take();
+                // Wake for coalesced status updates that fall due while Status.json is quiet.
+                statusService.flushDue(System.nanoTime());
+                long dueNs = statusService.nanosUntilDue(System.nanoTime());
+                WatchKey key = dueNs < 0
+                        ? statusWatchService.take()
+                        : statusWatchService.poll(Math.max(1L, dueNs), TimeUnit.NANOSECONDS);
+                if (key == null) {
+                    continue;
+                }
 
                 boolean statusTouched = false;
+                boolean journalTouched = false;
                 for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Lost events: let the tailer re-check the open file.
+                        journalTouched = true;
+                    }
                     WatchEvent.Kind<?> kind = event.kind();
                     if (kind == StandardWatchEventKinds.OVERFLOW) {
                         continue;
@@ -250,8 +450,21 @@ public final class LiveJournalMonitor {
                     }
 
                     Path changed = (Path) ctx;
-                    if (changed != null && "Status.json".equalsIgnoreCase(changed.getFileName().toString())) {
+                    if (changed == null) {
+                        continue;
+                    }
+                    String name = changed.getFileName().toString();
+                    if ("Status.json".equalsIgnoreCase(name)) {
                         statusTouched = true;
+                    } else if (isJournalFileName(name)) {
+                        if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                            Path created = journalDir.resolve(name);
+                            Path prev = newestJournalHint;
+                            if (prev == null || isNewerJournal(created, prev)) {
+                                newestJournalHint = created;
+                            }
+                        }
+                        journalTouched = true;
                     }
                 }
 
@@ -261,6 +474,9 @@ public final class LiveJournalMonitor {
                     break;
                 }
 
+                if (journalTouched) {
+                    signalJournalWake();
+                }
                 if (!statusTouched) {
                     continue;
                 }
@@ -289,6 +505,7 @@ public final class LiveJournalMonitor {
 
         // mark watcher dead so the polling fallback can pick up
         statusWatcherThread = null;
+        signalJournalWake();
         WatchService ws = statusWatchService;
         statusWatchService = null;
         if (ws != null) {
@@ -318,326 +535,87 @@ public final class LiveJournalMonitor {
             } catch (RuntimeException ignored) {
             }
         }
+        statusService.flushDue(System.nanoTime());
     }
 
     /**
      * Poll Status.json in the journal directory.
-     * When Flags / Flags2 change, emit a StatusEvent into the normal pipeline.
+     * When its contents change, emit a StatusEvent into the normal pipeline and notify status subscribers.
      */
     private void pollStatusFile() {
         if (statusFile == null || !Files.isRegularFile(statusFile)) {
             return;
         }
         try {
-            String json = Files.readString(statusFile, StandardCharsets.UTF_8).trim();
-            if (json.isEmpty()) {
-                return;
-            }
-
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-
-            // timestamp
-            Instant ts = null;
-            JsonElement tsEl = root.get("timestamp");
-            if (tsEl != null && !tsEl.isJsonNull()) {
-                try {
-                    ts = Instant.parse(tsEl.getAsString());
-                } catch (Exception ignored) {
-                }
-            }
-
-            int flags = getIntOrDefault(root, "Flags", 0);
-            int flags2 = getIntOrDefault(root, "Flags2", 0);
-
-            // Pips: [sys, eng, wep]
-            int[] pips = new int[] { 0, 0, 0 };
-            JsonElement pipsEl = root.get("Pips");
-            if (pipsEl != null && pipsEl.isJsonArray()) {
-                JsonArray arr = pipsEl.getAsJsonArray();
-                for (int i = 0; i < Math.min(3, arr.size()); i++) {
-                    try {
-                        pips[i] = arr.get(i).getAsInt();
-                    } catch (Exception ignored) {
-                    }
-                }
-            }
-
-            int fireGroup = getIntOrDefault(root, "FireGroup", 0);
-            int guiFocus = getIntOrDefault(root, "GuiFocus", 0);
-
-            double fuelMain = 0.0;
-            double fuelReservoir = 0.0;
-            JsonElement fuelEl = root.get("Fuel");
-            if (fuelEl != null && fuelEl.isJsonObject()) {
-                JsonObject fuel = fuelEl.getAsJsonObject();
-                fuelMain = getDoubleOrDefault(fuel, "FuelMain", 0.0);
-                fuelReservoir = getDoubleOrDefault(fuel, "FuelReservoir", 0.0);
-            }
-
-            double cargo = getDoubleOrDefault(root, "Cargo", 0.0);
-            String legalState = getStringOrNull(root, "LegalState");
-            long balance = getLongOrDefault(root, "Balance", 0L);
-
-            // ---- Extra Status.json fields ----
-            Double latitude = null;
-            if (root.has("Latitude") && !root.get("Latitude").isJsonNull()) {
-                try {
-                    latitude = root.get("Latitude").getAsDouble();
-                } catch (Exception ignored) {
-                }
-            }
-
-            Double longitude = null;
-            if (root.has("Longitude") && !root.get("Longitude").isJsonNull()) {
-                try {
-                    longitude = root.get("Longitude").getAsDouble();
-                } catch (Exception ignored) {
-                }
-            }
-
-            Double altitude = null;
-            if (root.has("Altitude") && !root.get("Altitude").isJsonNull()) {
-                try {
-                    altitude = root.get("Altitude").getAsDouble();
-                } catch (Exception ignored) {
-                }
-            }
-
-            Double heading = null;
-            if (root.has("Heading") && !root.get("Heading").isJsonNull()) {
-                try {
-                    heading = root.get("Heading").getAsDouble();
-                } catch (Exception ignored) {
-                }
-            }
-
-            String bodyName = getStringOrNull(root, "BodyName");
-
-            Double planetRadius = null;
-            if (root.has("PlanetRadius") && !root.get("PlanetRadius").isJsonNull()) {
-                try {
-                    planetRadius = root.get("PlanetRadius").getAsDouble();
-                } catch (Exception ignored) {
-                }
-            }
-
-            // ---- Destination block ----
-            Long destSystem = null;
-            Integer destBody = null;
-            String destName = null;
-            String destNameLocalised = null;
-
-            JsonElement destEl = root.get("Destination");
-            if (destEl != null && destEl.isJsonObject()) {
-                JsonObject dest = destEl.getAsJsonObject();
-
-                JsonElement sysEl = dest.get("System");
-                if (sysEl != null && !sysEl.isJsonNull()) {
-                    try {
-                        destSystem = sysEl.getAsLong();
-                    } catch (Exception ignored) {
-                    }
-                }
-
-                JsonElement bodyEl = dest.get("Body");
-                if (bodyEl != null && !bodyEl.isJsonNull()) {
-                    try {
-                        destBody = bodyEl.getAsInt();
-                    } catch (Exception ignored) {
-                    }
-                }
-                if (destBody != null && destBody.intValue() == 0) {
-                    destBody = null;
-                }
-
-                JsonElement nameEl = dest.get("Name");
-                if (nameEl != null && !nameEl.isJsonNull()) {
-                    try {
-                        destName = nameEl.getAsString();
-                    } catch (Exception ignored) {
-                    }
-                }
-
-                JsonElement nameLocEl = dest.get("Name_Localised");
-                if (nameLocEl != null && !nameLocEl.isJsonNull()) {
-                    try {
-                        destNameLocalised = nameLocEl.getAsString();
-                    } catch (Exception ignored) {
-                    }
-                }
+            StatusService.Update update = statusService.refresh(statusFile);
+            if (update != null) {
+                dispatch(update.status());
             }
-
-            // Build the StatusEvent using the extended constructor
-            StatusEvent event =
-                    new StatusEvent(
-                            ts,
-                            root,
-                            flags,
-                            flags2,
-                            pips,
-                            fireGroup,
-                            guiFocus,
-                            fuelMain,
-                            fuelReservoir,
-                            cargo,
-                            legalState,
-                            balance,
-                            latitude,
-                            longitude,
-                            altitude,
-                            heading,
-                            bodyName,
-                            planetRadius,
-                            destSystem,
-                            destBody,
-                            destName,
-                            destNameLocalised
-                    );
-
-            // Emit Status updates promptly (not just Flags changes).
-            // For surface biology tracking we need high-frequency Lat/Lon updates.
-            boolean flagsChanged = (flags != lastStatusFlags) || (flags2 != lastStatusFlags2);
-            boolean tsChanged = !Objects.equals(ts, lastStatusTimestamp);
-            boolean positionChanged =
-                    !Objects.equals(latitude, lastStatusLatitude)
-                            || !Objects.equals(longitude, lastStatusLongitude)
-                            || !Objects.equals(altitude, lastStatusAltitude)
-                            || !Objects.equals(heading, lastStatusHeading)
-                            || !Objects.equals(bodyName, lastStatusBodyName)
-                            || !Objects.equals(planetRadius, lastStatusPlanetRadius);
-
-            if (flagsChanged || tsChanged || positionChanged) {
-                dispatch(event);
-            }
-
-            lastStatusTimestamp = ts;
-            lastStatusFlags = flags;
-            lastStatusFlags2 = flags2;
-            lastStatusLatitude = latitude;
-            lastStatusLongitude = longitude;
-            lastStatusAltitude = altitude;
-            lastStatusHeading = heading;
-            lastStatusBodyName = bodyName;
-            lastStatusPlanetRadius = planetRadius;
-
-        } catch (IOException | JsonSyntaxException ex) {
+        } catch (IOException ex) {
             ex.printStackTrace();
         }
     }
 
-    private static int getIntOrDefault(JsonObject obj, String key, int def) {
-        JsonElement el = obj.get(key);
-        if (el == null || el.isJsonNull()) {
-            return def;
-        }
-        try {
-            return el.getAsInt();
-        } catch (Exception e) {
-            return def;
-        }
-    }
-
-    private static long getLongOrDefault(JsonObject obj, String key, long def) {
-        JsonElement el = obj.get(key);
-        if (el == null || el.isJsonNull()) {
-            return def;
-        }
+    private void readFromTailer(JournalTailer tailer) {
         try {
-            return el.getAsLong();
-        } catch (Exception e) {
-            return def;
+            tailer.readAvailable(this::processJournalLine);
+        } catch (IOException ex) {
+            // transient I/O – close and retry on the next wake-up
+            tailer.close();
+            maybeLogJournalIoError(tailer.getFile(), ex);
         }
     }
 
-    private static double getDoubleOrDefault(JsonObject obj, String key, double def) {
-        JsonElement el = obj.get(key);
-        if (el == null || el.isJsonNull()) {
-            return def;
-        }
-        try {
-            return el.getAsDouble();
-        } catch (Exception e) {
-            return def;
+    private void processJournalLine(String raw) {
+        String line = raw.trim();
+        if (line.isEmpty()) {
+            return;
         }
-    }
+        boolean looksLikeProspectedAsteroid = line.contains("ProspectedAsteroid");
 
-    private static String getStringOrNull(JsonObject obj, String key) {
-        JsonElement el = obj.get(key);
-        if (el == null || el.isJsonNull()) {
-            return null;
-        }
         try {
-            return el.getAsString();
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private long readFromFile(Path file, long startPos) {
-        if (!Files.isRegularFile(file)) {
-            return startPos;
-        }
-
-        long newPos = startPos;
-
-        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
-            raf.seek(startPos);
-
-            String raw;
-            while ((raw = raf.readLine()) != null) {
-                newPos = raf.getFilePointer();
-
-                // Convert from ISO-8859-1 assumption to UTF-8
-                String line = new String(raw.getBytes(StandardCharsets.ISO_8859_1),
-                                         StandardCharsets.UTF_8).trim();
-                if (line.isEmpty()) {
-                    continue;
-                }
-                boolean looksLikeProspectedAsteroid = line.contains("ProspectedAsteroid");
-
-                try {
-                    EliteLogEvent event = parser.parseRecord(line);
-                    if (event != null) {
-                        if (event.getType() == EliteEventType.PROSPECTED_ASTEROID) {
-                            if (event instanceof ProspectedAsteroidEvent pae) {
-                                int materialCount = pae.getMaterials() != null ? pae.getMaterials().size() : -1;
-                                System.err.println(
-                                        "[EDO][Debug][ProspectedAsteroid] ts=" + pae.getTimestamp()
-                                                + " materials=" + materialCount
-                                                + " motherlode=" + pae.getMotherlodeMaterial()
-                                                + " content=" + pae.getContent()
-                                );
-                            } else {
-                                System.err.println(
-                                        "[EDO][Debug][ProspectedAsteroid] ts=" + event.getTimestamp()
-                                );
-                            }
-                        }
-                        Instant ts = event.getTimestamp();
-                        if (ts != null && lastProcessedJournalTimestamp != null && ts.isBefore(lastProcessedJournalTimestamp)) {
-                            continue;
-                        }
-                        dispatch(event);
-                        updateCursorIfNeeded(ts);
-                    }
-                } catch (JsonSyntaxException | IllegalStateException ex) {
-                    // malformed line – skip
-                    if (looksLikeProspectedAsteroid) {
-                        String msg = ex.getMessage();
-                        if (msg == null) msg = ex.getClass().getSimpleName();
+            EliteLogEvent event = parser.parseRecord(line);
+            if (event != null) {
+                if (event.getType() == EliteEventType.PROSPECTED_ASTEROID) {
+                    if (event instanceof ProspectedAsteroidEvent pae) {
+                        int materialCount = pae.getMaterials() != null ? pae.getMaterials().size() : -1;
+                        System.err.println(
+                                "[EDO][Debug][ProspectedAsteroid] ts=" + pae.getTimestamp()
+                                        + " materials=" + materialCount
+                                        + " motherlode=" + pae.getMotherlodeMaterial()
+                                        + " content=" + pae.getContent()
+                        );
+                    } else {
                         System.err.println(
-                                "[EDO][Debug][ProspectedAsteroid][PARSE_FAIL] msg=" + msg
-                                        + " linePrefix=" + line.substring(0, Math.min(220, line.length()))
+                                "[EDO][Debug][ProspectedAsteroid] ts=" + event.getTimestamp()
                         );
                     }
                 }
+                Instant ts = event.getTimestamp();
+                if (ts != null && lastProcessedJournalTimestamp != null) {
+                    if (ts.isBefore(lastProcessedJournalTimestamp)) {
+                        return;
+                    }
+                    if (eventsToSkipAtCursor > 0 && ts.equals(lastProcessedJournalTimestamp)) {
+                        // Same second as the catch-up's last event, and one it already replayed.
+                        eventsToSkipAtCursor--;
+                        return;
+                    }
+                }
+                dispatch(event);
+                updateCursorIfNeeded(ts);
+            }
+        } catch (JsonSyntaxException | IllegalStateException ex) {
+            // malformed line – skip
+            if (looksLikeProspectedAsteroid) {
+                String msg = ex.getMessage();
+                if (msg == null) msg = ex.getClass().getSimpleName();
+                System.err.println(
+                        "[EDO][Debug][ProspectedAsteroid][PARSE_FAIL] msg=" + msg
+                                + " linePrefix=" + line.substring(0, Math.min(220, line.length()))
+                );
             }
-        } catch (IOException ex) {
-            // transient I/O – skip; retry next poll
-            maybeLogJournalIoError(file, ex);
         }
-
-        return newPos;
     }
 
     private void updateCursorIfNeeded(Instant eventTimestamp) {
@@ -673,30 +651,22 @@ public final class LiveJournalMonitor {
     }
 
     public void dispatch(EliteLogEvent event) {
-        for (Consumer<EliteLogEvent> l : listeners) {
-            try {
-                l.accept(event);
-            } catch (RuntimeException ex) {
-                // don't let one bad listener break the others, but make the failure visible
-                ExceptionReporting.report(ex, "LiveJournalMonitor listener");
-            }
+        if (event == null) {
+            return;
         }
+        if (StartupJournalCatchUp.isCatchUpThread()) {
+            // Synthetic events raised while replaying history (e.g. bio predictions) are not live.
+            return;
+        }
+        listeners.dispatch(event);
     }
 
     private Path findLatestJournalFile(Path dir) throws IOException {
         try (Stream<Path> s = Files.list(dir)) {
-            List<Path> candidates = s
-                    .filter(p -> {
-                        String name = p.getFileName().toString();
-                        return name.startsWith("Journal.") && name.endsWith(".log");
-                    })
-                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
-                    .collect(Collectors.toList());
-
-            if (candidates.isEmpty()) {
-                return null;
-            }
-            return candidates.get(candidates.size() - 1);
+            return s
+                    .filter(p -> isJournalFileName(p.getFileName().toString()))
+                    .max(Comparator.comparing(p -> p.getFileName().toString()))
+                    .orElse(null);
         }
     }
 }
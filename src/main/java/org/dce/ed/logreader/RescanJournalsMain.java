@@ -4,7 +4,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.dce.ed.EliteDangerousOverlay;
 import org.dce.ed.cache.CachedSystem;
 import org.dce.ed.cache.SystemCache;
@@ -30,9 +33,34 @@ import org.dce.ed.util.SpanshLandmarkCache;
  *
  * Run this once (with the same JVM/Classpath as the overlay)
  * before starting the overlay, or periodically to refresh the local body cache.
+ * The overlay itself runs the incremental rescan in the background at startup
+ * (see {@link StartupJournalCatchUp}).
  */
 public class RescanJournalsMain {
 
+	/**
+	 * Typed events the rescan (and {@link SystemEventProcessor}) inspects. Everything else, including
+	 * Loadout and ReceiveText, stays a lazily parsed generic event during replay.
+	 */
+	static final Set<EliteEventType> REPLAY_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+			EliteEventType.STATUS,
+			EliteEventType.LOCATION,
+			EliteEventType.FSD_JUMP,
+			EliteEventType.CARRIER_JUMP,
+			EliteEventType.CARRIER_JUMP_REQUEST,
+			EliteEventType.FSS_DISCOVERY_SCAN,
+			EliteEventType.SCAN,
+			EliteEventType.SAASIGNALS_FOUND,
+			EliteEventType.FSS_BODY_SIGNAL_DISCOVERED,
+			EliteEventType.FSS_ALL_BODIES_FOUND,
+			EliteEventType.SCAN_ORGANIC));
+
+	/**
+	 * Receives replay progress a few times per second on the rescanning thread.
+	 */
+	public interface ProgressListener {
+		void onProgress(int filesMerged, int fileCount, long bytesMerged, long bytesTotal);
+	}
 
 	public static void main(String[] args) throws IOException {
 		System.out.println("Rescanning Elite Dangerous journals and rebuilding local system cache...");
@@ -80,10 +108,26 @@ public class RescanJournalsMain {
 	 *  - forcedCacheFile: if provided, sets {@link SystemCache#CACHE_DB_PATH_PROPERTY} (SQLite DB path).
 	 */
 	public static void rescanJournals(boolean forceFull, Path forcedJournalFile, Path forcedCacheFile) throws IOException {
+		rescan(forceFull, forcedJournalFile, forcedCacheFile, null);
+	}
+
+	/**
+	 * Incremental (or full) rescan of the game's journal directory, as run at overlay startup while the UI is
+	 * already up. {@code listener} (may be null) is told how far the replay got.
+	 *
+	 * @return where the replay stopped, for {@link LiveJournalMonitor#holdTailingUntil}; null if there was no
+	 *         journal directory to scan
+	 */
+	public static JournalHandover rescanJournals(boolean forceFull, ProgressListener listener) throws IOException {
+		return rescan(forceFull, null, null, listener);
+	}
+
+	private static JournalHandover rescan(boolean forceFull, Path forcedJournalFile, Path forcedCacheFile,
+			ProgressListener listener) throws IOException {
 		Path journalDirectory = org.dce.ed.OverlayPreferences.resolveJournalDirectory(EliteDangerousOverlay.clientKey);
 		if (journalDirectory == null || !Files.isDirectory(journalDirectory)) {
 			System.out.println("Journal directory not found; skipping rescan.");
-			return;
+			return null;
 		}
 		EliteJournalReader reader = new EliteJournalReader(journalDirectory);
 
@@ -113,22 +157,20 @@ public class RescanJournalsMain {
 			lastImport = null;
 		}
 
-		List<EliteLogEvent> events;
+		// Events are streamed (parsed in parallel, merged in timestamp order) rather than loaded into one list,
+		// so memory stays flat regardless of how much journal history exists.
+		JournalReplayStream events;
 		if (forcedJournalFile != null) {
 			// We intentionally do NOT stage/copy anything into the live journal directory
 			// (EDMC watches that directory and will ingest anything we drop there).
-			//
-			// Add a tiny helper method to EliteJournalReader:
-			//   List<EliteLogEvent> readEventsFromJournalFile(Path journalFile)
-			// which reads/parses exactly like your normal directory scan.
-			events = reader.readEventsFromJournalFile(forcedJournalFile);
-		} else if (lastImport == null) {
-			events = reader.readEventsFromLastNJournalFiles(Integer.MAX_VALUE);
+			events = new JournalReplayStream(List.of(forcedJournalFile), null, 1, REPLAY_EVENTS);
 		} else {
-			events = reader.readEventsSince(lastImport);
+			events = reader.openReplayStream(lastImport, REPLAY_EVENTS);
 		}
 
-		System.out.println("Loaded " + events.size() + " events from journal files.");
+		System.out.println("Replaying " + events.getFileCount() + " journal file(s)"
+				+ " (" + (events.getBytesTotal() / (1024L * 1024L)) + " MB).");
+		ReplayProgress progress = new ReplayProgress(events, listener);
 
 		SystemCache cache = SystemCache.getInstance();
 		if (forceFull)
@@ -150,6 +192,8 @@ public class RescanJournalsMain {
 		state.setExobiologyCreditsTotalUnsold(exoCreditsTotal);
 
 		Instant newestEventTimestamp = lastImport;
+		// Events stamped exactly newestEventTimestamp seen so far (the replay is inclusive of lastImport).
+		int eventsAtNewest = 0;
 		Instant latestTransitionTs = null;
 		String latestTransitionType = null;
 		String latestTransitionSystem = null;
@@ -161,10 +205,17 @@ public class RescanJournalsMain {
 		String prevBulkCacheWrite = System.getProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY);
 		try {
 			System.setProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY, "true");
-			for (EliteLogEvent event : events) {
+			while (events.hasNext()) {
+			EliteLogEvent event = events.next();
+			progress.maybeReport();
 			Instant ts = event.getTimestamp();
-			if (ts != null && (newestEventTimestamp == null || ts.isAfter(newestEventTimestamp))) {
-				newestEventTimestamp = ts;
+			if (ts != null) {
+				if (newestEventTimestamp == null || ts.isAfter(newestEventTimestamp)) {
+					newestEventTimestamp = ts;
+					eventsAtNewest = 1;
+				} else if (ts.equals(newestEventTimestamp)) {
+					eventsAtNewest++;
+				}
 			}
 
 			// Carrier jump: countdown request, jump happened, or cancelled.
@@ -239,6 +290,7 @@ public class RescanJournalsMain {
 			//            persistIfStarScan(cache, state, event);
 		}
 		} finally {
+			events.close();
 			if (prevBulkCacheWrite != null) {
 				System.setProperty(SystemCache.CACHE_BULK_SYSTEM_WRITE_PROPERTY, prevBulkCacheWrite);
 			} else {
@@ -246,6 +298,8 @@ public class RescanJournalsMain {
 			}
 		}
 
+		progress.reportDone();
+
 		// Persist exobiology expected credits total (unsold) for toolbar + future rescans.
 		state.setExobiologyCreditsTotalUnsold(exoCreditsTotal);
 		if (state.getSystemName() != null && state.getSystemAddress() != 0L) {
@@ -295,9 +349,73 @@ public class RescanJournalsMain {
 		}
 
 		System.out.println("Rescan complete. Exobiology expected credits total (unsold): " + exoCreditsTotal);
+		return new JournalHandover(newestEventTimestamp, eventsAtNewest);
+	}
+
+	/**
+	 * Periodic progress/throughput line for long replays (every few seconds, not per event), plus more
+	 * frequent updates to an optional {@link ProgressListener}.
+	 */
+	private static final class ReplayProgress {
+		private static final long REPORT_INTERVAL_NS = 5_000_000_000L;
+		private static final long NOTIFY_INTERVAL_NS = 250_000_000L;
+
+		private final JournalReplayStream stream;
+		private final ProgressListener listener;
+		private final long startNs = System.nanoTime();
+		private long lastReportNs = startNs;
+		private long lastNotifyNs = startNs;
+
+		ReplayProgress(JournalReplayStream stream, ProgressListener listener) {
+			this.stream = stream;
+			this.listener = listener;
+			notifyListener();
+		}
+
+		void maybeReport() {
+			if ((stream.getEventsEmitted() & 0x3FF) != 0) {
+				return;
+			}
+			long now = System.nanoTime();
+			if (now - lastNotifyNs >= NOTIFY_INTERVAL_NS) {
+				lastNotifyNs = now;
+				notifyListener();
+			}
+			if (now - lastReportNs < REPORT_INTERVAL_NS) {
+				return;
+			}
+			lastReportNs = now;
+			System.out.println("Replayed " + stream.getEventsEmitted() + " events, "
+					+ stream.getFilesMerged() + "/" + stream.getFileCount() + " files ("
+					+ percent(stream.getBytesMerged(), stream.getBytesTotal()) + "%), "
+					+ rate(stream.getEventsEmitted(), now - startNs) + " events/s");
+		}
+
+		void reportDone() {
+			notifyListener();
+			long elapsedNs = System.nanoTime() - startNs;
+			System.out.println("Replayed " + stream.getEventsEmitted() + " events from "
+					+ stream.getFilesMerged() + " journal file(s) in " + (elapsedNs / 1_000_000L) + " ms ("
+					+ rate(stream.getEventsEmitted(), elapsedNs) + " events/s).");
+		}
+
+		private void notifyListener() {
+			if (listener != null) {
+				listener.onProgress(stream.getFilesMerged(), stream.getFileCount(),
+						stream.getBytesMerged(), stream.getBytesTotal());
+			}
+		}
+
+		private static long percent(long part, long total) {
+			return total <= 0L ? 100L : (part * 100L) / total;
+		}
+
+		private static long rate(long events, long elapsedNs) {
+			return elapsedNs <= 0L ? events : (events * 1_000_000_000L) / elapsedNs;
+		}
 	}
 
-	private static void persistIfSystemIsChanging(SystemCache cache, SystemState state, String nextName, long nextAddr) {
+	static void persistIfSystemIsChanging(SystemCache cache, SystemState state, String nextName, long nextAddr) {
 		String curName = state.getSystemName();
 		long curAddr = state.getSystemAddress();
 
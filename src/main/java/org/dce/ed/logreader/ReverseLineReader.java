@@ -0,0 +1,89 @@
+package org.dce.ed.logreader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file's lines last to first, pulling {@value #CHUNK_BYTES}-byte chunks from the end of a {@link FileChannel}
+ * as needed, so finding something near the end of a journal costs a few kilobytes however long the file is.
+ * Lines come back without their terminator (a trailing {@code '\r'} is dropped); a file that ends with a newline
+ * yields an empty line first.
+ */
+final class ReverseLineReader implements Closeable {
+
+    static final int CHUNK_BYTES = 8 * 1024;
+
+    private final FileChannel channel;
+    /** Bytes before this file position have not been read yet. */
+    private long pos;
+    /** Unreturned bytes ending just before the last line handed out; valid range {@code [0, end)}. */
+    private byte[] data = new byte[0];
+    private int end;
+    /** {@code data[searchFrom, end)} is known to hold no newline. */
+    private int searchFrom;
+    private boolean done;
+
+    ReverseLineReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.pos = channel.size();
+    }
+
+    /**
+     * @return the line before the one last returned, or null once the first line has been returned
+     */
+    String previousLine() throws IOException {
+        while (true) {
+            for (int i = searchFrom - 1; i >= 0; i--) {
+                if (data[i] == '\n') {
+                    String line = decode(i + 1, end);
+                    end = i;
+                    searchFrom = i;
+                    return line;
+                }
+            }
+            if (pos == 0) {
+                if (done) {
+                    return null;
+                }
+                done = true;
+                String line = decode(0, end);
+                end = 0;
+                searchFrom = 0;
+                return line;
+            }
+            int n = (int) Math.min(CHUNK_BYTES, pos);
+            byte[] grown = new byte[n + end];
+            ByteBuffer buf = ByteBuffer.wrap(grown, 0, n);
+            long at = pos - n;
+            while (buf.hasRemaining()) {
+                int r = channel.read(buf, at + buf.position());
+                if (r < 0) {
+                    throw new IOException("File shrank while reading backwards");
+                }
+            }
+            System.arraycopy(data, 0, grown, n, end);
+            data = grown;
+            end += n;
+            searchFrom = n;
+            pos = at;
+        }
+    }
+
+    private String decode(int from, int to) {
+        int len = to - from;
+        if (len > 0 && data[to - 1] == '\r') {
+            len--;
+        }
+        return new String(data, from, len, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,55 @@
+package org.dce.ed.logreader;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the startup journal rescan on a background thread so the overlay can come up immediately from the
+ * last cached system instead of waiting for the whole backlog to replay.
+ * <p>
+ * While the catch-up runs, {@link LiveJournalMonitor} does not tail journals (see
+ * {@link LiveJournalMonitor#holdTailingUntil}) and drops anything the replay itself dispatches, so listeners
+ * only ever see live events.
+ */
+public final class StartupJournalCatchUp {
+
+    private static volatile Thread catchUpThread;
+
+    private StartupJournalCatchUp() {
+    }
+
+    /**
+     * Starts the incremental rescan.
+     *
+     * @param listener replay progress, called on the catch-up thread (may be null)
+     * @return completes with where the replay stopped; with null if it failed or there was nothing to scan
+     *         (the live monitor then falls back to the persisted import cursor). Never completes exceptionally.
+     */
+    public static CompletableFuture<JournalHandover> start(RescanJournalsMain.ProgressListener listener) {
+        CompletableFuture<JournalHandover> result = new CompletableFuture<>();
+        Thread t = new Thread(() -> {
+            long startedAtMs = System.currentTimeMillis();
+            JournalHandover handover = null;
+            try {
+                handover = RescanJournalsMain.rescanJournals(false, listener);
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                catchUpThread = null;
+                System.out.println("[EDO] Journal catch-up finished in "
+                        + (System.currentTimeMillis() - startedAtMs) + " ms");
+                result.complete(handover);
+            }
+        }, "EDO-JournalCatchUp");
+        t.setDaemon(true);
+        catchUpThread = t;
+        t.start();
+        return result;
+    }
+
+    /**
+     * @return true on the thread replaying the journal backlog
+     */
+    static boolean isCatchUpThread() {
+        return Thread.currentThread() == catchUpThread;
+    }
+}
@@ -0,0 +1,419 @@
+package org.dce.ed.logreader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.dce.ed.ExceptionReporting;
+import org.dce.ed.logreader.event.StatusEvent;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * The one reader of {@code Status.json}. {@link #refresh(Path)} reads the file into a reused buffer and only parses
+ * it when the bytes differ from the last frame; each new frame is compared with the previous one and published as
+ * an {@link Update} naming what {@link Change changed}.
+ * <p>
+ * Subscribers pick the changes they care about and a minimum interval between deliveries. Frames arriving sooner
+ * are coalesced (changes accumulate, the newest status wins) and handed over by {@link #flushDue(long)}, which the
+ * owning thread calls at {@link #nanosUntilDue(long)}; so on-foot lat/long can stream at full rate while a panel
+ * that only needs flags wakes a few times a second at most. Delivery is on the thread calling refresh/flush.
+ */
+public final class StatusService {
+
+    /** Groups of Status.json fields a subscriber can ask for. */
+    public enum Change {
+        /** {@code Flags} / {@code Flags2}. */
+        FLAGS,
+        /** {@code Latitude}, {@code Longitude}, {@code Altitude}, {@code Heading}. */
+        POSITION,
+        /** {@code BodyName}, {@code PlanetRadius}. */
+        BODY,
+        /** The {@code Destination} block. */
+        DESTINATION,
+        /** Anything else (fuel, cargo, pips, GUI focus, ...) or only the timestamp. */
+        OTHER
+    }
+
+    /** A status frame plus what changed since the subscriber's previous delivery. */
+    public record Update(StatusEvent status, Set<Change> changes) {
+
+        public boolean has(Change change) {
+            return changes.contains(change);
+        }
+    }
+
+    private static final class Subscription {
+        final Set<Change> interest;
+        final long minIntervalNanos;
+        final Consumer<Update> listener;
+        final EnumSet<Change> pending = EnumSet.noneOf(Change.class);
+        StatusEvent pendingStatus;
+        long lastDeliveredNanos;
+        boolean delivered;
+
+        Subscription(Set<Change> interest, long minIntervalNanos, Consumer<Update> listener) {
+            this.interest = EnumSet.copyOf(interest);
+            this.minIntervalNanos = minIntervalNanos;
+            this.listener = listener;
+        }
+
+        long dueAt() {
+            return lastDeliveredNanos + minIntervalNanos;
+        }
+    }
+
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private byte[] buffer = new byte[4096];
+    private byte[] lastBytes = new byte[0];
+    private int lastLength = -1;
+    private StatusEvent latest;
+
+    /**
+     * Delivers updates touching any of {@code changes}, at most once per {@code minIntervalMillis} (0 = every
+     * frame).
+     */
+    public void subscribe(Set<Change> changes, long minIntervalMillis, Consumer<Update> listener) {
+        if (listener == null || changes == null || changes.isEmpty()) {
+            return;
+        }
+        subscriptions.add(new Subscription(changes, Math.max(0L, minIntervalMillis) * 1_000_000L, listener));
+    }
+
+    public void unsubscribe(Consumer<Update> listener) {
+        subscriptions.removeIf(s -> s.listener.equals(listener));
+    }
+
+    /** The last frame read, or null before the first. */
+    public synchronized StatusEvent latest() {
+        return latest;
+    }
+
+    /**
+     * Reads {@code statusFile} and, if its bytes changed, parses it and publishes the update.
+     *
+     * @return the full update against the previous frame, or null if the file is missing, empty or unchanged
+     * @throws RuntimeException if the file does not parse (e.g. read mid-write); the next refresh tries again
+     */
+    public synchronized Update refresh(Path statusFile) throws IOException {
+        int length = read(statusFile);
+        if (length <= 0 || (length == lastLength && Arrays.equals(buffer, 0, length, lastBytes, 0, length))) {
+            return null;
+        }
+        String json = new String(buffer, 0, length, StandardCharsets.UTF_8).trim();
+        if (json.isEmpty()) {
+            return null;
+        }
+        StatusEvent status = parse(JsonParser.parseString(json).getAsJsonObject());
+
+        // Keep the bytes only once they parsed, so a torn read is parsed again next time.
+        byte[] previous = lastBytes;
+        lastBytes = buffer;
+        lastLength = length;
+        buffer = previous;
+
+        Update update = new Update(status, diff(latest, status));
+        latest = status;
+        publish(update, System.nanoTime());
+        return update;
+    }
+
+    /** Hands out coalesced updates whose interval has elapsed. */
+    public synchronized void flushDue(long nowNanos) {
+        for (Subscription s : subscriptions) {
+            if (!s.pending.isEmpty() && nowNanos - s.dueAt() >= 0) {
+                deliver(s, nowNanos);
+            }
+        }
+    }
+
+    /**
+     * @return nanoseconds until the next coalesced update is due (0 if one is overdue), or -1 if none is pending
+     */
+    public synchronized long nanosUntilDue(long nowNanos) {
+        long best = -1;
+        for (Subscription s : subscriptions) {
+            if (!s.pending.isEmpty()) {
+                long wait = Math.max(0L, s.dueAt() - nowNanos);
+                best = best < 0 ? wait : Math.min(best, wait);
+            }
+        }
+        return best;
+    }
+
+    private void publish(Update update, long nowNanos) {
+        for (Subscription s : subscriptions) {
+            boolean touched = false;
+            for (Change c : update.changes()) {
+                if (s.interest.contains(c)) {
+                    s.pending.add(c);
+                    touched = true;
+                }
+            }
+            if (!touched && s.pending.isEmpty()) {
+                continue;
+            }
+            // A waiting subscriber gets the newest frame even if this one changed nothing it watches.
+            s.pendingStatus = update.status();
+            if (!s.delivered || nowNanos - s.dueAt() >= 0) {
+                deliver(s, nowNanos);
+            }
+        }
+    }
+
+    private static void deliver(Subscription s, long nowNanos) {
+        Update update = new Update(s.pendingStatus, EnumSet.copyOf(s.pending));
+        s.pending.clear();
+        s.pendingStatus = null;
+        s.lastDeliveredNanos = nowNanos;
+        s.delivered = true;
+        try {
+            s.listener.accept(update);
+        } catch (RuntimeException ex) {
+            ExceptionReporting.report(ex, "StatusService listener");
+        }
+    }
+
+    /** Reads the whole file into {@link #buffer}, growing it as needed. */
+    private int read(Path statusFile) throws IOException {
+        try (FileChannel ch = FileChannel.open(statusFile, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("Status.json too large: " + size);
+            }
+            if (buffer.length < size) {
+                buffer = new byte[(int) size];
+            }
+            ByteBuffer buf = ByteBuffer.wrap(buffer, 0, (int) size);
+            while (buf.hasRemaining()) {
+                if (ch.read(buf) < 0) {
+                    break;
+                }
+            }
+            return buf.position();
+        }
+    }
+
+    static Set<Change> diff(StatusEvent prev, StatusEvent next) {
+        if (prev == null) {
+            return EnumSet.allOf(Change.class);
+        }
+        EnumSet<Change> out = EnumSet.noneOf(Change.class);
+        if (prev.getFlags() != next.getFlags() || prev.getFlags2() != next.getFlags2()) {
+            out.add(Change.FLAGS);
+        }
+        if (!Objects.equals(prev.getLatitude(), next.getLatitude())
+                || !Objects.equals(prev.getLongitude(), next.getLongitude())
+                || !Objects.equals(prev.getAltitude(), next.getAltitude())
+                || !Objects.equals(prev.getHeading(), next.getHeading())) {
+            out.add(Change.POSITION);
+        }
+        if (!Objects.equals(prev.getBodyName(), next.getBodyName())
+                || !Objects.equals(prev.getPlanetRadius(), next.getPlanetRadius())) {
+            out.add(Change.BODY);
+        }
+        if (!Objects.equals(prev.getDestinationSystem(), next.getDestinationSystem())
+                || !Objects.equals(prev.getDestinationBody(), next.getDestinationBody())
+                || !Objects.equals(prev.getDestinationName(), next.getDestinationName())
+                || !Objects.equals(prev.getDestinationNameLocalised(), next.getDestinationNameLocalised())) {
+            out.add(Change.DESTINATION);
+        }
+        if (out.isEmpty()
+                || !Objects.equals(prev.getTimestamp(), next.getTimestamp())
+                || !Arrays.equals(prev.getPips(), next.getPips())
+                || prev.getFireGroup() != next.getFireGroup()
+                || prev.getGuiFocus() != next.getGuiFocus()
+                || prev.getFuelMain() != next.getFuelMain()
+                || prev.getFuelReservoir() != next.getFuelReservoir()
+                || prev.getCargo() != next.getCargo()
+                || !Objects.equals(prev.getLegalState(), next.getLegalState())
+                || prev.getBalance() != next.getBalance()) {
+            out.add(Change.OTHER);
+        }
+        return out;
+    }
+
+    static StatusEvent parse(JsonObject root) {
+        // timestamp
+        Instant ts = null;
+        JsonElement tsEl = root.get("timestamp");
+        if (tsEl != null && !tsEl.isJsonNull()) {
+            try {
+                ts = Instant.parse(tsEl.getAsString());
+            } catch (Exception ignored) {
+            }
+        }
+
+        int flags = getIntOrDefault(root, "Flags", 0);
+        int flags2 = getIntOrDefault(root, "Flags2", 0);
+
+        // Pips: [sys, eng, wep]
+        int[] pips = new int[] { 0, 0, 0 };
+        JsonElement pipsEl = root.get("Pips");
+        if (pipsEl != null && pipsEl.isJsonArray()) {
+            JsonArray arr = pipsEl.getAsJsonArray();
+            for (int i = 0; i < Math.min(3, arr.size()); i++) {
+                try {
+                    pips[i] = arr.get(i).getAsInt();
+                } catch (Exception ignored) {
+                }
+            }
+        }
+
+        int fireGroup = getIntOrDefault(root, "FireGroup", 0);
+        int guiFocus = getIntOrDefault(root, "GuiFocus", 0);
+
+        double fuelMain = 0.0;
+        double fuelReservoir = 0.0;
+        JsonElement fuelEl = root.get("Fuel");
+        if (fuelEl != null && fuelEl.isJsonObject()) {
+            JsonObject fuel = fuelEl.getAsJsonObject();
+            fuelMain = getDoubleOrDefault(fuel, "FuelMain", 0.0);
+            fuelReservoir = getDoubleOrDefault(fuel, "FuelReservoir", 0.0);
+        }
+
+        double cargo = getDoubleOrDefault(root, "Cargo", 0.0);
+        String legalState = getStringOrNull(root, "LegalState");
+        long balance = getLongOrDefault(root, "Balance", 0L);
+
+        // ---- Extra Status.json fields ----
+        Double latitude = getDoubleOrNull(root, "Latitude");
+        Double longitude = getDoubleOrNull(root, "Longitude");
+        Double altitude = getDoubleOrNull(root, "Altitude");
+        Double heading = getDoubleOrNull(root, "Heading");
+        String bodyName = getStringOrNull(root, "BodyName");
+        Double planetRadius = getDoubleOrNull(root, "PlanetRadius");
+
+        // ---- Destination block ----
+        Long destSystem = null;
+        Integer destBody = null;
+        String destName = null;
+        String destNameLocalised = null;
+
+        JsonElement destEl = root.get("Destination");
+        if (destEl != null && destEl.isJsonObject()) {
+            JsonObject dest = destEl.getAsJsonObject();
+
+            JsonElement sysEl = dest.get("System");
+            if (sysEl != null && !sysEl.isJsonNull()) {
+                try {
+                    destSystem = sysEl.getAsLong();
+                } catch (Exception ignored) {
+                }
+            }
+
+            JsonElement bodyEl = dest.get("Body");
+            if (bodyEl != null && !bodyEl.isJsonNull()) {
+                try {
+                    destBody = bodyEl.getAsInt();
+                } catch (Exception ignored) {
+                }
+            }
+            if (destBody != null && destBody.intValue() == 0) {
+                destBody = null;
+            }
+
+            destName = getStringOrNull(dest, "Name");
+            destNameLocalised = getStringOrNull(dest, "Name_Localised");
+        }
+
+        return new StatusEvent(
+                ts,
+                root,
+                flags,
+                flags2,
+                pips,
+                fireGroup,
+                guiFocus,
+                fuelMain,
+                fuelReservoir,
+                cargo,
+                legalState,
+                balance,
+                latitude,
+                longitude,
+                altitude,
+                heading,
+                bodyName,
+                planetRadius,
+                destSystem,
+                destBody,
+                destName,
+                destNameLocalised
+        );
+    }
+
+    private static int getIntOrDefault(JsonObject obj, String key, int def) {
+        JsonElement el = obj.get(key);
+        if (el == null || el.isJsonNull()) {
+            return def;
+        }
+        try {
+            return el.getAsInt();
+        } catch (Exception e) {
+            return def;
+        }
+    }
+
+    private static long getLongOrDefault(JsonObject obj, String key, long def) {
+        JsonElement el = obj.get(key);
+        if (el == null || el.isJsonNull()) {
+            return def;
+        }
+        try {
+            return el.getAsLong();
+        } catch (Exception e) {
+            return def;
+        }
+    }
+
+    private static double getDoubleOrDefault(JsonObject obj, String key, double def) {
+        JsonElement el = obj.get(key);
+        if (el == null || el.isJsonNull()) {
+            return def;
+        }
+        try {
+            return el.getAsDouble();
+        } catch (Exception e) {
+            return def;
+        }
+    }
+
+    private static Double getDoubleOrNull(JsonObject obj, String key) {
+        JsonElement el = obj.get(key);
+        if (el == null || el.isJsonNull()) {
+            return null;
+        }
+        try {
+            return el.getAsDouble();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String getStringOrNull(JsonObject obj, String key) {
+        JsonElement el = obj.get(key);
+        if (el == null || el.isJsonNull()) {
+            return null;
+        }
+        try {
+            return el.getAsString();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
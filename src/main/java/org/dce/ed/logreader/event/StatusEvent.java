@@ -87,7 +87,7 @@ public class StatusEvent extends EliteLogEvent {
         this.destinationName = destinationName;
         this.destinationNameLocalised = destinationNameLocalised;
 
-        this.decodedFlags = new DecodedFlags(flags, flags2);
+        this.decodedFlags = DecodedFlags.decode(flags, flags2);
     }
 
     // ---- Raw values ----
@@ -283,6 +283,12 @@ public class StatusEvent extends EliteLogEvent {
 
     public static final class DecodedFlags {
 
+        /** Last decoded pair; flags change far less often than Status.json is written, so this usually hits. */
+        private static volatile DecodedFlags last = new DecodedFlags(0, 0);
+
+        private final int rawFlags;
+        private final int rawFlags2;
+
         // Flags (bitfield #1)
         public final boolean docked;
         public final boolean landed;
@@ -340,6 +346,8 @@ public class StatusEvent extends EliteLogEvent {
         public final boolean fsdHyperdriveCharging;
 
         private DecodedFlags(int flags, int flags2) {
+            rawFlags = flags;
+            rawFlags2 = flags2;
             // Flags
             docked                    = (flags & 0x00000001) != 0;
             landed                    = (flags & 0x00000002) != 0;
@@ -397,8 +405,14 @@ public class StatusEvent extends EliteLogEvent {
             fsdHyperdriveCharging     = (flags2 & 0x00080000) != 0;
         }
 
+        /** Decoded view of {@code flags}/{@code flags2}; the instance is shared while the bits stay the same. */
         public static DecodedFlags decode(int flags, int flags2) {
-            return new DecodedFlags(flags, flags2);
+            DecodedFlags d = last;
+            if (d.rawFlags != flags || d.rawFlags2 != flags2) {
+                d = new DecodedFlags(flags, flags2);
+                last = d;
+            }
+            return d;
         }
     }
 
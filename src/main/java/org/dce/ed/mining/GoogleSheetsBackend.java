@@ -39,6 +39,7 @@ import com.google.api.services.sheets.v4.SheetsScopes;
 import com.google.api.services.sheets.v4.model.AppendValuesResponse;
 import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
 import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
 import com.google.api.services.sheets.v4.model.Request;
 import com.google.api.services.sheets.v4.model.AddSheetRequest;
 import com.google.api.services.sheets.v4.model.Sheet;
@@ -213,7 +214,7 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
         return row != null && row.size() >= 16 ? 15 : 14;
     }
 
-    private static String truncateMsg(String m) {
+    static String truncateMsg(String m) {
         if (m == null) {
             return "Unknown error";
         }
@@ -239,7 +240,7 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
         ENSURED_SHEET_WITH_HEADER_KEYS.remove(spreadsheetId + "\0" + title);
     }
 
-    private static boolean sheetErrorSuggestsMissingWorksheet(String m) {
+    static boolean sheetErrorSuggestsMissingWorksheet(String m) {
         if (m == null) {
             return false;
         }
@@ -435,90 +436,8 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
             DateTimeFormatter fmt = DateTimeFormatter.ofPattern("M/d/yyyy H:mm:ss", Locale.US);
 
             for (ProspectorLogRow r : rows) {
-                if (r == null) {
-                    continue;
-                }
-                String ts = r.getTimestamp() != null ? r.getTimestamp().atZone(zone).format(fmt) : "-";
-                String fullBody = r.getFullBodyName() != null ? r.getFullBodyName() : "";
-                String[] sysBody = splitSystemAndBody(fullBody);
-                String incSystem = sysBody[0].trim();
-                String incBody = sysBody[1].trim();
-                String commander = (r.getCommanderName() != null && !r.getCommanderName().isEmpty()) ? r.getCommanderName() : "-";
-                String shipCell = (r.getShipType() != null && !r.getShipType().isEmpty()) ? r.getShipType() : "-";
-                String material = (r.getMaterial() != null && !r.getMaterial().isEmpty()) ? r.getMaterial() : "-";
-                String asteroid = (r.getAsteroidId() != null && !r.getAsteroidId().isEmpty()) ? r.getAsteroidId() : "-";
-                String core = (r.getCoreType() != null && !r.getCoreType().isEmpty()) ? r.getCoreType() : "-";
-
-                boolean updated = false;
-                // Match (run, asteroid, material, commander) with flexible system/body so blank journal
-                // location does not append a duplicate row. When incoming location is blank, prefer updating
-                // a row that already has system/body so orphan "-" rows are not chosen first.
-                int matchIdx = findProspectorUpsertRowIndex(values, r.getRun(), asteroid, material, commander,
-                        incSystem, incBody);
-                if (matchIdx >= 0) {
-                    List<Object> row = values.get(matchIdx);
-                    // Short rows from legacy edits or API trimming would make set(10..12) throw or misalign columns.
-                    normalizeProspectorSheetRowForShipColumn(row);
-                    ensureRowSize(row, 16);
-                    String existingSystem = str(row.get(10));
-                    String existingBody = str(row.get(11));
-
-                    String outSystem = !isBlankSheetCell(incSystem) ? incSystem : existingSystem;
-                    String outBody = !isBlankSheetCell(incBody) ? incBody : existingBody;
-                    if (isBlankSheetCell(outSystem)) {
-                        outSystem = "";
-                    }
-                    if (isBlankSheetCell(outBody)) {
-                        outBody = "";
-                    }
-
-                    row.set(0, r.getRun());
-                    row.set(1, asteroid);
-                    row.set(2, ts);
-                    row.set(3, material);
-                    row.set(4, r.getPercent());
-                    row.set(5, r.getBeforeAmount());
-                    row.set(6, r.getAfterAmount());
-                    row.set(7, r.getDifference());
-                    row.set(8, core);
-                    row.set(9, r.getDuds());
-                    row.set(10, outSystem);
-                    row.set(11, outBody);
-                    row.set(12, commander);
-                    row.set(13, shipCell);
-                    int startCol = sheetRunStartColumnIndex(row);
-                    int endCol = sheetRunEndColumnIndex(row);
-                    String existingStart = row.size() > startCol ? str(row.get(startCol)) : "";
-                    if (ProspectorMiningLogPolicy.shouldWriteRunStartOnUpsertExistingRow(existingStart, r.getRunStartTime())) {
-                        row.set(startCol, r.getRunStartTime().atZone(zone).format(fmt));
-                    }
-                    if (r.getRunEndTime() != null) {
-                        row.set(endCol, r.getRunEndTime().atZone(zone).format(fmt));
-                    }
-                    updated = true;
-                }
-
-                if (!updated) {
-                    String outSystem = isBlankSheetCell(incSystem) ? "" : incSystem;
-                    String outBody = isBlankSheetCell(incBody) ? "" : incBody;
-                    List<Object> newRow = new ArrayList<>();
-                    newRow.add(r.getRun());
-                    newRow.add(asteroid);
-                    newRow.add(ts);
-                    newRow.add(material);
-                    newRow.add(r.getPercent());
-                    newRow.add(r.getBeforeAmount());
-                    newRow.add(r.getAfterAmount());
-                    newRow.add(r.getDifference());
-                    newRow.add(core);
-                    newRow.add(r.getDuds());
-                    newRow.add(outSystem);
-                    newRow.add(outBody);
-                    newRow.add(commander);
-                    newRow.add(shipCell);
-                    newRow.add(r.getRunStartTime() != null ? r.getRunStartTime().atZone(zone).format(fmt) : "");
-                    newRow.add(r.getRunEndTime() != null ? r.getRunEndTime().atZone(zone).format(fmt) : "");
-                    values.add(newRow);
+                if (r != null) {
+                    upsertIntoSheetValues(values, r, zone, fmt);
                 }
             }
 
@@ -540,6 +459,95 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
         upsertRowsResult(rows);
     }
 
+    /**
+     * Applies one upsert to sheet cell values in memory (row {@code 0} is the header): updates the matching row,
+     * or appends a new one. Shared by {@link #upsertRowsResult} and the local {@link ProspectorLogMirror}.
+     *
+     * @return index in {@code values} of the row written
+     */
+    static int upsertIntoSheetValues(List<List<Object>> values, ProspectorLogRow r, ZoneId zone, DateTimeFormatter fmt) {
+        String ts = r.getTimestamp() != null ? r.getTimestamp().atZone(zone).format(fmt) : "-";
+        String fullBody = r.getFullBodyName() != null ? r.getFullBodyName() : "";
+        String[] sysBody = splitSystemAndBody(fullBody);
+        String incSystem = sysBody[0].trim();
+        String incBody = sysBody[1].trim();
+        String commander = (r.getCommanderName() != null && !r.getCommanderName().isEmpty()) ? r.getCommanderName() : "-";
+        String shipCell = (r.getShipType() != null && !r.getShipType().isEmpty()) ? r.getShipType() : "-";
+        String material = (r.getMaterial() != null && !r.getMaterial().isEmpty()) ? r.getMaterial() : "-";
+        String asteroid = (r.getAsteroidId() != null && !r.getAsteroidId().isEmpty()) ? r.getAsteroidId() : "-";
+        String core = (r.getCoreType() != null && !r.getCoreType().isEmpty()) ? r.getCoreType() : "-";
+
+        // Match (run, asteroid, material, commander) with flexible system/body so blank journal
+        // location does not append a duplicate row. When incoming location is blank, prefer updating
+        // a row that already has system/body so orphan "-" rows are not chosen first.
+        int matchIdx = findProspectorUpsertRowIndex(values, r.getRun(), asteroid, material, commander,
+                incSystem, incBody);
+        if (matchIdx >= 0) {
+            List<Object> row = values.get(matchIdx);
+            // Short rows from legacy edits or API trimming would make set(10..12) throw or misalign columns.
+            normalizeProspectorSheetRowForShipColumn(row);
+            ensureRowSize(row, 16);
+            String existingSystem = str(row.get(10));
+            String existingBody = str(row.get(11));
+
+            String outSystem = !isBlankSheetCell(incSystem) ? incSystem : existingSystem;
+            String outBody = !isBlankSheetCell(incBody) ? incBody : existingBody;
+            if (isBlankSheetCell(outSystem)) {
+                outSystem = "";
+            }
+            if (isBlankSheetCell(outBody)) {
+                outBody = "";
+            }
+
+            row.set(0, r.getRun());
+            row.set(1, asteroid);
+            row.set(2, ts);
+            row.set(3, material);
+            row.set(4, r.getPercent());
+            row.set(5, r.getBeforeAmount());
+            row.set(6, r.getAfterAmount());
+            row.set(7, r.getDifference());
+            row.set(8, core);
+            row.set(9, r.getDuds());
+            row.set(10, outSystem);
+            row.set(11, outBody);
+            row.set(12, commander);
+            row.set(13, shipCell);
+            int startCol = sheetRunStartColumnIndex(row);
+            int endCol = sheetRunEndColumnIndex(row);
+            String existingStart = row.size() > startCol ? str(row.get(startCol)) : "";
+            if (ProspectorMiningLogPolicy.shouldWriteRunStartOnUpsertExistingRow(existingStart, r.getRunStartTime())) {
+                row.set(startCol, r.getRunStartTime().atZone(zone).format(fmt));
+            }
+            if (r.getRunEndTime() != null) {
+                row.set(endCol, r.getRunEndTime().atZone(zone).format(fmt));
+            }
+            return matchIdx;
+        }
+
+        String outSystem = isBlankSheetCell(incSystem) ? "" : incSystem;
+        String outBody = isBlankSheetCell(incBody) ? "" : incBody;
+        List<Object> newRow = new ArrayList<>();
+        newRow.add(r.getRun());
+        newRow.add(asteroid);
+        newRow.add(ts);
+        newRow.add(material);
+        newRow.add(r.getPercent());
+        newRow.add(r.getBeforeAmount());
+        newRow.add(r.getAfterAmount());
+        newRow.add(r.getDifference());
+        newRow.add(core);
+        newRow.add(r.getDuds());
+        newRow.add(outSystem);
+        newRow.add(outBody);
+        newRow.add(commander);
+        newRow.add(shipCell);
+        newRow.add(r.getRunStartTime() != null ? r.getRunStartTime().atZone(zone).format(fmt) : "");
+        newRow.add(r.getRunEndTime() != null ? r.getRunEndTime().atZone(zone).format(fmt) : "");
+        values.add(newRow);
+        return values.size() - 1;
+    }
+
     @Override
     public List<ProspectorLogRow> loadRows() {
         // Backwards-compatible: ignore status, just return whatever rows we have.
@@ -667,7 +675,7 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
     /**
      * @param worksheetTitle Google worksheet tab title; used when the Commander column is blank on per-commander tabs.
      */
-    private List<ProspectorLogRow> parseSheetDataRows(List<List<Object>> values, String worksheetTitle) {
+    static List<ProspectorLogRow> parseSheetDataRows(List<List<Object>> values, String worksheetTitle) {
         List<ProspectorLogRow> out = new ArrayList<>();
         for (int i = 1; i < values.size(); i++) {
             List<Object> row = values.get(i);
@@ -785,6 +793,8 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
                     rowsUpdated = result[1];
                 } catch (Exception ex) {
                     failure = ex;
+                } finally {
+                    ProspectorLogMirror.forgetSpreadsheet(spreadsheetId);
                 }
                 return null;
             }
@@ -1040,7 +1050,7 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
         return -1;
     }
 
-    private static int parseInt(Object o, int def) {
+    static int parseInt(Object o, int def) {
         if (o == null) return def;
         if (o instanceof Number) return ((Number) o).intValue();
         try {
@@ -1075,14 +1085,8 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
             }
             ZoneId zone = ZoneId.systemDefault();
             DateTimeFormatter fmt = DateTimeFormatter.ofPattern("M/d/yyyy H:mm:ss", Locale.US);
-            String endStr = endTime.atZone(zone).format(fmt);
-            String cmdr = commander != null ? commander : "";
-            int rowIndex = ProspectorMiningLogPolicy.findDataRowIndexForCanonicalRunEnd(values, run, cmdr);
+            int rowIndex = setRunEndInSheetValues(values, commander, run, endTime, zone, fmt);
             if (rowIndex >= 0) {
-                List<Object> row = values.get(rowIndex);
-                normalizeProspectorSheetRowForShipColumn(row);
-                ensureRowSize(row, 16);
-                row.set(sheetRunEndColumnIndex(row), endStr);
                 ValueRange bodyRange = new ValueRange().setValues(values);
                 sheets.spreadsheets().values()
                         .update(spreadsheetId, rangeA1PForSheetTitle(sheetTitle), bodyRange)
@@ -1103,6 +1107,107 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
         updateRunEndTimeResult(commander, run, endTime);
     }
 
+    /**
+     * Writes run end on the canonical row of {@code run} in sheet cell values (row {@code 0} is the header).
+     *
+     * @return index in {@code values} of the row written, or -1 if the run has no canonical row
+     */
+    static int setRunEndInSheetValues(List<List<Object>> values, String commander, int run, Instant endTime,
+            ZoneId zone, DateTimeFormatter fmt) {
+        String cmdr = commander != null ? commander : "";
+        int rowIndex = ProspectorMiningLogPolicy.findDataRowIndexForCanonicalRunEnd(values, run, cmdr);
+        if (rowIndex >= 0) {
+            List<Object> row = values.get(rowIndex);
+            normalizeProspectorSheetRowForShipColumn(row);
+            ensureRowSize(row, 16);
+            row.set(sheetRunEndColumnIndex(row), endTime.atZone(zone).format(fmt));
+        }
+        return rowIndex;
+    }
+
+    String getSpreadsheetId() {
+        return spreadsheetId;
+    }
+
+    /**
+     * Cell values of one worksheet (row {@code 0} is the header); empty if the tab does not exist yet.
+     */
+    List<List<Object>> readSheetValues(String sheetTitle) throws IOException, GeneralSecurityException {
+        Sheets sheets = createSheetsService();
+        if (sheets == null) {
+            throw new IOException("Google Sheets is not signed in. Configure OAuth in Mining preferences.");
+        }
+        try {
+            List<List<Object>> values = sheets.spreadsheets().values()
+                .get(spreadsheetId, rangeA1PForSheetTitle(sheetTitle))
+                .execute()
+                .getValues();
+            return values != null ? values : new ArrayList<>();
+        } catch (IOException ex) {
+            String m = ex.getMessage() != null ? ex.getMessage() : "";
+            if (m.contains("Unable to parse range") || m.contains("not found")) {
+                forgetEnsuredSheetWithHeader(spreadsheetId, sheetTitle);
+                return new ArrayList<>();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Writes changed rows in place with one batchUpdate, then appends new rows after the last one.
+     *
+     * @param changed cells by 1-based sheet row number
+     * @return 1-based sheet row number of the first appended row, or -1 if nothing was appended
+     */
+    int writeSheetRows(String sheetTitle, Map<Integer, List<Object>> changed, List<List<Object>> appended)
+            throws IOException, GeneralSecurityException {
+        Sheets sheets = createSheetsService();
+        if (sheets == null) {
+            throw new IOException("Google Sheets is not signed in. Configure OAuth in Mining preferences.");
+        }
+        try {
+            ensureSheetWithHeader(sheets, sheetTitle);
+            if (!changed.isEmpty()) {
+                List<ValueRange> data = new ArrayList<>(changed.size());
+                String quoted = MiningSheetTitles.quoteSheetNameForRange(sheetTitle);
+                for (Map.Entry<Integer, List<Object>> e : changed.entrySet()) {
+                    int n = e.getKey();
+                    data.add(new ValueRange()
+                        .setRange(quoted + "!A" + n + ":P" + n)
+                        .setValues(Collections.singletonList(e.getValue())));
+                }
+                sheets.spreadsheets().values()
+                    .batchUpdate(spreadsheetId, new BatchUpdateValuesRequest()
+                        .setValueInputOption(VALUE_INPUT_OPTION_USER_ENTERED)
+                        .setData(data))
+                    .execute();
+            }
+            if (appended.isEmpty()) {
+                return -1;
+            }
+            AppendValuesResponse response = sheets.spreadsheets().values()
+                .append(spreadsheetId, rangeA1PForSheetTitle(sheetTitle), new ValueRange().setValues(appended))
+                .setValueInputOption(VALUE_INPUT_OPTION_USER_ENTERED)
+                .setInsertDataOption("INSERT_ROWS")
+                .execute();
+            return firstRowOfRange(response.getUpdates() != null ? response.getUpdates().getUpdatedRange() : null);
+        } catch (IOException ex) {
+            if (sheetErrorSuggestsMissingWorksheet(ex.getMessage())) {
+                forgetEnsuredSheetWithHeader(spreadsheetId, sheetTitle);
+            }
+            throw ex;
+        }
+    }
+
+    /** First row number of an A1 range such as {@code 'CMDR X'!A12:P13}, or 0 if unknown. */
+    static int firstRowOfRange(String a1) {
+        if (a1 == null) {
+            return 0;
+        }
+        Matcher m = Pattern.compile("![A-Z]+(\\d+)").matcher(a1);
+        return m.find() ? Integer.parseInt(m.group(1)) : 0;
+    }
+
     /**
      * Renumber rows in memory (header + data), same rules as {@link #renumberOneSheet}.
      */
@@ -1270,6 +1375,7 @@ public final class GoogleSheetsBackend implements ProspectorLogBackend {
                 .update(spreadsheetId, rangeA1PForSheetTitle(legacyTitle), new ValueRange().setValues(cleared))
                 .setValueInputOption(VALUE_INPUT_OPTION_USER_ENTERED)
                 .execute();
+            ProspectorLogMirror.forgetSpreadsheet(spreadsheetId);
             OverlayPreferences.setMiningGoogleSheetsLayoutVersion(LAYOUT_VERSION_PER_COMMANDER);
             return ProspectorWriteResult.ok();
         } catch (Exception e) {
@@ -1,13 +1,11 @@
 package org.dce.ed.mining;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -82,59 +80,107 @@ public final class LocalCsvBackend implements ProspectorLogBackend {
             return;
         }
         try {
-            Path parent = csvPath.getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
-            }
-            boolean newFile = !Files.exists(csvPath);
-            if (newFile) {
-                Files.writeString(csvPath, HEADER + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            }
             ZoneId zone = ZoneId.systemDefault();
+            List<String> lines = new ArrayList<>(rows.size());
             for (ProspectorLogRow r : rows) {
-                String tsStr = r.getTimestamp() != null ? r.getTimestamp().atZone(zone).format(TIMESTAMP_FORMAT) : "";
-                if (tsStr == null || tsStr.isEmpty()) tsStr = "-";
-                String body = r.getFullBodyName();
-                if (body == null || body.isEmpty()) body = "-";
-                String commander = r.getCommanderName();
-                if (commander == null || commander.isEmpty()) commander = "-";
-                String material = r.getMaterial();
-                if (material == null || material.isEmpty()) material = "-";
-                String asteroid = r.getAsteroidId() != null ? r.getAsteroidId() : "";
-                if (asteroid.isEmpty()) asteroid = "-";
-                String core = r.getCoreType() != null ? r.getCoreType() : "";
-                if (core.isEmpty()) core = "-";
-                String startStr = r.getRunStartTime() != null ? r.getRunStartTime().atZone(zone).format(TIMESTAMP_FORMAT) : "";
-                String endStr = r.getRunEndTime() != null ? r.getRunEndTime().atZone(zone).format(TIMESTAMP_FORMAT) : "";
-                String ship = r.getShipType();
-                if (ship == null || ship.isEmpty()) ship = "-";
-                String line = r.getRun() + ","
-                    + MiningTabPanel.csvEscape(asteroid) + ","
-                    + MiningTabPanel.csvEscape(tsStr) + ","
-                    + MiningTabPanel.csvEscape(material) + ","
-                    + formatDouble(r.getPercent()) + ","
-                    + formatDouble(r.getBeforeAmount()) + ","
-                    + formatDouble(r.getAfterAmount()) + ","
-                    + formatDouble(r.getDifference()) + ","
-                    + MiningTabPanel.csvEscape(core) + ","
-                    + MiningTabPanel.csvEscape(body) + ","
-                    + r.getDuds() + ","
-                    + MiningTabPanel.csvEscape(commander) + ","
-                    + MiningTabPanel.csvEscape(ship) + ","
-                    + MiningTabPanel.csvEscape(startStr) + ","
-                    + MiningTabPanel.csvEscape(endStr);
-                Files.writeString(csvPath, line + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (r != null) {
+                    lines.add(formatCsvLine(r, zone));
+                }
             }
+            ProspectorCsvFile.forPath(csvPath).append(HEADER, lines);
         } catch (Exception e) {
             throw new RuntimeException("Failed to append prospector log", e);
         }
     }
 
-    private static String formatDouble(double v) {
+    /** One 15-column data line for {@code r} (no trailing newline). */
+    static String formatCsvLine(ProspectorLogRow r, ZoneId zone) {
+        String tsStr = r.getTimestamp() != null ? r.getTimestamp().atZone(zone).format(TIMESTAMP_FORMAT) : "";
+        if (tsStr == null || tsStr.isEmpty()) tsStr = "-";
+        String body = r.getFullBodyName();
+        if (body == null || body.isEmpty()) body = "-";
+        String commander = r.getCommanderName();
+        if (commander == null || commander.isEmpty()) commander = "-";
+        String material = r.getMaterial();
+        if (material == null || material.isEmpty()) material = "-";
+        String asteroid = r.getAsteroidId() != null ? r.getAsteroidId() : "";
+        if (asteroid.isEmpty()) asteroid = "-";
+        String core = r.getCoreType() != null ? r.getCoreType() : "";
+        if (core.isEmpty()) core = "-";
+        String startStr = r.getRunStartTime() != null ? r.getRunStartTime().atZone(zone).format(TIMESTAMP_FORMAT) : "";
+        String endStr = r.getRunEndTime() != null ? r.getRunEndTime().atZone(zone).format(TIMESTAMP_FORMAT) : "";
+        String ship = r.getShipType();
+        if (ship == null || ship.isEmpty()) ship = "-";
+        return r.getRun() + ","
+            + MiningTabPanel.csvEscape(asteroid) + ","
+            + MiningTabPanel.csvEscape(tsStr) + ","
+            + MiningTabPanel.csvEscape(material) + ","
+            + formatDouble(r.getPercent()) + ","
+            + formatDouble(r.getBeforeAmount()) + ","
+            + formatDouble(r.getAfterAmount()) + ","
+            + formatDouble(r.getDifference()) + ","
+            + MiningTabPanel.csvEscape(core) + ","
+            + MiningTabPanel.csvEscape(body) + ","
+            + r.getDuds() + ","
+            + MiningTabPanel.csvEscape(commander) + ","
+            + MiningTabPanel.csvEscape(ship) + ","
+            + MiningTabPanel.csvEscape(startStr) + ","
+            + MiningTabPanel.csvEscape(endStr);
+    }
+
+    /**
+     * {@code r} as {@link #loadRows()} will return it once appended ({@code "-"} placeholders, timestamps to the
+     * second), so {@link ProspectorLogMirror} can index new rows without re-reading the file.
+     */
+    static ProspectorLogRow asWritten(ProspectorLogRow r) {
+        return parseCsvDataLine(parseCsvLine(formatCsvLine(r, ZoneId.systemDefault())));
+    }
+
+    Path getCsvPath() {
+        return csvPath;
+    }
+
+    /**
+     * Same text as {@code String.format(Locale.US, "%.2f", v)} (half-up on the shortest decimal form) without a
+     * Formatter per value; NaN is written as {@code 0.00}.
+     */
+    static String formatDouble(double v) {
         if (Double.isNaN(v)) {
             return "0.00";
         }
-        return String.format(Locale.US, "%.2f", v);
+        String s = Double.toString(v);
+        int dot = s.indexOf('.');
+        if (dot < 0 || s.indexOf('E') >= 0) {
+            return String.format(Locale.US, "%.2f", v);
+        }
+        int fracLen = s.length() - dot - 1;
+        if (fracLen == 1) {
+            return s + "0";
+        }
+        if (fracLen == 2) {
+            return s;
+        }
+        int start = s.charAt(0) == '-' ? 1 : 0;
+        char[] d = new char[dot - start + 2];
+        s.getChars(start, dot, d, 0);
+        s.getChars(dot + 1, dot + 3, d, dot - start);
+        boolean carry = s.charAt(dot + 3) >= '5';
+        for (int i = d.length - 1; carry && i >= 0; i--) {
+            if (d[i] == '9') {
+                d[i] = '0';
+            } else {
+                d[i]++;
+                carry = false;
+            }
+        }
+        StringBuilder out = new StringBuilder(d.length + 3);
+        if (start == 1) {
+            out.append('-');
+        }
+        if (carry) {
+            out.append('1');
+        }
+        return out.append(d, 0, d.length - 2).append('.').append(d, d.length - 2, 2).toString();
     }
 
     /** Start time column: index 13 when Ship is present (15+ cols), else 12 (legacy 14-col). */
@@ -158,6 +204,15 @@ public final class LocalCsvBackend implements ProspectorLogBackend {
 
     @Override
     public List<ProspectorLogRow> loadRows() {
+        // Opening the file's writer first finishes a run-end patch a crash interrupted; holding it keeps a patch
+        // from landing halfway through the read.
+        ProspectorCsvFile file = ProspectorCsvFile.forPath(csvPath);
+        synchronized (file) {
+            return readRows();
+        }
+    }
+
+    private List<ProspectorLogRow> readRows() {
         Path readPath = csvPath;
         Path newDefault = defaultPath();
         boolean targetIsAppDefault = csvPath != null
@@ -205,54 +260,9 @@ public final class LocalCsvBackend implements ProspectorLogBackend {
                 String line;
                 while ((line = reader.readLine()) != null) {
                     if (line.trim().isEmpty()) continue;
-                    List<String> cols = parseCsvLine(line);
-                    if (cols.size() < 9) continue;
-                    try {
-                        int run = Integer.parseInt(cols.get(0).trim());
-                        if (run < 1) {
-                            continue;
-                        }
-                        if (cols.size() >= 12) {
-                            String asteroidId = cols.get(1).trim();
-                            Instant ts = parseTimestamp(cols.get(2).trim());
-                            String material = cols.get(3).trim();
-                            double percent = parseDouble(cols.get(4), 0.0);
-                            double before = parseDouble(cols.get(5), 0.0);
-                            double after = parseDouble(cols.get(6), 0.0);
-                            double diff = parseDouble(cols.get(7), 0.0);
-                            String core = cols.get(8).trim();
-                            String fullBodyName = cols.get(9).trim();
-                            int duds = parseInt(cols.get(10), 0);
-                            String commander = cols.get(11).trim();
-                            String shipType = "";
-                            int startIdx = 12;
-                            int endIdx = 13;
-                            if (cols.size() >= 15) {
-                                shipType = cols.get(12).trim();
-                                if ("-".equals(shipType)) {
-                                    shipType = "";
-                                }
-                                startIdx = 13;
-                                endIdx = 14;
-                            }
-                            Instant runStart = (cols.size() > startIdx && cols.get(startIdx) != null && !cols.get(startIdx).trim().isEmpty())
-                                    ? parseTimestamp(cols.get(startIdx).trim()) : null;
-                            Instant runEnd = (cols.size() > endIdx && cols.get(endIdx) != null && !cols.get(endIdx).trim().isEmpty())
-                                    ? parseTimestamp(cols.get(endIdx).trim()) : null;
-                            out.add(new ProspectorLogRow(run, asteroidId, fullBodyName, ts, material, percent, before, after, diff, commander, shipType, core, duds, runStart, runEnd));
-                        } else {
-                            Instant ts = parseTimestamp(cols.get(1).trim());
-                            String material = cols.get(2).trim();
-                            double percent = parseDouble(cols.get(3), 0.0);
-                            double before = parseDouble(cols.get(4), 0.0);
-                            double after = parseDouble(cols.get(5), 0.0);
-                            double diff = parseDouble(cols.get(6), 0.0);
-                            String fullBodyName = cols.get(7).trim();
-                            String commander = cols.get(8).trim();
-                            out.add(new ProspectorLogRow(run, fullBodyName, ts, material, percent, before, after, diff, commander));
-                        }
-                    } catch (Exception e) {
-                        // skip malformed line
+                    ProspectorLogRow row = parseCsvDataLine(parseCsvLine(line));
+                    if (row != null) {
+                        out.add(row);
                     }
                 }
             }
@@ -263,85 +273,142 @@ public final class LocalCsvBackend implements ProspectorLogBackend {
         return out;
     }
 
+    /** Data line of a 9- to 15-column file as a row, or null if malformed or run &lt; 1. */
+    private static ProspectorLogRow parseCsvDataLine(List<String> cols) {
+        if (cols.size() < 9) {
+            return null;
+        }
+        try {
+            int run = Integer.parseInt(cols.get(0).trim());
+            if (run < 1) {
+                return null;
+            }
+            if (cols.size() >= 12) {
+                String asteroidId = cols.get(1).trim();
+                Instant ts = parseTimestamp(cols.get(2).trim());
+                String material = cols.get(3).trim();
+                double percent = parseDouble(cols.get(4), 0.0);
+                double before = parseDouble(cols.get(5), 0.0);
+                double after = parseDouble(cols.get(6), 0.0);
+                double diff = parseDouble(cols.get(7), 0.0);
+                String core = cols.get(8).trim();
+                String fullBodyName = cols.get(9).trim();
+                int duds = parseInt(cols.get(10), 0);
+                String commander = cols.get(11).trim();
+                String shipType = "";
+                int startIdx = 12;
+                int endIdx = 13;
+                if (cols.size() >= 15) {
+                    shipType = cols.get(12).trim();
+                    if ("-".equals(shipType)) {
+                        shipType = "";
+                    }
+                    startIdx = 13;
+                    endIdx = 14;
+                }
+                Instant runStart = (cols.size() > startIdx && cols.get(startIdx) != null && !cols.get(startIdx).trim().isEmpty())
+                        ? parseTimestamp(cols.get(startIdx).trim()) : null;
+                Instant runEnd = (cols.size() > endIdx && cols.get(endIdx) != null && !cols.get(endIdx).trim().isEmpty())
+                        ? parseTimestamp(cols.get(endIdx).trim()) : null;
+                return new ProspectorLogRow(run, asteroidId, fullBodyName, ts, material, percent, before, after, diff, commander, shipType, core, duds, runStart, runEnd);
+            } else {
+                Instant ts = parseTimestamp(cols.get(1).trim());
+                String material = cols.get(2).trim();
+                double percent = parseDouble(cols.get(3), 0.0);
+                double before = parseDouble(cols.get(4), 0.0);
+                double after = parseDouble(cols.get(5), 0.0);
+                double diff = parseDouble(cols.get(6), 0.0);
+                String fullBodyName = cols.get(7).trim();
+                String commander = cols.get(8).trim();
+                return new ProspectorLogRow(run, fullBodyName, ts, material, percent, before, after, diff, commander);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the end time on the canonical row of {@code run} (asteroid {@code A} with a start time, else the first
+     * row with one). Only that row and the rows after it are rewritten, and the file handle is released: docking ends
+     * the mining session.
+     */
     @Override
     public void updateRunEndTime(String commander, int run, Instant endTime) {
         if (endTime == null || !Files.exists(csvPath)) {
             return;
         }
+        ProspectorCsvFile file = ProspectorCsvFile.forPath(csvPath);
         try {
-            List<String> lines = new ArrayList<>();
-            try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
-                String header = reader.readLine();
-                if (header == null) return;
-                lines.add(header);
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    lines.add(line);
-                }
-            }
-            ZoneId zone = ZoneId.systemDefault();
-            String endStr = endTime.atZone(zone).format(TIMESTAMP_FORMAT);
-            String cmdr = commander != null ? commander.trim() : "";
-            int updateLineIndex = -1;
-            for (int li = 1; li < lines.size(); li++) {
-                String line = lines.get(li);
-                if (line.trim().isEmpty()) {
-                    continue;
+            synchronized (file) {
+                CanonicalRunRow target = new CanonicalRunRow(run, commander != null ? commander.trim() : "");
+                file.forEachLine(target);
+                long offset = target.offsetA >= 0 ? target.offsetA : target.offsetAny;
+                if (offset < 0) {
+                    return;
                 }
+                String line = target.offsetA >= 0 ? target.lineA : target.lineAny;
                 List<String> cols = parseCsvLine(line);
-                if (cols.size() < 14) {
-                    continue;
-                }
-                int rowRun = parseInt(cols.get(0).trim(), 0);
-                String rowCommander = cols.get(11).trim();
-                int si = csvRunStartColumnIndex(cols);
-                String rowStart = cols.size() > si ? cols.get(si).trim() : "";
-                String asteroid = cols.get(1).trim();
-                if (rowRun == run && rowCommander.equals(cmdr) && !rowStart.isEmpty()
-                        && "A".equalsIgnoreCase(asteroid)) {
-                    updateLineIndex = li;
-                    break;
-                }
-            }
-            if (updateLineIndex < 0) {
-                for (int li = 1; li < lines.size(); li++) {
-                    String line = lines.get(li);
-                    if (line.trim().isEmpty()) {
-                        continue;
-                    }
-                    List<String> cols = parseCsvLine(line);
-                    if (cols.size() < 14) {
-                        continue;
-                    }
-                    int rowRun = parseInt(cols.get(0).trim(), 0);
-                    String rowCommander = cols.get(11).trim();
-                    int si = csvRunStartColumnIndex(cols);
-                    String rowStart = cols.size() > si ? cols.get(si).trim() : "";
-                    if (rowRun == run && rowCommander.equals(cmdr) && !rowStart.isEmpty()) {
-                        updateLineIndex = li;
-                        break;
-                    }
-                }
-            }
-            if (updateLineIndex >= 0) {
-                List<String> cols = parseCsvLine(lines.get(updateLineIndex));
                 if (cols.size() == 14) {
                     cols.add(12, "");
                 }
                 while (cols.size() < 15) {
                     cols.add("");
                 }
-                cols.set(14, endStr);
-                lines.set(updateLineIndex, buildCsvLine15(cols));
-            }
-            try (BufferedWriter writer = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING)) {
-                for (String l : lines) {
-                    writer.write(l);
-                    writer.write('\n');
-                }
+                cols.set(14, endTime.atZone(ZoneId.systemDefault()).format(TIMESTAMP_FORMAT));
+                file.replaceLine(offset, line, buildCsvLine15(cols));
             }
         } catch (Exception e) {
             // don't break UI; caller may log
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Finds the first data line of a run with a start time for the commander, preferring asteroid {@code A}.
+     */
+    private static final class CanonicalRunRow implements ProspectorCsvFile.LineVisitor {
+        private final int run;
+        private final String commander;
+        private boolean header = true;
+        long offsetA = -1;
+        String lineA;
+        long offsetAny = -1;
+        String lineAny;
+
+        CanonicalRunRow(int run, String commander) {
+            this.run = run;
+            this.commander = commander;
+        }
+
+        @Override
+        public boolean visit(long offset, String line) {
+            if (header) {
+                header = false;
+                return true;
+            }
+            if (line.trim().isEmpty()) {
+                return true;
+            }
+            List<String> cols = parseCsvLine(line);
+            if (cols.size() < 14) {
+                return true;
+            }
+            int si = csvRunStartColumnIndex(cols);
+            String rowStart = cols.size() > si ? cols.get(si).trim() : "";
+            if (parseInt(cols.get(0).trim(), 0) != run || !cols.get(11).trim().equals(commander) || rowStart.isEmpty()) {
+                return true;
+            }
+            if (offsetAny < 0) {
+                offsetAny = offset;
+                lineAny = line;
+            }
+            if ("A".equalsIgnoreCase(cols.get(1).trim())) {
+                offsetA = offset;
+                lineA = line;
+                return false;
+            }
+            return true;
         }
     }
 
@@ -0,0 +1,263 @@
+package org.dce.ed.mining;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Write side of the local prospector CSV ({@link LocalCsvBackend}). One channel per file is opened on the first
+ * append and kept for the mining session (until a run end is written), so a batch of rows is a single write rather
+ * than an open/close per line. A run end patches its line in place: only the bytes from that line to the end of the
+ * file are rewritten, which is the current run's rows, not the whole history.
+ * <p>
+ * Durability follows {@link #FSYNC_PROPERTY}: {@code batch} (default) forces every appended batch and every patch to
+ * disk before returning; {@code none} leaves flushing to the OS. Before a patch touches the CSV, the new tail is
+ * written to a sidecar journal ({@code <csv>.patch}); if the app dies mid-patch, the next use of the file finishes
+ * it, and a torn journal (the CSV not yet touched) is discarded.
+ */
+final class ProspectorCsvFile {
+
+    /** {@code batch} or {@code none}. */
+    static final String FSYNC_PROPERTY = "edo.prospectorCsv.fsync";
+
+    private static final int JOURNAL_MAGIC = 0x45444f50; // "EDOP"
+    private static final Map<Path, ProspectorCsvFile> FILES = new HashMap<>();
+
+    /**
+     * Receives each line of the file (header included) with the byte offset where it starts, without its line
+     * terminator.
+     */
+    @FunctionalInterface
+    interface LineVisitor {
+        /** @return false to stop reading */
+        boolean visit(long offset, String line);
+    }
+
+    private final Path path;
+    private final Path journal;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    private ProspectorCsvFile(Path path) {
+        this.path = path;
+        this.journal = path.resolveSibling(path.getFileName() + ".patch");
+        this.fsync = !"none".equalsIgnoreCase(System.getProperty(FSYNC_PROPERTY, "batch").trim());
+        recoverPatch();
+    }
+
+    static ProspectorCsvFile forPath(Path csv) {
+        Path key = csv.toAbsolutePath().normalize();
+        synchronized (FILES) {
+            return FILES.computeIfAbsent(key, ProspectorCsvFile::new);
+        }
+    }
+
+    /**
+     * Appends {@code lines} in one write, preceded by {@code header} when the file is new or empty.
+     */
+    synchronized void append(String header, List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        FileChannel ch = openLocked();
+        long end = ch.size();
+        StringBuilder sb = new StringBuilder(lines.size() * 128);
+        if (end == 0) {
+            sb.append(header).append('\n');
+        } else if (lastByte(ch, end) != '\n') {
+            sb.append('\n');
+        }
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+        writeFully(ch, ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)), end);
+        if (fsync) {
+            ch.force(false);
+        }
+    }
+
+    /**
+     * Streams the file line by line. Appends and patches wait while this runs.
+     */
+    synchronized void forEachLine(LineVisitor visitor) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            long offset = 0;
+            long lineStart = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b == '\n') {
+                    if (!visitor.visit(lineStart, decodeLine(line))) {
+                        return;
+                    }
+                    line.reset();
+                    lineStart = offset;
+                } else {
+                    line.write(b);
+                }
+            }
+            if (line.size() > 0) {
+                visitor.visit(lineStart, decodeLine(line));
+            }
+        }
+    }
+
+    /**
+     * Replaces the line starting at {@code offset}, keeping its line terminator, if it still reads {@code expected}.
+     * Everything before {@code offset} is left untouched.
+     *
+     * @return false if the file changed and the line no longer matches
+     */
+    synchronized boolean replaceLine(long offset, String expected, String replacement) throws IOException {
+        FileChannel ch = openLocked();
+        long size = ch.size();
+        if (offset < 0 || offset >= size) {
+            return false;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(size - offset));
+        readFully(ch, buf, offset);
+        byte[] old = buf.array();
+        int lineEnd = 0;
+        while (lineEnd < old.length && old[lineEnd] != '\n') {
+            lineEnd++;
+        }
+        int textEnd = lineEnd > 0 && old[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+        if (!new String(old, 0, textEnd, StandardCharsets.UTF_8).equals(expected)) {
+            return false;
+        }
+        byte[] repl = replacement.getBytes(StandardCharsets.UTF_8);
+        byte[] tail = new byte[repl.length + old.length - textEnd];
+        System.arraycopy(repl, 0, tail, 0, repl.length);
+        System.arraycopy(old, textEnd, tail, repl.length, old.length - textEnd);
+        writeJournal(offset, tail);
+        applyTail(ch, offset, tail);
+        Files.deleteIfExists(journal);
+        return true;
+    }
+
+    /**
+     * Releases the channel at the end of a mining session; the next append reopens it.
+     */
+    synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    private FileChannel openLocked() throws IOException {
+        if (channel != null && (!channel.isOpen() || !Files.exists(path))) {
+            // Deleted or replaced behind our back: write to the file now at the path, not the old inode.
+            close();
+        }
+        if (channel == null) {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+
+    private void applyTail(FileChannel ch, long offset, byte[] tail) throws IOException {
+        writeFully(ch, ByteBuffer.wrap(tail), offset);
+        ch.truncate(offset + tail.length);
+        if (fsync) {
+            ch.force(true);
+        }
+    }
+
+    /** Journal layout: magic, offset, length, tail bytes, CRC32 of the tail. */
+    private void writeJournal(long offset, byte[] tail) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4 + 8 + 4 + tail.length + 8);
+        CRC32 crc = new CRC32();
+        crc.update(tail);
+        buf.putInt(JOURNAL_MAGIC).putLong(offset).putInt(tail.length).put(tail).putLong(crc.getValue()).flip();
+        try (FileChannel j = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(j, buf, 0);
+            if (fsync) {
+                j.force(true);
+            }
+        }
+    }
+
+    /**
+     * Finishes a patch interrupted by a crash. A journal that does not check out was never applied, so it is dropped.
+     */
+    private void recoverPatch() {
+        if (!Files.exists(journal)) {
+            return;
+        }
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(journal));
+            if (buf.remaining() >= 16 && buf.getInt() == JOURNAL_MAGIC) {
+                long offset = buf.getLong();
+                int len = buf.getInt();
+                if (len >= 0 && buf.remaining() == len + 8L) {
+                    byte[] tail = new byte[len];
+                    buf.get(tail);
+                    CRC32 crc = new CRC32();
+                    crc.update(tail);
+                    if (crc.getValue() == buf.getLong() && Files.exists(path) && offset <= Files.size(path)) {
+                        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                            applyTail(ch, offset, tail);
+                        }
+                        System.out.println("[EDO][Mining] Completed interrupted prospector CSV update: " + path);
+                    }
+                }
+            }
+            Files.deleteIfExists(journal);
+        } catch (IOException ex) {
+            System.err.println("[EDO][Mining] Could not recover prospector CSV update " + journal + ": " + ex.getMessage());
+        }
+    }
+
+    private static String decodeLine(ByteArrayOutputStream line) {
+        String s = line.toString(StandardCharsets.UTF_8);
+        return s.endsWith("\r") ? s.substring(0, s.length() - 1) : s;
+    }
+
+    private static int lastByte(FileChannel ch, long size) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        readFully(ch, one, size - 1);
+        return one.get(0);
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            pos += ch.write(buf, pos);
+        }
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos);
+            if (n < 0) {
+                throw new IOException("Unexpected end of " + ch);
+            }
+            pos += n;
+        }
+    }
+}
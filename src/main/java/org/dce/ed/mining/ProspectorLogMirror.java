@@ -0,0 +1,776 @@
+package org.dce.ed.mining;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.dce.ed.cache.CacheLocations;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Local SQLite index of the prospector log ({@value #DB_FILE_NAME} in {@link CacheLocations#cacheDataDirectory()}),
+ * so run resolution and asteroid resume read a few indexed rows instead of reloading the whole history on every
+ * prospector event.
+ * <p>
+ * Rows are keyed by (source, worksheet tab, line); for Google Sheets, line {@code n} is sheet row {@code n + 1}.
+ * A Sheets tab is read once per session. After that, upserts and run ends are applied to the local copy (same
+ * matching rules as {@link GoogleSheetsBackend}) and only the changed rows are pushed: in-place edits in one
+ * {@code batchUpdate}, new rows in one append. Rows that fail to push stay queued and go out with the next write,
+ * or are re-applied onto a fresh read of the tab after a restart. The push runs outside the mirror lock on a copy of
+ * the changed rows, one push per tab at a time; rows changed while it is in flight go out right after it. The CSV file is re-read only when its size or
+ * modification time differs from what the last write through this class left behind.
+ * <p>
+ * Only {@link GoogleSheetsBackend} and {@link LocalCsvBackend} are mirrored; {@link #forBackend} returns null for
+ * any other backend (and when the database cannot be opened), and callers keep their direct backend path.
+ */
+public final class ProspectorLogMirror {
+
+    static final String DB_FILE_NAME = "prospector_log.db";
+    private static final String TABLE = "prospector_rows";
+    private static final String TABS_TABLE = "prospector_tabs";
+    /** CSV rows are all in one tab. */
+    private static final String CSV_TAB = "";
+
+    private static final int CLEAN = 0;
+    private static final int DIRTY_UPDATE = 1;
+    private static final int DIRTY_APPEND = 2;
+
+    private static final String COLUMNS = "run, asteroid, full_body, ts_ms, material, percent, before_tons, after_tons, "
+            + "diff, commander, ship, core, duds, start_ms, end_ms";
+    private static final DateTimeFormatter SHEET_TIME_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy H:mm:ss", Locale.US);
+    private static final Gson GSON = new Gson();
+    private static final Type CELLS_TYPE = new TypeToken<List<Object>>() {}.getType();
+
+    private static final Object LOCK = new Object();
+    /** Guarded by {@link #LOCK}. */
+    private static final Map<String, ProspectorLogMirror> MIRRORS = new HashMap<>();
+    /** Guarded by {@link #LOCK}. */
+    private static Connection connection;
+
+    private final String source;
+    /** Most recent backend instance for {@link #source}; guarded by {@link #LOCK}. */
+    private ProspectorLogBackend backend;
+    /** Sheets tabs read this session; guarded by {@link #LOCK}. */
+    private final Set<String> seededTabs = new HashSet<>();
+    /** Sheets tabs with a push in flight; guarded by {@link #LOCK}. */
+    private final Set<String> pushingTabs = new HashSet<>();
+
+    private record StoredLine(int line, List<Object> cells, int dirty) {
+    }
+
+    /**
+     * Copy of the queued rows of one tab taken for a push: sheet row to cells for in-place edits, appended rows in
+     * line order, and the stored cells JSON of every line sent.
+     */
+    private record PendingPush(Map<Integer, List<Object>> changed, List<List<Object>> appended, int firstAppendLine,
+            Map<Integer, String> sentCells) {
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private ProspectorLogMirror(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Mirror for the log {@code backend} writes to, or null if that backend type is not mirrored or the local
+     * database is unavailable.
+     */
+    public static ProspectorLogMirror forBackend(ProspectorLogBackend backend) {
+        String source;
+        if (backend instanceof GoogleSheetsBackend gs) {
+            if (gs.getSpreadsheetId().isEmpty()) {
+                return null;
+            }
+            source = "sheets:" + gs.getSpreadsheetId();
+        } else if (backend instanceof LocalCsvBackend csv) {
+            source = "csv:" + csv.getCsvPath().toAbsolutePath().normalize();
+        } else {
+            return null;
+        }
+        synchronized (LOCK) {
+            try {
+                openLocked();
+            } catch (SQLException ex) {
+                System.err.println("[EDO] Prospector log mirror unavailable: " + ex.getMessage());
+                closeLocked();
+                return null;
+            }
+            ProspectorLogMirror mirror = MIRRORS.computeIfAbsent(source, ProspectorLogMirror::new);
+            mirror.backend = backend;
+            return mirror;
+        }
+    }
+
+    /**
+     * Forces the next use of any tab of this spreadsheet to re-read it (after a renumber or migration rewrote it).
+     */
+    static void forgetSpreadsheet(String spreadsheetId) {
+        synchronized (LOCK) {
+            ProspectorLogMirror mirror = MIRRORS.get("sheets:" + spreadsheetId);
+            if (mirror != null) {
+                mirror.seededTabs.clear();
+            }
+        }
+    }
+
+    /**
+     * The rows {@link MiningRunNumberResolver#compute} needs for this commander and location, in timestamp order:
+     * rows with a run start or end, rows of the commander's highest run, and the latest row at the location.
+     * Gives the same answer as passing the commander's full log. Null if the log could not be read.
+     */
+    public List<ProspectorLogRow> rowsForRunResolution(String commander, String system, String body) {
+        String cmdr = MiningRunNumberResolver.normalizeCommander(commander);
+        String scope = "source = ? AND tab = ? AND valid = 1 AND cmdr_key = ?";
+        String sql = "SELECT " + COLUMNS + " FROM " + TABLE + " WHERE " + scope
+                + " AND (start_ms IS NOT NULL OR end_ms IS NOT NULL"
+                + " OR run = (SELECT MAX(run) FROM " + TABLE + " WHERE " + scope + ")"
+                + " OR line = (SELECT line FROM " + TABLE + " WHERE " + scope
+                + " AND loc_system = ? AND loc_body = ? AND ts_ms IS NOT NULL ORDER BY ts_ms DESC, line LIMIT 1))"
+                + " ORDER BY ts_ms IS NULL, ts_ms, line";
+        synchronized (LOCK) {
+            String tab = tabFor(cmdr);
+            try {
+                ensureSeededLocked(tab);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int i = 1;
+                    for (int k = 0; k < 3; k++) {
+                        ps.setString(i++, source);
+                        ps.setString(i++, tab);
+                        ps.setString(i++, cmdr);
+                    }
+                    ps.setString(i++, system);
+                    ps.setString(i, body);
+                    return readRows(ps);
+                }
+            } catch (SQLException ex) {
+                dropLocked("read", ex);
+                return null;
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Every row of {@code run} in the commander's tab (the whole CSV log for the CSV backend), in line order.
+     * Null if the log could not be read.
+     */
+    public List<ProspectorLogRow> rowsForRun(String commander, int run) {
+        synchronized (LOCK) {
+            String tab = tabFor(MiningRunNumberResolver.normalizeCommander(commander));
+            try {
+                ensureSeededLocked(tab);
+                try (PreparedStatement ps = connection.prepareStatement("SELECT " + COLUMNS + " FROM " + TABLE
+                        + " WHERE source = ? AND tab = ? AND valid = 1 AND run = ? ORDER BY line")) {
+                    ps.setString(1, source);
+                    ps.setString(2, tab);
+                    ps.setInt(3, run);
+                    return readRows(ps);
+                }
+            } catch (SQLException ex) {
+                dropLocked("read", ex);
+                return null;
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Google Sheets: upserts {@code rows} into the tab of the first row's commander and pushes the changes.
+     * CSV: appends them. Rows stay queued locally when the Sheets push fails.
+     */
+    public ProspectorWriteResult write(List<ProspectorLogRow> rows) {
+        List<ProspectorLogRow> batch = new ArrayList<>();
+        if (rows != null) {
+            for (ProspectorLogRow r : rows) {
+                if (r != null) {
+                    batch.add(r);
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return ProspectorWriteResult.ok();
+        }
+        GoogleSheetsBackend gs;
+        String tab = MiningSheetTitles.sheetTitleForCommander(batch.get(0).getCommanderName());
+        boolean mirrored;
+        synchronized (LOCK) {
+            if (!(backend instanceof GoogleSheetsBackend sheets)) {
+                return appendCsvLocked((LocalCsvBackend) backend, batch);
+            }
+            gs = sheets;
+            try {
+                ensureSeededLocked(tab);
+                inTransactionLocked(() -> {
+                    for (ProspectorLogRow r : batch) {
+                        upsertLocalLocked(tab, r);
+                    }
+                });
+                mirrored = true;
+            } catch (SQLException ex) {
+                dropLocked("write", ex);
+                mirrored = false;
+            } catch (Exception ex) {
+                return ProspectorWriteResult.failure(GoogleSheetsBackend.truncateMsg(ex.getMessage()), ex);
+            }
+        }
+        ProspectorWriteResult pushed = mirrored ? push(gs, tab) : null;
+        return pushed != null ? pushed : gs.upsertRowsResult(batch);
+    }
+
+    /**
+     * Writes the end time of {@code run} on its canonical row (see {@link ProspectorMiningLogPolicy}).
+     */
+    public ProspectorWriteResult setRunEnd(String commander, int run, Instant endTime) {
+        if (endTime == null) {
+            return ProspectorWriteResult.ok();
+        }
+        GoogleSheetsBackend gs;
+        String tab = MiningSheetTitles.sheetTitleForCommander(commander);
+        boolean mirrored;
+        synchronized (LOCK) {
+            if (!(backend instanceof GoogleSheetsBackend sheets)) {
+                // The backend rewrites the file, so its stamp changes and the next read re-indexes it.
+                try {
+                    backend.updateRunEndTime(commander, run, endTime);
+                    return ProspectorWriteResult.ok();
+                } catch (RuntimeException ex) {
+                    return ProspectorWriteResult.failure(ex.getMessage(), ex);
+                }
+            }
+            gs = sheets;
+            try {
+                ensureSeededLocked(tab);
+                List<StoredLine> candidates = candidatesLocked(tab, run);
+                List<List<Object>> values = valuesOf(candidates);
+                int idx = GoogleSheetsBackend.setRunEndInSheetValues(values, commander, run, endTime,
+                        ZoneId.systemDefault(), SHEET_TIME_FORMAT);
+                if (idx > 0) {
+                    StoredLine c = candidates.get(idx - 1);
+                    putLocked(tab, c.line(), values.get(idx), Math.max(c.dirty(), DIRTY_UPDATE));
+                }
+                mirrored = true;
+            } catch (SQLException ex) {
+                dropLocked("write", ex);
+                mirrored = false;
+            } catch (Exception ex) {
+                return ProspectorWriteResult.failure(GoogleSheetsBackend.truncateMsg(ex.getMessage()), ex);
+            }
+        }
+        ProspectorWriteResult pushed = mirrored ? push(gs, tab) : null;
+        return pushed != null ? pushed : gs.updateRunEndTimeResult(commander, run, endTime);
+    }
+
+    private String tabFor(String commander) {
+        return backend instanceof GoogleSheetsBackend ? MiningSheetTitles.sheetTitleForCommander(commander) : CSV_TAB;
+    }
+
+    private ProspectorWriteResult appendCsvLocked(LocalCsvBackend csv, List<ProspectorLogRow> rows) {
+        boolean indexed;
+        try {
+            ensureSeededLocked(CSV_TAB);
+            indexed = true;
+        } catch (Exception ex) {
+            indexed = false;
+        }
+        try {
+            csv.appendRows(rows);
+        } catch (RuntimeException ex) {
+            return ProspectorWriteResult.failure(ex.getMessage(), ex);
+        }
+        if (indexed) {
+            try {
+                inTransactionLocked(() -> {
+                    int line = maxLineLocked(CSV_TAB);
+                    for (ProspectorLogRow r : rows) {
+                        ProspectorLogRow stored = LocalCsvBackend.asWritten(r);
+                        if (stored != null) {
+                            insertLocked(CSV_TAB, ++line, stored, null, CLEAN);
+                        }
+                    }
+                    setStampLocked(CSV_TAB, csvStamp(csv.getCsvPath()));
+                });
+            } catch (SQLException ex) {
+                dropLocked("write", ex);
+            }
+        }
+        return ProspectorWriteResult.ok();
+    }
+
+    /**
+     * Loads {@code tab} from the backend unless it is current: Sheets tabs once per session, the CSV file whenever
+     * its stamp changed. Rows still queued for Sheets are re-applied on top of the fresh read.
+     */
+    private void ensureSeededLocked(String tab) throws Exception {
+        openLocked();
+        if (backend instanceof GoogleSheetsBackend gs) {
+            if (seededTabs.contains(tab)) {
+                return;
+            }
+            List<List<Object>> values = gs.readSheetValues(tab);
+            List<ProspectorLogRow> queued = queuedRowsLocked(tab);
+            inTransactionLocked(() -> {
+                deleteTabLocked(tab);
+                for (int i = 1; i < values.size(); i++) {
+                    List<Object> cells = values.get(i) != null ? values.get(i) : new ArrayList<>();
+                    putLocked(tab, i, cells, CLEAN);
+                }
+                for (ProspectorLogRow r : queued) {
+                    upsertLocalLocked(tab, r);
+                }
+            });
+            seededTabs.add(tab);
+            return;
+        }
+        LocalCsvBackend csv = (LocalCsvBackend) backend;
+        String stamp = csvStamp(csv.getCsvPath());
+        if (stamp.equals(stampLocked(tab))) {
+            return;
+        }
+        List<ProspectorLogRow> rows = csv.loadRows();
+        inTransactionLocked(() -> {
+            deleteTabLocked(tab);
+            int line = 0;
+            for (ProspectorLogRow r : rows) {
+                if (r != null) {
+                    insertLocked(tab, ++line, r, null, CLEAN);
+                }
+            }
+            setStampLocked(tab, stamp);
+        });
+    }
+
+    /**
+     * Applies one upsert to the stored rows of the same run, exactly as {@link GoogleSheetsBackend#upsertRowsResult}
+     * would to the whole tab (only rows of that run can match).
+     */
+    private void upsertLocalLocked(String tab, ProspectorLogRow r) throws SQLException {
+        List<StoredLine> candidates = candidatesLocked(tab, r.getRun());
+        List<List<Object>> values = valuesOf(candidates);
+        int idx = GoogleSheetsBackend.upsertIntoSheetValues(values, r, ZoneId.systemDefault(), SHEET_TIME_FORMAT);
+        if (idx <= candidates.size()) {
+            StoredLine c = candidates.get(idx - 1);
+            putLocked(tab, c.line(), values.get(idx), Math.max(c.dirty(), DIRTY_UPDATE));
+        } else {
+            putLocked(tab, maxLineLocked(tab) + 1, values.get(idx), DIRTY_APPEND);
+        }
+    }
+
+    /**
+     * Sends queued rows of {@code tab} to Sheets and marks them clean. Called without {@link #LOCK}: the rows are
+     * copied under the lock, sent without it, and only lines whose cells did not change meanwhile are marked clean
+     * (an appended line that changed stays queued as an in-place edit). If another push of the tab is in flight,
+     * that one sends these rows too. If the append landed somewhere other than the line numbers assigned locally,
+     * the sheet changed underneath us and the tab is re-read on next use.
+     *
+     * @return the push result, or null if the local database failed and the caller should write directly
+     */
+    private ProspectorWriteResult push(GoogleSheetsBackend gs, String tab) {
+        while (true) {
+            PendingPush p;
+            synchronized (LOCK) {
+                if (!pushingTabs.add(tab)) {
+                    return ProspectorWriteResult.ok();
+                }
+                try {
+                    openLocked();
+                    p = pendingPushLocked(tab);
+                } catch (SQLException ex) {
+                    pushingTabs.remove(tab);
+                    dropLocked("write", ex);
+                    return null;
+                }
+                if (p == null) {
+                    pushingTabs.remove(tab);
+                    return ProspectorWriteResult.ok();
+                }
+            }
+            int firstRow;
+            try {
+                firstRow = gs.writeSheetRows(tab, p.changed(), p.appended());
+            } catch (Exception ex) {
+                synchronized (LOCK) {
+                    pushingTabs.remove(tab);
+                    if (GoogleSheetsBackend.sheetErrorSuggestsMissingWorksheet(ex.getMessage())) {
+                        seededTabs.remove(tab);
+                    }
+                }
+                return ProspectorWriteResult.failure(GoogleSheetsBackend.truncateMsg(ex.getMessage()), ex);
+            }
+            synchronized (LOCK) {
+                pushingTabs.remove(tab);
+                if (p.firstAppendLine() >= 0 && firstRow != p.firstAppendLine() + 1) {
+                    seededTabs.remove(tab);
+                }
+                try {
+                    openLocked();
+                    markPushedLocked(tab, p.sentCells());
+                } catch (SQLException ex) {
+                    // The rows reached the sheet; a fresh read of the tab replaces the stale local copy.
+                    dropLocked("write", ex);
+                    return ProspectorWriteResult.ok();
+                }
+            }
+            // Loop: rows queued while the push was in flight go out now.
+        }
+    }
+
+    /** Copy of the queued rows of {@code tab}, or null if there are none. */
+    private PendingPush pendingPushLocked(String tab) throws SQLException {
+        Map<Integer, List<Object>> changed = new LinkedHashMap<>();
+        List<List<Object>> appended = new ArrayList<>();
+        Map<Integer, String> sentCells = new HashMap<>();
+        int firstAppendLine = -1;
+        try (PreparedStatement ps = connection.prepareStatement("SELECT line, cells, dirty FROM " + TABLE
+                + " WHERE source = ? AND tab = ? AND dirty > 0 ORDER BY line")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int line = rs.getInt(1);
+                    String json = rs.getString(2);
+                    List<Object> cells = parseCells(json);
+                    if (rs.getInt(3) == DIRTY_APPEND) {
+                        if (firstAppendLine < 0) {
+                            firstAppendLine = line;
+                        }
+                        appended.add(cells);
+                    } else {
+                        changed.put(line + 1, cells);
+                    }
+                    sentCells.put(line, json);
+                }
+            }
+        }
+        if (sentCells.isEmpty()) {
+            return null;
+        }
+        return new PendingPush(changed, appended, firstAppendLine, sentCells);
+    }
+
+    /**
+     * Marks the pushed lines clean, except lines whose cells changed since {@link #pendingPushLocked}: those now
+     * exist in the sheet and stay queued as in-place edits.
+     */
+    private void markPushedLocked(String tab, Map<Integer, String> sentCells) throws SQLException {
+        inTransactionLocked(() -> {
+            try (PreparedStatement ps = connection.prepareStatement("UPDATE " + TABLE
+                    + " SET dirty = CASE WHEN cells IS ? THEN " + CLEAN + " ELSE " + DIRTY_UPDATE + " END"
+                    + " WHERE source = ? AND tab = ? AND line = ? AND dirty > 0")) {
+                for (Map.Entry<Integer, String> e : sentCells.entrySet()) {
+                    ps.setString(1, e.getValue());
+                    ps.setString(2, source);
+                    ps.setString(3, tab);
+                    ps.setInt(4, e.getKey());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private List<StoredLine> candidatesLocked(String tab, int run) throws SQLException {
+        List<StoredLine> out = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT line, cells, dirty FROM " + TABLE
+                + " WHERE source = ? AND tab = ? AND run = ? ORDER BY line")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            ps.setInt(3, run);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new StoredLine(rs.getInt(1), parseCells(rs.getString(2)), rs.getInt(3)));
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Sheet values for {@code candidates}: an empty header row, then one row per candidate. */
+    private static List<List<Object>> valuesOf(List<StoredLine> candidates) {
+        List<List<Object>> values = new ArrayList<>(candidates.size() + 1);
+        values.add(new ArrayList<>());
+        for (StoredLine c : candidates) {
+            values.add(new ArrayList<>(c.cells()));
+        }
+        return values;
+    }
+
+    /** Queued Sheets rows of {@code tab}, in line order. */
+    private List<ProspectorLogRow> queuedRowsLocked(String tab) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT " + COLUMNS + " FROM " + TABLE
+                + " WHERE source = ? AND tab = ? AND valid = 1 AND dirty > 0 ORDER BY line")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            return readRows(ps);
+        }
+    }
+
+    private int maxLineLocked(String tab) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT COALESCE(MAX(line), 0) FROM " + TABLE + " WHERE source = ? AND tab = ?")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /** Stores one sheet row, indexed by the row {@link GoogleSheetsBackend#parseSheetDataRows} reads from it. */
+    private void putLocked(String tab, int line, List<Object> cells, int dirty) throws SQLException {
+        List<List<Object>> one = new ArrayList<>(2);
+        one.add(new ArrayList<>());
+        one.add(cells);
+        List<ProspectorLogRow> parsed = GoogleSheetsBackend.parseSheetDataRows(one, tab);
+        if (!parsed.isEmpty()) {
+            insertLocked(tab, line, parsed.get(0), GSON.toJson(cells), dirty);
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement("INSERT OR REPLACE INTO " + TABLE
+                + " (source, tab, line, valid, run, cells, dirty) VALUES (?, ?, ?, 0, ?, ?, ?)")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            ps.setInt(3, line);
+            ps.setInt(4, cells.isEmpty() ? 0 : GoogleSheetsBackend.parseInt(cells.get(0), 0));
+            ps.setString(5, GSON.toJson(cells));
+            ps.setInt(6, dirty);
+            ps.executeUpdate();
+        }
+    }
+
+    private void insertLocked(String tab, int line, ProspectorLogRow r, String cellsJson, int dirty) throws SQLException {
+        String[] location = resolverLocation(r.getFullBodyName());
+        try (PreparedStatement ps = connection.prepareStatement("INSERT OR REPLACE INTO " + TABLE
+                + " (source, tab, line, valid, " + COLUMNS + ", cmdr_key, loc_system, loc_body, cells, dirty)"
+                + " VALUES (?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int i = 1;
+            ps.setString(i++, source);
+            ps.setString(i++, tab);
+            ps.setInt(i++, line);
+            ps.setInt(i++, r.getRun());
+            ps.setString(i++, r.getAsteroidId());
+            ps.setString(i++, r.getFullBodyName());
+            setInstant(ps, i++, r.getTimestamp());
+            ps.setString(i++, r.getMaterial());
+            ps.setDouble(i++, r.getPercent());
+            ps.setDouble(i++, r.getBeforeAmount());
+            ps.setDouble(i++, r.getAfterAmount());
+            ps.setDouble(i++, r.getDifference());
+            ps.setString(i++, r.getCommanderName());
+            ps.setString(i++, r.getShipType());
+            ps.setString(i++, r.getCoreType());
+            ps.setInt(i++, r.getDuds());
+            setInstant(ps, i++, r.getRunStartTime());
+            setInstant(ps, i++, r.getRunEndTime());
+            ps.setString(i++, MiningRunNumberResolver.normalizeCommander(r.getCommanderName()));
+            ps.setString(i++, location[0]);
+            ps.setString(i++, location[1]);
+            ps.setString(i++, cellsJson);
+            ps.setInt(i, dirty);
+            ps.executeUpdate();
+        }
+    }
+
+    /** System and body as {@link MiningRunNumberResolver#compute} splits a full body name. */
+    private static String[] resolverLocation(String fullBodyName) {
+        if (fullBodyName == null || fullBodyName.isBlank()) {
+            return new String[] {"", ""};
+        }
+        String[] parts = fullBodyName.split(">");
+        if (parts.length == 2) {
+            return new String[] {parts[0].trim(), parts[1].trim()};
+        }
+        return new String[] {"", fullBodyName.trim()};
+    }
+
+    private static List<ProspectorLogRow> readRows(PreparedStatement ps) throws SQLException {
+        List<ProspectorLogRow> out = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                out.add(new ProspectorLogRow(rs.getInt(1), rs.getString(2), rs.getString(3), getInstant(rs, 4),
+                        rs.getString(5), rs.getDouble(6), rs.getDouble(7), rs.getDouble(8), rs.getDouble(9),
+                        rs.getString(10), rs.getString(11), rs.getString(12), rs.getInt(13), getInstant(rs, 14),
+                        getInstant(rs, 15)));
+            }
+        }
+        return out;
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant t) throws SQLException {
+        if (t != null) {
+            ps.setLong(index, t.toEpochMilli());
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static Instant getInstant(ResultSet rs, int index) throws SQLException {
+        long ms = rs.getLong(index);
+        return rs.wasNull() ? null : Instant.ofEpochMilli(ms);
+    }
+
+    private static List<Object> parseCells(String json) {
+        List<Object> cells = json != null ? GSON.fromJson(json, CELLS_TYPE) : null;
+        return cells != null ? cells : new ArrayList<>();
+    }
+
+    private static String csvStamp(Path csv) {
+        try {
+            return Files.size(csv) + ":" + Files.getLastModifiedTime(csv).toMillis();
+        } catch (IOException ex) {
+            return "missing";
+        }
+    }
+
+    private String stampLocked(String tab) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT stamp FROM " + TABS_TABLE + " WHERE source = ? AND tab = ?")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private void setStampLocked(String tab, String stamp) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT OR REPLACE INTO " + TABS_TABLE + " (source, tab, stamp) VALUES (?, ?, ?)")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            ps.setString(3, stamp);
+            ps.executeUpdate();
+        }
+    }
+
+    private void deleteTabLocked(String tab) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM " + TABLE + " WHERE source = ? AND tab = ?")) {
+            ps.setString(1, source);
+            ps.setString(2, tab);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void inTransactionLocked(SqlWork work) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Logs a local database failure, closes the connection (the next call reopens it) and re-reads this source's
+     * tabs on next use.
+     */
+    private void dropLocked(String what, SQLException ex) {
+        System.err.println("[EDO] Prospector log mirror " + what + " failed: " + ex.getMessage());
+        closeLocked();
+        seededTabs.clear();
+    }
+
+    private static void openLocked() throws SQLException {
+        if (connection != null) {
+            return;
+        }
+        Path dbPath = CacheLocations.cacheDataDirectory().resolve(DB_FILE_NAME);
+        try {
+            Files.createDirectories(dbPath.getParent());
+        } catch (IOException ex) {
+            throw new SQLException("Cannot create " + dbPath.getParent() + ": " + ex.getMessage(), ex);
+        }
+        Connection c = DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath());
+        try {
+            ensureTables(c);
+        } catch (SQLException ex) {
+            c.close();
+            throw ex;
+        }
+        connection = c;
+    }
+
+    private static void closeLocked() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+        connection = null;
+    }
+
+    private static void ensureTables(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "source TEXT NOT NULL,"
+                    + "tab TEXT NOT NULL,"
+                    + "line INTEGER NOT NULL,"
+                    + "valid INTEGER NOT NULL,"
+                    + "run INTEGER NOT NULL,"
+                    + "asteroid TEXT,"
+                    + "full_body TEXT,"
+                    + "ts_ms INTEGER,"
+                    + "material TEXT,"
+                    + "percent REAL,"
+                    + "before_tons REAL,"
+                    + "after_tons REAL,"
+                    + "diff REAL,"
+                    + "commander TEXT,"
+                    + "ship TEXT,"
+                    + "core TEXT,"
+                    + "duds INTEGER,"
+                    + "start_ms INTEGER,"
+                    + "end_ms INTEGER,"
+                    + "cmdr_key TEXT,"
+                    + "loc_system TEXT,"
+                    + "loc_body TEXT,"
+                    + "cells TEXT,"
+                    + "dirty INTEGER NOT NULL DEFAULT 0,"
+                    + "PRIMARY KEY (source, tab, line)"
+                    + ")");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS " + TABLE + "_run ON " + TABLE + " (source, tab, run)");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS " + TABLE + "_location ON " + TABLE
+                    + " (source, tab, cmdr_key, loc_system, loc_body, ts_ms)");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS " + TABLE + "_dirty ON " + TABLE + " (source, tab, dirty)");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS " + TABS_TABLE + " ("
+                    + "source TEXT NOT NULL,"
+                    + "tab TEXT NOT NULL,"
+                    + "stamp TEXT,"
+                    + "PRIMARY KEY (source, tab)"
+                    + ")");
+            st.executeUpdate("PRAGMA journal_mode=WAL");
+        }
+    }
+}
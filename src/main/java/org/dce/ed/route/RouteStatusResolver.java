@@ -0,0 +1,203 @@
+package org.dce.ed.route;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Schedules per-system lookups for route rows (local cache, then EDSM bodies) on a shared executor with at most
+ * {@code maxConcurrent} running, instead of a thread per row per scroll.
+ * <p>
+ * Rows in the viewport go first: {@link #prioritize(List)} replaces the visible set, and anything that scrolled
+ * out of view waits behind it with the {@link #request(RouteEntry) background} work (e.g. hops behind the current
+ * system). Each system is looked up once; a failed lookup (null result) may be requested again. Coordinates are
+ * collected by {@link #requestCoords(String)} and fetched {@value #COORDS_BATCH} names per call.
+ * <p>
+ * Callbacks run on the executor thread; marshal to the EDT there if needed. No Swing.
+ */
+public final class RouteStatusResolver<R> {
+
+    /** Max system names per coordinate request. */
+    static final int COORDS_BATCH = 50;
+
+    /** Identity of a route system; address when known, else name. */
+    public record SystemKey(long address, String name) {
+
+        public static SystemKey of(RouteEntry e) {
+            return e.systemAddress != 0L ? new SystemKey(e.systemAddress, null) : new SystemKey(0L, e.systemName);
+        }
+    }
+
+    private final Executor executor;
+    private final int maxConcurrent;
+    private final Function<SystemLookup, R> lookup;
+    private final BiConsumer<SystemLookup, R> onResolved;
+    private final Function<List<String>, Map<String, Double[]>> coordsLookup;
+    private final Consumer<Map<String, Double[]>> onCoords;
+
+    private LinkedHashSet<SystemKey> visible = new LinkedHashSet<>();
+    private final LinkedHashSet<SystemKey> background = new LinkedHashSet<>();
+    private final Map<SystemKey, String> names = new HashMap<>();
+    private final Set<SystemKey> inFlight = new HashSet<>();
+    private final Set<SystemKey> done = new HashSet<>();
+    private int running;
+
+    private final LinkedHashSet<String> pendingCoords = new LinkedHashSet<>();
+    private final Set<String> coordsRequested = new HashSet<>();
+    private boolean coordsScheduled;
+
+    /** One scheduled lookup: the key plus the system name to query. */
+    public record SystemLookup(SystemKey key, String systemName) {
+    }
+
+    public RouteStatusResolver(Executor executor, int maxConcurrent,
+            Function<SystemLookup, R> lookup, BiConsumer<SystemLookup, R> onResolved,
+            Function<List<String>, Map<String, Double[]>> coordsLookup, Consumer<Map<String, Double[]>> onCoords) {
+        this.executor = executor;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.lookup = lookup;
+        this.onResolved = onResolved;
+        this.coordsLookup = coordsLookup;
+        this.onCoords = onCoords;
+    }
+
+    /**
+     * Makes {@code rows} (viewport order) the next lookups to run. Previously visible rows still waiting move
+     * behind them.
+     */
+    public synchronized void prioritize(List<RouteEntry> rows) {
+        LinkedHashSet<SystemKey> next = new LinkedHashSet<>();
+        for (RouteEntry e : rows) {
+            SystemKey key = remember(e);
+            if (key != null && isOpen(key)) {
+                next.add(key);
+                background.remove(key);
+            }
+        }
+        for (SystemKey old : visible) {
+            if (!next.contains(old)) {
+                background.add(old);
+            }
+        }
+        visible = next;
+        pump();
+    }
+
+    /** Queues {@code row} behind the visible rows. */
+    public synchronized void request(RouteEntry row) {
+        SystemKey key = remember(row);
+        if (key != null && isOpen(key) && !visible.contains(key)) {
+            background.add(key);
+            pump();
+        }
+    }
+
+    /** Queues a coordinate lookup for {@code systemName}; names already asked for are skipped. */
+    public synchronized void requestCoords(String systemName) {
+        if (systemName == null || systemName.isBlank() || !coordsRequested.add(systemName)) {
+            return;
+        }
+        pendingCoords.add(systemName);
+        if (!coordsScheduled) {
+            coordsScheduled = true;
+            executor.execute(this::flushCoords);
+        }
+    }
+
+    synchronized int queuedCount() {
+        return visible.size() + background.size();
+    }
+
+    private SystemKey remember(RouteEntry e) {
+        if (e == null || (e.systemAddress == 0L && (e.systemName == null || e.systemName.isBlank()))) {
+            return null;
+        }
+        SystemKey key = SystemKey.of(e);
+        if (e.systemName != null) {
+            names.put(key, e.systemName);
+        }
+        return key;
+    }
+
+    private boolean isOpen(SystemKey key) {
+        return !done.contains(key) && !inFlight.contains(key);
+    }
+
+    private void pump() {
+        while (running < maxConcurrent) {
+            SystemKey next = poll(visible);
+            if (next == null) {
+                next = poll(background);
+            }
+            if (next == null) {
+                return;
+            }
+            running++;
+            inFlight.add(next);
+            SystemLookup job = new SystemLookup(next, names.get(next));
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private static SystemKey poll(LinkedHashSet<SystemKey> queue) {
+        Iterator<SystemKey> it = queue.iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        SystemKey k = it.next();
+        it.remove();
+        return k;
+    }
+
+    private void run(SystemLookup job) {
+        R result = null;
+        try {
+            result = lookup.apply(job);
+        } catch (RuntimeException ex) {
+            System.err.println("[EDO] Route status lookup failed for " + job.systemName() + ": " + ex.getMessage());
+        }
+        synchronized (this) {
+            running--;
+            inFlight.remove(job.key());
+            if (result != null) {
+                done.add(job.key());
+            }
+            pump();
+        }
+        onResolved.accept(job, result);
+    }
+
+    private void flushCoords() {
+        List<String> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pendingCoords);
+            pendingCoords.clear();
+            coordsScheduled = false;
+        }
+        for (int i = 0; i < batch.size(); i += COORDS_BATCH) {
+            List<String> part = batch.subList(i, Math.min(batch.size(), i + COORDS_BATCH));
+            Map<String, Double[]> found = null;
+            try {
+                found = coordsLookup.apply(part);
+            } catch (RuntimeException ex) {
+                System.err.println("[EDO] Route coordinate lookup failed: " + ex.getMessage());
+            }
+            if (found == null) {
+                synchronized (this) {
+                    coordsRequested.removeAll(part);
+                }
+            } else if (!found.isEmpty()) {
+                onCoords.accept(found);
+            }
+        }
+    }
+}
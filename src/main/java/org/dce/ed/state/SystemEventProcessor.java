@@ -148,11 +148,12 @@ public class SystemEventProcessor {
 
     private void applySystemClassifiersToAllBodies() {
         String nebulaTag = NebulaGuardianClassifier.determineNebulaTag(
+                state.getSystemAddress(),
                 state.getSystemName(),
                 state.getStarPos(),
                 "all");
 
-        boolean guardian = NebulaGuardianClassifier.isGuardianSystem(state.getStarPos());
+        boolean guardian = NebulaGuardianClassifier.isGuardianSystem(state.getSystemAddress(), state.getStarPos());
 
         for (BodyInfo b : state.getBodies().values()) {
             b.setNebula(nebulaTag);
@@ -166,11 +167,12 @@ public class SystemEventProcessor {
         }
 
         String nebulaTag = NebulaGuardianClassifier.determineNebulaTag(
+                state.getSystemAddress(),
                 state.getSystemName(),
                 state.getStarPos(),
                 "all");
 
-        boolean guardian = NebulaGuardianClassifier.isGuardianSystem(state.getStarPos());
+        boolean guardian = NebulaGuardianClassifier.isGuardianSystem(state.getSystemAddress(), state.getStarPos());
 
         b.setNebula(nebulaTag);
         b.setGuardianSystem(Boolean.valueOf(guardian));
@@ -25,9 +25,9 @@ public class SystemState {
      * Exobiology running total (expected credits, unsold).
      *
      * This is a global "session across systems" number, persisted via the system cache
-     * so the toolbar survives tool restarts and reboots.
+     * so the toolbar survives tool restarts and reboots. Written by the overlay's credit tracker thread.
      */
-    private Long exobiologyCreditsTotalUnsold;
+    private volatile Long exobiologyCreditsTotalUnsold;
 
     private boolean visitedByMe;
     /**
@@ -58,7 +58,9 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import org.dce.ed.cache.CachedSystemCodec;
 import org.dce.ed.cache.SystemCache;
+import org.dce.ed.cache.SystemCacheIndex;
 
 /**
  * Minimal in-process SQLite browser (HSQL Database Manager–style layout):
@@ -387,11 +389,11 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
                 String payload = resolvePayloadJsonFromRow(modelRow);
                 distItem.setEnabled(pos != null);
                 distItem.setToolTipText(pos == null
-                        ? "Need star position: payload_json, system_address / cache_key / canonical_name, or x,y,z columns"
+                        ? "Need star position: payload, system_address / cache_key / canonical_name, or x,y,z columns"
                         : null);
                 payloadItem.setEnabled(payload != null);
                 payloadItem.setToolTipText(payload == null
-                        ? "Need payload_json or a systems table key column to load JSON"
+                        ? "Need payload / payload_json or a systems table key column to load JSON"
                         : null);
                 popup.show(e.getComponent(), e.getX(), e.getY());
             }
@@ -458,37 +460,12 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
             JOptionPane.showMessageDialog(this, "No database connection.", "Query by distance", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        final double r2 = radiusLy * radiusLy;
-        final String sql = ""
-                + "SELECT cache_key, system_name, x, y, z, dist_sq\n"
-                + "FROM (\n"
-                + "  SELECT cache_key, system_name,\n"
-                + "    json_extract(payload_json, '$.starPos[0]') AS x,\n"
-                + "    json_extract(payload_json, '$.starPos[1]') AS y,\n"
-                + "    json_extract(payload_json, '$.starPos[2]') AS z,\n"
-                + "    ((json_extract(payload_json, '$.starPos[0]') - ?) * (json_extract(payload_json, '$.starPos[0]') - ?) +\n"
-                + "     (json_extract(payload_json, '$.starPos[1]') - ?) * (json_extract(payload_json, '$.starPos[1]') - ?) +\n"
-                + "     (json_extract(payload_json, '$.starPos[2]') - ?) * (json_extract(payload_json, '$.starPos[2]') - ?)) AS dist_sq\n"
-                + "  FROM systems\n"
-                + "  WHERE json_extract(payload_json, '$.starPos[0]') IS NOT NULL\n"
-                + "    AND json_extract(payload_json, '$.starPos[1]') IS NOT NULL\n"
-                + "    AND json_extract(payload_json, '$.starPos[2]') IS NOT NULL\n"
-                + ") t\n"
-                + "WHERE t.dist_sq <= ?\n"
-                + "ORDER BY t.dist_sq\n"
-                + "LIMIT 5000";
         statusLabel.setText("Running distance query…");
         new SwingWorker<Void, Void>() {
             @Override
             protected Void doInBackground() throws Exception {
-                try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                    ps.setDouble(1, x0);
-                    ps.setDouble(2, x0);
-                    ps.setDouble(3, y0);
-                    ps.setDouble(4, y0);
-                    ps.setDouble(5, z0);
-                    ps.setDouble(6, z0);
-                    ps.setDouble(7, r2);
+                // R*Tree lookup on systems.x/y/z (see SystemCacheIndex) instead of json_extract per row.
+                try (PreparedStatement ps = SystemCacheIndex.prepareRadiusQuery(connection, x0, y0, z0, radiusLy, 5000)) {
                     try (ResultSet rs = ps.executeQuery()) {
                         buildTableFromResultSet(rs);
                     }
@@ -552,6 +529,14 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
         for (int c = 0; c < n; c++) {
             names.add(resultModel.getColumnName(c));
         }
+        int pb = findColumnIndex(names, "payload");
+        if (pb >= 0 && resultModel.getValueAt(modelRow, pb) instanceof byte[] blob
+                && CachedSystemCodec.isEncoded(blob)) {
+            try {
+                return CachedSystemCodec.toJson(blob);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
         int pj = findColumnIndex(names, "payload_json");
         if (pj >= 0) {
             Object v = resultModel.getValueAt(modelRow, pj);
@@ -587,6 +572,21 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
         return null;
     }
 
+    /**
+     * JSON for a row selected as {@code payload, payload_json}: the decoded binary payload, else the legacy text.
+     */
+    private static String payloadJson(ResultSet rs) throws SQLException {
+        byte[] blob = rs.getBytes(1);
+        if (CachedSystemCodec.isEncoded(blob)) {
+            try {
+                return CachedSystemCodec.toJson(blob);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        String json = rs.getString(2);
+        return json != null && !json.isBlank() ? json : null;
+    }
+
     private String fetchPayloadBySystemAddress(Object systemAddress) {
         if (connection == null || systemAddress == null) {
             return null;
@@ -595,12 +595,12 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
         if (addr == null) {
             return null;
         }
-        String sql = "SELECT payload_json FROM systems WHERE system_address = ? ORDER BY updated_at DESC LIMIT 1";
+        String sql = "SELECT payload, payload_json FROM systems WHERE system_address = ? ORDER BY updated_at DESC LIMIT 1";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setLong(1, addr);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getString(1);
+                    return payloadJson(rs);
                 }
             }
         } catch (SQLException ignored) {
@@ -612,12 +612,12 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
         if (connection == null || cacheKey == null || cacheKey.isBlank()) {
             return null;
         }
-        String sql = "SELECT payload_json FROM systems WHERE cache_key = ? LIMIT 1";
+        String sql = "SELECT payload, payload_json FROM systems WHERE cache_key = ? LIMIT 1";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, cacheKey);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getString(1);
+                    return payloadJson(rs);
                 }
             }
         } catch (SQLException ignored) {
@@ -629,12 +629,12 @@ public final class EdoSqliteDatabaseFrame extends JFrame {
         if (connection == null || name == null || name.isBlank()) {
             return null;
         }
-        String sql = "SELECT payload_json FROM systems WHERE canonical_name = ? LIMIT 1";
+        String sql = "SELECT payload, payload_json FROM systems WHERE canonical_name = ? LIMIT 1";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, name);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getString(1);
+                    return payloadJson(rs);
                 }
             }
         } catch (SQLException ignored) {
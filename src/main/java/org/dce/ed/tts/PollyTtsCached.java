@@ -8,7 +8,6 @@ import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -25,17 +24,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.LineEvent;
 import javax.swing.JEditorPane;
 import javax.swing.JOptionPane;
 import javax.swing.JScrollPane;
@@ -383,134 +376,13 @@ if (!OverlayPreferences.isSpeechUseAwsSynthesis()) {
     }
 
     /**
-     * Plays a list of WAV files as one continuous stream using a single Clip.
+     * Plays a list of WAV files as one continuous utterance on the shared {@link TtsPlaybackEngine} line.
      * All WAVs must share the same AudioFormat.
-     * Adjacent chunks are merged with a short linear crossfade to reduce clicks when sample
+     * Adjacent chunks are joined with a short linear crossfade to reduce clicks when sample
      * levels jump between separately cached clips.
      */
     void playCombinedWavsBlocking(List<Path> wavPaths) throws Exception {
-        if (wavPaths == null || wavPaths.isEmpty()) {
-            return;
-        }
-
-        List<byte[]> pcmChunks = new ArrayList<>();
-        AudioFormat format = null;
-
-        for (Path p : wavPaths) {
-            if (p == null || !Files.exists(p)) {
-                continue;
-            }
-            try (AudioInputStream ais = AudioSystem.getAudioInputStream(p.toFile())) {
-                AudioFormat f = ais.getFormat();
-                if (format == null) {
-                    format = f;
-                } else if (!formatsEquivalent(format, f)) {
-                    throw new IllegalArgumentException("WAV format mismatch: " + p);
-                }
-                pcmChunks.add(ais.readAllBytes());
-            }
-        }
-
-        if (pcmChunks.isEmpty()) {
-            return;
-        }
-
-        int frameSize = format.getFrameSize();
-        if (frameSize <= 0) {
-            throw new IllegalArgumentException("Unsupported AudioFormat frame size");
-        }
-
-        byte[] mergedPcm;
-        if (pcmChunks.size() == 1) {
-            mergedPcm = pcmChunks.get(0);
-        } else {
-            mergedPcm = mergePcm16ChunksWithCrossfade(pcmChunks, format,
-                    Math.max(4, Math.min((int) (format.getSampleRate() * 4L / 1000L), 512)));
-        }
-
-        long frames = mergedPcm.length / frameSize;
-        try (AudioInputStream combined = new AudioInputStream(
-                new ByteArrayInputStream(mergedPcm), format, frames)) {
-            playAudioBlocking(combined);
-        }
-    }
-
-    /**
-     * Linear crossfade at each join: last {@code overlapSamples} of the accumulated buffer
-     * with the first {@code overlapSamples} of the next chunk (16-bit PCM, format endianness).
-     */
-    private static byte[] mergePcm16ChunksWithCrossfade(List<byte[]> chunks, AudioFormat format, int overlapSamples)
-            throws IOException {
-        if (chunks == null || chunks.isEmpty()) {
-            return new byte[0];
-        }
-        if (format.getSampleSizeInBits() != 16 || format.getChannels() != 1) {
-            throw new IOException("Crossfade merge requires 16-bit mono PCM");
-        }
-        boolean bigEndian = format.isBigEndian();
-
-        short[] acc = pcmBytesToShorts16Mono(chunks.get(0), bigEndian);
-        for (int ci = 1; ci < chunks.size(); ci++) {
-            short[] nxt = pcmBytesToShorts16Mono(chunks.get(ci), bigEndian);
-            if (nxt.length == 0) {
-                continue;
-            }
-            if (acc.length == 0) {
-                acc = nxt;
-                continue;
-            }
-            int ol = Math.min(overlapSamples, Math.min(acc.length, nxt.length));
-            int accLen = acc.length;
-            for (int i = 0; i < ol; i++) {
-                float w = (i + 1f) / (ol + 1f);
-                int a = acc[accLen - ol + i];
-                int b = nxt[i];
-                int blended = Math.round(a * (1f - w) + b * w);
-                if (blended > Short.MAX_VALUE) {
-                    blended = Short.MAX_VALUE;
-                } else if (blended < Short.MIN_VALUE) {
-                    blended = Short.MIN_VALUE;
-                }
-                acc[accLen - ol + i] = (short) blended;
-            }
-            short[] merged = new short[accLen + nxt.length - ol];
-            System.arraycopy(acc, 0, merged, 0, accLen);
-            System.arraycopy(nxt, ol, merged, accLen, nxt.length - ol);
-            acc = merged;
-        }
-        return shortsToPcmBytes16Mono(acc, bigEndian);
-    }
-
-    private static short[] pcmBytesToShorts16Mono(byte[] pcm, boolean bigEndian) {
-        int len = pcm.length & ~1;
-        int n = len / 2;
-        short[] out = new short[n];
-        if (bigEndian) {
-            for (int i = 0; i < n; i++) {
-                out[i] = (short) ((pcm[i * 2] << 8) | (pcm[i * 2 + 1] & 0xff));
-            }
-        } else {
-            for (int i = 0; i < n; i++) {
-                out[i] = (short) (((pcm[i * 2 + 1] << 8) | (pcm[i * 2] & 0xff)));
-            }
-        }
-        return out;
-    }
-
-    private static byte[] shortsToPcmBytes16Mono(short[] samples, boolean bigEndian) {
-        byte[] b = new byte[samples.length * 2];
-        if (bigEndian) {
-            for (int i = 0; i < samples.length; i++) {
-                b[i * 2] = (byte) (samples[i] >> 8);
-                b[i * 2 + 1] = (byte) (samples[i] & 0xff);
-            }
-        } else {
-            for (int i = 0; i < samples.length; i++) {
-                b[i * 2] = (byte) (samples[i] & 0xff);
-                b[i * 2 + 1] = (byte) (samples[i] >> 8);
-            }
-        }
-        return b;
+        TtsPlaybackEngine.shared().play(wavPaths);
     }
 
     // ------------------------------
@@ -1078,64 +950,13 @@ if (!OverlayPreferences.isSpeechUseAwsSynthesis()) {
             return;
         }
 
-        try (AudioInputStream ais = AudioSystem.getAudioInputStream(wavPath.toFile())) {
-            Clip clip = AudioSystem.getClip();
-
-            CountDownLatch done = new CountDownLatch(1);
-            clip.addLineListener(e -> {
-                if (e.getType() == LineEvent.Type.STOP || e.getType() == LineEvent.Type.CLOSE) {
-                    done.countDown();
-                }
-            });
-
-            clip.open(ais);
-            clip.start();
-
-            done.await();
-            clip.close();
+        try {
+            TtsPlaybackEngine.shared().play(List.of(wavPath));
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    private void playAudioBlocking(AudioInputStream ais) throws Exception {
-        Clip clip = AudioSystem.getClip();
-        CountDownLatch done = new CountDownLatch(1);
-
-        clip.addLineListener(e -> {
-            if (e.getType() == LineEvent.Type.STOP || e.getType() == LineEvent.Type.CLOSE) {
-                done.countDown();
-            }
-        });
-
-        clip.open(ais);
-        clip.start();
-        done.await();
-        clip.close();
-    }
-
-    private static boolean formatsEquivalent(AudioFormat a, AudioFormat b) {
-        if (!Objects.equals(a.getEncoding(), b.getEncoding())) {
-            return false;
-        }
-        if (a.getSampleRate() != b.getSampleRate()) {
-            return false;
-        }
-        if (a.getSampleSizeInBits() != b.getSampleSizeInBits()) {
-            return false;
-        }
-        if (a.getChannels() != b.getChannels()) {
-            return false;
-        }
-        if (a.isBigEndian() != b.isBigEndian()) {
-            return false;
-        }
-        if (a.getFrameSize() != b.getFrameSize()) {
-            return false;
-        }
-        return a.getFrameRate() == b.getFrameRate();
-    }
-
     // ------------------------------
     // WAV writing + trimming
     // ------------------------------
@@ -0,0 +1,287 @@
+package org.dce.ed.tts;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Plays cached speech WAVs on one long-lived {@link SourceDataLine} instead of opening a {@code Clip} per file.
+ * The line stays open between utterances (it is only reopened when the WAV format changes), so a callout starts as
+ * soon as its first buffer is written.
+ * <p>
+ * Chunks of an utterance are streamed back to back; each join gets the same short linear crossfade the merged-Clip
+ * path used, applied as the chunks are written rather than by building one big buffer first. Decoded PCM is kept
+ * in an LRU bounded by {@link #CACHE_MB_PROPERTY} (default {@value #DEFAULT_CACHE_MB} MB), so hot chunks such as
+ * digits, body letters and stock phrases are not re-read from disk; entries are keyed by path and dropped when the
+ * file's size or modification time changes (e.g. re-warmed by {@link VoiceCacheWarmer}).
+ * <p>
+ * Callers are expected to play from one thread ({@link PollyTtsCached#getPlaybackQueue()}); methods are
+ * synchronized anyway.
+ */
+final class TtsPlaybackEngine {
+
+    /** Size of the decoded PCM cache, in megabytes. */
+    static final String CACHE_MB_PROPERTY = "edo.tts.pcmCacheMb";
+
+    static final int DEFAULT_CACHE_MB = 16;
+
+    /** Line buffer; playback starts on the first write, this only bounds how far ahead we queue. */
+    private static final int LINE_BUFFER_MS = 250;
+
+    private static final TtsPlaybackEngine SHARED = new TtsPlaybackEngine(
+            Math.max(0, Integer.getInteger(CACHE_MB_PROPERTY, DEFAULT_CACHE_MB)) * 1024L * 1024L);
+
+    /** Receives PCM as it is produced; the audio line in production, a buffer in tests. */
+    @FunctionalInterface
+    interface PcmSink {
+        void write(byte[] pcm, int off, int len);
+    }
+
+    /** Decoded WAV body plus the file stamp it was read at. */
+    record Pcm(AudioFormat format, byte[] data, long size, long modified) {
+    }
+
+    private final long cacheLimitBytes;
+    private final LinkedHashMap<Path, Pcm> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cacheBytes;
+
+    private SourceDataLine line;
+
+    TtsPlaybackEngine(long cacheLimitBytes) {
+        this.cacheLimitBytes = cacheLimitBytes;
+    }
+
+    static TtsPlaybackEngine shared() {
+        return SHARED;
+    }
+
+    /**
+     * Plays {@code wavs} as one continuous utterance and returns when it has been heard. Missing files are skipped;
+     * all remaining files must share one format.
+     */
+    synchronized void play(List<Path> wavs) throws Exception {
+        if (wavs == null || wavs.isEmpty()) {
+            return;
+        }
+        AudioFormat format = null;
+        List<byte[]> chunks = new ArrayList<>(wavs.size());
+        for (Path p : wavs) {
+            if (p == null) {
+                continue;
+            }
+            Pcm pcm = load(p);
+            if (pcm == null) {
+                continue;
+            }
+            if (format == null) {
+                format = pcm.format();
+            } else if (!formatsEquivalent(format, pcm.format())) {
+                throw new IllegalArgumentException("WAV format mismatch: " + p);
+            }
+            chunks.add(pcm.data());
+        }
+        if (chunks.isEmpty()) {
+            return;
+        }
+        if (format.getFrameSize() <= 0) {
+            throw new IllegalArgumentException("Unsupported AudioFormat frame size");
+        }
+
+        SourceDataLine out = lineFor(format);
+        out.start();
+        PcmSink sink = (b, off, len) -> out.write(b, off, len);
+        if (chunks.size() == 1) {
+            sink.write(chunks.get(0), 0, chunks.get(0).length);
+        } else {
+            streamWithCrossfade(chunks, format, crossfadeSamples(format), sink);
+        }
+        out.drain();
+        out.stop();
+    }
+
+    /** Decoded PCM for {@code wav}, from the cache when the file is unchanged; null if the file does not exist. */
+    synchronized Pcm load(Path wav) throws IOException, UnsupportedAudioFileException {
+        Path key = wav.toAbsolutePath().normalize();
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+        Pcm hit = cache.get(key);
+        if (hit != null && hit.size() == size && hit.modified() == modified) {
+            return hit;
+        }
+        Pcm pcm;
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(key.toFile())) {
+            pcm = new Pcm(ais.getFormat(), ais.readAllBytes(), size, modified);
+        }
+        Pcm old = cache.remove(key);
+        if (old != null) {
+            cacheBytes -= old.data().length;
+        }
+        if (pcm.data().length <= cacheLimitBytes) {
+            cache.put(key, pcm);
+            cacheBytes += pcm.data().length;
+            evict();
+        }
+        return pcm;
+    }
+
+    synchronized long cachedBytes() {
+        return cacheBytes;
+    }
+
+    synchronized boolean isCached(Path wav) {
+        return cache.containsKey(wav.toAbsolutePath().normalize());
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Pcm>> it = cache.entrySet().iterator();
+        while (cacheBytes > cacheLimitBytes && it.hasNext()) {
+            cacheBytes -= it.next().getValue().data().length;
+            it.remove();
+        }
+    }
+
+    private SourceDataLine lineFor(AudioFormat format) throws LineUnavailableException {
+        if (line != null && line.isOpen() && formatsEquivalent(line.getFormat(), format)) {
+            return line;
+        }
+        if (line != null) {
+            line.close();
+            line = null;
+        }
+        SourceDataLine l = AudioSystem.getSourceDataLine(format);
+        int frameSize = format.getFrameSize();
+        int frames = Math.max(1, (int) (format.getFrameRate() * LINE_BUFFER_MS / 1000f));
+        l.open(format, frames * frameSize);
+        line = l;
+        return l;
+    }
+
+    /** ~4 ms of overlap at each join, as the merged-Clip path used. */
+    static int crossfadeSamples(AudioFormat format) {
+        return Math.max(4, Math.min((int) (format.getSampleRate() * 4L / 1000L), 512));
+    }
+
+    /**
+     * Writes {@code chunks} to {@code sink} with a linear crossfade at each join: the last {@code overlapSamples} of
+     * everything written so far are blended with the first {@code overlapSamples} of the next chunk (16-bit mono
+     * PCM, format endianness). Only that tail is held back, so output starts with the first chunk.
+     */
+    static void streamWithCrossfade(List<byte[]> chunks, AudioFormat format, int overlapSamples, PcmSink sink)
+            throws IOException {
+        if (format.getSampleSizeInBits() != 16 || format.getChannels() != 1) {
+            throw new IOException("Crossfade merge requires 16-bit mono PCM");
+        }
+        boolean bigEndian = format.isBigEndian();
+        short[] held = new short[0];
+        for (byte[] chunk : chunks) {
+            short[] nxt = pcmBytesToShorts16Mono(chunk, bigEndian);
+            if (nxt.length == 0) {
+                continue;
+            }
+            int ol = Math.min(overlapSamples, Math.min(held.length, nxt.length));
+            int heldLen = held.length;
+            for (int i = 0; i < ol; i++) {
+                float w = (i + 1f) / (ol + 1f);
+                int a = held[heldLen - ol + i];
+                int b = nxt[i];
+                int blended = Math.round(a * (1f - w) + b * w);
+                if (blended > Short.MAX_VALUE) {
+                    blended = Short.MAX_VALUE;
+                } else if (blended < Short.MIN_VALUE) {
+                    blended = Short.MIN_VALUE;
+                }
+                held[heldLen - ol + i] = (short) blended;
+            }
+            short[] joined = new short[heldLen + nxt.length - ol];
+            System.arraycopy(held, 0, joined, 0, heldLen);
+            System.arraycopy(nxt, ol, joined, heldLen, nxt.length - ol);
+
+            int keep = Math.min(overlapSamples, joined.length);
+            int flush = joined.length - keep;
+            if (flush > 0) {
+                byte[] b = shortsToPcmBytes16Mono(joined, 0, flush, bigEndian);
+                sink.write(b, 0, b.length);
+            }
+            held = new short[keep];
+            System.arraycopy(joined, flush, held, 0, keep);
+        }
+        if (held.length > 0) {
+            byte[] b = shortsToPcmBytes16Mono(held, 0, held.length, bigEndian);
+            sink.write(b, 0, b.length);
+        }
+    }
+
+    static boolean formatsEquivalent(AudioFormat a, AudioFormat b) {
+        if (!Objects.equals(a.getEncoding(), b.getEncoding())) {
+            return false;
+        }
+        if (a.getSampleRate() != b.getSampleRate()) {
+            return false;
+        }
+        if (a.getSampleSizeInBits() != b.getSampleSizeInBits()) {
+            return false;
+        }
+        if (a.getChannels() != b.getChannels()) {
+            return false;
+        }
+        if (a.isBigEndian() != b.isBigEndian()) {
+            return false;
+        }
+        if (a.getFrameSize() != b.getFrameSize()) {
+            return false;
+        }
+        return a.getFrameRate() == b.getFrameRate();
+    }
+
+    private static short[] pcmBytesToShorts16Mono(byte[] pcm, boolean bigEndian) {
+        int len = pcm.length & ~1;
+        int n = len / 2;
+        short[] out = new short[n];
+        if (bigEndian) {
+            for (int i = 0; i < n; i++) {
+                out[i] = (short) ((pcm[i * 2] << 8) | (pcm[i * 2 + 1] & 0xff));
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                out[i] = (short) (((pcm[i * 2 + 1] << 8) | (pcm[i * 2] & 0xff)));
+            }
+        }
+        return out;
+    }
+
+    private static byte[] shortsToPcmBytes16Mono(short[] samples, int from, int count, boolean bigEndian) {
+        byte[] b = new byte[count * 2];
+        if (bigEndian) {
+            for (int i = 0; i < count; i++) {
+                b[i * 2] = (byte) (samples[from + i] >> 8);
+                b[i * 2 + 1] = (byte) (samples[from + i] & 0xff);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                b[i * 2] = (byte) (samples[from + i] & 0xff);
+                b[i * 2 + 1] = (byte) (samples[from + i] >> 8);
+            }
+        }
+        return b;
+    }
+}
@@ -23,6 +23,9 @@ import org.dce.ed.util.AppIconUtil;
  * Brief full-window splash: large centered app icon over a light dim, fading out (glass pane).
  * Does not capture the mouse ({@link #contains}) so the overlay cursor / pass-through behavior keeps working,
  * and any prior glass pane (e.g. crosshair) is painted on top after the splash art.
+ * <p>
+ * While the startup journal catch-up runs, a progress line is drawn along the bottom edge; it outlives the
+ * fade until {@link #finishJournalCatchUpProgress()} is called.
  */
 public final class StartupSplashOverlay {
 
@@ -31,6 +34,12 @@ public final class StartupSplashOverlay {
     /** Fade duration (ms), after the hold period. */
     private static final int FADE_MS = 6000;
     private static final int TICK_MS = 16;
+    /** Repaint interval once only the progress line is left. */
+    private static final int PROGRESS_TICK_MS = 250;
+
+    /** Latest catch-up progress line (null before the first update). Written from the catch-up thread. */
+    private static volatile String progressText;
+    private static volatile boolean progressActive;
 
     private StartupSplashOverlay() {
     }
@@ -62,6 +71,22 @@ public final class StartupSplashOverlay {
         });
     }
 
+    /**
+     * Publishes startup journal catch-up progress; safe to call from any thread.
+     */
+    public static void setJournalCatchUpProgress(int filesMerged, int fileCount, long bytesMerged, long bytesTotal) {
+        long pct = bytesTotal <= 0L ? 100L : Math.min(100L, (bytesMerged * 100L) / bytesTotal);
+        progressText = "Catching up journals: " + filesMerged + "/" + fileCount + " files (" + pct + "%)";
+        progressActive = true;
+    }
+
+    /**
+     * Lets the progress line fade with the splash (or disappear, if the splash is already gone).
+     */
+    public static void finishJournalCatchUpProgress() {
+        progressActive = false;
+    }
+
     private static final class SplashPanel extends JPanel {
 
         private final JRootPane root;
@@ -103,9 +128,12 @@ public final class StartupSplashOverlay {
 
         private void onTick() {
             if (isFadeComplete()) {
-                timer.stop();
-                dismiss();
-                return;
+                if (!progressActive) {
+                    timer.stop();
+                    dismiss();
+                    return;
+                }
+                timer.setDelay(PROGRESS_TICK_MS);
             }
             repaint();
         }
@@ -247,6 +275,7 @@ public final class StartupSplashOverlay {
                     g2.dispose();
                 }
             }
+            drawProgress(g, w, h);
             if (previousGlass != null) {
                 SwingUtilities.paintComponent(g, previousGlass, this, 0, 0, w, h);
             }
@@ -292,6 +321,42 @@ public final class StartupSplashOverlay {
                     new Color(255, 234, 150), new Color(255, 112, 24), 0.38f, rhLeftX);
         }
 
+        private void drawProgress(Graphics g, int w, int h) {
+            String text = progressText;
+            if (text == null) {
+                return;
+            }
+            float alpha = progressActive ? 1f : titleOpacity();
+            if (alpha <= 0.001f) {
+                return;
+            }
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                int fontSize = Math.max(12, Math.min(20, (int) Math.round(Math.min(w, h) * 0.028)));
+                g2.setFont(new Font(Font.SANS_SERIF, Font.BOLD, fontSize));
+                java.awt.FontMetrics fm = g2.getFontMetrics();
+                int tw = fm.stringWidth(text);
+                int padX = fontSize / 2;
+                int padY = fontSize / 4;
+                int boxW = tw + 2 * padX;
+                int boxH = fm.getHeight() + 2 * padY;
+                int boxX = (w - boxW) / 2;
+                int boxY = h - boxH - 12;
+
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha * 0.65f));
+                g2.setColor(new Color(14, 16, 20));
+                g2.fillRoundRect(boxX, boxY, boxW, boxH, boxH / 2, boxH / 2);
+
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+                g2.setColor(new Color(255, 234, 150));
+                g2.drawString(text, boxX + padX, boxY + padY + fm.getAscent());
+            } finally {
+                g2.dispose();
+            }
+        }
+
         private void drawStyledLine(Graphics2D g2, String text, Font font, int baseline, int width, float alpha,
                 Color topFill, Color bottomFill, float glowAlpha, double leftXOrNegativeCenter) {
             GlyphVector gv = font.createGlyphVector(g2.getFontRenderContext(), text);
@@ -1,17 +1,14 @@
 package org.dce.ed.util;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
+import java.io.InterruptedIOException;
 import java.net.URI;
-import java.net.URL;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -19,6 +16,14 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.dce.ed.edsm.BodiesResponse;
 import org.dce.ed.edsm.CmdrCreditsResponse;
@@ -43,21 +48,66 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 
+/**
+ * EDSM API client.
+ * <p>
+ * All requests go through one process-wide pipeline, whichever instance issues them: concurrent
+ * requests for the same URL share one HTTP call, a token bucket follows EDSM's rate-limit headers
+ * ({@link EdsmRateLimiter}), and {@code showBodies}, {@code showSystem} and the sphere searches are
+ * answered from a TTL cache in memory and in the cache SQLite file ({@link EdsmResponseCache}).
+ * The {@code ...Async} methods never block; the blocking methods wait on them.
+ */
 public class EdsmClient {
 
 	private static final boolean DEBUG_SPHERE_SYSTEMS = false;
 	
     private static final String BASE_URL = "https://www.edsm.net";
 
+    /** How long cached responses are served before EDSM is asked again. */
+    private static final long BODIES_TTL_MS = TimeUnit.MINUTES.toMillis(15);
+    private static final long SYSTEM_TTL_MS = TimeUnit.HOURS.toMillis(24);
+    private static final long SPHERE_TTL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+
+    /** Sphere-systems is often briefly unavailable (503); those requests are retried after a delay. */
+    private static final int SPHERE_RETRY_ATTEMPTS = 3;
+    private static final int RETRY_DELAY_MS = 2000;
+
+    private static final HttpClient SHARED_HTTP = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    private static final EdsmRateLimiter RATE_LIMITER = new EdsmRateLimiter();
+    private static final ConcurrentHashMap<String, CompletableFuture<Fetched>> IN_FLIGHT = new ConcurrentHashMap<>();
+    /** SQLite reads/writes of the response cache, kept off the HTTP and UI threads. */
+    private static final ExecutorService CACHE_IO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "EDO-EdsmCache");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** One HTTP response (or cache hit) before parsing. */
+    private record Fetched(int status, String body, String contentType) {
+
+        boolean cacheable() {
+            if (status < 200 || status >= 300 || body == null) {
+                return false;
+            }
+            String s = body.trim();
+            // A top-level string is an EDSM error message such as "API call limit exceeded".
+            return !s.isEmpty() && (s.charAt(0) == '{' || s.charAt(0) == '[');
+        }
+    }
+
     private final HttpClient client;
     private final Gson gson;
     
     // Last raw JSON returned by the EDSM API (for debugging / query tool)
     private volatile String lastRawJson;
-    /** Last HTTP status from getSphereSystems (so retry logic can see 503). */
-    private volatile int lastSphereSystemsStatus = 0;
     public EdsmClient() {
-        this.client = HttpClient.newHttpClient();
+        this.client = SHARED_HTTP;
         this.gson = new GsonBuilder().create();
     }
     
@@ -78,83 +128,166 @@ public class EdsmClient {
     }
 
     public <T> T get(String urlString, Class<T> clazz) throws IOException {
-        HttpURLConnection conn = null;
-        String body = "";
+        return await(getAsync(urlString, clazz));
+    }
 
-        try {
-            URL url = new URL(urlString);
-            conn = (HttpURLConnection) url.openConnection();
+    /**
+     * Non-blocking {@link #get}: deduplicated and rate-limited, but not cached.
+     */
+    public <T> CompletableFuture<T> getAsync(String urlString, Class<T> clazz) {
+        return getAsync(urlString, clazz, 0L);
+    }
 
-            conn.setRequestMethod("GET");
-            conn.setConnectTimeout(10_000);
-            conn.setReadTimeout(20_000);
-            conn.setRequestProperty("Accept", "application/json");
+    private <T> CompletableFuture<T> getAsync(String urlString, Class<T> clazz, long ttlMs) {
+        return fetchAsync(urlString, ttlMs, 1).thenApply(f -> {
+            try {
+                return parse(f, urlString, clazz);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
 
-            int code = conn.getResponseCode();
-            String contentType = conn.getContentType();
+    /**
+     * Cache, then in-flight request for the same URL, then a new rate-limited HTTP call.
+     * Every caller gets its own copy of the shared future, so cancelling one does not affect the others.
+     */
+    private CompletableFuture<Fetched> fetchAsync(String url, long ttlMs, int attempts) {
+        CompletableFuture<Fetched> mine = new CompletableFuture<>();
+        CompletableFuture<Fetched> running = IN_FLIGHT.putIfAbsent(url, mine);
+        if (running != null) {
+            return running.copy();
+        }
 
-            InputStream in;
-            if (code >= 200 && code < 300) {
-                in = conn.getInputStream();
+        CompletableFuture<Fetched> work;
+        if (ttlMs > 0) {
+            work = CompletableFuture.supplyAsync(() -> EdsmResponseCache.shared().get(url), CACHE_IO)
+                    .thenCompose(cached -> cached != null
+                            ? CompletableFuture.completedFuture(new Fetched(200, cached, "application/json"))
+                            : send(url, ttlMs, attempts));
+        } else {
+            work = send(url, ttlMs, attempts);
+        }
+        work.whenComplete((f, ex) -> {
+            IN_FLIGHT.remove(url, mine);
+            if (ex != null) {
+                mine.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex);
             } else {
-                in = conn.getErrorStream();
-                if (in == null) {
-                    throw new IOException("EDSM HTTP " + code + " with empty error body: " + urlString);
-                }
+                mine.complete(f);
             }
+        });
+        return mine.copy();
+    }
 
-            body = readAll(in).trim();
-            // Save raw JSON for debugging / query tool
-            lastRawJson = body;
+    private CompletableFuture<Fetched> send(String url, long ttlMs, int attemptsLeft) {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("User-Agent", "EDO-Tool")
+                .GET()
+                .build();
 
-            if (body.isEmpty()) {
-                throw new IOException("EDSM returned empty response (HTTP " + code + "): " + urlString);
-            }
+        long waitMs = RATE_LIMITER.reserve();
+        CompletableFuture<Void> slot = waitMs > 0
+                ? CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitMs, TimeUnit.MILLISECONDS))
+                : CompletableFuture.completedFuture(null);
+
+        return slot
+                .thenCompose(v -> client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)))
+                .thenCompose(resp -> {
+                    int code = resp.statusCode();
+                    if (code == 429) {
+                        RATE_LIMITER.throttled(resp.headers());
+                    } else {
+                        RATE_LIMITER.update(resp.headers());
+                    }
+                    if ((code == 429 || code == 503) && attemptsLeft > 1) {
+                        Executor later = CompletableFuture.delayedExecutor(RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+                        return CompletableFuture.runAsync(() -> { }, later)
+                                .thenCompose(v -> send(url, ttlMs, attemptsLeft - 1));
+                    }
+                    Fetched f = new Fetched(code, resp.body(), resp.headers().firstValue("Content-Type").orElse(null));
+                    if (ttlMs > 0 && f.cacheable()) {
+                        CACHE_IO.execute(() -> EdsmResponseCache.shared().put(url, f.body(), ttlMs));
+                    }
+                    return CompletableFuture.completedFuture(f);
+                });
+    }
 
-            // If EDSM (or a proxy in front of it) is having a bad day, we can get an HTML error page.
-            // Don't try to feed that into Gson, or you'll get MalformedJsonException spam.
-            if (!looksLikeJson(body, contentType)) {
-                throw new IOException("EDSM returned non-JSON response (HTTP " + code + ") from "
-                        + urlString + ": " + summarize(body));
-            }
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for EDSM");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IOException(cause);
+        }
+    }
 
-            JsonElement el;
-            try {
-                el = gson.fromJson(body, JsonElement.class);
-            } catch (JsonParseException ex) {
-                throw new IOException("EDSM returned invalid JSON (HTTP " + code + "): " + summarize(body), ex);
-            }
+    private <T> T parse(Fetched f, String urlString, Class<T> clazz) throws IOException {
+        int code = f.status();
+        String body = f.body() != null ? f.body().trim() : "";
+        // Save raw JSON for debugging / query tool
+        lastRawJson = body;
 
-            // Top-level JSON string, e.g. "API call limit exceeded"
-            if (el != null && el.isJsonPrimitive() && el.getAsJsonPrimitive().isString()) {
-                String msg = el.getAsString();
-                throw new IOException("EDSM returned JSON string instead of object (HTTP " + code + "): " + msg);
+        if (body.isEmpty()) {
+            if (code >= 200 && code < 300) {
+                throw new IOException("EDSM returned empty response (HTTP " + code + "): " + urlString);
             }
+            throw new IOException("EDSM HTTP " + code + " with empty error body: " + urlString);
+        }
 
-            // Some endpoints sometimes return a top-level array.
-            if (el != null && el.isJsonArray() && !clazz.isArray()) {
-                if (clazz == BodiesResponse.class) {
-                    BodiesResponse br = new BodiesResponse();
-                    br.bodies = gson.fromJson(el, new TypeToken<List<BodiesResponse.Body>>() {}.getType());
-                    if (br.bodies != null) {
-                        br.bodyCount = br.bodies.size();
-                    }
-                    @SuppressWarnings("unchecked")
-                    T t = (T) br;
-                    return t;
-                }
+        // If EDSM (or a proxy in front of it) is having a bad day, we can get an HTML error page.
+        // Don't try to feed that into Gson, or you'll get MalformedJsonException spam.
+        if (!looksLikeJson(body, f.contentType())) {
+            throw new IOException("EDSM returned non-JSON response (HTTP " + code + ") from "
+                    + urlString + ": " + summarize(body));
+        }
 
-                throw new IOException("EDSM returned JSON array where an object was expected (HTTP " + code
-                        + "): " + clazz.getSimpleName() + " from " + urlString + " => " + summarize(body));
-            }
+        JsonElement el;
+        try {
+            el = gson.fromJson(body, JsonElement.class);
+        } catch (JsonParseException ex) {
+            throw new IOException("EDSM returned invalid JSON (HTTP " + code + "): " + summarize(body), ex);
+        }
 
-            return gson.fromJson(el, clazz);
+        // Top-level JSON string, e.g. "API call limit exceeded"
+        if (el != null && el.isJsonPrimitive() && el.getAsJsonPrimitive().isString()) {
+            String msg = el.getAsString();
+            throw new IOException("EDSM returned JSON string instead of object (HTTP " + code + "): " + msg);
+        }
 
-        } finally {
-            if (conn != null) {
-                conn.disconnect();
+        // Some endpoints sometimes return a top-level array.
+        if (el != null && el.isJsonArray() && !clazz.isArray()) {
+            if (clazz == BodiesResponse.class) {
+                BodiesResponse br = new BodiesResponse();
+                br.bodies = gson.fromJson(el, new TypeToken<List<BodiesResponse.Body>>() {}.getType());
+                if (br.bodies != null) {
+                    br.bodyCount = br.bodies.size();
+                }
+                @SuppressWarnings("unchecked")
+                T t = (T) br;
+                return t;
             }
+
+            throw new IOException("EDSM returned JSON array where an object was expected (HTTP " + code
+                    + "): " + clazz.getSimpleName() + " from " + urlString + " => " + summarize(body));
         }
+
+        return gson.fromJson(el, clazz);
     }
 
     private static boolean looksLikeJson(String body, String contentType) {
@@ -189,17 +322,6 @@ public class EdsmClient {
 
         return false;
     }
-    private static String readAll(InputStream in) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                sb.append(line);
-            }
-        }
-        return sb.toString();
-    }
-
     private static String summarize(String s) {
         s = s.replace('\n', ' ').replace('\r', ' ').trim();
         if (s.length() > 240) {
@@ -208,7 +330,8 @@ public class EdsmClient {
         return s;
     }
     private String encode(String s) {
-        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+        // Null-safe: the async methods must not throw while building the URL; EDSM treats "" as an unknown name.
+        return URLEncoder.encode(s != null ? s : "", StandardCharsets.UTF_8);
     }
 
     // ----------------- System-level -----------------
@@ -221,12 +344,21 @@ public class EdsmClient {
         return get(url, SystemResponse.class);
     }
 
+    /**
+     * One request for several systems ({@code systemName[]=...} per name); a single name is a prefix search,
+     * as used by {@link #suggestSystemNames(String)}. Responses are cached like {@link #showSystem(String)}.
+     */
     public SystemResponse[] getSystems(String... names) throws IOException, InterruptedException {
-        String joined = String.join(",", names);
-        String url = BASE_URL + "/api-v1/systems"
-                + "?showId=1&showCoordinates=1&showPermit=1"
-                + "&systemName=" + encode(joined);
-        return get(url, SystemResponse[].class);
+        StringBuilder url = new StringBuilder(BASE_URL).append("/api-v1/systems")
+                .append("?showId=1&showCoordinates=1&showPermit=1");
+        if (names.length == 1) {
+            url.append("&systemName=").append(encode(names[0]));
+        } else {
+            for (String name : names) {
+                url.append("&systemName%5B%5D=").append(encode(name));
+            }
+        }
+        return await(getAsync(url.toString(), SystemResponse[].class, SYSTEM_TTL_MS));
     }
 
     /**
@@ -265,6 +397,10 @@ public class EdsmClient {
      * Richer single-system view (info + primary star, still no stations).
      */
     public ShowSystemResponse showSystem(String systemName) throws IOException, InterruptedException {
+        return await(showSystemAsync(systemName));
+    }
+
+    public CompletableFuture<ShowSystemResponse> showSystemAsync(String systemName) {
         String url = BASE_URL + "/api-v1/system"
                 + "?systemName=" + encode(systemName)
                 + "&showId=1"
@@ -274,7 +410,7 @@ public class EdsmClient {
                 + "&showInformation=1"
                 + "&showPrimaryStar=1";
 
-        return get(url, ShowSystemResponse.class);
+        return getAsync(url, ShowSystemResponse.class, SYSTEM_TTL_MS);
     }
 
     /**
@@ -283,20 +419,27 @@ public class EdsmClient {
      */
     public SphereSystemsResponse[] sphereSystemsByName(String centerSystemName, int radiusLy)
             throws IOException, InterruptedException {
+        return await(sphereSystemsByNameAsync(centerSystemName, radiusLy));
+    }
+
+    public CompletableFuture<SphereSystemsResponse[]> sphereSystemsByNameAsync(String centerSystemName, int radiusLy) {
         if (centerSystemName == null || centerSystemName.trim().isEmpty()) {
-            return new SphereSystemsResponse[0];
+            return CompletableFuture.completedFuture(new SphereSystemsResponse[0]);
         }
         String url = BASE_URL + "/api-v1/sphere-systems"
                 + "?systemName=" + encode(centerSystemName.trim())
                 + "&radius=" + Math.min(radiusLy, 100)
                 + "&showCoordinates=1&showId=1&showInformation=1";
-        return getSphereSystemsWithRetry(url);
+        return getSphereSystemsAsync(url);
     }
 
     public SphereSystemsResponse[] sphereSystems(double x, double y, double z, int radiusLy)
             throws IOException, InterruptedException {
+        return await(sphereSystemsAsync(x, y, z, radiusLy));
+    }
 
-        // First try the official EDSM endpoint (retry on 503 - EDSM is often temporarily unavailable)
+    public CompletableFuture<SphereSystemsResponse[]> sphereSystemsAsync(double x, double y, double z, int radiusLy) {
+        // Official EDSM endpoint; 503s (EDSM is often temporarily unavailable) are retried.
         String url = BASE_URL + "/api-v1/sphere-systems"
                 + "?x=" + x
                 + "&y=" + y
@@ -304,11 +447,8 @@ public class EdsmClient {
                 + "&radius=" + Math.min(radiusLy, 100)
                 + "&showCoordinates=1&showId=1&showInformation=1";
 
-        SphereSystemsResponse[] result = getSphereSystemsWithRetry(url);
-        if (result == null || result.length == 0) {
-            return new SphereSystemsResponse[0];
-        }
-        return result;
+        return getSphereSystemsAsync(url).thenApply(result ->
+                result == null || result.length == 0 ? new SphereSystemsResponse[0] : result);
     }
 
     /**
@@ -329,15 +469,23 @@ public class EdsmClient {
     // ----------------- Bodies -----------------
 
     public BodiesResponse showBodies(String systemName) throws IOException, InterruptedException {
+        return await(showBodiesAsync(systemName));
+    }
+
+    public BodiesResponse showBodies(long systemId) throws IOException, InterruptedException {
+        return await(showBodiesAsync(systemId));
+    }
+
+    public CompletableFuture<BodiesResponse> showBodiesAsync(String systemName) {
         String url = BASE_URL + "/api-system-v1/bodies?systemName=" + encode(systemName)
 		+ "&showInformation=1";
-        return get(url, BodiesResponse.class);
+        return getAsync(url, BodiesResponse.class, BODIES_TTL_MS);
     }
 
-    public BodiesResponse showBodies(long systemId) throws IOException, InterruptedException {
+    public CompletableFuture<BodiesResponse> showBodiesAsync(long systemId) {
         String url = BASE_URL + "/api-system-v1/bodies?systemId=" + systemId
         		+ "&showInformation=1";
-        return get(url, BodiesResponse.class);
+        return getAsync(url, BodiesResponse.class, BODIES_TTL_MS);
     }
 
     // ----------------- Stations (new) -----------------
@@ -435,40 +583,23 @@ public class EdsmClient {
      * and occasionally an error object. This helper normalizes that
      * into a SphereSystemsResponse[] so callers don't have to care.
      */
-    private static final int SPHERE_RETRY_ATTEMPTS = 3;
-    private static final int SPHERE_RETRY_DELAY_MS = 2000;
-
-    private SphereSystemsResponse[] getSphereSystemsWithRetry(String url) throws IOException, InterruptedException {
-        for (int attempt = 0; attempt < SPHERE_RETRY_ATTEMPTS; attempt++) {
-            SphereSystemsResponse[] result = getSphereSystems(url);
-            if (lastSphereSystemsStatus != 503 || attempt == SPHERE_RETRY_ATTEMPTS - 1) {
-                return result;
-            }
+    private CompletableFuture<SphereSystemsResponse[]> getSphereSystemsAsync(String url) {
+        return fetchAsync(url, SPHERE_TTL_MS, SPHERE_RETRY_ATTEMPTS).thenApply(f -> {
             try {
-                Thread.sleep(SPHERE_RETRY_DELAY_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new IOException("Interrupted during retry", e);
+                return parseSphereSystems(url, f);
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
-        }
-        return new SphereSystemsResponse[0];
+        });
     }
 
-    private SphereSystemsResponse[] getSphereSystems(String url) throws IOException, InterruptedException {
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("User-Agent", "EDO-Tool")
-                .GET()
-                .build();
-
-        HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        lastSphereSystemsStatus = resp.statusCode();
+    private SphereSystemsResponse[] parseSphereSystems(String url, Fetched resp) throws IOException {
         String body = resp.body();
         lastRawJson = body;
 
         if (DEBUG_SPHERE_SYSTEMS) {
             System.out.println("[EDSM] sphere-systems URL: " + url);
-            System.out.println("[EDSM] sphere-systems HTTP " + resp.statusCode());
+            System.out.println("[EDSM] sphere-systems HTTP " + resp.status());
             System.out.println("[EDSM] sphere-systems raw body: " + body);
         }
 
@@ -0,0 +1,109 @@
+package org.dce.ed.util;
+
+import java.net.http.HttpHeaders;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket shared by all EDSM requests of this process.
+ *
+ * EDSM reports its quota on every response ({@code X-Rate-Limit-Limit}, {@code X-Rate-Limit-Remaining},
+ * {@code X-Rate-Limit-Reset} = seconds until the quota is full again). Until the first response arrives
+ * the bucket does not throttle; after that it holds the server's remaining count and refills at the rate
+ * that gets back to the limit by the reset time. A 429 blocks everything until the server's reset.
+ */
+final class EdsmRateLimiter {
+
+    static final String HEADER_LIMIT = "X-Rate-Limit-Limit";
+    static final String HEADER_REMAINING = "X-Rate-Limit-Remaining";
+    static final String HEADER_RESET = "X-Rate-Limit-Reset";
+
+    /** Wait used after a 429 that came without a reset header. */
+    private static final long DEFAULT_THROTTLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final LongSupplier nanoClock;
+
+    private boolean known;
+    private double capacity;
+    private double tokens;
+    /** Tokens per nanosecond; 0 means "full again at the next update". */
+    private double refillPerNano;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    EdsmRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    EdsmRateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.blockedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return milliseconds the caller has to wait before sending (0 = send now)
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        long blocked = Math.max(0L, blockedUntilNanos - now);
+        if (!known) {
+            return TimeUnit.NANOSECONDS.toMillis(blocked);
+        }
+        refill(now);
+        tokens -= 1.0;
+        long wait = 0L;
+        if (tokens < 0.0) {
+            wait = refillPerNano > 0.0 ? (long) Math.ceil(-tokens / refillPerNano) : DEFAULT_THROTTLE_NANOS;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(wait, blocked));
+    }
+
+    /**
+     * Feeds the quota headers of a response back into the bucket. Responses without them are ignored.
+     */
+    synchronized void update(HttpHeaders headers) {
+        OptionalLong limit = headers.firstValueAsLong(HEADER_LIMIT);
+        OptionalLong remaining = headers.firstValueAsLong(HEADER_REMAINING);
+        if (limit.isEmpty() || remaining.isEmpty() || limit.getAsLong() <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        long resetSeconds = headers.firstValueAsLong(HEADER_RESET).orElse(0L);
+        capacity = limit.getAsLong();
+        double serverRemaining = Math.min(capacity, Math.max(0L, remaining.getAsLong()));
+        refillPerNano = resetSeconds > 0
+                ? (capacity - serverRemaining) / TimeUnit.SECONDS.toNanos(resetSeconds)
+                : 0.0;
+        // Reservations already handed out are not in the server's count yet, so never raise the local level.
+        tokens = known ? Math.min(tokens, serverRemaining) : serverRemaining;
+        known = true;
+    }
+
+    /**
+     * Called on HTTP 429: nothing is sent until the reset time (or a default back-off).
+     */
+    synchronized void throttled(HttpHeaders headers) {
+        long resetSeconds = headers.firstValueAsLong(HEADER_RESET).orElse(0L);
+        long waitNanos = resetSeconds > 0 ? TimeUnit.SECONDS.toNanos(resetSeconds) : DEFAULT_THROTTLE_NANOS;
+        long now = nanoClock.getAsLong();
+        blockedUntilNanos = Math.max(blockedUntilNanos, now + waitNanos);
+        if (known) {
+            refill(now);
+            tokens = Math.min(tokens, 0.0);
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        lastRefillNanos = now;
+        if (elapsed > 0 && refillPerNano > 0.0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.dce.ed.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.dce.ed.cache.CacheLocations;
+import org.dce.ed.cache.SystemCache;
+
+/**
+ * TTL cache of raw EDSM response bodies keyed by request URL: a small in-memory LRU in front of
+ * table {@code edsm_response_cache} in the {@link SystemCache} SQLite file.
+ *
+ * The disk tier is best-effort; if the database cannot be opened the cache keeps working from memory.
+ * Like the other stores sharing that file it opens a connection per operation, so
+ * {@link SystemCache#clearAndDeleteOnDisk()} is not blocked by a handle held here.
+ */
+final class EdsmResponseCache {
+
+    private static final String TABLE = "edsm_response_cache";
+    private static final int MEMORY_ENTRIES = 512;
+
+    private record Entry(String body, long expiresAtMs) {
+    }
+
+    private final Path dbPath;
+    private final LongSupplier clock;
+    private final Map<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MEMORY_ENTRIES;
+        }
+    };
+
+    private final Object dbLock = new Object();
+    private boolean tableReady;
+    private boolean diskDisabled;
+
+    /**
+     * @param dbPath SQLite file for the disk tier, or null for memory only
+     */
+    EdsmResponseCache(Path dbPath, LongSupplier clock) {
+        this.dbPath = dbPath;
+        this.clock = clock;
+        this.diskDisabled = dbPath == null;
+    }
+
+    static EdsmResponseCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        static final EdsmResponseCache INSTANCE =
+                new EdsmResponseCache(CacheLocations.sqliteCacheDbPath(), System::currentTimeMillis);
+    }
+
+    /**
+     * @return the cached body, or null if missing or expired (may hit SQLite; keep off the EDT)
+     */
+    String get(String url) {
+        long now = clock.getAsLong();
+        synchronized (memory) {
+            Entry e = memory.get(url);
+            if (e != null) {
+                if (e.expiresAtMs > now) {
+                    return e.body;
+                }
+                memory.remove(url);
+            }
+        }
+        Entry e = loadFromDisk(url, now);
+        if (e == null) {
+            return null;
+        }
+        synchronized (memory) {
+            memory.put(url, e);
+        }
+        return e.body;
+    }
+
+    void put(String url, String body, long ttlMs) {
+        if (url == null || body == null || ttlMs <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Entry e = new Entry(body, now + ttlMs);
+        synchronized (memory) {
+            memory.put(url, e);
+        }
+        synchronized (dbLock) {
+            if (!diskUsableLocked()) {
+                return;
+            }
+            try (Connection c = open(); PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO " + TABLE + " (url, body, fetched_at_ms, expires_at_ms) VALUES (?, ?, ?, ?) "
+                            + "ON CONFLICT(url) DO UPDATE SET body = excluded.body, "
+                            + "fetched_at_ms = excluded.fetched_at_ms, expires_at_ms = excluded.expires_at_ms")) {
+                ps.setString(1, url);
+                ps.setString(2, body);
+                ps.setLong(3, now);
+                ps.setLong(4, e.expiresAtMs);
+                ps.executeUpdate();
+            } catch (SQLException ex) {
+                System.err.println("[EDO] EDSM cache save failed: " + ex.getMessage());
+                tableReady = false; // e.g. the cache file was deleted; recreate on the next call
+            }
+        }
+    }
+
+    private Entry loadFromDisk(String url, long now) {
+        synchronized (dbLock) {
+            if (!diskUsableLocked()) {
+                return null;
+            }
+            try (Connection c = open(); PreparedStatement ps = c.prepareStatement(
+                    "SELECT body, expires_at_ms FROM " + TABLE + " WHERE url = ? AND expires_at_ms > ?")) {
+                ps.setString(1, url);
+                ps.setLong(2, now);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? new Entry(rs.getString(1), rs.getLong(2)) : null;
+                }
+            } catch (SQLException ex) {
+                System.err.println("[EDO] EDSM cache load failed: " + ex.getMessage());
+                tableReady = false; // e.g. the cache file was deleted; recreate on the next call
+                return null;
+            }
+        }
+    }
+
+    private Connection open() throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath());
+    }
+
+    /**
+     * Creates the table and drops expired rows on first use; a failure turns the disk tier off.
+     */
+    private boolean diskUsableLocked() {
+        if (tableReady || diskDisabled) {
+            return tableReady;
+        }
+        try {
+            Path parent = dbPath.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Connection c = open()) {
+                try (Statement st = c.createStatement()) {
+                    st.executeUpdate("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                            + "url TEXT PRIMARY KEY,"
+                            + "body TEXT NOT NULL,"
+                            + "fetched_at_ms INTEGER NOT NULL,"
+                            + "expires_at_ms INTEGER NOT NULL"
+                            + ")");
+                }
+                try (PreparedStatement ps = c.prepareStatement("DELETE FROM " + TABLE + " WHERE expires_at_ms <= ?")) {
+                    ps.setLong(1, clock.getAsLong());
+                    ps.executeUpdate();
+                }
+            }
+            tableReady = true;
+        } catch (Exception ex) {
+            System.err.println("[EDO] EDSM cache disabled (" + dbPath + "): " + ex.getMessage());
+            diskDisabled = true;
+        }
+        return tableReady;
+    }
+}
@@ -0,0 +1,102 @@
+package org.dce.ed.util;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * App-wide pool for blocking network and disk work (EDSM/Spansh calls, cache reads) that should not run on the
+ * EDT or on a pool created per use. The thread count is bounded ({@link #THREADS_PROPERTY}, default
+ * {@value #DEFAULT_THREADS}); extra tasks queue. Threads are daemons and exit after a minute idle.
+ * <p>
+ * Work that belongs together (e.g. one Nearby sweep) goes through a {@link Group}, which hands results back in
+ * completion order and can be cancelled as a whole.
+ */
+public final class IoExecutor {
+
+    /** Number of shared I/O threads. */
+    public static final String THREADS_PROPERTY = "edo.io.threads";
+
+    static final int DEFAULT_THREADS = 8;
+
+    private static final ExecutorService SHARED = create(Math.max(1, Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS)));
+
+    private IoExecutor() {
+    }
+
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    static ExecutorService create(int threads) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "EDO-IO-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Tasks submitted together on the shared pool: {@link #take()} returns them as they finish, and
+     * {@link #cancel()} drops the ones not started and interrupts the running ones.
+     */
+    public static final class Group<T> {
+
+        private final ExecutorCompletionService<T> completion;
+        private final Queue<Future<T>> futures = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+
+        public Group() {
+            this(SHARED);
+        }
+
+        Group(ExecutorService executor) {
+            this.completion = new ExecutorCompletionService<>(executor);
+        }
+
+        /**
+         * @throws CancellationException if the group was cancelled
+         */
+        public Future<T> submit(Callable<T> task) {
+            if (cancelled) {
+                throw new CancellationException("I/O group cancelled");
+            }
+            Future<T> f = completion.submit(task);
+            futures.add(f);
+            if (cancelled) {
+                f.cancel(true);
+            }
+            return f;
+        }
+
+        /**
+         * Waits for the next task to finish and returns it (done; possibly failed or cancelled).
+         */
+        public Future<T> take() throws InterruptedException {
+            return completion.take();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            for (Future<T> f : futures) {
+                f.cancel(true);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
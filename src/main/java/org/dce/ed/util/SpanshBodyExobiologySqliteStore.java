@@ -9,7 +9,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.dce.ed.cache.SystemCache;
 
@@ -18,18 +21,44 @@ import com.google.gson.Gson;
 /**
  * Persists {@link SpanshBodyExobiologyInfo} in the same SQLite file as {@link SystemCache}
  * ({@link SystemCache#getSqliteCacheDbPath()}), table {@code spansh_body_exobiology}.
+ * <p>
+ * One long-lived connection with prepared statements serves all reads; {@link #loadAll} reads every body of a
+ * system in one query. {@link #save} returns at once: rows are queued and written by a daemon writer in one
+ * transaction per batch, and reads see queued rows before they reach disk. {@link SystemCache#clearAndDeleteOnDisk()}
+ * closes the connection and drops queued rows first (see {@link SystemCache#addFileReleaseHook}); the next call
+ * reopens it.
  */
 public final class SpanshBodyExobiologySqliteStore {
 
     private static final Gson GSON = new Gson();
     private static final String TABLE = "spansh_body_exobiology";
+    /** Saves arriving within this window share one transaction. */
+    private static final long WRITE_BATCH_WINDOW_MS = 200L;
 
     private static final class Payload {
         boolean excludeFromExobiology;
         List<SpanshLandmark> landmarks;
     }
 
+    private record PendingRow(String systemName, String bodyName, String json, long updatedAtMs) {
+    }
+
+    private static final class Shared {
+        static final SpanshBodyExobiologySqliteStore INSTANCE = new SpanshBodyExobiologySqliteStore();
+    }
+
+    private final Object lock = new Object();
+    /** Saves not yet written, by {@code system \t body}; guarded by {@link #lock}. */
+    private final LinkedHashMap<String, PendingRow> pending = new LinkedHashMap<>();
+    private boolean writerStarted;
+
+    private Connection connection;
+    private PreparedStatement selectOne;
+    private PreparedStatement selectSystem;
+    private PreparedStatement upsert;
+
     private SpanshBodyExobiologySqliteStore() {
+        SystemCache.getInstance().addFileReleaseHook(this::discardAndClose);
     }
 
     /**
@@ -38,82 +67,227 @@ public final class SpanshBodyExobiologySqliteStore {
     public static SpanshBodyExobiologyInfo load(String systemName, String bodyName) {
         String sys = systemName != null ? systemName : "";
         String body = bodyName != null ? bodyName : "";
-        Path dbPath = SystemCache.getSqliteCacheDbPath();
-        try {
-            ensureParentDir(dbPath);
-            try (Connection c = open(dbPath)) {
-                ensureTable(c);
-                try (PreparedStatement ps = c.prepareStatement(
-                        "SELECT payload_json FROM " + TABLE + " WHERE system_name = ? AND body_name = ?")) {
-                    ps.setString(1, sys);
-                    ps.setString(2, body);
-                    try (ResultSet rs = ps.executeQuery()) {
-                        if (!rs.next()) {
-                            return null;
-                        }
-                        String json = rs.getString(1);
-                        if (json == null || json.isBlank()) {
-                            return null;
-                        }
-                        Payload p = GSON.fromJson(json, Payload.class);
-                        if (p == null) {
-                            return null;
-                        }
-                        List<SpanshLandmark> lm = p.landmarks != null ? p.landmarks : new ArrayList<>();
-                        return new SpanshBodyExobiologyInfo(lm, p.excludeFromExobiology);
-                    }
-                }
-            }
-        } catch (Exception ex) {
-            System.err.println("[EDO] Spansh SQLite load failed: " + ex.getMessage());
-            return null;
-        }
+        return Shared.INSTANCE.loadOne(sys, body);
     }
 
     /**
-     * Upserts a successful Spansh response. No-op on null info or I/O failure.
+     * Every stored body of a system in one query, keyed by body name. Empty on DB error.
+     */
+    public static Map<String, SpanshBodyExobiologyInfo> loadAll(String systemName) {
+        return Shared.INSTANCE.loadSystem(systemName != null ? systemName : "");
+    }
+
+    /**
+     * Queues an upsert of a successful Spansh response. No-op on null info.
      */
     public static void save(String systemName, String bodyName, SpanshBodyExobiologyInfo info) {
         if (info == null) {
             return;
         }
-        String sys = systemName != null ? systemName : "";
-        String body = bodyName != null ? bodyName : "";
-        Path dbPath = SystemCache.getSqliteCacheDbPath();
         Payload p = new Payload();
         p.excludeFromExobiology = info.isExcludeFromExobiology();
         p.landmarks = new ArrayList<>(info.getLandmarks());
-        String json = GSON.toJson(p);
-        try {
-            ensureParentDir(dbPath);
-            try (Connection c = open(dbPath)) {
+        String sys = systemName != null ? systemName : "";
+        String body = bodyName != null ? bodyName : "";
+        Shared.INSTANCE.enqueue(new PendingRow(sys, body, GSON.toJson(p), System.currentTimeMillis()));
+    }
+
+    /**
+     * Writes queued saves on the calling thread and returns once they are on disk.
+     */
+    public static void flush() {
+        Shared.INSTANCE.writePending();
+    }
+
+    private SpanshBodyExobiologyInfo loadOne(String sys, String body) {
+        synchronized (lock) {
+            PendingRow queued = pending.get(key(sys, body));
+            if (queued != null) {
+                return parse(queued.json());
+            }
+            try {
+                openLocked();
+                PreparedStatement ps = selectOne;
+                ps.setString(1, sys);
+                ps.setString(2, body);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? parse(rs.getString(1)) : null;
+                }
+            } catch (Exception ex) {
+                System.err.println("[EDO] Spansh SQLite load failed: " + ex.getMessage());
+                closeLocked();
+                return null;
+            }
+        }
+    }
+
+    private Map<String, SpanshBodyExobiologyInfo> loadSystem(String sys) {
+        Map<String, SpanshBodyExobiologyInfo> out = new HashMap<>();
+        synchronized (lock) {
+            try {
+                openLocked();
+                PreparedStatement ps = selectSystem;
+                ps.setString(1, sys);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        SpanshBodyExobiologyInfo info = parse(rs.getString(2));
+                        if (info != null) {
+                            out.put(rs.getString(1), info);
+                        }
+                    }
+                }
+            } catch (Exception ex) {
+                System.err.println("[EDO] Spansh SQLite load failed: " + ex.getMessage());
+                closeLocked();
+            }
+            for (PendingRow row : pending.values()) {
+                if (row.systemName().equals(sys)) {
+                    SpanshBodyExobiologyInfo info = parse(row.json());
+                    if (info != null) {
+                        out.put(row.bodyName(), info);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private void enqueue(PendingRow row) {
+        synchronized (lock) {
+            pending.remove(key(row.systemName(), row.bodyName()));
+            pending.put(key(row.systemName(), row.bodyName()), row);
+            if (!writerStarted) {
+                writerStarted = true;
+                Thread t = new Thread(this::runWriter, "EDO-SpanshStoreWriter");
+                t.setDaemon(true);
+                t.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(this::writePending, "EDO-SpanshStoreFlush"));
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            try {
+                synchronized (lock) {
+                    while (pending.isEmpty()) {
+                        lock.wait();
+                    }
+                }
+                Thread.sleep(WRITE_BATCH_WINDOW_MS);
+                writePending();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                System.err.println("[EDO] Spansh SQLite writer: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Upserts all queued rows in one transaction. The lock is held throughout, so a read sees either the queued
+     * rows or the committed ones. On failure the batch is dropped with a log line, as a failed save always was.
+     */
+    private void writePending() {
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingRow> batch = new ArrayList<>(pending.values());
+            pending.clear();
+            boolean ac = true;
+            try {
+                openLocked();
+                ac = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                for (PendingRow row : batch) {
+                    upsert.setString(1, row.systemName());
+                    upsert.setString(2, row.bodyName());
+                    upsert.setString(3, row.json());
+                    upsert.setLong(4, row.updatedAtMs());
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+                connection.commit();
+                connection.setAutoCommit(ac);
+            } catch (Exception ex) {
+                System.err.println("[EDO] Spansh SQLite save failed (" + batch.size() + " rows): " + ex.getMessage());
+                closeLocked();
+            }
+        }
+    }
+
+    /**
+     * Opens the connection, creates the table and prepares the statements if not already done.
+     */
+    private void openLocked() throws Exception {
+        if (connection == null) {
+            Path dbPath = SystemCache.getSqliteCacheDbPath();
+            Path parent = dbPath.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Connection c = DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath());
+            try {
                 ensureTable(c);
-                try (PreparedStatement ps = c.prepareStatement(
+                selectOne = c.prepareStatement(
+                        "SELECT payload_json FROM " + TABLE + " WHERE system_name = ? AND body_name = ?");
+                selectSystem = c.prepareStatement(
+                        "SELECT body_name, payload_json FROM " + TABLE + " WHERE system_name = ?");
+                upsert = c.prepareStatement(
                         "INSERT INTO " + TABLE + " (system_name, body_name, payload_json, updated_at_ms) "
                                 + "VALUES (?, ?, ?, ?) "
                                 + "ON CONFLICT(system_name, body_name) DO UPDATE SET "
-                                + "payload_json = excluded.payload_json, updated_at_ms = excluded.updated_at_ms")) {
-                    ps.setString(1, sys);
-                    ps.setString(2, body);
-                    ps.setString(3, json);
-                    ps.setLong(4, System.currentTimeMillis());
-                    ps.executeUpdate();
-                }
+                                + "payload_json = excluded.payload_json, updated_at_ms = excluded.updated_at_ms");
+            } catch (SQLException ex) {
+                c.close();
+                throw ex;
             }
-        } catch (Exception ex) {
-            System.err.println("[EDO] Spansh SQLite save failed: " + ex.getMessage());
+            connection = c;
+        }
+    }
+
+    /**
+     * Drops queued rows and closes the connection, before the cache file is deleted; writing the rows first would
+     * only put them into the file being cleared. The next call reopens it.
+     */
+    private void discardAndClose() {
+        synchronized (lock) {
+            pending.clear();
+            closeLocked();
+        }
+    }
+
+    private void closeLocked() {
+        if (connection == null) {
+            return;
         }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+        connection = null;
+        selectOne = null;
+        selectSystem = null;
+        upsert = null;
     }
 
-    private static void ensureParentDir(Path dbPath) throws java.io.IOException {
-        Path parent = dbPath.getParent();
-        if (parent != null) {
-            Files.createDirectories(parent);
+    private static SpanshBodyExobiologyInfo parse(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        Payload p = GSON.fromJson(json, Payload.class);
+        if (p == null) {
+            return null;
         }
+        List<SpanshLandmark> lm = p.landmarks != null ? p.landmarks : new ArrayList<>();
+        return new SpanshBodyExobiologyInfo(lm, p.excludeFromExobiology);
     }
 
-    private static Connection open(Path dbPath) throws SQLException {
-        return DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath());
+    private static String key(String systemName, String bodyName) {
+        return systemName + "\t" + bodyName;
     }
 
     private static void ensureTable(Connection c) throws SQLException {
@@ -1,5 +1,6 @@
 package org.dce.ed.util;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -8,9 +9,13 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
@@ -29,24 +34,38 @@ import com.google.gson.JsonParser;
  *   <li>Bodies search: POST /api/bodies/search (form-style filters); ref_system often ignored in practice.</li>
  * </ul>
  * API is undocumented. Use search() for "bodies in system X" by name; use getBody(id) for landmarks/exobiology.
+ * <p>
+ * Job results are polled by {@link SpanshJobPoller} on a shared scheduler; the {@code ...Async} methods
+ * return futures that complete when the job does and can be cancelled when the user starts a new query.
  */
 public class SpanshClient {
 
     private static final String BASE = "https://spansh.co.uk/api";
     private static final String USER_AGENT = "EDO-Spansh/1.0";
-    private static final int POLL_MS = 1_000;
-    private static final int POLL_ATTEMPTS = 30;
+
+    /**
+     * A polled job finished with {@code status: failed}; the message is Spansh's error text.
+     */
+    public static final class JobFailedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public JobFailedException(String message) {
+            super(message);
+        }
+    }
 
     private final HttpClient client;
+    private final SpanshJobPoller poller;
     private final Gson gson = new Gson();
 
-    /** Set when a polled job returns {@code status: failed} (see {@link #pollResults(String, boolean)}). */
+    /** Set when a polled job returns {@code status: failed} (see {@link JobFailedException}). */
     private volatile String lastResultsPollError;
 
     public SpanshClient() {
         this.client = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(15))
                 .build();
+        this.poller = new SpanshJobPoller(client, BASE + "/results/", USER_AGENT);
     }
 
     /**
@@ -65,9 +84,9 @@ public class SpanshClient {
     }
 
     /**
-     * Submit a job to the given path with form body. Returns job id or null.
+     * Submit a job to the given path with form body. Completes with the job id, or null if Spansh refused it.
      */
-    private String submitJob(String path, String formBody, String label) throws Exception {
+    private CompletableFuture<String> submitJobAsync(String path, String formBody, String label) {
         HttpRequest req = HttpRequest.newBuilder()
                 .uri(URI.create(path))
                 .header("Content-Type", "application/x-www-form-urlencoded")
@@ -76,83 +95,76 @@ public class SpanshClient {
                 .POST(HttpRequest.BodyPublishers.ofString(formBody, StandardCharsets.UTF_8))
                 .build();
 
-        HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        String respBody = resp.body();
-
-        if (resp.statusCode() != 202) {
-            System.err.println("Spansh " + label + " submit: HTTP " + resp.statusCode() + " " + respBody);
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).thenApply(resp -> {
+            String respBody = resp.body();
+            if (resp.statusCode() != 202) {
+                System.err.println("Spansh " + label + " submit: HTTP " + resp.statusCode() + " " + respBody);
+                return null;
+            }
+            JsonObject json = JsonParser.parseString(respBody).getAsJsonObject();
+            if (json.has("job")) {
+                return json.get("job").getAsString();
+            }
+            System.err.println("Spansh " + label + " submit: no job in " + respBody);
             return null;
-        }
-
-        JsonObject json = JsonParser.parseString(respBody).getAsJsonObject();
-        if (json.has("job")) {
-            return json.get("job").getAsString();
-        }
-        System.err.println("Spansh " + label + " submit: no job in " + respBody);
-        return null;
-    }
-
-    private String pollResults(String job) throws Exception {
-        return pollResults(job, false);
+        });
     }
 
-    private String pollResults(String job, boolean failOnInBodyFailure) throws Exception {
-        URI resultsUri = URI.create(BASE + "/results/" + job);
-        for (int i = 0; i < POLL_ATTEMPTS; i++) {
-            TimeUnit.MILLISECONDS.sleep(POLL_MS);
-
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(resultsUri)
-                    .header("User-Agent", USER_AGENT)
-                    .timeout(Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-
-            HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            int code = resp.statusCode();
-            String body = resp.body();
-
-            if (code == 200) {
-                if (failOnInBodyFailure && body != null && !body.isBlank()) {
-                    try {
-                        JsonObject json = JsonParser.parseString(body).getAsJsonObject();
-                        if (json.has("status") && "failed".equals(json.get("status").getAsString())) {
-                            lastResultsPollError = json.has("error") && !json.get("error").isJsonNull()
-                                    ? json.get("error").getAsString()
-                                    : "failed";
-                            System.err.println("Spansh results failed: " + body);
-                            return null;
-                        }
-                    } catch (Exception ignored) {
-                        // return raw body
-                    }
+    /**
+     * Submits a job and polls its results; completes with null if the submit was refused.
+     */
+    private CompletableFuture<String> runJobAsync(String path, String formBody, String label, boolean failOnInBodyFailure) {
+        CompletableFuture<String> job = submitJobAsync(path, formBody, label);
+        CompletableFuture<String> result = job.thenCompose(id -> id == null
+                ? CompletableFuture.completedFuture(null)
+                : poller.poll(id, failOnInBodyFailure));
+        // Cancelling the caller's future also stops the poll for this job.
+        result.whenComplete((body, ex) -> {
+            if (result.isCancelled()) {
+                String id = job.getNow(null);
+                if (id != null) {
+                    poller.cancel(id);
                 }
-                return body;
             }
-            if (code == 400) {
-                System.err.println("Spansh results error: " + body);
-                return null;
+        });
+        return result;
+    }
+
+    /**
+     * Waits for a Spansh future on the calling thread (blocking API). Failures are logged and
+     * reported as null like before; a failed job also sets {@link #getLastResultsPollError()}.
+     */
+    private String await(CompletableFuture<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JobFailedException) {
+                lastResultsPollError = cause.getMessage();
+            } else if (cause instanceof IOException) {
+                System.err.println("Spansh: " + cause.getMessage());
+            } else {
+                cause.printStackTrace();
             }
-            // 202 = still processing
+            return null;
         }
-        System.err.println("Spansh results: timed out waiting for job " + job);
-        return null;
     }
 
     /**
      * Try route API (documented pattern from EDMC_SpanshRouter) to confirm base URL and results.
      */
     public String queryRoute(String from, String to, double rangeLy) {
-        try {
-            String form = "from=" + urlEncode(from) + "&to=" + urlEncode(to)
-                    + "&range=" + rangeLy + "&efficiency=60&supercharge_multiplier=4";
-            String job = submitJob(BASE + "/route", form, "route");
-            if (job == null) return null;
-            return pollResults(job);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        return await(queryRouteAsync(from, to, rangeLy));
+    }
+
+    public CompletableFuture<String> queryRouteAsync(String from, String to, double rangeLy) {
+        String form = "from=" + urlEncode(from) + "&to=" + urlEncode(to)
+                + "&range=" + rangeLy + "&efficiency=60&supercharge_multiplier=4";
+        return runJobAsync(BASE + "/route", form, "route", false);
     }
 
     public String getLastResultsPollError() {
@@ -163,43 +175,61 @@ public class SpanshClient {
      * GET /api/search/systems?q=...
      */
     public String searchSystems(String query) {
+        return await(searchSystemsAsync(query));
+    }
+
+    public CompletableFuture<String> searchSystemsAsync(String query) {
         if (query == null || query.isBlank()) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
-        try {
-            String path = BASE + "/search/systems?q=" + urlEncode(query.trim());
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(path))
-                    .header("User-Agent", USER_AGENT)
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-            HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        String path = BASE + "/search/systems?q=" + urlEncode(query.trim());
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(path))
+                .header("User-Agent", USER_AGENT)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).thenApply(resp -> {
             if (resp.statusCode() == 200) {
                 return resp.body();
             }
             System.err.println("Spansh search/systems: HTTP " + resp.statusCode() + " " + resp.body());
             return null;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        });
     }
 
     /**
      * Resolves a system name to id64 for Spansh APIs. Tries {@link #searchSystems(String)} first, then {@link #search(String)}.
      */
     public Long resolveSystemId64(String systemName) {
-        if (systemName == null || systemName.isBlank()) {
+        try {
+            return resolveSystemId64Async(systemName).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
             return null;
         }
+    }
+
+    public CompletableFuture<Long> resolveSystemId64Async(String systemName) {
+        if (systemName == null || systemName.isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
         String trimmed = systemName.trim();
         String lower = trimmed.toLowerCase(Locale.ROOT);
-        Long id = parseSystemId64FromSearchResults(searchSystems(trimmed), lower);
-        if (id != null) {
-            return id;
-        }
-        return parseSystemId64FromSearchResults(search(trimmed), lower);
+        return searchSystemsAsync(trimmed)
+                .exceptionally(ex -> null)
+                .thenCompose(json -> {
+                    Long id = parseSystemId64FromSearchResults(json, lower);
+                    if (id != null) {
+                        return CompletableFuture.completedFuture(id);
+                    }
+                    return searchAsync(trimmed)
+                            .exceptionally(ex -> null)
+                            .thenApply(all -> parseSystemId64FromSearchResults(all, lower));
+                });
     }
 
     private static Long parseSystemId64FromSearchResults(String searchJson, String nameLower) {
@@ -267,30 +297,31 @@ public class SpanshClient {
     public String queryFleetCarrierRoute(long sourceSystemId64, List<Long> destinationSystemId64s,
             String carrierType, int usedCapacity, boolean calculateStartingFuel) {
         lastResultsPollError = null;
+        return await(queryFleetCarrierRouteAsync(sourceSystemId64, destinationSystemId64s,
+                carrierType, usedCapacity, calculateStartingFuel));
+    }
+
+    /**
+     * Async {@link #queryFleetCarrierRoute}: completes with the results JSON or null if the submit was refused,
+     * and fails with {@link JobFailedException} when Spansh reports the job as failed.
+     */
+    public CompletableFuture<String> queryFleetCarrierRouteAsync(long sourceSystemId64, List<Long> destinationSystemId64s,
+            String carrierType, int usedCapacity, boolean calculateStartingFuel) {
         if (destinationSystemId64s == null || destinationSystemId64s.isEmpty()) {
-            return null;
-        }
-        try {
-            String ct = (carrierType != null && !carrierType.isBlank()) ? carrierType : "fleet";
-            StringBuilder form = new StringBuilder();
-            form.append("carrier_type=").append(urlEncode(ct));
-            form.append("&used_capacity=").append(usedCapacity);
-            form.append("&calculate_starting_fuel=").append(calculateStartingFuel ? 1 : 0);
-            form.append("&source_system=").append(sourceSystemId64);
-            for (Long d : destinationSystemId64s) {
-                if (d != null && d != 0L) {
-                    form.append("&destination_systems=").append(d.longValue());
-                }
+            return CompletableFuture.completedFuture(null);
+        }
+        String ct = (carrierType != null && !carrierType.isBlank()) ? carrierType : "fleet";
+        StringBuilder form = new StringBuilder();
+        form.append("carrier_type=").append(urlEncode(ct));
+        form.append("&used_capacity=").append(usedCapacity);
+        form.append("&calculate_starting_fuel=").append(calculateStartingFuel ? 1 : 0);
+        form.append("&source_system=").append(sourceSystemId64);
+        for (Long d : destinationSystemId64s) {
+            if (d != null && d != 0L) {
+                form.append("&destination_systems=").append(d.longValue());
             }
-            String job = submitJob(BASE + "/fleetcarrier/route", form.toString(), "fleetcarrier");
-            if (job == null) {
-                return null;
-            }
-            return pollResults(job, true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
         }
+        return runJobAsync(BASE + "/fleetcarrier/route", form.toString(), "fleetcarrier", true);
     }
 
     /**
@@ -314,36 +345,35 @@ public class SpanshClient {
      * Body search with optional system_name filter (only bodies in that system).
      */
     public String queryBodiesSearch(String refSystem, double radiusLy, int size, String filterSystemName) {
-        try {
-            JsonObject body = new JsonObject();
-            body.addProperty("ref_system", refSystem);
-            body.addProperty("radius", radiusLy);
-            body.addProperty("size", size);
-            if (filterSystemName != null && !filterSystemName.isEmpty()) {
-                JsonObject filters = new JsonObject();
-                filters.addProperty("system_name", filterSystemName);
-                body.add("filters", filters);
-            }
-            return postBodiesSearch(body.toString());
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        return await(queryBodiesSearchAsync(refSystem, radiusLy, size, filterSystemName));
+    }
+
+    public CompletableFuture<String> queryBodiesSearchAsync(String refSystem, double radiusLy, int size,
+            String filterSystemName) {
+        JsonObject body = new JsonObject();
+        body.addProperty("ref_system", refSystem);
+        body.addProperty("radius", radiusLy);
+        body.addProperty("size", size);
+        if (filterSystemName != null && !filterSystemName.isEmpty()) {
+            JsonObject filters = new JsonObject();
+            filters.addProperty("system_name", filterSystemName);
+            body.add("filters", filters);
+        }
+        return postBodiesSearchAsync(body.toString());
     }
 
     /**
      * Body search using only system_name (no ref_system). Tries to get bodies in the given system.
      */
     public String queryBodiesInSystem(String systemName, int size) {
-        try {
-            JsonObject body = new JsonObject();
-            body.addProperty("system_name", systemName);
-            body.addProperty("size", size);
-            return postBodiesSearch(body.toString());
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        return await(queryBodiesInSystemAsync(systemName, size));
+    }
+
+    public CompletableFuture<String> queryBodiesInSystemAsync(String systemName, int size) {
+        JsonObject body = new JsonObject();
+        body.addProperty("system_name", systemName);
+        body.addProperty("size", size);
+        return postBodiesSearchAsync(body.toString());
     }
 
     /**
@@ -373,22 +403,22 @@ public class SpanshClient {
      * Tries GET /api/search?q=... to get systems and bodies by name.
      */
     public String search(String query) {
-        try {
-            String path = BASE + "/search?q=" + urlEncode(query);
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(path))
-                    .header("User-Agent", USER_AGENT)
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-            HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return await(searchAsync(query));
+    }
+
+    public CompletableFuture<String> searchAsync(String query) {
+        String path = BASE + "/search?q=" + urlEncode(query);
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(path))
+                .header("User-Agent", USER_AGENT)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).thenApply(resp -> {
             if (resp.statusCode() == 200) return resp.body();
             System.err.println("Spansh search: " + resp.statusCode() + " " + (resp.body() != null ? resp.body().substring(0, Math.min(200, resp.body().length())) : ""));
             return null;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        });
     }
 
     /**
@@ -498,6 +528,40 @@ public class SpanshClient {
         }
     }
 
+    /**
+     * Exobiology info of every body in a bodies/search response, by system name then body name (as Spansh spells
+     * them). Records use the same landmarks / signals fields as GET /api/body/{id}. Empty if unparseable.
+     */
+    public static Map<String, Map<String, SpanshBodyExobiologyInfo>> parseBodiesExobiologyInfo(String bodiesSearchJson) {
+        Map<String, Map<String, SpanshBodyExobiologyInfo>> bySystem = new LinkedHashMap<>();
+        if (bodiesSearchJson == null || bodiesSearchJson.isBlank()) {
+            return bySystem;
+        }
+        try {
+            JsonObject root = JsonParser.parseString(bodiesSearchJson).getAsJsonObject();
+            if (!root.has("results") || !root.get("results").isJsonArray()) {
+                return bySystem;
+            }
+            for (JsonElement el : root.getAsJsonArray("results")) {
+                if (!el.isJsonObject()) continue;
+                JsonObject r = el.getAsJsonObject();
+                JsonObject rec = r.has("record") && r.get("record").isJsonObject() ? r.getAsJsonObject("record") : r;
+                if (!rec.has("system_name") || !rec.has("name")
+                        || rec.get("system_name").isJsonNull() || rec.get("name").isJsonNull()) {
+                    continue;
+                }
+                String sys = rec.get("system_name").getAsString().trim();
+                String name = rec.get("name").getAsString().trim();
+                if (sys.isEmpty() || name.isEmpty()) continue;
+                bySystem.computeIfAbsent(sys, k -> new HashMap<>())
+                        .put(name, new SpanshBodyExobiologyInfo(parseLandmarks(rec), computeExcludeFromExobiology(rec)));
+            }
+        } catch (Exception e) {
+            return new LinkedHashMap<>();
+        }
+        return bySystem;
+    }
+
     private static List<SpanshLandmark> parseLandmarks(JsonObject rec) {
         if (!rec.has("landmarks") || !rec.get("landmarks").isJsonArray()) {
             return Collections.emptyList();
@@ -551,7 +615,7 @@ public class SpanshClient {
     /**
      * POST to /api/bodies/search. Handles 200 (immediate result) or 202 (job then poll).
      */
-    private String postBodiesSearch(String jsonBody) throws Exception {
+    private CompletableFuture<String> postBodiesSearchAsync(String jsonBody) {
         HttpRequest req = HttpRequest.newBuilder()
                 .uri(URI.create(BASE + "/bodies/search"))
                 .header("Content-Type", "application/json")
@@ -560,21 +624,22 @@ public class SpanshClient {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
                 .build();
 
-        HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        String respBody = resp.body();
-        int code = resp.statusCode();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).thenCompose(resp -> {
+            String respBody = resp.body();
+            int code = resp.statusCode();
 
-        if (code == 200) {
-            return respBody;
-        }
-        if (code == 202) {
-            JsonObject json = JsonParser.parseString(respBody).getAsJsonObject();
-            if (json.has("job")) {
-                return pollResults(json.get("job").getAsString());
+            if (code == 200) {
+                return CompletableFuture.completedFuture(respBody);
             }
-        }
-        System.err.println("Spansh bodies/search: HTTP " + code + " " + (respBody != null && respBody.length() > 200 ? respBody.substring(0, 200) + "..." : respBody));
-        return null;
+            if (code == 202) {
+                JsonObject json = JsonParser.parseString(respBody).getAsJsonObject();
+                if (json.has("job")) {
+                    return poller.poll(json.get("job").getAsString(), false);
+                }
+            }
+            System.err.println("Spansh bodies/search: HTTP " + code + " " + (respBody != null && respBody.length() > 200 ? respBody.substring(0, 200) + "..." : respBody));
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
     /**
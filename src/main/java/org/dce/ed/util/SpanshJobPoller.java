@@ -0,0 +1,197 @@
+package org.dce.ed.util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Polls Spansh {@code /api/results/{job}} for any number of jobs from one scheduler thread.
+ * <p>
+ * Each job is a small state machine: a timer tick sends an async GET and the response either completes
+ * the job's future or schedules the next tick. No thread waits while Spansh works on a job. The interval
+ * starts short (most routes finish in a second or two) and grows for long-running jobs up to a cap;
+ * a job that is not done by its deadline fails with a timeout. Cancelling the returned future stops polling.
+ */
+final class SpanshJobPoller {
+
+    static final long INITIAL_DELAY_MS = 500;
+    static final long MAX_DELAY_MS = 4_000;
+    static final double BACKOFF_FACTOR = 1.5;
+    static final long DEFAULT_TIMEOUT_MS = 45_000;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "EDO-SpanshPoller");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final HttpClient client;
+    private final String resultsBase;
+    private final String userAgent;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Job> active = new ConcurrentHashMap<>();
+
+    SpanshJobPoller(HttpClient client, String resultsBase, String userAgent) {
+        this(client, resultsBase, userAgent, SCHEDULER);
+    }
+
+    SpanshJobPoller(HttpClient client, String resultsBase, String userAgent, ScheduledExecutorService scheduler) {
+        this.client = client;
+        this.resultsBase = resultsBase;
+        this.userAgent = userAgent;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Starts polling {@code job} (or joins the poll already running for it).
+     *
+     * @param failOnInBodyFailure treat a 200 whose body says {@code "status": "failed"} as a
+     *        {@link SpanshClient.JobFailedException} instead of a result
+     * @return the results body; fails with {@link IOException} on HTTP 400 or timeout
+     */
+    CompletableFuture<String> poll(String job, boolean failOnInBodyFailure) {
+        Job j = active.computeIfAbsent(job, id -> new Job(id, failOnInBodyFailure, DEFAULT_TIMEOUT_MS));
+        return j.result;
+    }
+
+    /**
+     * Stops polling {@code job}; its future completes as cancelled. No-op if the job is not being polled.
+     */
+    void cancel(String job) {
+        Job j = active.remove(job);
+        if (j != null) {
+            j.result.cancel(false);
+        }
+    }
+
+    /** Jobs currently being polled. */
+    int activeJobs() {
+        return active.size();
+    }
+
+    private final class Job {
+
+        final String id;
+        final boolean failOnInBodyFailure;
+        final long deadlineNanos;
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final HttpRequest request;
+        long delayMs = INITIAL_DELAY_MS;
+        volatile ScheduledFuture<?> timer;
+
+        Job(String id, boolean failOnInBodyFailure, long timeoutMs) {
+            this.id = id;
+            this.failOnInBodyFailure = failOnInBodyFailure;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            this.request = HttpRequest.newBuilder()
+                    .uri(URI.create(resultsBase + id))
+                    .header("User-Agent", userAgent)
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            // Normal outcomes leave the active map in succeed()/fail() before the future completes; this
+            // hook only covers a caller cancelling the returned future directly.
+            result.whenComplete((body, ex) -> {
+                active.remove(id, this);
+                ScheduledFuture<?> t = timer;
+                if (t != null) {
+                    t.cancel(false);
+                }
+            });
+            schedule();
+        }
+
+        private void schedule() {
+            if (result.isDone()) {
+                return;
+            }
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMs <= 0) {
+                System.err.println("Spansh results: timed out waiting for job " + id);
+                fail(new IOException("Spansh results: timed out waiting for job " + id));
+                return;
+            }
+            timer = scheduler.schedule(this::tick, Math.min(delayMs, remainingMs), TimeUnit.MILLISECONDS);
+            delayMs = Math.min(MAX_DELAY_MS, (long) (delayMs * BACKOFF_FACTOR));
+        }
+
+        private void tick() {
+            if (result.isDone()) {
+                return;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .whenComplete((resp, ex) -> {
+                        if (ex != null) {
+                            fail(ex);
+                        } else {
+                            handle(resp.statusCode(), resp.body());
+                        }
+                    });
+        }
+
+        private void handle(int code, String body) {
+            if (code == 200) {
+                String failure = failOnInBodyFailure ? inBodyFailure(body) : null;
+                if (failure != null) {
+                    System.err.println("Spansh results failed: " + body);
+                    fail(new SpanshClient.JobFailedException(failure));
+                } else {
+                    succeed(body);
+                }
+                return;
+            }
+            if (code == 400) {
+                System.err.println("Spansh results error: " + body);
+                fail(new IOException("Spansh results error: " + body));
+                return;
+            }
+            // 202 = still processing
+            schedule();
+        }
+
+        /** Leaves the active map first so no caller woken by the future still counts this job. */
+        private void succeed(String body) {
+            active.remove(id, this);
+            result.complete(body);
+        }
+
+        private void fail(Throwable ex) {
+            active.remove(id, this);
+            result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * @return the job's error text when the body reports {@code "status": "failed"}, else null
+     */
+    static String inBodyFailure(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+            if (json.has("status") && "failed".equals(json.get("status").getAsString())) {
+                return json.has("error") && !json.get("error").isJsonNull()
+                        ? json.get("error").getAsString()
+                        : "failed";
+            }
+        } catch (Exception ignored) {
+            // not a JSON object: the body is the result
+        }
+        return null;
+    }
+}
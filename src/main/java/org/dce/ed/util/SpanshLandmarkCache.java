@@ -1,34 +1,77 @@
 package org.dce.ed.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Spansh body exobiology info (landmarks + exclude-from-exobiology) keyed by (systemName, bodyName).
  * Layered: in-memory → SQLite ({@link SpanshBodyExobiologySqliteStore}, same DB as {@link org.dce.ed.cache.SystemCache})
  * → Spansh HTTP on cache miss. Successful network responses are persisted for the next session.
+ * <p>
+ * The SQLite tier is read a whole system at a time ({@link SpanshBodyExobiologySqliteStore#loadAll}): the first
+ * lookup of a system loads all of its stored bodies, and later misses in that system skip the disk.
+ * <p>
+ * The network tier is also per system: a miss fetches every body of the system with one bodies/search request
+ * (shared by concurrent lookups in that system), and only falls back to the per-body lookup if that request fails
+ * or Spansh does not know the system. {@link #prefetchSystems} and {@link #prefetchSphere} start those requests
+ * ahead of time (one per system, or one for a whole sphere), so the data is usually in memory before a body is
+ * looked at.
  */
 public final class SpanshLandmarkCache {
 
     private static final String KEY_SEP = "\t";
+    /** Max bodies per bodies/search request for one system. */
+    private static final int SYSTEM_BODIES_SIZE = 500;
+    /** Max bodies per bodies/search request for a sphere; systems cut off by it are left to per-system fetches. */
+    private static final int SPHERE_BODIES_SIZE = 2000;
 
     private static final SpanshLandmarkCache INSTANCE = new SpanshLandmarkCache();
 
     private final Map<String, SpanshBodyExobiologyInfo> cache = new ConcurrentHashMap<>();
-    private final SpanshClient client = new SpanshClient();
+    /** Systems whose stored bodies are all in {@link #cache}; a concurrent lookup waits for the load in progress. */
+    private final Map<String, Boolean> loadedSystems = new ConcurrentHashMap<>();
+    /**
+     * Spansh system fetches this session by canonical system name: true once Spansh returned the system's bodies,
+     * false if the request failed or did not cover the system.
+     */
+    private final Map<String, CompletableFuture<Boolean>> systemFetches = new ConcurrentHashMap<>();
+    /** Per-body fetches in progress, so concurrent misses of one body share a request. */
+    private final Map<String, CompletableFuture<SpanshBodyExobiologyInfo>> bodyFetches = new ConcurrentHashMap<>();
+    private final SpanshClient client;
 
     private SpanshLandmarkCache() {
+        this(new SpanshClient());
+    }
+
+    /** For tests: a cache of its own that asks {@code client} instead of Spansh. */
+    SpanshLandmarkCache(SpanshClient client) {
+        this.client = client;
     }
 
     public static SpanshLandmarkCache getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Case-insensitive key; "Sol 3" and "3" in system "Sol" are the same body (Spansh lists full names).
+     */
     private static String key(String systemName, String bodyName) {
-        if (systemName == null) systemName = "";
-        if (bodyName == null) bodyName = "";
-        return systemName + KEY_SEP + bodyName;
+        String sys = canonical(systemName);
+        String body = canonical(bodyName);
+        if (!sys.isEmpty() && body.startsWith(sys + " ")) {
+            body = body.substring(sys.length() + 1);
+        }
+        return sys + KEY_SEP + body;
+    }
+
+    private static String canonical(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -41,17 +84,19 @@ public final class SpanshLandmarkCache {
         if (mem != null) {
             return mem;
         }
-        SpanshBodyExobiologyInfo disk = SpanshBodyExobiologySqliteStore.load(systemName, bodyName);
+        SpanshBodyExobiologyInfo disk = loadFromDisk(systemName, k);
         if (disk != null) {
-            cache.put(k, disk);
             return disk;
         }
-        SpanshBodyExobiologyInfo result = client.getBodyExobiologyInfo(systemName, bodyName);
-        if (result != null) {
-            cache.put(k, result);
-            SpanshBodyExobiologySqliteStore.save(systemName, bodyName, result);
+        if (systemName != null && !systemName.isBlank()) {
+            boolean systemKnown = fetchSystem(systemName).join();
+            SpanshBodyExobiologyInfo fetched = cache.get(k);
+            if (fetched != null || systemKnown) {
+                // Spansh listed the system; a body missing from it would not be found one by one either.
+                return fetched;
+            }
         }
-        return result;
+        return fetchBody(systemName, bodyName, k);
     }
 
     /**
@@ -64,10 +109,206 @@ public final class SpanshLandmarkCache {
         if (mem != null) {
             return mem;
         }
-        SpanshBodyExobiologyInfo disk = SpanshBodyExobiologySqliteStore.load(systemName, bodyName);
-        if (disk != null) {
-            cache.put(k, disk);
+        return loadFromDisk(systemName, k);
+    }
+
+    /**
+     * Starts one bodies/search request per system not fetched yet this session. The returned future completes
+     * when all of them have been absorbed into memory and queued for SQLite; it never completes exceptionally.
+     */
+    public CompletableFuture<Void> prefetchSystems(Collection<String> systemNames) {
+        List<CompletableFuture<Boolean>> fetches = new ArrayList<>();
+        for (String sys : systemNames) {
+            if (sys != null && !sys.isBlank()) {
+                fetches.add(fetchSystem(sys));
+            }
+        }
+        return CompletableFuture.allOf(fetches.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Like {@link #prefetchSystems} but asks Spansh once for every body within {@code radiusLy} of
+     * {@code refSystem}. Systems the response does not list are settled as unknown to Spansh; if the response was
+     * cut off by its size limit they are left unfetched instead, for a lookup to fetch on its own.
+     */
+    public CompletableFuture<Void> prefetchSphere(String refSystem, double radiusLy, Collection<String> systemNames) {
+        if (refSystem == null || refSystem.isBlank()) {
+            return prefetchSystems(systemNames);
+        }
+        List<CompletableFuture<Boolean>> fetches = new ArrayList<>();
+        Map<String, CompletableFuture<Boolean>> claimed = claim(systemNames, fetches);
+        if (!claimed.isEmpty()) {
+            client.queryBodiesSearchAsync(refSystem.trim(), radiusLy, SPHERE_BODIES_SIZE, null).whenComplete((json, ex) -> {
+                Map<String, Integer> listed = Map.of();
+                try {
+                    if (ex == null) {
+                        listed = absorb(json);
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("[EDO] Spansh sphere bodies failed for " + refSystem + ": " + e.getMessage());
+                }
+                // A failed request proves nothing about the systems; leave them to per-system fetches.
+                settle(claimed, listed, ex != null || listed.isEmpty() ? 0 : SPHERE_BODIES_SIZE);
+            });
+        }
+        return CompletableFuture.allOf(fetches.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Stores every body of a bodies/search sphere response the caller already has (e.g. the Nearby tab's own
+     * query) and settles {@code systemNames} from it as {@link #prefetchSphere} would.
+     *
+     * @param requestedSize the {@code size} the response was requested with
+     */
+    public void absorbSphere(String bodiesSearchJson, int requestedSize, Collection<String> systemNames) {
+        Map<String, Integer> listed = absorb(bodiesSearchJson);
+        // Listed systems go through settle too, so a farthest system cut off by the size limit is not
+        // recorded as fully known.
+        List<String> systems = new ArrayList<>(systemNames);
+        systems.addAll(listed.keySet());
+        settle(claim(systems, new ArrayList<>()), listed, listed.isEmpty() ? 0 : requestedSize);
+    }
+
+    /**
+     * Registers a fetch for each system not fetched yet; all systems' futures are added to {@code all}.
+     *
+     * @return the newly registered futures by canonical name, for the caller to complete
+     */
+    private Map<String, CompletableFuture<Boolean>> claim(Collection<String> systemNames,
+            List<CompletableFuture<Boolean>> all) {
+        Map<String, CompletableFuture<Boolean>> claimed = new LinkedHashMap<>();
+        for (String sys : systemNames) {
+            if (sys == null || sys.isBlank()) {
+                continue;
+            }
+            String c = canonical(sys);
+            CompletableFuture<Boolean> f = claimed.get(c);
+            if (f == null) {
+                CompletableFuture<Boolean> mine = new CompletableFuture<>();
+                f = systemFetches.putIfAbsent(c, mine);
+                if (f == null) {
+                    f = mine;
+                    claimed.put(c, mine);
+                }
+            }
+            all.add(f);
+        }
+        return claimed;
+    }
+
+    /**
+     * Completes claimed fetches from a sphere response. With {@code requestedSize} reached (or 0, for a response
+     * that tells nothing), unlisted systems and the farthest listed one, which may be partial, are released so
+     * that a later lookup fetches them per system.
+     */
+    private void settle(Map<String, CompletableFuture<Boolean>> claimed, Map<String, Integer> listed,
+            int requestedSize) {
+        int total = listed.values().stream().mapToInt(Integer::intValue).sum();
+        boolean complete = requestedSize > 0 && total < requestedSize;
+        String partial = null;
+        if (!complete) {
+            for (String c : listed.keySet()) {
+                partial = c;
+            }
+        }
+        for (Map.Entry<String, CompletableFuture<Boolean>> e : claimed.entrySet()) {
+            String c = e.getKey();
+            boolean isListed = listed.containsKey(c) && !c.equals(partial);
+            if (isListed || complete) {
+                e.getValue().complete(isListed);
+            } else {
+                systemFetches.remove(c, e.getValue());
+                e.getValue().complete(Boolean.FALSE);
+            }
+        }
+    }
+
+    /**
+     * The shared fetch of one system's bodies; true once Spansh listed the system.
+     */
+    private CompletableFuture<Boolean> fetchSystem(String systemName) {
+        String c = canonical(systemName);
+        CompletableFuture<Boolean> existing = systemFetches.get(c);
+        if (existing != null) {
+            return existing;
         }
-        return disk;
+        CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        existing = systemFetches.putIfAbsent(c, mine);
+        if (existing != null) {
+            return existing;
+        }
+        requestSystem(systemName.trim(), c, mine);
+        return mine;
+    }
+
+    /**
+     * One bodies/search request for a single system; completes {@code target} with whether Spansh listed it.
+     */
+    private void requestSystem(String systemName, String c, CompletableFuture<Boolean> target) {
+        client.queryBodiesInSystemAsync(systemName, SYSTEM_BODIES_SIZE).whenComplete((json, ex) -> {
+            boolean known = false;
+            try {
+                known = ex == null && absorb(json).containsKey(c);
+            } catch (RuntimeException e) {
+                System.err.println("[EDO] Spansh system bodies failed for " + systemName + ": " + e.getMessage());
+            } finally {
+                target.complete(known);
+            }
+        });
+    }
+
+    /**
+     * Puts every body of a bodies/search response into memory and the SQLite write queue.
+     *
+     * @return body count by canonical name of each system the response listed, in response order
+     */
+    private Map<String, Integer> absorb(String bodiesSearchJson) {
+        Map<String, Integer> systems = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, SpanshBodyExobiologyInfo>> sys
+                : SpanshClient.parseBodiesExobiologyInfo(bodiesSearchJson).entrySet()) {
+            systems.merge(canonical(sys.getKey()), sys.getValue().size(), Integer::sum);
+            for (Map.Entry<String, SpanshBodyExobiologyInfo> body : sys.getValue().entrySet()) {
+                cache.put(key(sys.getKey(), body.getKey()), body.getValue());
+                SpanshBodyExobiologySqliteStore.save(sys.getKey(), body.getKey(), body.getValue());
+            }
+        }
+        return systems;
+    }
+
+    /**
+     * Per-body lookup (two Spansh round trips), shared by concurrent misses of the same body.
+     */
+    private SpanshBodyExobiologyInfo fetchBody(String systemName, String bodyName, String k) {
+        CompletableFuture<SpanshBodyExobiologyInfo> mine = new CompletableFuture<>();
+        CompletableFuture<SpanshBodyExobiologyInfo> existing = bodyFetches.putIfAbsent(k, mine);
+        if (existing != null) {
+            return existing.join();
+        }
+        SpanshBodyExobiologyInfo result = null;
+        try {
+            result = client.getBodyExobiologyInfo(systemName, bodyName);
+            if (result != null) {
+                cache.put(k, result);
+                SpanshBodyExobiologySqliteStore.save(systemName, bodyName, result);
+            }
+        } finally {
+            mine.complete(result);
+            bodyFetches.remove(k, mine);
+        }
+        return result;
+    }
+
+    /**
+     * On the first miss in a system, moves all of its stored bodies into memory with one query.
+     */
+    private SpanshBodyExobiologyInfo loadFromDisk(String systemName, String k) {
+        String sys = systemName != null ? systemName : "";
+        loadedSystems.computeIfAbsent(canonical(sys), c -> {
+            for (Map.Entry<String, SpanshBodyExobiologyInfo> e : SpanshBodyExobiologySqliteStore.loadAll(sys).entrySet()) {
+                cache.putIfAbsent(key(sys, e.getKey()), e.getValue());
+            }
+            return Boolean.TRUE;
+        });
+        return cache.get(k);
     }
 }
@@ -0,0 +1,142 @@
+package org.dce.ed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Binary payload round trips, summary-only decoding, and loading of rows still stored as JSON.
+ */
+class CachedSystemCodecTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    private static final Gson GSON = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+
+    @BeforeEach
+    void clear() {
+        SystemCache.getInstance().clearAndDeleteOnDisk();
+    }
+
+    @Test
+    void roundTrip_preservesEveryField() {
+        CachedSystem cs = system(42L, "Codec Test", 30);
+        cs.bodies.get(3).gravityMS = Double.NaN;
+
+        CachedSystem back = CachedSystemCodec.decode(CachedSystemCodec.encode(cs), true);
+
+        assertEquals(GSON.toJson(cs), GSON.toJson(back));
+    }
+
+    @Test
+    void roundTrip_nullsAndNoBodies() {
+        CachedSystem cs = new CachedSystem();
+        cs.bodies = null;
+
+        CachedSystem back = CachedSystemCodec.decode(CachedSystemCodec.encode(cs), true);
+
+        assertNull(back.systemName);
+        assertNull(back.starPos);
+        assertNull(back.totalBodies);
+        assertNull(back.allBodiesFound);
+        assertTrue(back.bodies.isEmpty());
+    }
+
+    @Test
+    void summary_readsHeaderOnly() {
+        byte[] blob = CachedSystemCodec.encode(system(7L, "Summary Sys", 12));
+
+        CachedSystemSummary s = CachedSystemCodec.decodeSummary(blob);
+        assertEquals(7L, s.systemAddress);
+        assertEquals("Summary Sys", s.systemName);
+        assertEquals(12, s.cachedBodyCount);
+        assertEquals(Boolean.TRUE, s.allBodiesFound);
+        assertTrue(CachedSystemCodec.decode(blob, false).bodies.isEmpty());
+    }
+
+    @Test
+    void decode_rejectsJsonText() {
+        assertThrows(IllegalArgumentException.class, () -> CachedSystemCodec.decode("{}".getBytes(), true));
+    }
+
+    @Test
+    void legacyJsonRows_loadAndAreConverted() throws Exception {
+        SystemCache cache = SystemCache.getInstance();
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + cache.getCacheDbPath());
+                PreparedStatement ps = c.prepareStatement("INSERT INTO systems "
+                        + "(cache_key, system_address, canonical_name, system_name, cached_body_count, updated_at, payload_json) "
+                        + "VALUES (?, ?, ?, ?, ?, 1, ?)")) {
+            for (long addr = 100; addr < 103; addr++) {
+                CachedSystem legacy = system(addr, "Legacy " + addr, 5);
+                ps.setString(1, "addr:" + addr);
+                ps.setLong(2, addr);
+                ps.setString(3, "legacy " + addr);
+                ps.setString(4, legacy.systemName);
+                ps.setInt(5, 5);
+                ps.setString(6, new GsonBuilder().setPrettyPrinting().create().toJson(legacy));
+                ps.executeUpdate();
+            }
+        }
+
+        CachedSystem loaded = cache.get(100L, null);
+        assertNotNull(loaded);
+        assertEquals("Legacy 100", loaded.systemName);
+        assertEquals(5, loaded.bodies.size());
+        assertEquals(2, legacyRowCount(), "row read through the cache is rewritten as binary");
+
+        assertEquals(2, cache.migrateJsonPayloads(10));
+        assertEquals(0, legacyRowCount());
+        assertEquals("Legacy 102", cache.get(102L, null).systemName);
+        assertEquals(5, cache.get(102L, null).bodies.size());
+    }
+
+    private static int legacyRowCount() throws Exception {
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + SystemCache.getInstance().getCacheDbPath());
+                PreparedStatement ps = c.prepareStatement("SELECT COUNT(*) FROM systems WHERE payload IS NULL");
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static CachedSystem system(long address, String name, int bodies) {
+        CachedSystem cs = new CachedSystem();
+        cs.systemAddress = address;
+        cs.systemName = name;
+        cs.starPos = new double[] { 1.5, -2.25, 3000 };
+        cs.totalBodies = bodies;
+        cs.nonBodyCount = 2;
+        cs.fssProgress = 1.0;
+        cs.allBodiesFound = Boolean.TRUE;
+        cs.bodies = new ArrayList<>();
+        for (int i = 0; i < bodies; i++) {
+            CachedBody b = new CachedBody();
+            b.name = name + " " + i;
+            b.bodyId = i;
+            b.distanceLs = i * 100.5;
+            b.gravityMS = 9.81;
+            b.landable = i % 2 == 0;
+            b.planetClass = "Rocky body";
+            b.atmosphere = i % 3 == 0 ? "thin argon atmosphere" : "";
+            cs.bodies.add(b);
+        }
+        return cs;
+    }
+}
@@ -0,0 +1,112 @@
+package org.dce.ed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Memory tier in front of {@link SystemCache#get} / {@link SystemCache#getSummary}: hits, remembered misses,
+ * invalidation on writes, and the byte budget.
+ */
+class SystemCacheMemoryTierTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    @BeforeEach
+    void resetDb() {
+        SystemCache.getInstance().clearAndDeleteOnDisk();
+    }
+
+    @Test
+    void repeatedReads_areServedFromMemory() {
+        SystemCache cache = SystemCache.getInstance();
+        cache.put(11L, "Tier Sys", new double[] { 1, 2, 3 }, 4, null, null, Boolean.FALSE, null, List.of(body(1)));
+        SystemCacheMemoryTier tier = cache.getMemoryTier();
+
+        CachedSystem first = cache.get(11L, "Tier Sys");
+        long hits = tier.getHitCount();
+        CachedSystem second = cache.get(11L, "Tier Sys");
+        CachedSystemSummary summary = cache.getSummary(0L, "tier sys");
+
+        assertEquals(hits + 2, tier.getHitCount());
+        assertNotSame(first, second, "each hit decodes a private copy");
+        assertEquals(1, second.bodies.size());
+        assertEquals(11L, summary.systemAddress);
+        assertEquals(3.0, summary.starPos[2]);
+    }
+
+    @Test
+    void missingSystems_areRememberedUntilStored() {
+        SystemCache cache = SystemCache.getInstance();
+        SystemCacheMemoryTier tier = cache.getMemoryTier();
+
+        assertNull(cache.getSummary(99L, "Nowhere"));
+        long misses = tier.getMissCount();
+        assertNull(cache.getSummary(99L, "Nowhere"));
+        assertNull(cache.get(99L, "Nowhere"));
+        assertEquals(misses, tier.getMissCount());
+
+        cache.put(99L, "Nowhere", null, 7, null, null, null, null, null);
+        CachedSystemSummary s = cache.getSummary(99L, "Nowhere");
+        assertNotNull(s);
+        assertEquals(Integer.valueOf(7), s.totalBodies);
+    }
+
+    @Test
+    void put_invalidatesBothAddressAndName() {
+        SystemCache cache = SystemCache.getInstance();
+        cache.put(12L, "Renamed", null, 1, null, null, null, null, null);
+        assertEquals(Integer.valueOf(1), cache.get(12L, null).totalBodies);
+        assertEquals(Integer.valueOf(1), cache.getSummary(0L, "Renamed").totalBodies);
+
+        cache.put(12L, "Renamed", null, 2, null, null, null, null, null);
+
+        assertEquals(Integer.valueOf(2), cache.get(12L, null).totalBodies);
+        assertEquals(Integer.valueOf(2), cache.getSummary(0L, "Renamed").totalBodies);
+    }
+
+    @Test
+    void budget_evictsLeastRecentlyRead() {
+        SystemCacheMemoryTier tier = new SystemCacheMemoryTier(4_000);
+        for (long a = 1; a <= 100; a++) {
+            CachedSystemSummary s = new CachedSystemSummary(a, "S" + a, null, null, null, 0);
+            tier.fill(tier.epoch(), a, null, new SystemCacheMemoryTier.Entry(a, "s" + a, null, s), true);
+            tier.lookup(1L, null, false); // keep system 1 hot
+        }
+
+        assertTrue(tier.getWeightBytes() <= 4_000);
+        assertTrue(tier.getEvictionCount() > 0);
+        assertNotNull(tier.lookup(1L, null, false));
+        assertNull(tier.lookup(2L, null, false));
+    }
+
+    @Test
+    void fill_afterInvalidation_isDropped() {
+        SystemCacheMemoryTier tier = new SystemCacheMemoryTier(1_000_000);
+        long epoch = tier.epoch();
+        tier.invalidate(5L, "five");
+        tier.fill(epoch, 5L, "five", null, false);
+
+        assertNull(tier.lookup(5L, "five", false));
+        tier.fill(tier.epoch(), 5L, "five", null, false);
+        assertSame(SystemCacheMemoryTier.ABSENT, tier.lookup(5L, "five", false));
+    }
+
+    private static CachedBody body(int id) {
+        CachedBody b = new CachedBody();
+        b.bodyId = id;
+        b.name = "Tier Sys " + id;
+        return b;
+    }
+}
@@ -0,0 +1,108 @@
+package org.dce.ed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Radius / nearest-N queries over the R*Tree-backed coordinate columns, checked against brute force.
+ */
+class SystemCacheSpatialQueryTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    private final List<double[]> positions = new ArrayList<>();
+
+    @BeforeEach
+    void populate() {
+        SystemCache cache = SystemCache.getInstance();
+        cache.clearAndDeleteOnDisk();
+        positions.clear();
+        Random rnd = new Random(7);
+        for (int i = 1; i <= 400; i++) {
+            double[] pos = { rnd.nextDouble() * 400 - 200, rnd.nextDouble() * 400 - 200, rnd.nextDouble() * 400 - 200 };
+            positions.add(pos);
+            cache.put(i, "Sys " + i, pos, null, null, null, null, null, List.of(body("Sys " + i + " A 1")));
+        }
+        // Name-only rows (as stored by the Nearby tab) are indexed too.
+        cache.put(0L, "Named Only", new double[] { 1, 1, 1 }, null, null, null, null, null, null);
+        positions.add(new double[] { 1, 1, 1 });
+    }
+
+    @Test
+    void withinRadius_matchesBruteForce() {
+        double[] c = { 10, -20, 5 };
+        List<NearbyCachedSystem> found = SystemCache.getInstance().findSystemsWithinRadius(c[0], c[1], c[2], 60, 10_000);
+
+        long expected = positions.stream().filter(p -> dist(p, c) <= 60).count();
+        assertEquals(expected, found.size());
+        for (int i = 1; i < found.size(); i++) {
+            assertTrue(found.get(i - 1).distanceLy <= found.get(i).distanceLy, "nearest first");
+        }
+        assertTrue(found.stream().allMatch(s -> s.distanceLy <= 60));
+    }
+
+    @Test
+    void nearest_returnsTheClosestSystems() {
+        double[] c = { 150, 150, 150 };
+        List<NearbyCachedSystem> found = SystemCache.getInstance().findNearestSystems(c[0], c[1], c[2], 5);
+
+        List<Double> expected = positions.stream().map(p -> dist(p, c)).sorted(Comparator.naturalOrder()).limit(5).toList();
+        assertEquals(5, found.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected.get(i), found.get(i).distanceLy, 1e-9);
+        }
+    }
+
+    @Test
+    void movedSystem_isFoundAtItsNewPosition() {
+        SystemCache cache = SystemCache.getInstance();
+        cache.put(1, "Sys 1", new double[] { 5000, 5000, 5000 }, null, null, null, null, null, null);
+
+        List<NearbyCachedSystem> found = cache.findSystemsWithinRadius(5000, 5000, 5000, 1, 10);
+        assertEquals(1, found.size());
+        assertEquals(1L, found.get(0).systemAddress);
+        assertEquals("Sys 1", found.get(0).systemName);
+    }
+
+    @Test
+    void bodiesAreMirroredIntoSystemBodies() throws Exception {
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + SystemCache.getInstance().getCacheDbPath());
+                Statement st = c.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*), SUM(landable) FROM " + SystemCacheIndex.BODIES_TABLE)) {
+            assertTrue(rs.next());
+            assertEquals(400, rs.getInt(1));
+            assertEquals(400, rs.getInt(2));
+        }
+    }
+
+    private static CachedBody body(String name) {
+        CachedBody b = new CachedBody();
+        b.name = name;
+        b.bodyId = 1;
+        b.landable = true;
+        b.planetClass = "Icy body";
+        return b;
+    }
+
+    private static double dist(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,111 @@
+package org.dce.ed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.dce.ed.TestEnvironment;
+import org.dce.ed.state.BodyInfo;
+import org.dce.ed.state.SystemState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Deferred {@link SystemCache#storeSystemDeferred} stores: coalescing per system, read-your-writes, flush.
+ */
+class SystemCacheWriteBehindTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    private long previousWindowMs;
+
+    /**
+     * The write-behind stage is created once per JVM, possibly by an earlier test class, so the window is set on
+     * the instance rather than through {@link SystemCacheWriteBehind#WRITE_BEHIND_MS_PROPERTY}.
+     */
+    @BeforeEach
+    void resetDbAndWidenWindow() {
+        SystemCache.getInstance().clearAndDeleteOnDisk();
+        SystemCacheWriteBehind wb = SystemCache.getInstance().getWriteBehind();
+        previousWindowMs = wb.getWindowMs();
+        wb.setWindowMs(60_000L);
+    }
+
+    @AfterEach
+    void restoreWindow() {
+        SystemCache.getInstance().getWriteBehind().setWindowMs(previousWindowMs);
+    }
+
+    private static SystemState system(String name, long address, int bodies) {
+        SystemState s = new SystemState();
+        s.setSystemName(name);
+        s.setSystemAddress(address);
+        s.setStarPos(new double[] { 1.0, 2.0, 3.0 });
+        for (int i = 1; i <= bodies; i++) {
+            BodyInfo b = s.getOrCreateBody(i);
+            b.setBodyId(i);
+            b.setBodyName(name + " " + i);
+            b.setStarSystem(name);
+        }
+        return s;
+    }
+
+    @Test
+    void repeatedStoresOfSameSystem_coalesceAndAreVisibleToGet() {
+        SystemCache cache = SystemCache.getInstance();
+        SystemCacheWriteBehind wb = cache.getWriteBehind();
+        long queued0 = wb.getQueuedCount();
+        long coalesced0 = wb.getCoalescedCount();
+
+        SystemState s = system("Write Behind Alpha", 7001L, 1);
+        for (int i = 2; i <= 5; i++) {
+            cache.storeSystemDeferred(s);
+            BodyInfo b = s.getOrCreateBody(i);
+            b.setBodyId(i);
+            b.setBodyName("Write Behind Alpha " + i);
+        }
+        cache.storeSystemDeferred(s);
+
+        assertEquals(5, wb.getQueuedCount() - queued0);
+        assertTrue(wb.getCoalescedCount() - coalesced0 >= 1, "same-system stores inside the window should coalesce");
+
+        CachedSystem cs = cache.get(7001L, "Write Behind Alpha");
+        assertNotNull(cs);
+        assertEquals(5, cs.bodies.size());
+        assertEquals(0, wb.getPendingCount());
+    }
+
+    @Test
+    void snapshotIsTakenAtEnqueueTime() {
+        SystemCache cache = SystemCache.getInstance();
+        SystemState s = system("Write Behind Beta", 7002L, 2);
+        cache.storeSystemDeferred(s);
+        s.getBodies().clear();
+
+        cache.getWriteBehind().flush();
+
+        CachedSystem cs = cache.get(7002L, null);
+        assertNotNull(cs);
+        assertEquals(2, cs.bodies.size());
+    }
+
+    @Test
+    void restoresInsideTheWindow_doNotPostponeTheWrite() throws Exception {
+        SystemCache cache = SystemCache.getInstance();
+        SystemCacheWriteBehind wb = cache.getWriteBehind();
+        wb.setWindowMs(300L);
+        long written0 = wb.getWrittenCount();
+
+        SystemState s = system("Write Behind Gamma", 7003L, 1);
+        long end = System.currentTimeMillis() + 1_500L;
+        while (System.currentTimeMillis() < end && wb.getWrittenCount() == written0) {
+            cache.storeSystemDeferred(s);
+            Thread.sleep(50L);
+        }
+
+        assertTrue(wb.getWrittenCount() > written0, "a system re-stored every 50 ms must still be written once its window ends");
+    }
+}
@@ -0,0 +1,73 @@
+package org.dce.ed.exobiology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.dce.ed.TestEnvironment;
+import org.dce.ed.exobiology.ExobiologyData.BioCandidate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The indexed {@link ExobiologyData#predict} must return exactly what the rule-by-rule
+ * reference returns.
+ */
+class CompiledSpeciesRulesTest {
+
+    @BeforeAll
+    static void isolate() {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    @BeforeEach
+    void quietWarnings() {
+        ExobiologyData.setWarningSink(msg -> { });
+    }
+
+    @AfterEach
+    void restoreWarnings() {
+        ExobiologyData.setWarningSink(null);
+    }
+
+    @Test
+    void indexedPredictMatchesReferenceOnSyntheticBodies() {
+        int withCandidates = 0;
+        for (BodyAttributes body : ExobiologyPredictBenchmarkMain.syntheticBodies(5_000, 7L)) {
+            List<BioCandidate> indexed = ExobiologyData.predict(body);
+            List<BioCandidate> reference = ExobiologyData.predictUnindexed(body, null);
+            assertTrue(ExobiologyPredictBenchmarkMain.sameCandidates(indexed, reference),
+                    () -> body.bodyName + ": " + indexed + " vs " + reference);
+            if (!indexed.isEmpty()) {
+                withCandidates++;
+            }
+        }
+        assertTrue(withCandidates > 0, "sample should exercise at least some matching rules");
+    }
+
+    @Test
+    void allowedSpeciesFilterMatchesReference() {
+        for (BodyAttributes body : ExobiologyPredictBenchmarkMain.syntheticBodies(2_000, 11L)) {
+            List<BioCandidate> all = ExobiologyData.predict(body);
+            if (all.isEmpty()) {
+                continue;
+            }
+            Set<String> allowed = Set.of(all.get(0).getDisplayName());
+            List<BioCandidate> filtered = ExobiologyData.predict(body, allowed);
+            assertEquals(1, filtered.size());
+            assertTrue(ExobiologyPredictBenchmarkMain.sameCandidates(filtered,
+                    ExobiologyData.predictUnindexed(body, allowed)));
+        }
+    }
+
+    @Test
+    void primitiveScoreTreatsNaNBoundAsMissing() {
+        assertEquals(0.5, CompiledSpeciesRules.scoreInRange(0.2, Double.NaN, 0.3), 0.0);
+        assertEquals(1.0, CompiledSpeciesRules.scoreInRange(0.2, 0.1, 0.3), 1e-9);
+        assertEquals(0.0, CompiledSpeciesRules.scoreInRange(0.4, 0.1, 0.3), 0.0);
+    }
+}
@@ -0,0 +1,43 @@
+package org.dce.ed.exobiology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class NebulaGuardianClassifierTest {
+
+    private static final double[] FAR_AWAY = { 40_000.0, 0.0, 60_000.0 };
+
+    @Test
+    void sectorPrefixMatchesWithoutCoordinates() {
+        assertEquals("B133 Sector", NebulaGuardianClassifier.determineNebulaTag("B133 Sector AB-C d1-2", null, "all"));
+        assertEquals("", NebulaGuardianClassifier.determineNebulaTag("B13 Sector AB-C d1-2", null, "all"));
+    }
+
+    @Test
+    void nearestLargeNebulaWithinRange() {
+        // Agnairt TA-U d4-360 is a large-nebula reference star.
+        double[] near = { -10010.375 + 40.0, -33.71875, 22444.25 };
+        assertEquals("Agnairt TA-U d4-360", NebulaGuardianClassifier.determineNebulaTag("Test System", near, "large"));
+        assertEquals("", NebulaGuardianClassifier.determineNebulaTag("Test System", FAR_AWAY, "all"));
+    }
+
+    @Test
+    void guardianZoneUsesRadius() {
+        // Gamma Velorum zone, 750 ly radius.
+        assertTrue(NebulaGuardianClassifier.isGuardianSystem(new double[] { 1099.21875 + 700.0, -146.6875, -133.59375 }));
+        assertFalse(NebulaGuardianClassifier.isGuardianSystem(new double[] { 1099.21875 + 800.0, -146.6875, -133.59375 }));
+    }
+
+    @Test
+    void memoizedBySystemAddressOnceStarPosIsKnown() {
+        long address = 987_654_321L;
+        double[] near = { -10010.375, -33.71875, 22444.25 };
+        assertEquals("", NebulaGuardianClassifier.determineNebulaTag(address, "Test System", null, "all"));
+        assertEquals("Agnairt TA-U d4-360", NebulaGuardianClassifier.determineNebulaTag(address, "Test System", near, "all"));
+        // Same system: the memoized tag wins over whatever position is passed later.
+        assertEquals("Agnairt TA-U d4-360", NebulaGuardianClassifier.determineNebulaTag(address, "Test System", FAR_AWAY, "all"));
+    }
+}
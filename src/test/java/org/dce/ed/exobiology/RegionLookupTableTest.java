@@ -0,0 +1,89 @@
+package org.dce.ed.exobiology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RegionLookupTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String previousOverride;
+
+    @BeforeEach
+    void saveOverride() {
+        previousOverride = System.getProperty(RegionLookupTable.CACHE_FILE_PROPERTY);
+    }
+
+    /** Later test classes must not see a path inside this class's deleted temp dir. */
+    @AfterEach
+    void restoreOverride() {
+        if (previousOverride != null) {
+            System.setProperty(RegionLookupTable.CACHE_FILE_PROPERTY, previousOverride);
+        } else {
+            System.clearProperty(RegionLookupTable.CACHE_FILE_PROPERTY);
+        }
+    }
+
+    @Test
+    void lookupMatchesRunLengthWalk() {
+        System.setProperty(RegionLookupTable.CACHE_FILE_PROPERTY, tempDir.resolve("region-map.bin").toString());
+        RegionLookupTable table = RegionLookupTable.load();
+        int[][][] map = RegionMapData.getRegionMap();
+
+        Random rnd = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            int pz = rnd.nextInt(map.length);
+            int px = rnd.nextInt(2100) - 20;
+            assertEquals(walk(map[pz], px), table.regionIdAt(px, pz), "px=" + px + " pz=" + pz);
+        }
+        assertEquals(-1, table.regionIdAt(0, -1));
+        assertEquals(-1, table.regionIdAt(0, map.length));
+    }
+
+    @Test
+    void secondLoadMapsTheCacheFile() throws Exception {
+        Path file = tempDir.resolve("region-map.bin");
+        System.setProperty(RegionLookupTable.CACHE_FILE_PROPERTY, file.toString());
+
+        RegionLookupTable first = RegionLookupTable.load();
+        assertTrue(Files.isRegularFile(file));
+        long written = Files.getLastModifiedTime(file).toMillis();
+
+        RegionLookupTable second = RegionLookupTable.load();
+        assertEquals(written, Files.getLastModifiedTime(file).toMillis());
+        assertEquals(first.regionIdAt(1000, 1000), second.regionIdAt(1000, 1000));
+    }
+
+    @Test
+    void corruptCacheFileIsRebuilt() throws Exception {
+        Path file = tempDir.resolve("region-map.bin");
+        Files.write(file, new byte[] { 1, 2, 3 });
+        System.setProperty(RegionLookupTable.CACHE_FILE_PROPERTY, file.toString());
+
+        RegionLookupTable table = RegionLookupTable.load();
+        assertTrue(Files.size(file) > 3);
+        assertEquals(walk(RegionMapData.getRegionMap()[1024], 1024), table.regionIdAt(1024, 1024));
+    }
+
+    /** The lookup RegionResolver used to do. */
+    private static int walk(int[][] row, int px) {
+        int rx = 0;
+        for (int[] entry : row) {
+            if (px < rx + entry[0]) {
+                return entry[1];
+            }
+            rx += entry[0];
+        }
+        return -1;
+    }
+}
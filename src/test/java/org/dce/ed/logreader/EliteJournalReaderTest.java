@@ -1,8 +1,11 @@
 package org.dce.ed.logreader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -36,8 +39,7 @@ class EliteJournalReaderTest {
                 "\"StarSystem\":\"New System\",\"SystemAddress\":12345,\"StarPos\":[1.0,2.0,3.0]"));
 
         EliteJournalReader reader = new EliteJournalReader(tempDir);
-        Instant cutoff = Instant.parse("2026-03-27T11:00:00Z");
-        EliteLogEvent event = reader.findMostRecentSystemTransitionEvent(cutoff);
+        EliteLogEvent event = reader.findMostRecentSystemTransitionEvent();
 
         assertNotNull(event);
         assertInstanceOf(FsdJumpEvent.class, event);
@@ -71,7 +73,7 @@ class EliteJournalReaderTest {
                 "\"Docked\":true,\"StarSystem\":\"Carrier Dest\",\"SystemAddress\":222,\"StarPos\":[9.0,8.0,7.0]"));
 
         EliteJournalReader reader = new EliteJournalReader(tempDir);
-        EliteLogEvent event = reader.findMostRecentSystemTransitionEvent(Instant.parse("2026-03-27T11:30:00Z"));
+        EliteLogEvent event = reader.findMostRecentSystemTransitionEvent();
 
         assertNotNull(event);
         assertInstanceOf(CarrierJumpEvent.class, event);
@@ -80,6 +82,41 @@ class EliteJournalReaderTest {
         assertEquals(222L, jump.getSystemAddress());
     }
 
+    @Test
+    void findMostRecentEvent_unindexedType_returnsNewestAcrossFiles() throws Exception {
+        writeJournal(1, eventLine("ReceiveText", "2026-03-27T12:01:00Z", "\"Message\":\"old\""));
+        writeJournal(2,
+                eventLine("ReceiveText", "2026-03-27T12:02:00Z", "\"Message\":\"new\""),
+                eventLine("Music", "2026-03-27T12:03:00Z", "\"MusicTrack\":\"Exploration\""));
+
+        EliteJournalReader reader = new EliteJournalReader(tempDir);
+        EliteLogEvent event = reader.findMostRecentEvent(EliteEventType.RECEIVE_TEXT, 4);
+
+        assertNotNull(event);
+        assertEquals(Instant.parse("2026-03-27T12:02:00Z"), event.getTimestamp());
+        assertNull(reader.findMostRecentEvent(EliteEventType.RECEIVE_TEXT, 0));
+    }
+
+    @Test
+    void isLatestSituationPlanetaryRingMining_usesNewestDockedStateAndBody() throws Exception {
+        writeJournal(1,
+                eventLine("Location", "2026-03-27T12:01:00Z",
+                        "\"Docked\":true,\"StarSystem\":\"Sol\",\"SystemAddress\":1,\"StarPos\":[0.0,0.0,0.0],"
+                                + "\"Body\":\"Earth\",\"BodyType\":\"Station\""),
+                eventLine("Undocked", "2026-03-27T12:02:00Z", "\"StationName\":\"Abraham Lincoln\""));
+        writeJournal(2,
+                eventLine("SupercruiseExit", "2026-03-27T12:03:00Z",
+                        "\"StarSystem\":\"Sol\",\"SystemAddress\":1,\"Body\":\"Saturn A Ring\","
+                                + "\"BodyType\":\"PlanetaryRing\""),
+                eventLine("ReceiveText", "2026-03-27T12:04:00Z", "\"Message\":\"x\""));
+
+        EliteJournalReader reader = new EliteJournalReader(tempDir);
+        assertTrue(reader.isLatestSituationPlanetaryRingMining());
+
+        writeJournal(3, eventLine("Docked", "2026-03-27T12:05:00Z", "\"StationName\":\"Carrier\""));
+        assertFalse(reader.isLatestSituationPlanetaryRingMining());
+    }
+
     private void writeJournal(int seq, String... lines) throws IOException {
         String filename = String.format("Journal.2026-03-27T1200%02d.01.log", Integer.valueOf(seq));
         Path file = tempDir.resolve(filename);
@@ -1,11 +1,16 @@
 package org.dce.ed.logreader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Instant;
+import java.util.EnumSet;
+
 import org.dce.ed.TestEnvironment;
 import org.dce.ed.logreader.event.FsdJumpEvent;
 import org.dce.ed.logreader.event.FsdTargetEvent;
@@ -15,6 +20,8 @@ import org.dce.ed.logreader.event.StatusEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.google.gson.JsonParseException;
+
 /**
  * Unit tests for {@link EliteLogParser} parseRecord for key event types
  * that affect route/target display and other regression-prone behaviour.
@@ -135,4 +142,42 @@ class EliteLogParserTest {
         EliteLogEvent event = parser.parseRecord(json);
         assertInstanceOf(StatusEvent.class, event);
     }
+
+    @Test
+    void parseRecord_untypedEvent_isLazyUntilRawJsonRequested() {
+        String json = "{\"timestamp\":\"" + ISO_TS + "\",\"event\":\"Music\",\"MusicTrack\":\"Exploration\"}";
+        EliteLogEvent event = parser.parseRecord(json);
+        assertInstanceOf(EliteLogEvent.GenericEvent.class, event);
+        EliteLogEvent.GenericEvent ge = (EliteLogEvent.GenericEvent) event;
+        assertEquals(EliteEventType.MUSIC, ge.getType());
+        assertEquals(Instant.parse(ISO_TS), ge.getTimestamp());
+        assertFalse(ge.isMaterialized());
+        assertEquals("Exploration", ge.getRawJson().get("MusicTrack").getAsString());
+        assertTrue(ge.isMaterialized());
+    }
+
+    @Test
+    void parseRecord_typedEventOutsideInterest_becomesGenericEvent() {
+        EliteLogParser narrow = new EliteLogParser(EnumSet.of(EliteEventType.FSD_JUMP));
+        String json = "{\"event\":\"FSDTarget\",\"timestamp\":\"" + ISO_TS + "\",\"Name\":\"Sol\",\"SystemAddress\":1}";
+        EliteLogEvent event = narrow.parseRecord(json);
+        assertInstanceOf(EliteLogEvent.GenericEvent.class, event);
+        assertEquals(EliteEventType.FSD_TARGET, event.getType());
+        assertEquals("Sol", event.getRawJson().get("Name").getAsString());
+    }
+
+    @Test
+    void parseRecord_registeredInterest_materializesGenericEvent() {
+        parser.registerInterest(EliteEventType.DOCKED);
+        String json = "{\"timestamp\":\"" + ISO_TS + "\",\"event\":\"Docked\",\"StationName\":\"Abraham Lincoln\"}";
+        EliteLogEvent.GenericEvent ge = (EliteLogEvent.GenericEvent) parser.parseRecord(json);
+        assertTrue(ge.isMaterialized());
+        assertNull(ge.getRawLine());
+    }
+
+    @Test
+    void readTimestamp_missingTimestamp_throws() {
+        assertEquals(Instant.parse(ISO_TS), parser.readTimestamp("{\"event\":\"Music\",\"timestamp\":\"" + ISO_TS + "\"}"));
+        assertThrows(JsonParseException.class, () -> parser.readTimestamp("{\"event\":\"Music\"}"));
+    }
 }
@@ -0,0 +1,141 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.dce.ed.TestEnvironment;
+import org.dce.ed.logreader.event.FsdJumpEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalCatalogTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    private static final Instant T0 = Instant.parse("2026-03-27T12:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readEventsSince_seeksIntoCursorFile_andMatchesFullScan() throws Exception {
+        // Two large files so the cursor file has several checkpoints.
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        for (int i = 0; i < 4000; i++) {
+            first.append(eventLine("ReceiveText", T0.plusSeconds(i), "\"Message\":\"" + "x".repeat(40) + "\"")).append('\n');
+            second.append(eventLine("ReceiveText", T0.plusSeconds(5000 + i), "\"Message\":\"y\"")).append('\n');
+        }
+        Files.writeString(journal(1), first, StandardCharsets.UTF_8);
+        Files.writeString(journal(2), second, StandardCharsets.UTF_8);
+
+        EliteJournalReader reader = new EliteJournalReader(tempDir);
+        Instant cursor = T0.plusSeconds(3000);
+        List<EliteLogEvent> since = reader.readEventsSince(cursor);
+
+        long expected = reader.readAllEvents().stream()
+                .filter(e -> e.getTimestamp() != null && !e.getTimestamp().isBefore(cursor))
+                .count();
+        assertEquals(expected, since.size());
+        assertEquals(cursor, since.get(0).getTimestamp());
+
+        List<Path> files = List.of(journal(1), journal(2));
+        List<JournalCatalog.Position> positions = JournalCatalog.forDirectory(tempDir).positionsSince(files, cursor);
+        assertEquals(2, positions.size());
+        assertTrue(positions.get(0).offset() > 0);
+        assertEquals(0L, positions.get(1).offset());
+    }
+
+    @Test
+    void refresh_indexesOnlyCompleteAppendedLines_andPersists() throws Exception {
+        Path file = journal(1);
+        Files.writeString(file, eventLine("FSDJump", T0, "\"StarSystem\":\"Old\",\"SystemAddress\":1") + "\n",
+                StandardCharsets.UTF_8);
+        List<Path> files = List.of(file);
+        JournalCatalog catalog = new JournalCatalog(tempDir);
+        catalog.refresh(files);
+        assertEquals(0L, catalog.latest(files, EnumSet.of(EliteEventType.FSD_JUMP), 1).offset());
+
+        long newOffset = Files.size(file);
+        String line = eventLine("FSDJump", T0.plusSeconds(60), "\"StarSystem\":\"New\",\"SystemAddress\":2");
+        append(file, line.substring(0, 20));
+        catalog.refresh(files);
+        assertEquals(0L, catalog.latest(files, EnumSet.of(EliteEventType.FSD_JUMP), 1).offset());
+
+        append(file, line.substring(20) + "\n");
+        catalog.refresh(files);
+        assertEquals(newOffset, catalog.latest(files, EnumSet.of(EliteEventType.FSD_JUMP), 1).offset());
+
+        JournalCatalog reloaded = new JournalCatalog(tempDir);
+        assertEquals(newOffset, reloaded.latest(files, EnumSet.of(EliteEventType.FSD_JUMP), 1).offset());
+        assertNull(reloaded.latest(files, EnumSet.of(EliteEventType.LOADOUT), 1));
+
+        EliteLogEvent latest = new EliteJournalReader(tempDir).findMostRecentSystemTransitionEvent();
+        assertNotNull(latest);
+        assertInstanceOf(FsdJumpEvent.class, latest);
+        assertEquals("New", ((FsdJumpEvent) latest).getStarSystem());
+    }
+
+    @Test
+    void refresh_reindexesFileThatShrank() throws Exception {
+        Path file = journal(1);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(eventLine("FSDJump", T0.plusSeconds(i), "\"StarSystem\":\"S" + i + "\",\"SystemAddress\":" + i));
+        }
+        Files.writeString(file, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+        List<Path> files = List.of(file);
+        JournalCatalog catalog = new JournalCatalog(tempDir);
+        catalog.refresh(files);
+
+        Files.writeString(file, lines.get(0) + "\n", StandardCharsets.UTF_8);
+        catalog.refresh(files);
+
+        assertEquals(0L, catalog.latest(files, EnumSet.of(EliteEventType.FSD_JUMP), 1).offset());
+    }
+
+    @Test
+    void latest_indexesOnlyTheFilesItCanReach() throws Exception {
+        Files.writeString(journal(1), eventLine("Loadout", T0, "\"Ship\":\"old\"") + "\n", StandardCharsets.UTF_8);
+        Files.writeString(journal(2), eventLine("FSDJump", T0.plusSeconds(60),
+                "\"StarSystem\":\"New\",\"SystemAddress\":2") + "\n", StandardCharsets.UTF_8);
+        List<Path> files = List.of(journal(1), journal(2));
+        JournalCatalog catalog = new JournalCatalog(tempDir);
+
+        assertNull(catalog.latest(files, EnumSet.of(EliteEventType.LOADOUT), 1));
+        assertEquals(0L, catalog.latest(files, EnumSet.of(EliteEventType.FSD_JUMP), 2).offset());
+
+        String stored = Files.readString(tempDir.resolve(JournalCatalog.CATALOG_FILENAME), StandardCharsets.UTF_8);
+        assertTrue(stored.contains(journal(2).getFileName().toString()));
+        assertFalse(stored.contains(journal(1).getFileName().toString()),
+                "the newest file already had a jump, so the older one is never read");
+    }
+
+    private Path journal(int seq) {
+        return tempDir.resolve(String.format("Journal.2026-03-27T1200%02d.01.log", Integer.valueOf(seq)));
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static String eventLine(String event, Instant timestamp, String extraFields) {
+        return "{\"timestamp\":\"" + timestamp + "\",\"event\":\"" + event + "\"," + extraFields + "}";
+    }
+}
@@ -0,0 +1,76 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.dce.ed.logreader.EliteLogEvent.GenericEvent;
+import org.dce.ed.logreader.EliteLogEvent.NavRouteEvent;
+import org.junit.jupiter.api.Test;
+
+class JournalListenerRegistryTest {
+
+    private static final Instant TS = Instant.parse("2026-02-15T22:47:39Z");
+
+    @Test
+    void typeSubscriberOnlySeesItsTypes() {
+        JournalListenerRegistry registry = new JournalListenerRegistry();
+        List<String> seen = new ArrayList<>();
+        registry.addAll(e -> seen.add("all:" + e.getType()), null);
+        registry.addTypes(EnumSet.of(EliteEventType.DOCKED), e -> seen.add("docked:" + e.getType()), null);
+
+        registry.dispatch(new GenericEvent(TS, EliteEventType.MUSIC, "{}"));
+        registry.dispatch(new GenericEvent(TS, EliteEventType.DOCKED, "{}"));
+
+        assertEquals(List.of("all:MUSIC", "all:DOCKED", "docked:DOCKED"), seen);
+    }
+
+    @Test
+    void classSubscriberMatchesInstancesOnly() {
+        JournalListenerRegistry registry = new JournalListenerRegistry();
+        List<EliteLogEvent> seen = new ArrayList<>();
+        registry.addClass(NavRouteEvent.class, seen::add, null);
+
+        NavRouteEvent route = new NavRouteEvent(TS, null);
+        registry.dispatch(new GenericEvent(TS, EliteEventType.NAV_ROUTE, "{}"));
+        registry.dispatch(route);
+
+        assertEquals(List.of(route), seen);
+    }
+
+    @Test
+    void removeDropsEverySubscription() {
+        JournalListenerRegistry registry = new JournalListenerRegistry();
+        List<EliteLogEvent> seen = new ArrayList<>();
+        Consumer<EliteLogEvent> listener = seen::add;
+        registry.addAll(listener, null);
+        registry.addTypes(EnumSet.of(EliteEventType.MUSIC), listener, null);
+
+        registry.remove(listener);
+        registry.dispatch(new GenericEvent(TS, EliteEventType.MUSIC, "{}"));
+
+        assertEquals(0, seen.size());
+    }
+
+    @Test
+    void executorListenerRunsOnExecutorAndFailuresDoNotStopOthers() {
+        JournalListenerRegistry registry = new JournalListenerRegistry();
+        List<Runnable> queued = new ArrayList<>();
+        List<String> seen = new ArrayList<>();
+        registry.addAll(e -> seen.add("slow"), queued::add);
+        registry.addAll(e -> {
+            throw new IllegalStateException("boom");
+        }, null);
+        registry.addAll(e -> seen.add("fast"), null);
+
+        registry.dispatch(new GenericEvent(TS, EliteEventType.MUSIC, "{}"));
+        assertEquals(List.of("fast"), seen);
+
+        queued.forEach(Runnable::run);
+        assertEquals(List.of("fast", "slow"), seen);
+    }
+}
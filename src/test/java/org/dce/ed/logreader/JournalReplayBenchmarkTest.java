@@ -0,0 +1,78 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+class JournalReplayBenchmarkTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void histogram_percentilesWithinBucketError() {
+        JournalReplayBenchmark.LatencyHistogram h = new JournalReplayBenchmark.LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            h.record(v * 100L);
+        }
+        long p50 = h.percentile(50);
+        long p99 = h.percentile(99);
+        assertTrue(Math.abs(p50 - 500_000L) <= 500_000L / 14, "p50=" + p50);
+        assertTrue(Math.abs(p99 - 990_000L) <= 990_000L / 14, "p99=" + p99);
+        assertEquals(1_000_000L, h.stats().maxNs);
+
+        for (long v = 0; v < 5_000_000L; v += 997) {
+            int i = JournalReplayBenchmark.LatencyHistogram.index(v);
+            assertTrue(JournalReplayBenchmark.LatencyHistogram.lowerBound(i) <= v);
+            assertTrue(JournalReplayBenchmark.LatencyHistogram.lowerBound(i + 1) > v);
+        }
+    }
+
+    @Test
+    void run_countsEventsPerType_andExportsJson() throws Exception {
+        Instant t0 = Instant.parse("2026-03-27T12:00:00Z");
+        String lines = line("FSDJump", t0, "\"StarSystem\":\"Sol\",\"SystemAddress\":10477373803,\"StarPos\":[0,0,0]")
+                + line("ReceiveText", t0.plusSeconds(1), "\"From\":\"x\",\"Message\":\"hi\",\"Channel\":\"npc\"")
+                + line("ReceiveText", t0.plusSeconds(2), "\"From\":\"x\",\"Message\":\"hi\",\"Channel\":\"npc\"")
+                + "not json\n"
+                + line("FSDJump", t0.plusSeconds(3), "\"StarSystem\":\"Achenar\",\"SystemAddress\":164098653,\"StarPos\":[67.5,-119.5,24.8]");
+        Path file = tempDir.resolve("Journal.2026-03-27T120000.01.log");
+        Files.writeString(file, lines, StandardCharsets.UTF_8);
+
+        JournalReplayBenchmark.Report report = JournalReplayBenchmark.run(List.of(file), 0.0, Duration.ofSeconds(60),
+                Long.MAX_VALUE);
+
+        assertEquals(4L, report.events);
+        assertEquals(1L, report.parseFailures);
+        assertEquals(2L, report.parse.byType.get("FSDJump").count);
+        assertEquals(2L, report.handle.byType.get("ReceiveText").count);
+        assertEquals(4L, report.handle.all.count);
+        assertEquals(2L, report.sqliteSystemRowWrites, "Sol when leaving it, Achenar at the end of the replay");
+
+        JsonObject json = JsonParser.parseString(JournalReplayBenchmark.toJson(report)).getAsJsonObject();
+        assertEquals(JournalReplayBenchmark.REPORT_VERSION, json.get("version").getAsInt());
+        assertEquals(4L, json.get("events").getAsLong());
+        assertTrue(json.getAsJsonObject("parse").getAsJsonObject("byType").has("FSDJump"));
+    }
+
+    private static String line(String event, Instant ts, String fields) {
+        return "{\"timestamp\":\"" + ts + "\",\"event\":\"" + event + "\"," + fields + "}\n";
+    }
+}
@@ -0,0 +1,92 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalReplayStreamTest {
+
+    static {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamMatchesSortedBulkRead() throws Exception {
+        for (int f = 1; f <= 9; f++) {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                lines.add(eventLine("ReceiveText", String.format("2026-03-27T12:%02d:%02dZ", f, i), "\"Message\":\"" + f + "-" + i + "\""));
+            }
+            writeJournal(f, lines.toArray(new String[0]));
+        }
+        // Overlap: file 10 starts before file 9 ends.
+        writeJournal(10,
+                eventLine("ReceiveText", "2026-03-27T12:09:05Z", "\"Message\":\"10-a\""),
+                eventLine("ReceiveText", "2026-03-27T12:10:00Z", "\"Message\":\"10-b\""));
+
+        EliteJournalReader reader = new EliteJournalReader(tempDir);
+        List<EliteLogEvent> bulk = reader.readEventsFromLastNJournalFiles(Integer.MAX_VALUE);
+
+        List<EliteLogEvent> streamed = new ArrayList<>();
+        try (JournalReplayStream s = new JournalReplayStream(reader.listJournalFilesForReplay(null), null, 3)) {
+            while (s.hasNext()) {
+                streamed.add(s.next());
+            }
+            assertEquals(10, s.getFilesMerged());
+        }
+
+        assertEquals(messages(bulk), messages(streamed));
+    }
+
+    @Test
+    void sinceSkipsOlderFilesAndEvents() throws Exception {
+        writeJournal(1, eventLine("ReceiveText", "2026-03-27T12:01:00Z", "\"Message\":\"a\""));
+        writeJournal(2, eventLine("ReceiveText", "2026-03-27T12:02:00Z", "\"Message\":\"b\""),
+                eventLine("ReceiveText", "2026-03-27T12:02:30Z", "\"Message\":\"c\""));
+        writeJournal(3, eventLine("ReceiveText", "2026-03-27T12:03:00Z", "\"Message\":\"d\""));
+
+        EliteJournalReader reader = new EliteJournalReader(tempDir);
+        Instant since = Instant.parse("2026-03-27T12:02:30Z");
+        assertEquals(2, reader.listJournalFilesForReplay(since).size());
+
+        List<EliteLogEvent> streamed = new ArrayList<>();
+        try (JournalReplayStream s = reader.openReplayStream(since)) {
+            while (s.hasNext()) {
+                streamed.add(s.next());
+            }
+        }
+        assertEquals(List.of("c", "d"), messages(streamed));
+    }
+
+    private static List<String> messages(List<EliteLogEvent> events) {
+        List<String> out = new ArrayList<>();
+        for (EliteLogEvent e : events) {
+            out.add(e.getRawJson().get("Message").getAsString());
+        }
+        return out;
+    }
+
+    private void writeJournal(int seq, String... lines) throws IOException {
+        String filename = String.format("Journal.2026-03-27T1200%02d.01.log", Integer.valueOf(seq));
+        Path file = tempDir.resolve(filename);
+        Files.writeString(file, String.join(System.lineSeparator(), lines) + System.lineSeparator(), StandardCharsets.UTF_8);
+    }
+
+    private static String eventLine(String event, String timestamp, String extraFields) {
+        String suffix = (extraFields == null || extraFields.isBlank()) ? "" : "," + extraFields;
+        return "{\"timestamp\":\"" + timestamp + "\",\"event\":\"" + event + "\"" + suffix + "}";
+    }
+}
@@ -0,0 +1,67 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalTailerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void partialLineIsHeldUntilNewlineArrives() throws Exception {
+        Path f = tempDir.resolve("Journal.2026-01-01T000000.01.log");
+        Files.writeString(f, "{\"event\":\"A\"}\r\n{\"event\":", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<>();
+        try (JournalTailer t = new JournalTailer(f, 0L)) {
+            assertEquals(1, t.readAvailable(lines::add));
+            assertEquals(List.of("{\"event\":\"A\"}"), lines);
+
+            Files.writeString(f, "\"B\"}\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            assertEquals(1, t.readAvailable(lines::add));
+            assertEquals("{\"event\":\"B\"}", lines.get(1));
+            assertEquals(Files.size(f), t.getPosition());
+        }
+    }
+
+    @Test
+    void multiByteCharacterSplitAcrossReadsDecodes() throws Exception {
+        Path f = tempDir.resolve("Journal.2026-01-01T000000.02.log");
+        byte[] all = "{\"Name\":\"Kóraé\"}\n".getBytes(StandardCharsets.UTF_8);
+        int split = "{\"Name\":\"K".getBytes(StandardCharsets.UTF_8).length + 1; // inside 'ó'
+        Files.write(f, Arrays.copyOfRange(all, 0, split));
+
+        List<String> lines = new ArrayList<>();
+        try (JournalTailer t = new JournalTailer(f, 0L)) {
+            assertEquals(0, t.readAvailable(lines::add));
+            Files.write(f, Arrays.copyOfRange(all, split, all.length), StandardOpenOption.APPEND);
+            assertEquals(1, t.readAvailable(lines::add));
+        }
+        assertEquals(List.of("{\"Name\":\"Kóraé\"}"), lines);
+    }
+
+    @Test
+    void truncatedFileRestartsFromBeginning() throws Exception {
+        Path f = tempDir.resolve("Journal.2026-01-01T000000.03.log");
+        Files.writeString(f, "first line that is long\n", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<>();
+        try (JournalTailer t = new JournalTailer(f, 0L)) {
+            t.readAvailable(lines::add);
+            Files.writeString(f, "new\n", StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING);
+            t.readAvailable(lines::add);
+        }
+        assertEquals(List.of("first line that is long", "new"), lines);
+    }
+}
@@ -0,0 +1,58 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReverseLineReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<String> readBackwards(Path file) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (ReverseLineReader reader = new ReverseLineReader(file)) {
+            String line;
+            while ((line = reader.previousLine()) != null) {
+                lines.add(line);
+            }
+            assertNull(reader.previousLine());
+        }
+        return lines;
+    }
+
+    @Test
+    void linesSpanningChunks_comeBackWhole_newestFirst() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            // Lengths around the chunk size so lines straddle chunk boundaries.
+            lines.add(i + ":" + "é".repeat(i * 97 % (ReverseLineReader.CHUNK_BYTES / 2)));
+        }
+        Path file = tempDir.resolve("big.log");
+        Files.writeString(file, String.join("\r\n", lines), StandardCharsets.UTF_8);
+
+        List<String> expected = new ArrayList<>(lines);
+        Collections.reverse(expected);
+        assertEquals(expected, readBackwards(file));
+    }
+
+    @Test
+    void trailingNewline_yieldsEmptyLineFirst_andEmptyFileOneEmptyLine() throws Exception {
+        Path file = tempDir.resolve("a.log");
+        Files.writeString(file, "one\ntwo\n", StandardCharsets.UTF_8);
+        assertEquals(List.of("", "two", "one"), readBackwards(file));
+
+        Path empty = tempDir.resolve("empty.log");
+        Files.writeString(empty, "", StandardCharsets.UTF_8);
+        assertEquals(List.of(""), readBackwards(empty));
+    }
+}
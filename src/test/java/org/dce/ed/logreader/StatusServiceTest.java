@@ -0,0 +1,102 @@
+package org.dce.ed.logreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.dce.ed.logreader.StatusService.Change;
+import org.dce.ed.logreader.event.StatusEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatusServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void refresh_skipsUnchangedBytes_andReportsWhatChanged() throws Exception {
+        Path file = tempDir.resolve("Status.json");
+        StatusService service = new StatusService();
+
+        write(file, frame("12:00:00", 16, 0, null, "Sol"));
+        StatusService.Update first = service.refresh(file);
+        assertNotNull(first);
+        assertEquals(EnumSet.allOf(Change.class), first.changes());
+
+        assertNull(service.refresh(file));
+
+        write(file, frame("12:00:01", 16, 0, null, "Sol"));
+        assertEquals(EnumSet.of(Change.OTHER), service.refresh(file).changes());
+
+        write(file, frame("12:00:02", 16 | 0x00200000, 0, "1.5", "Sol"));
+        assertEquals(EnumSet.of(Change.FLAGS, Change.POSITION, Change.OTHER), service.refresh(file).changes());
+
+        write(file, frame("12:00:03", 16 | 0x00200000, 0, "1.5", "Achenar"));
+        StatusService.Update dest = service.refresh(file);
+        assertEquals(EnumSet.of(Change.DESTINATION, Change.OTHER), dest.changes());
+        assertSame(dest.status(), service.latest());
+    }
+
+    @Test
+    void throttledSubscriber_getsCoalescedUpdateWhenDue() throws Exception {
+        Path file = tempDir.resolve("Status.json");
+        StatusService service = new StatusService();
+        List<StatusService.Update> fast = new ArrayList<>();
+        List<StatusService.Update> slow = new ArrayList<>();
+        service.subscribe(EnumSet.of(Change.POSITION), 0L, fast::add);
+        service.subscribe(EnumSet.of(Change.FLAGS, Change.DESTINATION), 60_000L, slow::add);
+
+        write(file, frame("12:00:00", 0, 0, "1.0", "Sol"));
+        service.refresh(file);
+        assertEquals(1, fast.size());
+        assertEquals(1, slow.size());
+
+        write(file, frame("12:00:01", 4, 0, "2.0", "Sol"));
+        service.refresh(file);
+        write(file, frame("12:00:02", 4, 0, "3.0", "Achenar"));
+        service.refresh(file);
+        write(file, frame("12:00:03", 4, 0, "4.0", "Achenar"));
+        service.refresh(file);
+
+        assertEquals(4, fast.size());
+        assertEquals(1, slow.size());
+        long now = System.nanoTime();
+        assertTrue(service.nanosUntilDue(now) > 0);
+
+        service.flushDue(now + 61_000_000_000L);
+        assertEquals(2, slow.size());
+        StatusService.Update merged = slow.get(1);
+        assertEquals(EnumSet.of(Change.FLAGS, Change.DESTINATION), merged.changes());
+        assertEquals(4.0, merged.status().getLatitude().doubleValue(), 0.0);
+        assertEquals(-1L, service.nanosUntilDue(now));
+    }
+
+    @Test
+    void decodedFlags_sharedWhileBitsUnchanged() {
+        StatusEvent.DecodedFlags a = StatusEvent.DecodedFlags.decode(0x00000011, 1);
+        StatusEvent.DecodedFlags b = StatusEvent.DecodedFlags.decode(0x00000011, 1);
+        assertSame(a, b);
+        assertTrue(a.docked && a.supercruise && a.onFoot);
+    }
+
+    private static void write(Path file, String json) throws Exception {
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    private static String frame(String time, int flags, int flags2, String latitude, String destination) {
+        return "{ \"timestamp\":\"2026-03-27T" + time + "Z\", \"event\":\"Status\", \"Flags\":" + flags
+                + ", \"Flags2\":" + flags2
+                + (latitude != null ? ", \"Latitude\":" + latitude + ", \"Longitude\":2.0" : "")
+                + ", \"Destination\":{ \"System\":1, \"Body\":0, \"Name\":\"" + destination + "\" } }";
+    }
+}
@@ -9,6 +9,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -156,4 +157,41 @@ class LocalCsvBackendTest {
         assertEquals("Painite", r.getCoreType());
         assertEquals(3, r.getDuds());
     }
+
+    @Test
+    void updateRunEndTime_rewritesOnlyFromCanonicalRow_keepingLineEndings(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("crlf.csv");
+        String head = "run,asteroid,timestamp,material,percent,before amount,after amount,actual,core,body,duds,commander,ship,start time,end time\r\n"
+                + "18,A,4/1/2026 10:00:00,Platinum,10.00,0.00,1.00,1.00,-,Ring,0,Villunus,-,4/1/2026 10:00:00,4/1/2026 11:00:00\r\n";
+        String canonical = "19,A,4/2/2026 15:19:04,Platinum,10.00,0.00,1.00,1.00,-,Ring,0,Villunus,-,4/2/2026 15:19:04,";
+        String after = "19,B,4/2/2026 15:25:00,Platinum,10.00,0.00,1.00,1.00,-,Ring,0,Villunus,-,,\r\n";
+        Files.writeString(csv, head + canonical + "\r\n" + after, StandardCharsets.UTF_8);
+
+        LocalCsvBackend backend = new LocalCsvBackend(csv);
+        backend.updateRunEndTime("Villunus", 19, Instant.parse("2026-04-02T20:40:27Z"));
+
+        String content = Files.readString(csv, StandardCharsets.UTF_8);
+        assertTrue(content.startsWith(head + canonical));
+        assertTrue(content.endsWith("\r\n" + after));
+        assertEquals(3, backend.loadRows().size());
+    }
+
+    @Test
+    void appendRows_afterLineWithoutNewline_startsNewLine(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("nonl.csv");
+        Files.writeString(csv, "run,asteroid,timestamp,material,percent,before amount,after amount,actual,core,body,duds,commander,ship,start time,end time\n"
+                + "1,A,2/16/2026 14:30:00,Tritium,1.00,0.00,1.00,1.00,-,S > B,0,C1,-,,", StandardCharsets.UTF_8);
+        LocalCsvBackend backend = new LocalCsvBackend(csv);
+        backend.appendRows(List.of(new ProspectorLogRow(1, "B", "S > B", Instant.parse("2026-02-16T14:31:00Z"),
+                "Platinum", 1, 0, 1, 1, "C1", "", "", 0, null, null)));
+        assertEquals(2, backend.loadRows().size());
+    }
+
+    @Test
+    void formatDouble_matchesStringFormat() {
+        for (double v : new double[] {0.0, -0.0, 1.005, 2.675, 0.125, -0.001, 99.995, 12.5, 1e20, 1.23e-7, -2.345}) {
+            assertEquals(String.format(Locale.US, "%.2f", v), LocalCsvBackend.formatDouble(v));
+        }
+        assertEquals("0.00", LocalCsvBackend.formatDouble(Double.NaN));
+    }
 }
@@ -0,0 +1,54 @@
+package org.dce.ed.mining;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Crash recovery of {@link ProspectorCsvFile}: a complete patch journal is applied on next use, a torn one is dropped.
+ */
+class ProspectorCsvFileTest {
+
+    private static byte[] journal(long offset, byte[] tail, boolean torn) {
+        CRC32 crc = new CRC32();
+        crc.update(tail);
+        ByteBuffer buf = ByteBuffer.allocate(4 + 8 + 4 + tail.length + 8);
+        buf.putInt(0x45444f50).putLong(offset).putInt(tail.length).put(tail).putLong(crc.getValue());
+        byte[] bytes = buf.array();
+        return torn ? Arrays.copyOf(bytes, bytes.length - 3) : bytes;
+    }
+
+    @Test
+    void interruptedPatch_isCompletedOnOpen(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("log.csv");
+        Files.writeString(csv, "header\nkeep\nold,\nnext\n", StandardCharsets.UTF_8);
+        byte[] tail = "old,END\nnext\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(dir.resolve("log.csv.patch"), journal("header\nkeep\n".length(), tail, false));
+
+        ProspectorCsvFile.forPath(csv);
+
+        assertEquals("header\nkeep\nold,END\nnext\n", Files.readString(csv, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(dir.resolve("log.csv.patch")));
+    }
+
+    @Test
+    void tornJournal_leavesFileAlone(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("log.csv");
+        Files.writeString(csv, "header\nold,\n", StandardCharsets.UTF_8);
+        Files.write(dir.resolve("log.csv.patch"), journal(7, "old,END\n".getBytes(StandardCharsets.UTF_8), true));
+
+        ProspectorCsvFile.forPath(csv);
+
+        assertEquals("header\nold,\n", Files.readString(csv, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(dir.resolve("log.csv.patch")));
+    }
+}
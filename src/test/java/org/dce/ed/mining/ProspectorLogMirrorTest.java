@@ -0,0 +1,119 @@
+package org.dce.ed.mining;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ProspectorLogMirror} over a local CSV log: the indexed subset must resolve run numbers exactly like the
+ * full log, and writes made through the mirror or straight to the file must both show up.
+ */
+class ProspectorLogMirrorTest {
+
+    private static final String CMDR = "Villunus";
+    private static final String SYS = "Phraa Flyuae Wi 2";
+    private static final String BODY = "B";
+    private static final Instant T0 = Instant.parse("2026-03-01T10:00:00Z");
+
+    @BeforeAll
+    static void isolate() {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    private static ProspectorLogRow row(int run, String asteroid, String loc, int minute, String cmdr,
+            Instant start, Instant end) {
+        return new ProspectorLogRow(run, asteroid, loc, T0.plusSeconds(minute * 60L), "Platinum", 30.0, 0.0, 8.5,
+                8.0, cmdr, "Type-9", "", 0, start, end);
+    }
+
+    private static List<ProspectorLogRow> history() {
+        String here = SYS + " > " + BODY;
+        String elsewhere = "Sol > 3";
+        return List.of(
+                row(1, "A", elsewhere, 0, CMDR, T0, T0.plusSeconds(3600)),
+                row(1, "B", elsewhere, 5, CMDR, null, null),
+                row(2, "A", here, 120, CMDR, T0.plusSeconds(7200), null),
+                row(2, "B", here, 125, CMDR, null, null),
+                row(2, "C", here, 130, CMDR, null, null),
+                row(7, "A", here, 140, "Someone Else", T0.plusSeconds(8400), null));
+    }
+
+    @Test
+    void runResolution_matchesFullLog(@TempDir Path dir) {
+        LocalCsvBackend csv = new LocalCsvBackend(dir.resolve("log.csv"));
+        csv.appendRows(history());
+        ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(csv);
+        assertNotNull(mirror);
+
+        List<ProspectorLogRow> full = csv.loadRows();
+        for (String[] loc : new String[][] {{SYS, BODY}, {"Sol", "3"}, {"Nowhere", ""}, {null, null}}) {
+            for (boolean force : new boolean[] {false, true}) {
+                List<ProspectorLogRow> subset = mirror.rowsForRunResolution(CMDR, loc[0], loc[1]);
+                assertNotNull(subset);
+                assertTrue(subset.size() < full.size());
+                assertEquals(MiningRunNumberResolver.compute(CMDR, loc[0], loc[1], force, full),
+                        MiningRunNumberResolver.compute(CMDR, loc[0], loc[1], force, subset));
+            }
+        }
+    }
+
+    @Test
+    void writes_throughMirrorAndDirect_areBothIndexed(@TempDir Path dir) {
+        Path file = dir.resolve("log.csv");
+        LocalCsvBackend csv = new LocalCsvBackend(file);
+        csv.appendRows(history());
+        ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(csv);
+        assertEquals(3, mirror.rowsForRun(CMDR, 2).size());
+
+        assertTrue(mirror.write(List.of(row(2, "D", SYS + " > " + BODY, 135, CMDR, null, null))).isOk());
+        assertEquals(List.of("A", "B", "C", "D"),
+                mirror.rowsForRun(CMDR, 2).stream().map(ProspectorLogRow::getAsteroidId).toList());
+        assertEquals(7, csv.loadRows().size());
+
+        new LocalCsvBackend(file).appendRows(List.of(row(2, "E", SYS + " > " + BODY, 136, CMDR, null, null)));
+        assertEquals(5, mirror.rowsForRun(CMDR, 2).size());
+    }
+
+    @Test
+    void setRunEnd_closesRun(@TempDir Path dir) {
+        LocalCsvBackend csv = new LocalCsvBackend(dir.resolve("log.csv"));
+        csv.appendRows(history());
+        ProspectorLogMirror mirror = ProspectorLogMirror.forBackend(csv);
+        assertEquals(2, MiningRunNumberResolver.compute(CMDR, SYS, BODY, false,
+                mirror.rowsForRunResolution(CMDR, SYS, BODY)));
+
+        assertTrue(mirror.setRunEnd(CMDR, 2, T0.plusSeconds(9000)).isOk());
+
+        assertEquals(3, MiningRunNumberResolver.compute(CMDR, SYS, BODY, false,
+                mirror.rowsForRunResolution(CMDR, SYS, BODY)));
+    }
+
+    @Test
+    void unknownBackend_isNotMirrored() {
+        ProspectorLogBackend other = new ProspectorLogBackend() {
+            @Override
+            public void appendRows(List<ProspectorLogRow> rows) {
+            }
+
+            @Override
+            public List<ProspectorLogRow> loadRows() {
+                return List.of();
+            }
+
+            @Override
+            public void updateRunEndTime(String commander, int run, Instant endTime) {
+            }
+        };
+        assertNull(ProspectorLogMirror.forBackend(other));
+    }
+}
@@ -0,0 +1,129 @@
+package org.dce.ed.route;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+class RouteStatusResolverTest {
+
+    /** Runs submitted tasks only when asked, so tests can see what is queued versus running. */
+    private static final class ManualExecutor implements Executor {
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable r) {
+            tasks.add(r);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
+    @Test
+    void visibleRowsRunFirst_withinConcurrencyCap() {
+        ManualExecutor exec = new ManualExecutor();
+        List<String> order = new ArrayList<>();
+        RouteStatusResolver<String> resolver = new RouteStatusResolver<>(exec, 2,
+                job -> {
+                    order.add(job.systemName());
+                    return "ok";
+                },
+                (job, r) -> { }, names -> Map.of(), found -> { });
+
+        resolver.request(entry("Behind1", 1L));
+        resolver.request(entry("Behind2", 2L));
+        resolver.request(entry("Behind3", 3L));
+        assertEquals(2, exec.tasks.size());
+        exec.runAll();
+        order.clear();
+
+        for (int i = 0; i < 5; i++) {
+            resolver.request(entry("Bg" + i, 10L + i));
+        }
+        resolver.prioritize(List.of(entry("Vis1", 20L), entry("Vis2", 21L)));
+        // Two Bg lookups took the free slots; the visible rows are next in line.
+        assertEquals(2, exec.tasks.size());
+        assertEquals(5, resolver.queuedCount());
+        exec.runAll();
+
+        assertEquals(List.of("Bg0", "Bg1", "Vis1", "Vis2", "Bg2", "Bg3", "Bg4"), order);
+        assertEquals(0, resolver.queuedCount());
+    }
+
+    @Test
+    void eachSystemLookedUpOnce_failuresMayRetry() {
+        ManualExecutor exec = new ManualExecutor();
+        Map<String, Integer> calls = new HashMap<>();
+        List<String> resolved = new ArrayList<>();
+        RouteStatusResolver<String> resolver = new RouteStatusResolver<>(exec, 4,
+                job -> {
+                    calls.merge(job.systemName(), 1, Integer::sum);
+                    return job.systemName().startsWith("Fail") ? null : "ok";
+                },
+                (job, r) -> resolved.add(job.systemName() + "=" + r), names -> Map.of(), found -> { });
+
+        RouteEntry sol = entry("Sol", 10477373803L);
+        resolver.prioritize(List.of(sol, entry("Fail", 7L)));
+        resolver.request(sol);
+        resolver.prioritize(List.of(sol));
+        exec.runAll();
+        resolver.prioritize(List.of(sol, entry("Fail", 7L)));
+        exec.runAll();
+
+        assertEquals(1, calls.get("Sol").intValue());
+        assertEquals(2, calls.get("Fail").intValue());
+        assertTrue(resolved.contains("Sol=ok"));
+        assertTrue(resolved.contains("Fail=null"));
+    }
+
+    @Test
+    void coordinateRequestsAreBatched() {
+        ManualExecutor exec = new ManualExecutor();
+        List<List<String>> batches = new ArrayList<>();
+        Map<String, Double[]> received = new HashMap<>();
+        RouteStatusResolver<String> resolver = new RouteStatusResolver<>(exec, 2, job -> "ok", (job, r) -> { },
+                names -> {
+                    batches.add(List.copyOf(names));
+                    Map<String, Double[]> out = new HashMap<>();
+                    for (String n : names) {
+                        out.put(n, new Double[] { 1.0, 2.0, 3.0 });
+                    }
+                    return out;
+                },
+                received::putAll);
+
+        int total = RouteStatusResolver.COORDS_BATCH + 3;
+        for (int i = 0; i < total; i++) {
+            resolver.requestCoords("Sys" + i);
+        }
+        resolver.requestCoords("Sys0");
+        assertEquals(1, exec.tasks.size());
+        exec.runAll();
+
+        assertEquals(2, batches.size());
+        assertEquals(RouteStatusResolver.COORDS_BATCH, batches.get(0).size());
+        assertEquals(3, batches.get(1).size());
+        assertEquals(total, received.size());
+
+        resolver.requestCoords("Sys1");
+        assertEquals(0, exec.tasks.size());
+    }
+
+    private static RouteEntry entry(String name, long address) {
+        RouteEntry e = new RouteEntry();
+        e.systemName = name;
+        e.systemAddress = address;
+        return e;
+    }
+}
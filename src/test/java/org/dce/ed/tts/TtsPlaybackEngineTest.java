@@ -0,0 +1,136 @@
+package org.dce.ed.tts;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TtsPlaybackEngineTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000f, 16, 1, true, false);
+
+    /** The whole-buffer merge the Clip path used; streaming must produce the same samples. */
+    private static short[] mergedReference(List<short[]> chunks, int overlap) {
+        short[] acc = chunks.get(0);
+        for (int ci = 1; ci < chunks.size(); ci++) {
+            short[] nxt = chunks.get(ci);
+            if (nxt.length == 0) {
+                continue;
+            }
+            if (acc.length == 0) {
+                acc = nxt;
+                continue;
+            }
+            int ol = Math.min(overlap, Math.min(acc.length, nxt.length));
+            acc = acc.clone();
+            for (int i = 0; i < ol; i++) {
+                float w = (i + 1f) / (ol + 1f);
+                int blended = Math.round(acc[acc.length - ol + i] * (1f - w) + nxt[i] * w);
+                acc[acc.length - ol + i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, blended));
+            }
+            short[] merged = new short[acc.length + nxt.length - ol];
+            System.arraycopy(acc, 0, merged, 0, acc.length);
+            System.arraycopy(nxt, ol, merged, acc.length, nxt.length - ol);
+            acc = merged;
+        }
+        return acc;
+    }
+
+    private static byte[] toLe(short[] s) {
+        byte[] b = new byte[s.length * 2];
+        for (int i = 0; i < s.length; i++) {
+            b[i * 2] = (byte) s[i];
+            b[i * 2 + 1] = (byte) (s[i] >> 8);
+        }
+        return b;
+    }
+
+    private static Path writeWav(Path file, int samples) throws Exception {
+        byte[] pcm = new byte[samples * 2];
+        new Random(samples).nextBytes(pcm);
+        try (AudioInputStream ais = new AudioInputStream(new ByteArrayInputStream(pcm), FORMAT, samples)) {
+            AudioSystem.write(ais, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+        return file;
+    }
+
+    @Test
+    void streamWithCrossfade_matchesMergedBuffer() throws Exception {
+        Random rnd = new Random(42);
+        int overlap = TtsPlaybackEngine.crossfadeSamples(FORMAT);
+        // Includes chunks shorter than the overlap and an empty one.
+        int[] lengths = {3000, 10, 0, 5, 800, 64, 2};
+        List<short[]> samples = new ArrayList<>();
+        List<byte[]> chunks = new ArrayList<>();
+        for (int len : lengths) {
+            short[] s = new short[len];
+            for (int i = 0; i < len; i++) {
+                s[i] = (short) rnd.nextInt();
+            }
+            samples.add(s);
+            chunks.add(toLe(s));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TtsPlaybackEngine.streamWithCrossfade(chunks, FORMAT, overlap, out::write);
+
+        assertArrayEquals(toLe(mergedReference(samples, overlap)), out.toByteArray());
+    }
+
+    @Test
+    void load_servesUnchangedFilesFromCache_andRereadsChangedOnes(@TempDir Path dir) throws Exception {
+        TtsPlaybackEngine engine = new TtsPlaybackEngine(1024 * 1024);
+        Path wav = writeWav(dir.resolve("one.wav"), 1600);
+
+        TtsPlaybackEngine.Pcm first = engine.load(wav);
+        assertEquals(3200, first.data().length);
+        assertSame(first, engine.load(wav));
+
+        writeWav(wav, 800);
+        Files.setLastModifiedTime(wav, FileTime.fromMillis(first.modified() + 5000));
+        TtsPlaybackEngine.Pcm second = engine.load(wav);
+        assertNotSame(first, second);
+        assertEquals(1600, second.data().length);
+        assertEquals(1600, engine.cachedBytes());
+
+        assertNull(engine.load(dir.resolve("missing.wav")));
+    }
+
+    @Test
+    void cache_evictsLeastRecentlyUsed_withinByteBound(@TempDir Path dir) throws Exception {
+        TtsPlaybackEngine engine = new TtsPlaybackEngine(10_000);
+        Path a = writeWav(dir.resolve("a.wav"), 2000);
+        Path b = writeWav(dir.resolve("b.wav"), 2000);
+        Path c = writeWav(dir.resolve("c.wav"), 2000);
+
+        engine.load(a);
+        engine.load(b);
+        engine.load(a);
+        engine.load(c);
+
+        assertTrue(engine.isCached(a));
+        assertFalse(engine.isCached(b));
+        assertTrue(engine.isCached(c));
+        assertTrue(engine.cachedBytes() <= 10_000);
+    }
+}
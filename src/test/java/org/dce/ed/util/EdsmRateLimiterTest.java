@@ -0,0 +1,57 @@
+package org.dce.ed.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class EdsmRateLimiterTest {
+
+    private static HttpHeaders quota(long limit, long remaining, long resetSeconds) {
+        return HttpHeaders.of(Map.of(
+                EdsmRateLimiter.HEADER_LIMIT, List.of(Long.toString(limit)),
+                EdsmRateLimiter.HEADER_REMAINING, List.of(Long.toString(remaining)),
+                EdsmRateLimiter.HEADER_RESET, List.of(Long.toString(resetSeconds))), (k, v) -> true);
+    }
+
+    @Test
+    void doesNotThrottleBeforeFirstResponse() {
+        EdsmRateLimiter limiter = new EdsmRateLimiter(new AtomicLong()::get);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0L, limiter.reserve());
+        }
+    }
+
+    @Test
+    void waitsForRefillOnceServerQuotaIsUsedUp() {
+        AtomicLong now = new AtomicLong();
+        EdsmRateLimiter limiter = new EdsmRateLimiter(now::get);
+        // 2 left, 10 missing, full again in 100 s -> one token per 10 s.
+        limiter.update(quota(12, 2, 100));
+
+        assertEquals(0L, limiter.reserve());
+        assertEquals(0L, limiter.reserve());
+        assertEquals(10_000L, limiter.reserve());
+        assertEquals(20_000L, limiter.reserve());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(40));
+        assertEquals(0L, limiter.reserve());
+    }
+
+    @Test
+    void throttledBlocksUntilReset() {
+        AtomicLong now = new AtomicLong();
+        EdsmRateLimiter limiter = new EdsmRateLimiter(now::get);
+        limiter.throttled(quota(720, 0, 5));
+
+        assertEquals(5_000L, limiter.reserve());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertTrue(limiter.reserve() == 0L);
+    }
+}
@@ -0,0 +1,40 @@
+package org.dce.ed.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EdsmResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void entriesExpireAfterTtl() {
+        AtomicLong now = new AtomicLong(1_000L);
+        EdsmResponseCache cache = new EdsmResponseCache(null, now::get);
+        cache.put("u", "{\"a\":1}", 500L);
+
+        assertEquals("{\"a\":1}", cache.get("u"));
+        now.set(1_500L);
+        assertNull(cache.get("u"));
+    }
+
+    @Test
+    void diskTierSurvivesANewInstance() {
+        AtomicLong now = new AtomicLong(1_000L);
+        Path db = tempDir.resolve("cache.db");
+        new EdsmResponseCache(db, now::get).put("u", "[1,2]", 60_000L);
+
+        EdsmResponseCache reopened = new EdsmResponseCache(db, now::get);
+        assertEquals("[1,2]", reopened.get("u"));
+
+        now.set(61_000L);
+        assertNull(new EdsmResponseCache(db, now::get).get("u"));
+    }
+}
@@ -0,0 +1,63 @@
+package org.dce.ed.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class IoExecutorTest {
+
+    private final ExecutorService pool = IoExecutor.create(2);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void group_returnsResultsInCompletionOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IoExecutor.Group<String> group = new IoExecutor.Group<>(pool);
+        group.submit(() -> {
+            release.await();
+            return "slow";
+        });
+        group.submit(() -> "fast");
+
+        assertEquals("fast", group.take().get());
+        release.countDown();
+        assertEquals("slow", group.take().get());
+    }
+
+    @Test
+    void cancel_interruptsRunningTasks_andRejectsNewOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        IoExecutor.Group<String> group = new IoExecutor.Group<>(pool);
+        Future<String> running = group.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "done";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        group.cancel();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(running.isCancelled());
+        assertTrue(group.isCancelled());
+        assertThrows(CancellationException.class, () -> group.submit(() -> "late"));
+    }
+}
@@ -0,0 +1,45 @@
+package org.dce.ed.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpanshClient#parseBodiesExobiologyInfo}: one bodies/search response split into per-body landmark info.
+ */
+class SpanshBodiesSearchParseTest {
+
+    @Test
+    void groupsBodiesBySystem_inResponseOrder() {
+        String json = "{\"results\":["
+                + "{\"system_name\":\"Near\",\"name\":\"Near 1\",\"landmarks\":["
+                + "{\"type\":\"Bacterium\",\"subtype\":\"Bacterium Aurasus\",\"latitude\":1.5,\"longitude\":-2.0}]},"
+                + "{\"record\":{\"system_name\":\"Near\",\"name\":\"Near 2\",\"signals\":[{\"type\":\"Geological\"}]}},"
+                + "{\"system_name\":\"Far\",\"name\":\"Far A 1\",\"signals\":[{\"type\":\"Biological\"}]},"
+                + "{\"system_name\":\"Far\"}"
+                + "]}";
+
+        Map<String, Map<String, SpanshBodyExobiologyInfo>> bySystem = SpanshClient.parseBodiesExobiologyInfo(json);
+
+        assertEquals(List.of("Near", "Far"), List.copyOf(bySystem.keySet()));
+        SpanshBodyExobiologyInfo near1 = bySystem.get("Near").get("Near 1");
+        assertEquals(1, near1.getLandmarks().size());
+        assertEquals("Bacterium Aurasus", near1.getLandmarks().get(0).getSubtype());
+        assertFalse(near1.isExcludeFromExobiology());
+        assertTrue(bySystem.get("Near").get("Near 2").isExcludeFromExobiology());
+        assertFalse(bySystem.get("Far").get("Far A 1").isExcludeFromExobiology());
+        assertEquals(1, bySystem.get("Far").size());
+    }
+
+    @Test
+    void unparseableResponse_isEmpty() {
+        assertTrue(SpanshClient.parseBodiesExobiologyInfo(null).isEmpty());
+        assertTrue(SpanshClient.parseBodiesExobiologyInfo("not json").isEmpty());
+        assertTrue(SpanshClient.parseBodiesExobiologyInfo("{\"error\":\"x\"}").isEmpty());
+    }
+}
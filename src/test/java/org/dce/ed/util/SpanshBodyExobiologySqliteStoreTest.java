@@ -3,11 +3,14 @@ package org.dce.ed.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.Map;
 
 import org.dce.ed.TestEnvironment;
+import org.dce.ed.cache.SystemCache;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -45,4 +48,31 @@ class SpanshBodyExobiologySqliteStoreTest {
         assertFalse(loaded.isExcludeFromExobiology());
         assertEquals(1, loaded.getLandmarks().size());
     }
+
+    @Test
+    void loadAll_returnsEveryBodyOfTheSystem_beforeAndAfterFlush() {
+        SpanshBodyExobiologySqliteStore.save("All Sys", "1", new SpanshBodyExobiologyInfo(List.of(), true));
+        SpanshBodyExobiologySqliteStore.save("All Sys", "2 a", new SpanshBodyExobiologyInfo(List.of(), false));
+        SpanshBodyExobiologySqliteStore.save("Other Sys", "1", new SpanshBodyExobiologyInfo(List.of(), false));
+
+        Map<String, SpanshBodyExobiologyInfo> queued = SpanshBodyExobiologySqliteStore.loadAll("All Sys");
+        SpanshBodyExobiologySqliteStore.flush();
+        Map<String, SpanshBodyExobiologyInfo> stored = SpanshBodyExobiologySqliteStore.loadAll("All Sys");
+
+        for (Map<String, SpanshBodyExobiologyInfo> all : List.of(queued, stored)) {
+            assertEquals(2, all.size());
+            assertTrue(all.get("1").isExcludeFromExobiology());
+            assertFalse(all.get("2 a").isExcludeFromExobiology());
+        }
+    }
+
+    @Test
+    void cacheDelete_dropsQueuedRows() {
+        SpanshBodyExobiologySqliteStore.save("Cleared Sys", "1", new SpanshBodyExobiologyInfo(List.of(), true));
+
+        SystemCache.getInstance().clearAndDeleteOnDisk();
+        SpanshBodyExobiologySqliteStore.flush();
+
+        assertNull(SpanshBodyExobiologySqliteStore.load("Cleared Sys", "1"));
+    }
 }
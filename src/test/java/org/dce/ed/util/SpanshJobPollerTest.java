@@ -0,0 +1,98 @@
+package org.dce.ed.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class SpanshJobPollerTest {
+
+    /** Per job: how many 202s to answer before the final response. */
+    private final Map<String, AtomicInteger> pendingPolls = new ConcurrentHashMap<>();
+    private final Map<String, String> finalBodies = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private SpanshJobPoller poller;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/results/", exchange -> {
+            requests.incrementAndGet();
+            String job = exchange.getRequestURI().getPath().substring("/results/".length());
+            AtomicInteger left = pendingPolls.get(job);
+            boolean done = left == null || left.getAndDecrement() <= 0;
+            byte[] body = (done ? finalBodies.getOrDefault(job, "{}") : "{\"status\":\"queued\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(done ? 200 : 202, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        poller = new SpanshJobPoller(HttpClient.newHttpClient(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/results/", "EDO-Test");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void completesManyJobsAfterPendingPolls() throws Exception {
+        CompletableFuture<?>[] all = new CompletableFuture<?>[5];
+        for (int i = 0; i < all.length; i++) {
+            String job = "job" + i;
+            pendingPolls.put(job, new AtomicInteger(i % 3));
+            finalBodies.put(job, "{\"result\":" + i + "}");
+            all[i] = poller.poll(job, false);
+        }
+        CompletableFuture.allOf(all).get(20, TimeUnit.SECONDS);
+        for (int i = 0; i < all.length; i++) {
+            assertEquals("{\"result\":" + i + "}", all[i].get());
+        }
+        assertEquals(0, poller.activeJobs());
+    }
+
+    @Test
+    void failedStatusInBodyFailsTheFuture() {
+        finalBodies.put("bad", "{\"status\":\"failed\",\"error\":\"No route\"}");
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> poller.poll("bad", true).get(20, TimeUnit.SECONDS));
+        assertInstanceOf(SpanshClient.JobFailedException.class, ex.getCause());
+        assertEquals("No route", ex.getCause().getMessage());
+    }
+
+    @Test
+    void cancelStopsPolling() throws Exception {
+        pendingPolls.put("slow", new AtomicInteger(Integer.MAX_VALUE));
+        CompletableFuture<String> f = poller.poll("slow", false);
+        poller.cancel("slow");
+        assertTrue(f.isCancelled());
+        assertEquals(0, poller.activeJobs());
+
+        int seen = requests.get();
+        Thread.sleep(SpanshJobPoller.INITIAL_DELAY_MS * 3);
+        assertEquals(seen, requests.get());
+    }
+}
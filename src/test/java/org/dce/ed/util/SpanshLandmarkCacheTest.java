@@ -0,0 +1,164 @@
+package org.dce.ed.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dce.ed.TestEnvironment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Which systems {@link SpanshLandmarkCache} treats as fully known after a sphere response, and that each system
+ * is requested from Spansh at most once.
+ */
+class SpanshLandmarkCacheTest {
+
+    @BeforeAll
+    static void isolate() {
+        TestEnvironment.ensureTestIsolation();
+    }
+
+    /** Answers per-system requests from {@link #systems}; sphere requests wait on {@link #sphere}. */
+    private static final class FakeSpansh extends SpanshClient {
+        final Map<String, String> systems = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> systemRequests = new ConcurrentHashMap<>();
+        final AtomicInteger sphereRequests = new AtomicInteger();
+        final AtomicInteger bodyRequests = new AtomicInteger();
+        final CompletableFuture<String> sphere = new CompletableFuture<>();
+        volatile CompletableFuture<String> systemGate = CompletableFuture.completedFuture(null);
+
+        @Override
+        public CompletableFuture<String> queryBodiesSearchAsync(String refSystem, double radiusLy, int size,
+                String filterSystemName) {
+            sphereRequests.incrementAndGet();
+            return sphere;
+        }
+
+        @Override
+        public CompletableFuture<String> queryBodiesInSystemAsync(String systemName, int size) {
+            systemRequests.computeIfAbsent(systemName, k -> new AtomicInteger()).incrementAndGet();
+            return systemGate.thenApply(ignored -> systems.entrySet().stream()
+                    .filter(e -> e.getKey().equalsIgnoreCase(systemName))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(null));
+        }
+
+        @Override
+        public SpanshBodyExobiologyInfo getBodyExobiologyInfo(String systemName, String bodyName) {
+            bodyRequests.incrementAndGet();
+            return null;
+        }
+
+        int requestsFor(String systemName) {
+            AtomicInteger n = systemRequests.get(systemName);
+            return n == null ? 0 : n.get();
+        }
+    }
+
+    @Test
+    void truncatedSphere_lastSystemIsFetchedOnItsOwn() {
+        FakeSpansh spansh = new FakeSpansh();
+        SpanshLandmarkCache cache = new SpanshLandmarkCache(spansh);
+        spansh.systems.put("Trunc Far", response(bodies("Trunc Far", 1, 2)));
+
+        // size 3 reached: Trunc Far, listed last, may have more bodies than the response shows.
+        cache.absorbSphere(response(bodies("Trunc Near", 1, 2), bodies("Trunc Far", 1)), 3, List.of("Trunc Near"));
+
+        assertNotNull(cache.getOrFetch("Trunc Near", "Trunc Near 2"));
+        assertEquals(0, spansh.requestsFor("Trunc Near"));
+        assertNotNull(cache.getOrFetch("Trunc Far", "Trunc Far 2"));
+        assertEquals(1, spansh.requestsFor("Trunc Far"));
+    }
+
+    @Test
+    void completeSphere_settlesUnlistedSystemsAsUnknown() {
+        FakeSpansh spansh = new FakeSpansh();
+        SpanshLandmarkCache cache = new SpanshLandmarkCache(spansh);
+
+        cache.absorbSphere(response(bodies("Whole Near", 1)), 10, List.of("Whole Near", "Whole Empty"));
+
+        assertNull(cache.getOrFetch("Whole Empty", "Whole Empty 1"));
+        assertEquals(0, spansh.requestsFor("Whole Empty"));
+        assertEquals(1, spansh.bodyRequests.get(), "only the per-body fallback is left for an unknown system");
+    }
+
+    @Test
+    void incompleteSphere_leavesUnlistedSystemsToPerSystemFetches() {
+        FakeSpansh spansh = new FakeSpansh();
+        SpanshLandmarkCache cache = new SpanshLandmarkCache(spansh);
+        spansh.systems.put("Part Other", response(bodies("Part Other", 1)));
+
+        cache.absorbSphere(response(bodies("Part Near", 1, 2)), 2, List.of("Part Near", "Part Other"));
+
+        assertNotNull(cache.getOrFetch("Part Other", "Part Other 1"));
+        assertEquals(1, spansh.requestsFor("Part Other"));
+        assertEquals(0, spansh.bodyRequests.get());
+    }
+
+    @Test
+    void concurrentPrefetches_shareOneRequestPerSystem() throws Exception {
+        FakeSpansh spansh = new FakeSpansh();
+        SpanshLandmarkCache cache = new SpanshLandmarkCache(spansh);
+        CompletableFuture<String> gate = new CompletableFuture<>();
+        spansh.systemGate = gate;
+        spansh.systems.put("Shared Sys", response(bodies("Shared Sys", 1)));
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<CompletableFuture<Void>>> prefetches = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            CompletableFuture<CompletableFuture<Void>> f = new CompletableFuture<>();
+            prefetches.add(f);
+            String name = i % 2 == 0 ? "Shared Sys" : " shared sys";
+            new Thread(() -> {
+                try {
+                    start.await();
+                    f.complete(cache.prefetchSystems(List.of(name)));
+                } catch (Exception e) {
+                    f.completeExceptionally(e);
+                }
+            }).start();
+        }
+        start.countDown();
+        List<CompletableFuture<Void>> done = new ArrayList<>();
+        for (CompletableFuture<CompletableFuture<Void>> f : prefetches) {
+            done.add(f.get(5, TimeUnit.SECONDS));
+        }
+        // A sphere covering only the system already in flight has nothing to claim.
+        done.add(cache.prefetchSphere("Shared Sys", 20.0, List.of("Shared Sys")));
+        gate.complete(null);
+        CompletableFuture.allOf(done.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, spansh.systemRequests.values().stream().mapToInt(AtomicInteger::get).sum());
+        assertEquals(0, spansh.sphereRequests.get());
+        assertNotNull(cache.getIfPresent("Shared Sys", "Shared Sys 1"));
+    }
+
+    private static String response(String... results) {
+        return "{\"results\":[" + String.join(",", results) + "]}";
+    }
+
+    /** bodies/search result entries for bodies {@code ids} of {@code system}. */
+    private static String bodies(String system, int... ids) {
+        StringBuilder sb = new StringBuilder();
+        for (int id : ids) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"system_name\":\"").append(system).append("\",\"name\":\"").append(system).append(' ')
+                    .append(id).append("\",\"signals\":[{\"type\":\"Biological\"}]}");
+        }
+        return sb.toString();
+    }
+}